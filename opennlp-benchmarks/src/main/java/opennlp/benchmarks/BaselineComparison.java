@@ -0,0 +1,226 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package opennlp.benchmarks;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Compares the results of a benchmark run with the results of a baseline run.
+ * <p>
+ * Both runs must write their results in the csv format of JMH, e.g. with
+ * <code>java -jar benchmarks.jar -rf csv -rff baseline.csv</code>. The comparison prints
+ * the scores with their error and the relative change of every benchmark which is
+ * contained in both files and exits with status 1 if a benchmark regressed by more
+ * than the threshold.
+ * <p>
+ * Usage: <code>BaselineComparison baseline.csv results.csv [thresholdPercent]</code>
+ */
+public final class BaselineComparison {
+
+  private static final double DEFAULT_THRESHOLD_PERCENT = 10;
+
+  static class Result {
+    final String mode;
+    final double score;
+    final double error;
+    final String unit;
+
+    Result(String mode, double score, double error, String unit) {
+      this.mode = mode;
+      this.score = score;
+      this.error = error;
+      this.unit = unit;
+    }
+
+    /**
+     * Only in throughput mode a higher score is better, in all other modes
+     * the score is a time.
+     */
+    boolean isHigherBetter() {
+      return "thrpt".equals(mode);
+    }
+  }
+
+  private BaselineComparison() {
+  }
+
+  /**
+   * Splits a line of a csv file, fields can be quoted with double quotes.
+   */
+  static List<String> splitCsvLine(String line) {
+    List<String> fields = new ArrayList<>();
+    StringBuilder field = new StringBuilder();
+    boolean quoted = false;
+    for (int i = 0; i < line.length(); i++) {
+      char c = line.charAt(i);
+      if (c == '"') {
+        if (quoted && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+          field.append('"');
+          i++;
+        }
+        else {
+          quoted = !quoted;
+        }
+      }
+      else if (c == ',' && !quoted) {
+        fields.add(field.toString());
+        field.setLength(0);
+      }
+      else {
+        field.append(c);
+      }
+    }
+    fields.add(field.toString());
+    return fields;
+  }
+
+  /**
+   * Reads the primary results of a JMH csv file, the key of a result is the name
+   * of the benchmark followed by its parameters.
+   */
+  static Map<String, Result> parseResults(List<String> lines) throws IOException {
+    if (lines.isEmpty()) {
+      throw new IOException("The result file is empty!");
+    }
+
+    List<String> header = splitCsvLine(lines.get(0));
+    int benchmarkIndex = header.indexOf("Benchmark");
+    int modeIndex = header.indexOf("Mode");
+    int scoreIndex = header.indexOf("Score");
+    int errorIndex = header.indexOf("Score Error (99.9%)");
+    int unitIndex = header.indexOf("Unit");
+
+    if (benchmarkIndex == -1 || modeIndex == -1 || scoreIndex == -1 || unitIndex == -1) {
+      throw new IOException("The result file is not in the JMH csv format!");
+    }
+
+    Map<String, Result> results = new LinkedHashMap<>();
+    for (String line : lines.subList(1, lines.size())) {
+      if (line.trim().isEmpty()) {
+        continue;
+      }
+
+      List<String> fields = splitCsvLine(line);
+      String benchmark = fields.get(benchmarkIndex);
+
+      // secondary results of profilers, e.g. the allocation rate
+      if (benchmark.contains(":")) {
+        continue;
+      }
+
+      StringBuilder key = new StringBuilder(benchmark);
+      for (int i = 0; i < header.size(); i++) {
+        // the parameter columns of all benchmarks are in one file, but are empty
+        // for the benchmarks which do not have the parameter
+        if (header.get(i).startsWith("Param: ") && !fields.get(i).isEmpty()) {
+          key.append(' ').append(header.get(i).substring("Param: ".length()))
+              .append('=').append(fields.get(i));
+        }
+      }
+
+      double error = errorIndex != -1 ? parseNumber(fields.get(errorIndex)) : Double.NaN;
+      results.put(key.toString(), new Result(fields.get(modeIndex),
+          parseNumber(fields.get(scoreIndex)), error, fields.get(unitIndex)));
+    }
+    return results;
+  }
+
+  private static double parseNumber(String number) {
+    if (number.isEmpty() || "NaN".equals(number)) {
+      return Double.NaN;
+    }
+    return Double.parseDouble(number);
+  }
+
+  /**
+   * Computes the change of the score in percent, positive values are improvements.
+   */
+  static double improvementPercent(Result baseline, Result result) {
+    double change = (result.score - baseline.score) / baseline.score * 100;
+    return baseline.isHigherBetter() ? change : -change;
+  }
+
+  /**
+   * Checks if the result is worse than the baseline by more than the threshold in percent.
+   */
+  static boolean isRegression(Result baseline, Result result, double thresholdPercent) {
+    return improvementPercent(baseline, result) < -thresholdPercent;
+  }
+
+  private static String formatScore(Result result) {
+    if (Double.isNaN(result.error)) {
+      return String.format(Locale.ROOT, "%14.3f            ", result.score);
+    }
+    return String.format(Locale.ROOT, "%14.3f +/- %7.3f", result.score, result.error);
+  }
+
+  public static void main(String[] args) throws IOException {
+
+    if (args.length < 2) {
+      System.out.println("Usage: BaselineComparison baseline.csv results.csv [thresholdPercent]");
+      return;
+    }
+
+    Map<String, Result> baseline = parseResults(
+        Files.readAllLines(Paths.get(args[0]), StandardCharsets.UTF_8));
+    Map<String, Result> results = parseResults(
+        Files.readAllLines(Paths.get(args[1]), StandardCharsets.UTF_8));
+    double threshold = args.length > 2 ? Double.parseDouble(args[2]) : DEFAULT_THRESHOLD_PERCENT;
+
+    int regressions = 0;
+    for (Map.Entry<String, Result> entry : results.entrySet()) {
+      Result base = baseline.get(entry.getKey());
+      Result result = entry.getValue();
+
+      if (base == null) {
+        System.out.println(String.format(Locale.ROOT, "%-80s %s %-8s (new)",
+            entry.getKey(), formatScore(result), result.unit));
+        continue;
+      }
+
+      if (!base.mode.equals(result.mode) || !base.unit.equals(result.unit)) {
+        System.out.println(String.format(Locale.ROOT, "%-80s mode or unit changed, not compared",
+            entry.getKey()));
+        continue;
+      }
+
+      double improvement = improvementPercent(base, result);
+      boolean regression = isRegression(base, result, threshold);
+      if (regression) {
+        regressions++;
+      }
+
+      System.out.println(String.format(Locale.ROOT, "%-80s %s -> %s %-8s %+7.1f%%%s",
+          entry.getKey(), formatScore(base), formatScore(result), result.unit, improvement,
+          regression ? "  REGRESSION" : ""));
+    }
+
+    if (regressions > 0) {
+      System.out.println(regressions + " benchmark(s) regressed by more than " + threshold + "%");
+      System.exit(1);
+    }
+  }
+}
@@ -0,0 +1,253 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package opennlp.benchmarks;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import opennlp.tools.chunker.ChunkSample;
+import opennlp.tools.chunker.ChunkSampleStream;
+import opennlp.tools.chunker.ChunkerFactory;
+import opennlp.tools.chunker.ChunkerME;
+import opennlp.tools.chunker.ChunkerModel;
+import opennlp.tools.doccat.DoccatFactory;
+import opennlp.tools.doccat.DoccatModel;
+import opennlp.tools.doccat.DocumentCategorizerME;
+import opennlp.tools.doccat.DocumentSample;
+import opennlp.tools.doccat.DocumentSampleStream;
+import opennlp.tools.langdetect.LanguageDetectorFactory;
+import opennlp.tools.langdetect.LanguageDetectorME;
+import opennlp.tools.langdetect.LanguageDetectorModel;
+import opennlp.tools.langdetect.LanguageDetectorSampleStream;
+import opennlp.tools.langdetect.LanguageSample;
+import opennlp.tools.lemmatizer.LemmaSample;
+import opennlp.tools.lemmatizer.LemmaSampleStream;
+import opennlp.tools.lemmatizer.LemmatizerFactory;
+import opennlp.tools.lemmatizer.LemmatizerME;
+import opennlp.tools.lemmatizer.LemmatizerModel;
+import opennlp.tools.ml.AbstractTrainer;
+import opennlp.tools.ml.TrainerFactory;
+import opennlp.tools.ml.model.Event;
+import opennlp.tools.ml.model.MaxentModel;
+import opennlp.tools.namefind.BioCodec;
+import opennlp.tools.namefind.NameFinderME;
+import opennlp.tools.namefind.NameSample;
+import opennlp.tools.namefind.NameSampleDataStream;
+import opennlp.tools.namefind.TokenNameFinderFactory;
+import opennlp.tools.namefind.TokenNameFinderModel;
+import opennlp.tools.parser.Parse;
+import opennlp.tools.parser.ParseSampleStream;
+import opennlp.tools.parser.ParserModel;
+import opennlp.tools.parser.chunking.Parser;
+import opennlp.tools.parser.lang.en.HeadRules;
+import opennlp.tools.postag.POSModel;
+import opennlp.tools.postag.POSSample;
+import opennlp.tools.postag.POSSampleEventStream;
+import opennlp.tools.postag.POSTaggerFactory;
+import opennlp.tools.postag.POSTaggerME;
+import opennlp.tools.postag.WordTagSampleStream;
+import opennlp.tools.sentdetect.SentenceDetectorFactory;
+import opennlp.tools.sentdetect.SentenceDetectorME;
+import opennlp.tools.sentdetect.SentenceModel;
+import opennlp.tools.sentdetect.SentenceSample;
+import opennlp.tools.sentdetect.SentenceSampleStream;
+import opennlp.tools.tokenize.TokenSample;
+import opennlp.tools.tokenize.TokenSampleStream;
+import opennlp.tools.tokenize.TokenizerFactory;
+import opennlp.tools.tokenize.TokenizerME;
+import opennlp.tools.tokenize.TokenizerModel;
+import opennlp.tools.util.InputStreamFactory;
+import opennlp.tools.util.ObjectStream;
+import opennlp.tools.util.ObjectStreamUtils;
+import opennlp.tools.util.PlainTextByLineStream;
+import opennlp.tools.util.TrainingParameters;
+
+/**
+ * Reads the training data which is bundled with the tests of opennlp-tools and trains
+ * the models of the benchmarks, therefore the benchmarks do not need any downloads.
+ * <p>
+ * The training data is small, the models are only meant to measure the performance
+ * of the components and not their accuracy.
+ */
+public final class BenchmarkData {
+
+  private BenchmarkData() {
+  }
+
+  static InputStreamFactory resource(String path) {
+    return () -> {
+      InputStream in = BenchmarkData.class.getResourceAsStream(path);
+      if (in == null) {
+        throw new IOException("Resource not found: " + path);
+      }
+      return in;
+    };
+  }
+
+  private static ObjectStream<String> lines(String path, Charset charset) throws IOException {
+    return new PlainTextByLineStream(resource(path), charset);
+  }
+
+  static <T> List<T> readAll(ObjectStream<T> samples) throws IOException {
+    List<T> list = new ArrayList<>();
+    T sample;
+    while ((sample = samples.read()) != null) {
+      list.add(sample);
+    }
+    samples.close();
+    return Collections.unmodifiableList(list);
+  }
+
+  static TrainingParameters params(String algorithm, int iterations, int cutoff) {
+    TrainingParameters params = new TrainingParameters();
+    params.put(TrainingParameters.ALGORITHM_PARAM, algorithm);
+    params.put(TrainingParameters.ITERATIONS_PARAM, iterations);
+    params.put(TrainingParameters.CUTOFF_PARAM, cutoff);
+    params.put(AbstractTrainer.VERBOSE_PARAM, false);
+    return params;
+  }
+
+  private static TrainingParameters params(int iterations, int cutoff) {
+    return params("MAXENT", iterations, cutoff);
+  }
+
+  static List<TokenSample> tokenSamples() throws IOException {
+    return readAll(new TokenSampleStream(
+        lines("/opennlp/tools/tokenize/token.train", StandardCharsets.UTF_8)));
+  }
+
+  static List<SentenceSample> sentenceSamples() throws IOException {
+    return readAll(new SentenceSampleStream(
+        lines("/opennlp/tools/sentdetect/Sentences.txt", StandardCharsets.UTF_8)));
+  }
+
+  static List<POSSample> posSamples() throws IOException {
+    return readAll(new WordTagSampleStream(
+        lines("/opennlp/tools/postag/AnnotatedSentences.txt", StandardCharsets.UTF_8)));
+  }
+
+  static List<NameSample> nameSamples() throws IOException {
+    return readAll(new NameSampleDataStream(
+        lines("/opennlp/tools/namefind/AnnotatedSentences.txt", StandardCharsets.ISO_8859_1)));
+  }
+
+  static List<ChunkSample> chunkSamples() throws IOException {
+    return readAll(new ChunkSampleStream(
+        lines("/opennlp/tools/chunker/test.txt", StandardCharsets.UTF_8)));
+  }
+
+  static List<LemmaSample> lemmaSamples() throws IOException {
+    return readAll(new LemmaSampleStream(
+        lines("/opennlp/tools/lemmatizer/trial.old.tsv", StandardCharsets.UTF_8)));
+  }
+
+  static List<DocumentSample> documentSamples() throws IOException {
+    return readAll(new DocumentSampleStream(
+        lines("/opennlp/tools/doccat/DoccatSample.txt", StandardCharsets.UTF_8)));
+  }
+
+  static List<LanguageSample> languageSamples() throws IOException {
+    return readAll(new LanguageDetectorSampleStream(
+        lines("/opennlp/tools/doccat/DoccatSample.txt", StandardCharsets.UTF_8)));
+  }
+
+  static List<Parse> parses() throws IOException {
+    return readAll(new ParseSampleStream(
+        lines("/opennlp/tools/parser/parser.train", StandardCharsets.UTF_8)));
+  }
+
+  /**
+   * Creates the events of the pos tagger training data, these are used to train and
+   * evaluate the models of the different machine learning algorithms.
+   */
+  static List<Event> events() throws IOException {
+    return readAll(new POSSampleEventStream(ObjectStreamUtils.createObjectStream(posSamples())));
+  }
+
+  static TokenizerModel trainTokenizer() throws IOException {
+    return TokenizerME.train(ObjectStreamUtils.createObjectStream(tokenSamples()),
+        TokenizerFactory.create(null, "eng", null, true, null), params(100, 0));
+  }
+
+  static SentenceModel trainSentenceDetector() throws IOException {
+    return SentenceDetectorME.train("eng", ObjectStreamUtils.createObjectStream(sentenceSamples()),
+        new SentenceDetectorFactory("eng", true, null, null), params(100, 0));
+  }
+
+  static POSModel trainPOSTagger() throws IOException {
+    return POSTaggerME.train("eng", ObjectStreamUtils.createObjectStream(posSamples()),
+        params(100, 5), new POSTaggerFactory());
+  }
+
+  static TokenNameFinderModel trainNameFinder() throws IOException {
+    return NameFinderME.train("eng", null, ObjectStreamUtils.createObjectStream(nameSamples()),
+        params(70, 1), TokenNameFinderFactory.create(null, null, Collections.emptyMap(),
+            new BioCodec()));
+  }
+
+  static ChunkerModel trainChunker() throws IOException {
+    return ChunkerME.train("eng", ObjectStreamUtils.createObjectStream(chunkSamples()),
+        params(70, 1), new ChunkerFactory());
+  }
+
+  static LemmatizerModel trainLemmatizer() throws IOException {
+    return LemmatizerME.train("eng", ObjectStreamUtils.createObjectStream(lemmaSamples()),
+        params(100, 5), new LemmatizerFactory());
+  }
+
+  static DoccatModel trainDocumentCategorizer() throws IOException {
+    return DocumentCategorizerME.train("pt", ObjectStreamUtils.createObjectStream(documentSamples()),
+        params(100, 0), new DoccatFactory());
+  }
+
+  static LanguageDetectorModel trainLanguageDetector() throws IOException {
+    TrainingParameters params = params("NAIVEBAYES", 100, 5);
+    return LanguageDetectorME.train(ObjectStreamUtils.createObjectStream(languageSamples()),
+        params, new LanguageDetectorFactory());
+  }
+
+  static HeadRules headRules() throws IOException {
+    try (BufferedReader in = new BufferedReader(new InputStreamReader(
+        resource("/opennlp/tools/parser/en_head_rules").createInputStream(),
+        StandardCharsets.UTF_8))) {
+      return new HeadRules(in);
+    }
+  }
+
+  static ParserModel trainParser() throws IOException {
+    return Parser.train("eng", ObjectStreamUtils.createObjectStream(parses()), headRules(),
+        params(100, 0));
+  }
+
+  /**
+   * Trains a model on the {@link #events()} with the given algorithm.
+   *
+   * @param algorithm the name of the algorithm, e.g. MAXENT, MAXENT_QN or PERCEPTRON
+   */
+  static MaxentModel trainEventModel(String algorithm) throws IOException {
+    return TrainerFactory.getEventTrainer(params(algorithm, 100, 1), null)
+        .train(ObjectStreamUtils.createObjectStream(events()));
+  }
+}
@@ -0,0 +1,82 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package opennlp.benchmarks;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import opennlp.tools.langdetect.LanguageDetectorME;
+import opennlp.tools.langdetect.LanguageSample;
+
+/**
+ * Measures the {@link LanguageDetectorME}, one operation detects the language of
+ * all test documents.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LanguageDetectorBenchmark {
+
+  private LanguageDetectorME languageDetector;
+  private String[] documents;
+
+  @Setup
+  public void setup() throws IOException {
+    languageDetector = new LanguageDetectorME(BenchmarkData.trainLanguageDetector());
+
+    documents = BenchmarkData.languageSamples().stream()
+        .map(sample -> sample.getContext().toString()).toArray(String[]::new);
+  }
+
+  @Benchmark
+  public void predictLanguages(Blackhole blackhole) {
+    for (String document : documents) {
+      blackhole.consume(languageDetector.predictLanguages(document));
+    }
+  }
+
+  @Benchmark
+  public void probingPredictLanguages(Blackhole blackhole) {
+    for (String document : documents) {
+      blackhole.consume(languageDetector.probingPredictLanguages(document));
+    }
+  }
+
+  @Benchmark
+  public void probingPredictLanguagesReader(Blackhole blackhole) throws IOException {
+    for (String document : documents) {
+      blackhole.consume(languageDetector.probingPredictLanguages(new StringReader(document)));
+    }
+  }
+}
@@ -0,0 +1,92 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package opennlp.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import opennlp.tools.namefind.TokenNameFinderModel;
+import opennlp.tools.parser.ParserModel;
+import opennlp.tools.postag.POSModel;
+import opennlp.tools.util.model.BaseModel;
+
+/**
+ * Measures the deserialization of models, one operation loads one model from memory.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ModelLoadingBenchmark {
+
+  @Param({"pos", "namefinder", "parser"})
+  public String component;
+
+  private byte[] serialized;
+
+  @Setup
+  public void setup() throws IOException {
+    BaseModel model;
+    switch (component) {
+      case "pos":
+        model = BenchmarkData.trainPOSTagger();
+        break;
+      case "namefinder":
+        model = BenchmarkData.trainNameFinder();
+        break;
+      case "parser":
+        model = BenchmarkData.trainParser();
+        break;
+      default:
+        throw new IllegalArgumentException("Unknown component: " + component);
+    }
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    model.serialize(out);
+    serialized = out.toByteArray();
+  }
+
+  @Benchmark
+  public BaseModel load() throws IOException {
+    ByteArrayInputStream in = new ByteArrayInputStream(serialized);
+    switch (component) {
+      case "pos":
+        return new POSModel(in);
+      case "namefinder":
+        return new TokenNameFinderModel(in);
+      default:
+        return new ParserModel(in);
+    }
+  }
+}
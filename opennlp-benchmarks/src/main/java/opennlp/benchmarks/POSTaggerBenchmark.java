@@ -0,0 +1,73 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package opennlp.benchmarks;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import opennlp.tools.postag.POSSample;
+import opennlp.tools.postag.POSTaggerME;
+
+/**
+ * Measures the {@link POSTaggerME}, one operation tags all test sentences.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class POSTaggerBenchmark {
+
+  private POSTaggerME tagger;
+  private String[][] sentences;
+
+  @Setup
+  public void setup() throws IOException {
+    tagger = new POSTaggerME(BenchmarkData.trainPOSTagger());
+
+    sentences = BenchmarkData.posSamples().stream()
+        .map(POSSample::getSentence).toArray(String[][]::new);
+  }
+
+  @Benchmark
+  public void tag(Blackhole blackhole) {
+    for (String[] sentence : sentences) {
+      blackhole.consume(tagger.tag(sentence));
+    }
+  }
+
+  @Benchmark
+  public void topKSequences(Blackhole blackhole) {
+    for (String[] sentence : sentences) {
+      blackhole.consume(tagger.topKSequences(sentence));
+    }
+  }
+}
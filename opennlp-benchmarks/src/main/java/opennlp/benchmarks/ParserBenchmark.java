@@ -0,0 +1,100 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package opennlp.benchmarks;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import opennlp.tools.cmdline.parser.ParserTool;
+import opennlp.tools.parser.BatchParser;
+import opennlp.tools.parser.Parse;
+import opennlp.tools.parser.Parser;
+import opennlp.tools.parser.ParserFactory;
+import opennlp.tools.parser.ParserModel;
+
+/**
+ * Measures the chunking parser, one operation parses all test sentences, either one
+ * after another or with a {@link BatchParser} on the given number of threads.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParserBenchmark {
+
+  @Param({"1", "4"})
+  public int threads;
+
+  private Parser parser;
+  private BatchParser batchParser;
+  private String[] lines;
+  private List<String[]> sentences;
+
+  @Setup
+  public void setup() throws IOException {
+    ParserModel model = BenchmarkData.trainParser();
+    parser = ParserFactory.create(model);
+    batchParser = new BatchParser(model, threads);
+
+    List<Parse> parses = BenchmarkData.parses();
+    lines = new String[parses.size()];
+    sentences = new ArrayList<>(parses.size());
+    for (int i = 0; i < lines.length; i++) {
+      String[] tokens = Arrays.stream(parses.get(i).getTagNodes())
+          .map(Parse::getCoveredText).toArray(String[]::new);
+      lines[i] = String.join(" ", tokens);
+      sentences.add(tokens);
+    }
+  }
+
+  @TearDown
+  public void tearDown() {
+    batchParser.close();
+  }
+
+  @Benchmark
+  public void parse(Blackhole blackhole) {
+    for (String line : lines) {
+      blackhole.consume(ParserTool.parseLine(line, parser, 1));
+    }
+  }
+
+  @Benchmark
+  public Parse[][] batchParse() {
+    return batchParser.parse(sentences, 1);
+  }
+}
@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package opennlp.benchmarks;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import opennlp.tools.ml.AbstractEventTrainer;
+import opennlp.tools.ml.TrainerFactory;
+import opennlp.tools.ml.model.DataIndexer;
+import opennlp.tools.ml.model.DataIndexerFactory;
+import opennlp.tools.ml.model.Event;
+import opennlp.tools.ml.model.MaxentModel;
+import opennlp.tools.util.ObjectStreamUtils;
+import opennlp.tools.util.TrainingParameters;
+
+/**
+ * Measures the indexing of the pos tagger training events with the different data
+ * indexers and the training of a maxent model on the indexed events.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class TrainingBenchmark {
+
+  @Param({AbstractEventTrainer.DATA_INDEXER_ONE_PASS_VALUE,
+      AbstractEventTrainer.DATA_INDEXER_TWO_PASS_VALUE})
+  public String dataIndexer;
+
+  @Param({"1", "4"})
+  public int threads;
+
+  private List<Event> events;
+  private TrainingParameters params;
+  private DataIndexer indexed;
+
+  @Setup
+  public void setup() throws IOException {
+    events = BenchmarkData.events();
+
+    params = BenchmarkData.params("MAXENT", 30, 1);
+    params.put(AbstractEventTrainer.DATA_INDEXER_PARAM, dataIndexer);
+    params.put(TrainingParameters.THREADS_PARAM, threads);
+
+    indexed = index();
+  }
+
+  private DataIndexer index() throws IOException {
+    DataIndexer indexer = DataIndexerFactory.getDataIndexer(params, null);
+    indexer.index(ObjectStreamUtils.createObjectStream(events));
+    return indexer;
+  }
+
+  @Benchmark
+  public DataIndexer indexEvents() throws IOException {
+    return index();
+  }
+
+  @Benchmark
+  public MaxentModel trainModel() throws IOException {
+    return TrainerFactory.getEventTrainer(params, null).train(indexed);
+  }
+}
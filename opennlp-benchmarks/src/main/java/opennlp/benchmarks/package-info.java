@@ -0,0 +1,34 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+/**
+ * JMH benchmarks of the OpenNLP components, the machine learning models and the training.
+ * <p>
+ * The module is only built with the <code>benchmarks</code> profile:
+ * <pre>
+ * mvn -Pbenchmarks -pl opennlp-benchmarks -am package -DskipTests
+ * java -jar opennlp-benchmarks/target/benchmarks.jar -rf csv -rff results.csv
+ * </pre>
+ * The models are trained on the test data of opennlp-tools during the setup of a
+ * benchmark, therefore the benchmarks run offline. The results of two runs can be
+ * compared with {@link opennlp.benchmarks.BaselineComparison}:
+ * <pre>
+ * java -cp opennlp-benchmarks/target/benchmarks.jar opennlp.benchmarks.BaselineComparison \
+ *     baseline.csv results.csv 10
+ * </pre>
+ */
+package opennlp.benchmarks;
@@ -0,0 +1,97 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package opennlp.benchmarks;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class BaselineComparisonTest {
+
+  private static final String HEADER = "\"Benchmark\",\"Mode\",\"Threads\",\"Samples\",\"Score\","
+      + "\"Score Error (99.9%)\",\"Unit\",\"Param: size\"";
+
+  @Test
+  public void testParseResults() throws IOException {
+    Map<String, BaselineComparison.Result> results = BaselineComparison.parseResults(Arrays.asList(
+        HEADER,
+        "\"opennlp.benchmarks.A.run\",\"thrpt\",1,5,1234.5,12.5,\"ops/s\",10",
+        "\"opennlp.benchmarks.A.run:·gc.alloc.rate\",\"thrpt\",1,5,10.0,1.0,\"MB/sec\",10",
+        "\"opennlp.benchmarks.B.run\",\"avgt\",1,5,2.5,NaN,\"ms/op\",",
+        ""));
+
+    Assert.assertEquals(2, results.size());
+
+    BaselineComparison.Result a = results.get("opennlp.benchmarks.A.run size=10");
+    Assert.assertEquals("thrpt", a.mode);
+    Assert.assertEquals(1234.5, a.score, 0d);
+    Assert.assertEquals(12.5, a.error, 0d);
+    Assert.assertEquals("ops/s", a.unit);
+
+    BaselineComparison.Result b = results.get("opennlp.benchmarks.B.run");
+    Assert.assertEquals("avgt", b.mode);
+    Assert.assertTrue(Double.isNaN(b.error));
+  }
+
+  @Test(expected = IOException.class)
+  public void testParseResultsWithoutScore() throws IOException {
+    BaselineComparison.parseResults(Arrays.asList("\"Benchmark\",\"Mode\",\"Unit\""));
+  }
+
+  @Test
+  public void testThroughputRegression() {
+    BaselineComparison.Result baseline = new BaselineComparison.Result("thrpt", 100, 1, "ops/s");
+
+    // lower throughput is worse
+    Assert.assertEquals(-20, BaselineComparison.improvementPercent(baseline,
+        new BaselineComparison.Result("thrpt", 80, 1, "ops/s")), 1e-9);
+    Assert.assertTrue(BaselineComparison.isRegression(baseline,
+        new BaselineComparison.Result("thrpt", 80, 1, "ops/s"), 10));
+    Assert.assertFalse(BaselineComparison.isRegression(baseline,
+        new BaselineComparison.Result("thrpt", 95, 1, "ops/s"), 10));
+    Assert.assertFalse(BaselineComparison.isRegression(baseline,
+        new BaselineComparison.Result("thrpt", 150, 1, "ops/s"), 10));
+  }
+
+  @Test
+  public void testAverageTimeRegression() {
+    BaselineComparison.Result baseline = new BaselineComparison.Result("avgt", 100, 1, "ms/op");
+
+    // higher time is worse
+    Assert.assertEquals(-20, BaselineComparison.improvementPercent(baseline,
+        new BaselineComparison.Result("avgt", 120, 1, "ms/op")), 1e-9);
+    Assert.assertTrue(BaselineComparison.isRegression(baseline,
+        new BaselineComparison.Result("avgt", 120, 1, "ms/op"), 10));
+    Assert.assertFalse(BaselineComparison.isRegression(baseline,
+        new BaselineComparison.Result("avgt", 105, 1, "ms/op"), 10));
+    Assert.assertFalse(BaselineComparison.isRegression(baseline,
+        new BaselineComparison.Result("avgt", 50, 1, "ms/op"), 10));
+  }
+
+  @Test
+  public void testChangeAtThresholdIsNoRegression() {
+    BaselineComparison.Result baseline = new BaselineComparison.Result("avgt", 100, 1, "ms/op");
+    Assert.assertFalse(BaselineComparison.isRegression(baseline,
+        new BaselineComparison.Result("avgt", 110, 1, "ms/op"), 10));
+    Assert.assertTrue(BaselineComparison.isRegression(baseline,
+        new BaselineComparison.Result("avgt", 110, 1, "ms/op"), 5));
+  }
+}
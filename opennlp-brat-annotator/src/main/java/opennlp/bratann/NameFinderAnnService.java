@@ -21,14 +21,14 @@ import java.io.File;
 import java.net.URI;
 import java.util.Arrays;
 import java.util.List;
+import java.util.function.Supplier;
 
 import javax.ws.rs.core.UriBuilder;
 
 import org.glassfish.jersey.grizzly2.httpserver.GrizzlyHttpServerFactory;
 import org.glassfish.jersey.server.ResourceConfig;
 
-import opennlp.tools.namefind.NameFinderME;
-import opennlp.tools.namefind.TokenNameFinder;
+import opennlp.tools.namefind.MultiModelNameFinder;
 import opennlp.tools.namefind.TokenNameFinderModel;
 import opennlp.tools.sentdetect.NewlineSentenceDetector;
 import opennlp.tools.sentdetect.SentenceDetector;
@@ -42,9 +42,17 @@ import opennlp.tools.tokenize.WhitespaceTokenizer;
 
 public class NameFinderAnnService {
 
-  public static SentenceDetector sentenceDetector = new NewlineSentenceDetector();
-  public static Tokenizer tokenizer = WhitespaceTokenizer.INSTANCE;
-  public static TokenNameFinder[] nameFinders;
+  public static NameFinderPool nameFinderPool;
+
+  public static long requestTimeoutMillis = 60000;
+
+  private static int intOption(List<String> argList, String[] args, String name, int defaultValue) {
+    int index = argList.indexOf(name) + 1;
+    if (index > 0 && index < args.length) {
+      return Integer.parseInt(args[index]);
+    }
+    return defaultValue;
+  }
 
   public static void main(String[] args) throws Exception {
 
@@ -52,49 +60,71 @@ public class NameFinderAnnService {
       System.out.println("Usage:");
       System.out.println("[NameFinderAnnService -serverPort port] [-tokenizerModel file] "
           + "[-ruleBasedTokenizer whitespace|simple] "
-          + "[-sentenceDetectorModel file] namefinderFile|nameFinderURI");
+          + "[-sentenceDetectorModel file] [-poolSize threads] [-queueSize requests] "
+          + "[-batchSize requests] [-requestTimeout millis] namefinderFile[,namefinderFile...]");
       return;
     }
 
     List<String> argList = Arrays.asList(args);
 
-    int serverPort = 8080;
-    int serverPortIndex = argList.indexOf("-serverPort") + 1;
-
-    if (serverPortIndex > 0 && serverPortIndex < args.length) {
-      serverPort = Integer.parseInt(args[serverPortIndex]);
-    }
+    int serverPort = intOption(argList, args, "-serverPort", 8080);
+    int poolSize = intOption(argList, args, "-poolSize", Runtime.getRuntime().availableProcessors());
+    int queueSize = intOption(argList, args, "-queueSize", 1000);
+    int batchSize = intOption(argList, args, "-batchSize", 16);
+    requestTimeoutMillis = intOption(argList, args, "-requestTimeout", 60000);
 
+    SentenceModel sentenceModel = null;
     int sentenceModelIndex = argList.indexOf("-sentenceDetectorModel") + 1;
     if (sentenceModelIndex > 0 && sentenceModelIndex < args.length) {
-      sentenceDetector = new SentenceDetectorME(
-          new SentenceModel(new File(args[sentenceModelIndex])));
+      sentenceModel = new SentenceModel(new File(args[sentenceModelIndex]));
     }
 
+    Tokenizer ruleBasedTokenizer = WhitespaceTokenizer.INSTANCE;
     int ruleBasedTokenizerIndex = argList.indexOf("-ruleBasedTokenizer") + 1;
 
     if (ruleBasedTokenizerIndex > 0 && ruleBasedTokenizerIndex < args.length) {
       if ("whitespace".equals(args[ruleBasedTokenizerIndex])) {
-        tokenizer = WhitespaceTokenizer.INSTANCE;
+        ruleBasedTokenizer = WhitespaceTokenizer.INSTANCE;
       } else if ("simple".equals(args[ruleBasedTokenizerIndex])) {
-        tokenizer = SimpleTokenizer.INSTANCE;
+        ruleBasedTokenizer = SimpleTokenizer.INSTANCE;
       } else {
         System.out.println("unkown tokenizer: " + args[ruleBasedTokenizerIndex]);
         return;
       }
     }
 
+    TokenizerModel tokenizerModel = null;
     int tokenizerModelIndex = argList.indexOf("-tokenizerModel") + 1;
     if (tokenizerModelIndex > 0 && tokenizerModelIndex < args.length) {
-      tokenizer = new TokenizerME(
-          new TokenizerModel(new File(args[tokenizerModelIndex])));
+      tokenizerModel = new TokenizerModel(new File(args[tokenizerModelIndex]));
+    }
+
+    // the models run in one pass and share their features where possible
+    String[] nameFinderFiles = args[args.length - 1].split(",");
+    TokenNameFinderModel[] nameFinderModels = new TokenNameFinderModel[nameFinderFiles.length];
+    for (int i = 0; i < nameFinderFiles.length; i++) {
+      nameFinderModels[i] = new TokenNameFinderModel(new File(nameFinderFiles[i]));
     }
 
-    nameFinders = new TokenNameFinder[] {new NameFinderME(
-        new TokenNameFinderModel(new File(args[args.length - 1])))};
+    // the models are shared, every worker thread gets its own components
+    nameFinderPool = new NameFinderPool(createPipelineFactory(sentenceModel, tokenizerModel,
+        ruleBasedTokenizer, nameFinderModels), poolSize, queueSize, batchSize);
 
     URI baseUri = UriBuilder.fromUri("http://localhost/").port(serverPort).build();
     ResourceConfig config = new ResourceConfig(NameFinderResource.class);
     GrizzlyHttpServerFactory.createHttpServer(baseUri, config);
   }
+
+  private static Supplier<NameFinderPipeline> createPipelineFactory(SentenceModel sentenceModel,
+      TokenizerModel tokenizerModel, Tokenizer ruleBasedTokenizer,
+      TokenNameFinderModel[] nameFinderModels) {
+    return () -> {
+      SentenceDetector sentenceDetector = sentenceModel != null
+          ? new SentenceDetectorME(sentenceModel) : new NewlineSentenceDetector();
+      Tokenizer tokenizer = tokenizerModel != null
+          ? new TokenizerME(tokenizerModel) : ruleBasedTokenizer;
+      return new NameFinderPipeline(sentenceDetector, tokenizer,
+          new MultiModelNameFinder(nameFinderModels));
+    };
+  }
 }
@@ -0,0 +1,193 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package opennlp.bratann;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+import opennlp.bratann.NameFinderResource.NameAnn;
+
+/**
+ * Processes the requests of the name finder service on a fixed number of worker threads.
+ * <p>
+ * The components of a {@link NameFinderPipeline} are not thread safe, therefore every
+ * worker thread has its own pipeline. The pipelines should be created from shared models,
+ * so that the models are only loaded once.
+ * <p>
+ * The requests are queued in a bounded queue. A worker takes all waiting requests up to
+ * the batch size at once and processes them one after another. If the queue is full a
+ * request is rejected and the client has to retry it later.
+ */
+public class NameFinderPool implements AutoCloseable {
+
+  private static class Request {
+    private final String text;
+    private final long submitTime = System.nanoTime();
+    private final CompletableFuture<Map<String, NameAnn>> result = new CompletableFuture<>();
+
+    private Request(String text) {
+      this.text = text;
+    }
+  }
+
+  private final BlockingQueue<Request> queue;
+  private final int batchSize;
+  private final Thread[] workers;
+  private final ServiceMetrics metrics = new ServiceMetrics();
+
+  private volatile boolean closed;
+
+  /**
+   * Initializes the pool and starts the worker threads.
+   *
+   * @param pipelineFactory creates the pipeline of a worker thread
+   * @param poolSize the number of worker threads
+   * @param queueSize the maximum number of waiting requests
+   * @param batchSize the maximum number of requests a worker takes at once
+   */
+  public NameFinderPool(Supplier<NameFinderPipeline> pipelineFactory, int poolSize,
+      int queueSize, int batchSize) {
+
+    if (poolSize < 1) {
+      throw new IllegalArgumentException("poolSize must be at least one but is " + poolSize + "!");
+    }
+    if (queueSize < 1) {
+      throw new IllegalArgumentException("queueSize must be at least one but is " + queueSize + "!");
+    }
+    if (batchSize < 1) {
+      throw new IllegalArgumentException("batchSize must be at least one but is " + batchSize + "!");
+    }
+
+    this.queue = new ArrayBlockingQueue<>(queueSize);
+    this.batchSize = batchSize;
+
+    // the pipelines are created upfront, a failure is reported to the caller
+    workers = new Thread[poolSize];
+    for (int i = 0; i < poolSize; i++) {
+      NameFinderPipeline pipeline = pipelineFactory.get();
+      workers[i] = new Thread(() -> work(pipeline), "name-finder-worker-" + i);
+      workers[i].setDaemon(true);
+    }
+
+    for (Thread worker : workers) {
+      worker.start();
+    }
+  }
+
+  /**
+   * Submits a text to detect the names in.
+   *
+   * @param text the text
+   *
+   * @return the future result
+   *
+   * @throws RejectedExecutionException if the queue is full or the pool is closed
+   */
+  public CompletableFuture<Map<String, NameAnn>> submit(String text) {
+    Request request = new Request(text);
+
+    if (closed || !queue.offer(request)) {
+      metrics.requestRejected();
+      throw new RejectedExecutionException(closed ? "The pool is closed!" : "The queue is full!");
+    }
+
+    // the pool might have been closed after the check and the queue drained before
+    // the request was added, then no worker would ever complete it. If the request
+    // cannot be removed anymore it was taken by a worker or cancelled by close.
+    if (closed && queue.remove(request)) {
+      request.result.cancel(false);
+      metrics.requestRejected();
+      throw new RejectedExecutionException("The pool is closed!");
+    }
+
+    return request.result;
+  }
+
+  private void work(NameFinderPipeline pipeline) {
+    List<Request> batch = new ArrayList<>(batchSize);
+
+    try {
+      while (!closed) {
+        batch.add(queue.take());
+        queue.drainTo(batch, batchSize - 1);
+
+        for (Request request : batch) {
+          // the client gave up waiting for the result
+          if (request.result.isCancelled()) {
+            continue;
+          }
+
+          boolean success = true;
+          try {
+            request.result.complete(pipeline.findNames(request.text));
+          } catch (Throwable e) {
+            // the request must always be completed, otherwise the client waits forever
+            success = false;
+            request.result.completeExceptionally(e);
+          }
+          metrics.requestProcessed(System.nanoTime() - request.submitTime, success);
+        }
+        metrics.batchProcessed();
+        batch.clear();
+      }
+    } catch (InterruptedException e) {
+      // the pool is closed
+    }
+  }
+
+  public int getQueueSize() {
+    return queue.size();
+  }
+
+  public ServiceMetrics getMetrics() {
+    return metrics;
+  }
+
+  /**
+   * Retrieves the current values of the metrics of the pool.
+   *
+   * @return the metrics by their names
+   */
+  public Map<String, Number> getMetricsSnapshot() {
+    return metrics.snapshot(queue.size());
+  }
+
+  /**
+   * Stops the worker threads, requests which are still waiting in the queue are cancelled.
+   */
+  @Override
+  public void close() {
+    closed = true;
+
+    for (Thread worker : workers) {
+      worker.interrupt();
+    }
+
+    List<Request> pending = new ArrayList<>();
+    queue.drainTo(pending);
+    for (Request request : pending) {
+      request.result.cancel(false);
+    }
+  }
+}
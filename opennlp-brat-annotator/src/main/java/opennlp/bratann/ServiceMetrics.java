@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package opennlp.bratann;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counts the requests of the name finder service and measures their latency.
+ * The latency of a request is the time from its submission until its result is
+ * available, including the time it waited in the queue.
+ */
+public class ServiceMetrics {
+
+  private final long startTime = System.nanoTime();
+
+  private final AtomicLong requests = new AtomicLong();
+  private final AtomicLong failed = new AtomicLong();
+  private final AtomicLong rejected = new AtomicLong();
+  private final AtomicLong batches = new AtomicLong();
+  private final AtomicLong totalLatency = new AtomicLong();
+  private final AtomicLong maxLatency = new AtomicLong();
+
+  void requestProcessed(long latencyNanos, boolean success) {
+    requests.incrementAndGet();
+    if (!success) {
+      failed.incrementAndGet();
+    }
+    totalLatency.addAndGet(latencyNanos);
+    maxLatency.accumulateAndGet(latencyNanos, Math::max);
+  }
+
+  void requestRejected() {
+    rejected.incrementAndGet();
+  }
+
+  void batchProcessed() {
+    batches.incrementAndGet();
+  }
+
+  public long getRequests() {
+    return requests.get();
+  }
+
+  public long getRejected() {
+    return rejected.get();
+  }
+
+  /**
+   * Retrieves the current values of the metrics.
+   *
+   * @param queued the number of requests which currently wait in the queue
+   *
+   * @return the metrics by their names
+   */
+  public Map<String, Number> snapshot(int queued) {
+    long processed = requests.get();
+    long numBatches = batches.get();
+    double seconds = (System.nanoTime() - startTime) / (double) TimeUnit.SECONDS.toNanos(1);
+
+    Map<String, Number> metrics = new LinkedHashMap<>();
+    metrics.put("requests", processed);
+    metrics.put("failed", failed.get());
+    metrics.put("rejected", rejected.get());
+    metrics.put("queued", queued);
+    metrics.put("batches", numBatches);
+    metrics.put("meanBatchSize", numBatches > 0 ? processed / (double) numBatches : 0d);
+    metrics.put("meanLatencyMillis", processed > 0 ? toMillis(totalLatency.get()) / processed : 0d);
+    metrics.put("maxLatencyMillis", toMillis(maxLatency.get()));
+    metrics.put("requestsPerSecond", seconds > 0 ? processed / seconds : 0d);
+    return metrics;
+  }
+
+  private static double toMillis(long nanos) {
+    return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+  }
+}
@@ -0,0 +1,197 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package opennlp.bratann;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import opennlp.bratann.NameFinderResource.NameAnn;
+
+/**
+ * Tests for the {@link NameFinderPool} class.
+ */
+public class NameFinderPoolTest {
+
+  /**
+   * A pipeline which records the texts it processed and waits until it is released.
+   */
+  static class RecordingPipeline extends NameFinderPipeline {
+
+    private final CountDownLatch release;
+    private final List<String> texts = Collections.synchronizedList(new ArrayList<>());
+
+    RecordingPipeline(CountDownLatch release) {
+      super(null, null);
+      this.release = release;
+    }
+
+    @Override
+    public Map<String, NameAnn> findNames(String text) {
+      try {
+        release.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IllegalStateException("Interruption is not supported!", e);
+      }
+
+      texts.add(text);
+
+      if (text.startsWith("error")) {
+        throw new StackOverflowError(text);
+      }
+
+      NameAnn ann = new NameAnn();
+      ann.texts = new String[] {text};
+      return Collections.singletonMap("0", ann);
+    }
+
+    List<String> getTexts() {
+      synchronized (texts) {
+        return new ArrayList<>(texts);
+      }
+    }
+  }
+
+  @Test
+  public void testRequestsAreCompletedInOrder() throws Exception {
+    RecordingPipeline pipeline = new RecordingPipeline(new CountDownLatch(0));
+
+    try (NameFinderPool pool = new NameFinderPool(() -> pipeline, 1, 10, 3)) {
+      List<String> completed = Collections.synchronizedList(new ArrayList<>());
+      List<CompletableFuture<Map<String, NameAnn>>> results = new ArrayList<>();
+      for (int i = 0; i < 10; i++) {
+        String text = "text " + i;
+        results.add(pool.submit(text).whenComplete((names, e) -> completed.add(text)));
+      }
+
+      for (int i = 0; i < results.size(); i++) {
+        Assert.assertEquals("text " + i, results.get(i).get(10, TimeUnit.SECONDS).get("0").texts[0]);
+      }
+
+      Assert.assertEquals(pipeline.texts, completed);
+      for (int i = 0; i < completed.size(); i++) {
+        Assert.assertEquals("text " + i, completed.get(i));
+      }
+      Assert.assertEquals(10, pool.getMetrics().getRequests());
+    }
+  }
+
+  @Test
+  public void testRejectWhenQueueIsFull() throws Exception {
+    CountDownLatch release = new CountDownLatch(1);
+    RecordingPipeline pipeline = new RecordingPipeline(release);
+
+    try (NameFinderPool pool = new NameFinderPool(() -> pipeline, 1, 2, 1)) {
+      CompletableFuture<Map<String, NameAnn>> first = pool.submit("first");
+
+      // the worker takes the first request and waits, the next two fill the queue
+      while (pool.getQueueSize() > 0) {
+        Thread.sleep(1);
+      }
+      CompletableFuture<Map<String, NameAnn>> second = pool.submit("second");
+      CompletableFuture<Map<String, NameAnn>> third = pool.submit("third");
+
+      try {
+        pool.submit("fourth");
+        Assert.fail();
+      } catch (RejectedExecutionException e) {
+        // the queue is full
+      }
+      Assert.assertEquals(1, pool.getMetrics().getRejected());
+
+      release.countDown();
+      Assert.assertNotNull(first.get(10, TimeUnit.SECONDS));
+      Assert.assertNotNull(second.get(10, TimeUnit.SECONDS));
+      Assert.assertNotNull(third.get(10, TimeUnit.SECONDS));
+    }
+  }
+
+  @Test
+  public void testErrorCompletesRequest() throws Exception {
+    RecordingPipeline pipeline = new RecordingPipeline(new CountDownLatch(0));
+
+    try (NameFinderPool pool = new NameFinderPool(() -> pipeline, 1, 10, 10)) {
+      CompletableFuture<Map<String, NameAnn>> failed = pool.submit("error");
+      CompletableFuture<Map<String, NameAnn>> next = pool.submit("text");
+
+      try {
+        failed.get(10, TimeUnit.SECONDS);
+        Assert.fail();
+      } catch (ExecutionException e) {
+        Assert.assertTrue(e.getCause() instanceof StackOverflowError);
+      }
+
+      // the worker is still running
+      Assert.assertEquals("text", next.get(10, TimeUnit.SECONDS).get("0").texts[0]);
+      Assert.assertEquals(1, pool.getMetricsSnapshot().get("failed").longValue());
+    }
+  }
+
+  @Test
+  public void testCloseCompletesAcceptedRequests() throws Exception {
+    RecordingPipeline pipeline = new RecordingPipeline(new CountDownLatch(0));
+
+    for (int run = 0; run < 20; run++) {
+      NameFinderPool pool = new NameFinderPool(() -> pipeline, 2, 1000, 4);
+
+      List<CompletableFuture<Map<String, NameAnn>>> accepted =
+          Collections.synchronizedList(new ArrayList<>());
+      Thread[] clients = new Thread[4];
+      for (int i = 0; i < clients.length; i++) {
+        clients[i] = new Thread(() -> {
+          try {
+            while (true) {
+              accepted.add(pool.submit("text"));
+            }
+          } catch (RejectedExecutionException e) {
+            // the pool is closed or the queue is full
+          }
+        });
+        clients[i].start();
+      }
+
+      Thread.sleep(1);
+      pool.close();
+      for (Thread client : clients) {
+        client.join();
+      }
+
+      // every accepted request is completed or cancelled, none waits forever
+      synchronized (accepted) {
+        for (CompletableFuture<Map<String, NameAnn>> result : accepted) {
+          try {
+            result.get(10, TimeUnit.SECONDS);
+          } catch (CancellationException | ExecutionException e) {
+            // cancelled by close or interrupted worker
+          }
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package opennlp.bratann;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import javax.ws.rs.ServiceUnavailableException;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import opennlp.bratann.NameFinderResource.NameAnn;
+
+/**
+ * Tests for the {@link NameFinderResource} class.
+ */
+public class NameFinderResourceTest {
+
+  @Test
+  public void testServiceUnavailableWhenQueueIsFull() throws Exception {
+    CountDownLatch release = new CountDownLatch(1);
+    NameFinderPoolTest.RecordingPipeline pipeline = new NameFinderPoolTest.RecordingPipeline(release);
+
+    try (NameFinderPool pool = new NameFinderPool(() -> pipeline, 1, 1, 1)) {
+      NameFinderAnnService.nameFinderPool = pool;
+      NameFinderResource resource = new NameFinderResource();
+
+      pool.submit("first");
+      while (pool.getQueueSize() > 0) {
+        Thread.sleep(1);
+      }
+      pool.submit("second");
+
+      try {
+        resource.findNames(null, "third");
+        Assert.fail();
+      } catch (ServiceUnavailableException e) {
+        Assert.assertEquals(503, e.getResponse().getStatus());
+      }
+      finally {
+        release.countDown();
+      }
+    }
+    finally {
+      NameFinderAnnService.nameFinderPool = null;
+    }
+  }
+
+  @Test
+  public void testServiceUnavailableWhenRequestTimesOut() throws Exception {
+    CountDownLatch release = new CountDownLatch(1);
+    NameFinderPoolTest.RecordingPipeline pipeline = new NameFinderPoolTest.RecordingPipeline(release);
+
+    long requestTimeoutMillis = NameFinderAnnService.requestTimeoutMillis;
+    try (NameFinderPool pool = new NameFinderPool(() -> pipeline, 1, 10, 1)) {
+      NameFinderAnnService.nameFinderPool = pool;
+      NameFinderAnnService.requestTimeoutMillis = 10;
+      NameFinderResource resource = new NameFinderResource();
+
+      CompletableFuture<Map<String, NameAnn>> first = pool.submit("first");
+
+      try {
+        resource.findNames(null, "second");
+        Assert.fail();
+      } catch (ServiceUnavailableException e) {
+        Assert.assertEquals(503, e.getResponse().getStatus());
+      }
+      finally {
+        release.countDown();
+      }
+
+      // the timed out request is not processed
+      Assert.assertNotNull(first.get(10, TimeUnit.SECONDS));
+      Assert.assertEquals(1, pool.submit("third").get(10, TimeUnit.SECONDS).size());
+      Assert.assertEquals(Arrays.asList("first", "third"), pipeline.getTexts());
+    }
+    finally {
+      NameFinderAnnService.nameFinderPool = null;
+      NameFinderAnnService.requestTimeoutMillis = requestTimeoutMillis;
+    }
+  }
+}
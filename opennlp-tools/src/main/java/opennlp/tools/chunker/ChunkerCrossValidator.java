@@ -21,7 +21,7 @@ import java.io.IOException;
 
 import opennlp.tools.util.ObjectStream;
 import opennlp.tools.util.TrainingParameters;
-import opennlp.tools.util.eval.CrossValidationPartitioner;
+import opennlp.tools.util.eval.CrossValidationRunner;
 import opennlp.tools.util.eval.FMeasure;
 
 public class ChunkerCrossValidator {
@@ -53,24 +53,32 @@ public class ChunkerCrossValidator {
    */
   public void evaluate(ObjectStream<ChunkSample> samples, int nFolds)
       throws IOException {
-    CrossValidationPartitioner<ChunkSample> partitioner = new CrossValidationPartitioner<>(
-        samples, nFolds);
-
-    while (partitioner.hasNext()) {
-
-      CrossValidationPartitioner.TrainingSampleStream<ChunkSample> trainingSampleStream = partitioner
-          .next();
-
-      ChunkerModel model = ChunkerME.train(languageCode, trainingSampleStream,
-          params, chunkerFactory);
-
-      // do testing
-      ChunkerEvaluator evaluator = new ChunkerEvaluator(new ChunkerME(model), listeners);
-
-      evaluator.evaluate(trainingSampleStream.getTestSampleStream());
+    evaluate(samples, nFolds, 1);
+  }
 
-      fmeasure.mergeInto(evaluator.getFMeasure());
-    }
+  /**
+   * Starts the evaluation, the models of up to the given number of folds are trained
+   * at the same time.
+   *
+   * @param samples
+   *          the data to train and test, it is read once and kept in memory
+   * @param nFolds
+   *          number of folds
+   * @param threads
+   *          the maximum number of folds which are trained at the same time
+   *
+   * @throws IOException
+   */
+  public void evaluate(ObjectStream<ChunkSample> samples, int nFolds, int threads)
+      throws IOException {
+    new CrossValidationRunner<ChunkSample, ChunkerModel>(threads).run(samples, nFolds,
+        trainingSamples -> ChunkerME.train(languageCode, trainingSamples,
+            new TrainingParameters(params), chunkerFactory),
+        (model, testSamples) -> {
+          ChunkerEvaluator evaluator = new ChunkerEvaluator(new ChunkerME(model), listeners);
+          evaluator.evaluate(testSamples);
+          fmeasure.mergeInto(evaluator.getFMeasure());
+        });
   }
 
   public FMeasure getFMeasure() {
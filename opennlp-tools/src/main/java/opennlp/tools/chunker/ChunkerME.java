@@ -36,6 +36,8 @@ import opennlp.tools.util.SequenceValidator;
 import opennlp.tools.util.Span;
 import opennlp.tools.util.TokenTag;
 import opennlp.tools.util.TrainingParameters;
+import opennlp.tools.util.metrics.Metrics;
+import opennlp.tools.util.metrics.MetricsRecorder;
 
 /**
  * The class represents a maximum-entropy-based chunker.  Such a chunker can be used to
@@ -118,10 +120,31 @@ public class ChunkerME implements Chunker {
   }
 
   public String[] chunk(String[] toks, String[] tags) {
+    List<String> c = bestSequence(toks, tags).getOutcomes();
+    return c.toArray(new String[c.size()]);
+  }
+
+  /**
+   * Finds the best chunk tag sequence for the specified sentence. In contrast to
+   * {@link #chunk(String[], String[])} the returned {@link Sequence} also contains
+   * the probabilities of the chunk tags.
+   *
+   * @param toks an array of the tokens or words of the sequence.
+   * @param tags an array of the pos tags of the sequence.
+   *
+   * @return the best chunk tag sequence
+   */
+  public Sequence bestSequence(String[] toks, String[] tags) {
+    MetricsRecorder recorder = Metrics.getRecorder();
+    long startNanos = recorder != null ? System.nanoTime() : 0;
+
     TokenTag[] tuples = TokenTag.create(toks, tags);
     bestSequence = model.bestSequence(tuples, new Object[] {}, contextGenerator, sequenceValidator);
-    List<String> c = bestSequence.getOutcomes();
-    return c.toArray(new String[c.size()]);
+
+    if (recorder != null) {
+      recorder.recordInference(Metrics.CHUNKER, System.nanoTime() - startNanos, toks.length);
+    }
+    return bestSequence;
   }
 
   public Span[] chunkAsSpans(String[] toks, String[] tags) {
@@ -171,6 +194,11 @@ public class ChunkerME implements Chunker {
 
     Map<String, String> manifestInfoEntries = new HashMap<>();
 
+    String decoder = mlParams.getStringParameter(BeamSearch.DECODER_PARAMETER, null);
+    if (decoder != null) {
+      manifestInfoEntries.put(BeamSearch.DECODER_PARAMETER, decoder);
+    }
+
     TrainerType trainerType = TrainerFactory.getTrainerType(mlParams);
 
 
@@ -27,7 +27,6 @@ import java.util.Map;
 import java.util.Properties;
 
 import opennlp.tools.ml.BeamSearch;
-import opennlp.tools.ml.model.AbstractModel;
 import opennlp.tools.ml.model.MaxentModel;
 import opennlp.tools.ml.model.SequenceClassificationModel;
 import opennlp.tools.util.BaseToolFactory;
@@ -93,7 +92,7 @@ public class ChunkerModel extends BaseModel {
   protected void validateArtifactMap() throws InvalidFormatException {
     super.validateArtifactMap();
 
-    if (!(artifactMap.get(CHUNKER_MODEL_ENTRY_NAME) instanceof AbstractModel)) {
+    if (!(artifactMap.get(CHUNKER_MODEL_ENTRY_NAME) instanceof MaxentModel)) {
       throw new InvalidFormatException("Chunker model is incomplete!");
     }
 
@@ -134,7 +133,8 @@ public class ChunkerModel extends BaseModel {
         beamSize = Integer.parseInt(beamSizeString);
       }
 
-      return new BeamSearch<>(beamSize, (MaxentModel) artifactMap.get(CHUNKER_MODEL_ENTRY_NAME));
+      return BeamSearch.create(manifest.getProperty(BeamSearch.DECODER_PARAMETER), beamSize,
+          (MaxentModel) artifactMap.get(CHUNKER_MODEL_ENTRY_NAME));
     }
     else if (artifactMap.get(CHUNKER_MODEL_ENTRY_NAME) instanceof SequenceClassificationModel) {
       return (SequenceClassificationModel) artifactMap.get(CHUNKER_MODEL_ENTRY_NAME);
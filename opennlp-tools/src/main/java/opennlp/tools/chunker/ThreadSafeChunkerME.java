@@ -0,0 +1,83 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package opennlp.tools.chunker;
+
+import opennlp.tools.util.Sequence;
+import opennlp.tools.util.Span;
+
+/**
+ * A thread-safe version of the {@link ChunkerME}. The {@link ChunkerModel} is shared
+ * between all threads, while the mutable decoding state lives in a
+ * {@link ChunkerME} which is confined to the calling thread.
+ * <p>
+ * Call {@link #close()} from a thread which does not need the chunker anymore to
+ * release its thread local state.
+ */
+public class ThreadSafeChunkerME implements Chunker, AutoCloseable {
+
+  private final ChunkerModel model;
+
+  private final ThreadLocal<ChunkerME> threadLocal;
+
+  public ThreadSafeChunkerME(ChunkerModel model) {
+    this.model = model;
+    this.threadLocal = ThreadLocal.withInitial(() -> new ChunkerME(this.model));
+  }
+
+  private ChunkerME getChunker() {
+    return threadLocal.get();
+  }
+
+  @Override
+  public String[] chunk(String[] toks, String[] tags) {
+    return getChunker().chunk(toks, tags);
+  }
+
+  /**
+   * Finds the best chunk tag sequence for the specified sentence, the returned
+   * {@link Sequence} contains the chunk tags and their probabilities.
+   *
+   * @param toks an array of the tokens or words of the sequence.
+   * @param tags an array of the pos tags of the sequence.
+   *
+   * @return the best chunk tag sequence
+   */
+  public Sequence bestSequence(String[] toks, String[] tags) {
+    return getChunker().bestSequence(toks, tags);
+  }
+
+  @Override
+  public Span[] chunkAsSpans(String[] toks, String[] tags) {
+    return getChunker().chunkAsSpans(toks, tags);
+  }
+
+  @Override
+  public Sequence[] topKSequences(String[] sentence, String[] tags) {
+    return getChunker().topKSequences(sentence, tags);
+  }
+
+  @Override
+  public Sequence[] topKSequences(String[] sentence, String[] tags, double minSequenceScore) {
+    return getChunker().topKSequences(sentence, tags, minSequenceScore);
+  }
+
+  @Override
+  public void close() {
+    threadLocal.remove();
+  }
+}
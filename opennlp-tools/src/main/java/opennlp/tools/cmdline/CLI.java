@@ -164,6 +164,9 @@ public final class CLI {
     // Language Model
     tools.add(new NGramLanguageModelTool());
 
+    // Model packages
+    tools.add(new MappedModelConverterTool());
+
     for (CmdLineTool tool : tools) {
       toolLookupMap.put(tool.getName(), tool);
     }
@@ -0,0 +1,67 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package opennlp.tools.cmdline;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import opennlp.tools.ml.model.MappedModel;
+import opennlp.tools.util.model.ModelUtil;
+
+/**
+ * Converts the models inside a model package to the {@link MappedModel} format.
+ * The models of the converted package are memory mapped when it is loaded from a file.
+ */
+public final class MappedModelConverterTool extends BasicCmdLineTool {
+
+  public String getShortDescription() {
+    return "converts the models of a model package to the memory mapped format";
+  }
+
+  public String getHelp() {
+    return "Usage: " + CLI.CMD + " " + getName() + " model.bin converted.bin";
+  }
+
+  public void run(String[] args) {
+
+    if (args.length != 2) {
+      System.out.println(getHelp());
+      return;
+    }
+
+    File modelInFile = new File(args[0]);
+    File modelOutFile = new File(args[1]);
+
+    CmdLineUtil.checkInputFile("model input file", modelInFile);
+    CmdLineUtil.checkOutputFile("model output file", modelOutFile);
+
+    try (InputStream in = new BufferedInputStream(new FileInputStream(modelInFile));
+         OutputStream out = new BufferedOutputStream(new FileOutputStream(modelOutFile))) {
+      int convertedModels = ModelUtil.convertToMappedModels(in, out);
+      System.out.println("Converted " + convertedModels + " models.");
+    } catch (IOException e) {
+      throw new TerminateToolException(-1, "IO error while converting the model: "
+          + e.getMessage(), e);
+    }
+  }
+}
@@ -75,7 +75,7 @@ public final class ChunkerCrossValidatorTool
       validator = new ChunkerCrossValidator(params.getLang(), mlParams,
           chunkerFactory,
           listeners.toArray(new ChunkerEvaluationMonitor[listeners.size()]));
-      validator.evaluate(sampleStream, params.getFolds());
+      validator.evaluate(sampleStream, params.getFolds(), params.getThreads());
     }
     catch (IOException e) {
       throw createTerminationIOException(e);
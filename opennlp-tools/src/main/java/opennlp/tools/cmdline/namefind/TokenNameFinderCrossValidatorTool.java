@@ -139,7 +139,7 @@ public final class TokenNameFinderCrossValidatorTool
       validator = new TokenNameFinderCrossValidator(params.getLang(),
           params.getType(), mlParams, nameFinderFactory,
           listeners.toArray(new TokenNameFinderEvaluationMonitor[listeners.size()]));
-      validator.evaluate(sampleStream, params.getFolds());
+      validator.evaluate(sampleStream, params.getFolds(), params.getThreads());
     } catch (IOException e) {
       throw createTerminationIOException(e);
     } finally {
@@ -36,4 +36,9 @@ public interface CVParams {
   @OptionalParameter(defaultValue = "10")
   Integer getFolds();
 
+  @ParameterDescription(valueName = "num",
+      description = "number of folds which are trained at the same time, default is 1.")
+  @OptionalParameter(defaultValue = "1")
+  Integer getThreads();
+
 }
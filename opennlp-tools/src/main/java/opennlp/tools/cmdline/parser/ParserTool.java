@@ -31,6 +31,7 @@ import opennlp.tools.cmdline.PerformanceMonitor;
 import opennlp.tools.cmdline.SystemInputStreamFactory;
 import opennlp.tools.cmdline.tokenizer.TokenizerModelLoader;
 import opennlp.tools.parser.AbstractBottomUpParser;
+import opennlp.tools.parser.BatchParser;
 import opennlp.tools.parser.Parse;
 import opennlp.tools.parser.Parser;
 import opennlp.tools.parser.ParserFactory;
@@ -50,12 +51,14 @@ public final class ParserTool extends BasicCmdLineTool {
   }
 
   public String getHelp() {
-    return "Usage: " + CLI.CMD + " " + getName() + " [-bs n -ap n -k n -tk tok_model] model < sentences \n"
+    return "Usage: " + CLI.CMD + " " + getName()
+            + " [-bs n -ap n -k n -tk tok_model -threads n] model < sentences \n"
             + "-bs n: Use a beam size of n.\n"
             + "-ap f: Advance outcomes in with at least f% of the probability mass.\n"
             + "-k n: Show the top n parses.  This will also display their log-probablities.\n"
             + "-tk tok_model: Use the specified tokenizer model to tokenize the sentences. "
-            + "Defaults to a WhitespaceTokenizer.";
+            + "Defaults to a WhitespaceTokenizer.\n"
+            + "-threads n: Parse the sentences in batches on n threads.";
   }
 
   private static Pattern untokenizedParenPattern1 = Pattern.compile("([^ ])([({)}])");
@@ -65,13 +68,17 @@ public final class ParserTool extends BasicCmdLineTool {
     return parseLine( line, parser, WhitespaceTokenizer.INSTANCE, numParses );
   }
 
-  public static Parse[] parseLine(String line, Parser parser, Tokenizer tokenizer, int numParses) {
+  private static String[] tokenizeLine(String line, Tokenizer tokenizer) {
     // fix some parens patterns
     line = untokenizedParenPattern1.matcher(line).replaceAll("$1 $2");
     line = untokenizedParenPattern2.matcher(line).replaceAll("$1 $2");
 
+    return tokenizer.tokenize(line);
+  }
+
+  public static Parse[] parseLine(String line, Parser parser, Tokenizer tokenizer, int numParses) {
     // tokenize
-    List<String> tokens = Arrays.asList( tokenizer.tokenize(line));
+    List<String> tokens = Arrays.asList(tokenizeLine(line, tokenizer));
     String text = String.join(" ", tokens);
 
     Parse p = new Parse(text, new Span(0, text.length()), AbstractBottomUpParser.INC_NODE, 0, 0);
@@ -126,6 +133,12 @@ public final class ParserTool extends BasicCmdLineTool {
         tokenizer = new TokenizerME( tokenizerModel );
       }
 
+      Integer threads = CmdLineUtil.getIntParameter("-threads", args);
+      if (threads != null && threads > 1) {
+        parseInBatches(model, beamSize, advancePercentage, threads, tokenizer, numParses, showTopK);
+        return;
+      }
+
       Parser parser = ParserFactory.create(model, beamSize, advancePercentage);
 
       ObjectStream<String> lineStream = null;
@@ -160,4 +173,43 @@ public final class ParserTool extends BasicCmdLineTool {
       perfMon.stopAndPrintFinalResult();
     }
   }
+
+  private static void parseInBatches(ParserModel model, int beamSize, double advancePercentage,
+      int threads, Tokenizer tokenizer, int numParses, boolean showTopK) {
+
+    PerformanceMonitor perfMon = new PerformanceMonitor(System.err, "sent");
+
+    try (BatchParser parser = new BatchParser(model, beamSize, advancePercentage, threads,
+        BatchParser.DEFAULT_BATCH_SIZE);
+         ObjectStream<String> lineStream = new PlainTextByLineStream(new SystemInputStreamFactory(),
+             SystemInputStreamFactory.encoding());
+         ObjectStream<Parse[]> parseStream = parser.parse(
+             () -> {
+               String line = lineStream.read();
+               return line != null ? tokenizeLine(line, tokenizer) : null;
+             }, numParses)) {
+
+      perfMon.start();
+      Parse[] parses;
+      while ((parses = parseStream.read()) != null) {
+        if (parses[0].getChildCount() == 0) {
+          System.out.println();
+        } else {
+          for (int pi = 0, pn = parses.length; pi < pn; pi++) {
+            if (showTopK) {
+              System.out.print(pi + " " + parses[pi].getProb() + " ");
+            }
+
+            parses[pi].show();
+
+            perfMon.incrementCounter();
+          }
+        }
+      }
+    } catch (IOException e) {
+      CmdLineUtil.handleStdinIoError(e);
+    }
+
+    perfMon.stopAndPrintFinalResult();
+  }
 }
@@ -74,7 +74,7 @@ public final class SentenceDetectorCrossValidatorTool
       validator = new SDCrossValidator(params.getLang(), mlParams, sdFactory,
           errorListener);
 
-      validator.evaluate(sampleStream, params.getFolds());
+      validator.evaluate(sampleStream, params.getFolds(), params.getThreads());
     }
     catch (IOException e) {
       throw createTerminationIOException(e);
@@ -0,0 +1,415 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package opennlp.tools.dictionary;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import opennlp.tools.util.InvalidFormatException;
+import opennlp.tools.util.StringList;
+
+/**
+ * An immutable {@link Dictionary} which is optimized for memory usage and lookup speed.
+ * <p>
+ * Every distinct token is stored once in a token table, the entries are stored as packed
+ * sequences of token ids and are found with an open addressing hash table. The entries are
+ * compared with the same case sensitivity rules as in {@link Dictionary}.
+ * <p>
+ * The dictionary can be written in a binary format with {@link #writeBinary(OutputStream)},
+ * the {@link opennlp.tools.util.model.DictionarySerializer} writes this format for compact
+ * dictionaries and detects it when a model is loaded, therefore a compact dictionary can be
+ * used everywhere a {@link Dictionary} is expected.
+ * <p>
+ * This class is thread safe.
+ */
+public class CompactDictionary extends Dictionary {
+
+  private static final int MAGIC_NUMBER = 0x4F4E4443;
+  private static final int VERSION = 1;
+
+  private final String[] tokens;
+
+  // the token ids of entry i are stored from entryOffsets[i] to entryOffsets[i + 1]
+  private final int[] entryOffsets;
+  private final int[] entryTokens;
+
+  // entry index + 1 or 0 for an empty slot
+  private final int[] table;
+
+  private final int minTokenCount;
+  private final int maxTokenCount;
+
+  /**
+   * Initializes the compact dictionary with the entries and the case sensitivity
+   * of the given dictionary.
+   *
+   * @param dictionary the dictionary to copy
+   */
+  public CompactDictionary(Dictionary dictionary) {
+    super(dictionary.isCaseSensitive());
+
+    Map<String, Integer> tokenIds = new HashMap<>();
+    int numEntries = dictionary.size();
+    int[] offsets = new int[numEntries + 1];
+    int[] ids = new int[16];
+    int numIds = 0;
+    int entry = 0;
+
+    for (StringList entryTokens : dictionary) {
+      for (int i = 0; i < entryTokens.size(); i++) {
+        Integer id = tokenIds.get(entryTokens.getToken(i));
+        if (id == null) {
+          id = tokenIds.size();
+          tokenIds.put(entryTokens.getToken(i), id);
+        }
+        if (numIds == ids.length) {
+          int[] newIds = new int[ids.length * 2];
+          System.arraycopy(ids, 0, newIds, 0, numIds);
+          ids = newIds;
+        }
+        ids[numIds++] = id;
+      }
+      offsets[++entry] = numIds;
+    }
+
+    String[] tokenTable = new String[tokenIds.size()];
+    for (Map.Entry<String, Integer> token : tokenIds.entrySet()) {
+      tokenTable[token.getValue()] = token.getKey();
+    }
+
+    int[] packed = new int[numIds];
+    System.arraycopy(ids, 0, packed, 0, numIds);
+
+    this.tokens = tokenTable;
+    this.entryOffsets = offsets;
+    this.entryTokens = packed;
+    this.table = createTable();
+
+    this.minTokenCount = dictionary.getMinTokenCount();
+    this.maxTokenCount = dictionary.getMaxTokenCount();
+  }
+
+  private CompactDictionary(boolean caseSensitive, String[] tokens, int[] entryOffsets,
+      int[] entryTokens) {
+    super(caseSensitive);
+
+    this.tokens = tokens;
+    this.entryOffsets = entryOffsets;
+    this.entryTokens = entryTokens;
+    this.table = createTable();
+
+    int min = 99999;
+    int max = 0;
+    for (int i = 0; i < size(); i++) {
+      int length = entryOffsets[i + 1] - entryOffsets[i];
+      min = StrictMath.min(min, length);
+      max = StrictMath.max(max, length);
+    }
+    this.minTokenCount = min;
+    this.maxTokenCount = max;
+  }
+
+  private int[] createTable() {
+    int capacity = Integer.highestOneBit(StrictMath.max(4, size() * 2 - 1)) << 1;
+    int[] newTable = new int[capacity];
+    int mask = capacity - 1;
+
+    for (int entry = 0; entry < size(); entry++) {
+      int hash = 1;
+      for (int i = entryOffsets[entry]; i < entryOffsets[entry + 1]; i++) {
+        hash = 31 * hash + tokenHash(tokens[entryTokens[i]]);
+      }
+      int slot = mix(hash) & mask;
+      while (newTable[slot] != 0) {
+        slot = (slot + 1) & mask;
+      }
+      newTable[slot] = entry + 1;
+    }
+    return newTable;
+  }
+
+  private int tokenHash(String token) {
+    int hash = 0;
+    if (isCaseSensitive()) {
+      hash = token.hashCode();
+    }
+    else {
+      for (int i = 0; i < token.length(); i++) {
+        hash = 31 * hash + TokenTrie.fold(token.charAt(i));
+      }
+    }
+    return hash;
+  }
+
+  private static int mix(int hash) {
+    hash *= 0x9E3779B9;
+    return hash ^ (hash >>> 16);
+  }
+
+  private boolean tokenEquals(String entryToken, String token) {
+    if (isCaseSensitive()) {
+      return entryToken.equals(token);
+    }
+    else {
+      return entryToken.compareToIgnoreCase(token) == 0;
+    }
+  }
+
+  @Override
+  public boolean contains(StringList query) {
+    int hash = 1;
+    for (int i = 0; i < query.size(); i++) {
+      hash = 31 * hash + tokenHash(query.getToken(i));
+    }
+
+    int mask = table.length - 1;
+    for (int slot = mix(hash) & mask; table[slot] != 0; slot = (slot + 1) & mask) {
+      int entry = table[slot] - 1;
+      int start = entryOffsets[entry];
+      if (entryOffsets[entry + 1] - start == query.size()) {
+        boolean equal = true;
+        for (int i = 0; i < query.size() && equal; i++) {
+          equal = tokenEquals(tokens[entryTokens[start + i]], query.getToken(i));
+        }
+        if (equal) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Not supported, the dictionary is immutable.
+   */
+  @Override
+  public void put(StringList tokens) {
+    throw new UnsupportedOperationException("A compact dictionary is immutable!");
+  }
+
+  /**
+   * Not supported, the dictionary is immutable.
+   */
+  @Override
+  public void remove(StringList tokens) {
+    throw new UnsupportedOperationException("A compact dictionary is immutable!");
+  }
+
+  @Override
+  public int getMinTokenCount() {
+    return minTokenCount;
+  }
+
+  @Override
+  public int getMaxTokenCount() {
+    return maxTokenCount;
+  }
+
+  @Override
+  public int size() {
+    return entryOffsets.length - 1;
+  }
+
+  private StringList getEntry(int entry) {
+    int start = entryOffsets[entry];
+    String[] entryStrings = new String[entryOffsets[entry + 1] - start];
+    for (int i = 0; i < entryStrings.length; i++) {
+      entryStrings[i] = tokens[entryTokens[start + i]];
+    }
+    return new StringList(entryStrings);
+  }
+
+  @Override
+  public Iterator<StringList> iterator() {
+    return new Iterator<StringList>() {
+
+      private int entry = 0;
+
+      @Override
+      public boolean hasNext() {
+        return entry < size();
+      }
+
+      @Override
+      public StringList next() {
+        if (!hasNext()) {
+          throw new NoSuchElementException();
+        }
+        return getEntry(entry++);
+      }
+    };
+  }
+
+  @Override
+  public Set<String> asStringSet() {
+    return new AbstractSet<String>() {
+
+      @Override
+      public Iterator<String> iterator() {
+        Iterator<StringList> entries = CompactDictionary.this.iterator();
+
+        return new Iterator<String>() {
+
+          @Override
+          public boolean hasNext() {
+            return entries.hasNext();
+          }
+
+          @Override
+          public String next() {
+            return entries.next().getToken(0);
+          }
+        };
+      }
+
+      @Override
+      public int size() {
+        return CompactDictionary.this.size();
+      }
+
+      @Override
+      public boolean contains(Object obj) {
+        return obj instanceof String && CompactDictionary.this.contains(new StringList((String) obj));
+      }
+    };
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder string = new StringBuilder("[");
+    for (int entry = 0; entry < size(); entry++) {
+      if (entry > 0) {
+        string.append(", ");
+      }
+      string.append(getEntry(entry));
+    }
+    return string.append(']').toString();
+  }
+
+  /**
+   * Writes the dictionary in the binary format which can be read with
+   * {@link #readBinary(InputStream)}.
+   *
+   * @param out the stream, it is not closed
+   * @throws IOException
+   */
+  public void writeBinary(OutputStream out) throws IOException {
+    DataOutputStream dataOut = new DataOutputStream(out);
+
+    dataOut.writeInt(MAGIC_NUMBER);
+    dataOut.writeInt(VERSION);
+    dataOut.writeBoolean(isCaseSensitive());
+
+    dataOut.writeInt(tokens.length);
+    for (String token : tokens) {
+      byte[] bytes = token.getBytes(StandardCharsets.UTF_8);
+      dataOut.writeInt(bytes.length);
+      dataOut.write(bytes);
+    }
+
+    dataOut.writeInt(size());
+    for (int offset : entryOffsets) {
+      dataOut.writeInt(offset);
+    }
+    for (int id : entryTokens) {
+      dataOut.writeInt(id);
+    }
+
+    dataOut.flush();
+  }
+
+  /**
+   * Checks if the stream starts with a compact dictionary. The stream must support
+   * mark and reset and is reset to its current position.
+   *
+   * @param in the stream
+   * @return true if the stream contains a compact dictionary
+   * @throws IOException
+   */
+  public static boolean isBinaryFormat(InputStream in) throws IOException {
+    in.mark(4);
+    try {
+      int magic = 0;
+      for (int i = 0; i < 4; i++) {
+        int b = in.read();
+        if (b == -1) {
+          return false;
+        }
+        magic = (magic << 8) | b;
+      }
+      return magic == MAGIC_NUMBER;
+    }
+    finally {
+      in.reset();
+    }
+  }
+
+  /**
+   * Reads a dictionary which was written with {@link #writeBinary(OutputStream)}.
+   *
+   * @param in the stream, it is not closed
+   * @return the dictionary
+   * @throws IOException
+   */
+  public static CompactDictionary readBinary(InputStream in) throws IOException {
+    DataInputStream dataIn = new DataInputStream(in);
+
+    if (dataIn.readInt() != MAGIC_NUMBER) {
+      throw new InvalidFormatException("The stream does not contain a compact dictionary!");
+    }
+
+    int version = dataIn.readInt();
+    if (version != VERSION) {
+      throw new InvalidFormatException("Unsupported compact dictionary version: " + version);
+    }
+
+    boolean caseSensitive = dataIn.readBoolean();
+
+    String[] tokens = new String[dataIn.readInt()];
+    for (int i = 0; i < tokens.length; i++) {
+      byte[] bytes = new byte[dataIn.readInt()];
+      dataIn.readFully(bytes);
+      tokens[i] = new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    int[] entryOffsets = new int[dataIn.readInt() + 1];
+    for (int i = 0; i < entryOffsets.length; i++) {
+      entryOffsets[i] = dataIn.readInt();
+    }
+
+    int[] entryTokens = new int[entryOffsets[entryOffsets.length - 1]];
+    for (int i = 0; i < entryTokens.length; i++) {
+      entryTokens[i] = dataIn.readInt();
+      if (entryTokens[i] < 0 || entryTokens[i] >= tokens.length) {
+        throw new InvalidFormatException("Invalid token id: " + entryTokens[i]);
+      }
+    }
+
+    return new CompactDictionary(caseSensitive, tokens, entryOffsets, entryTokens);
+  }
+}
@@ -95,6 +95,9 @@ public class Dictionary implements Iterable<StringList>, SerializableArtifact {
   private int minTokenCount = 99999;
   private int maxTokenCount = 0;
 
+  // built on the first lookup and discarded when the entries change
+  private volatile TokenTrie trie;
+
 
   /**
    * Initializes an empty {@link Dictionary}.
@@ -124,10 +127,18 @@ public class Dictionary implements Iterable<StringList>, SerializableArtifact {
    */
   public void put(StringList tokens) {
     entrySet.add(new StringListWrapper(tokens));
+    trie = null;
     minTokenCount = StrictMath.min(minTokenCount, tokens.size());
     maxTokenCount = StrictMath.max(maxTokenCount, tokens.size());
   }
 
+  /**
+   * @return true if the entries are compared case sensitive, otherwise false
+   */
+  public boolean isCaseSensitive() {
+    return isCaseSensitive;
+  }
+
   /**
    *
    * @return minimum token count in the dictionary
@@ -161,6 +172,34 @@ public class Dictionary implements Iterable<StringList>, SerializableArtifact {
    */
   public void remove(StringList tokens) {
     entrySet.remove(new StringListWrapper(tokens));
+    trie = null;
+  }
+
+  /**
+   * Retrieves the number of tokens of the longest entry which matches the tokens
+   * beginning at the start index. The tokens are compared with the case sensitivity
+   * of this dictionary.
+   * <p>
+   * The first call builds a token trie over all entries, the lookup itself does not
+   * create any objects for the token windows it tries.
+   *
+   * @param tokens the tokens
+   * @param start the index of the first token
+   *
+   * @return the number of tokens of the longest matching entry, or zero if no entry matches
+   */
+  public int longestMatch(String[] tokens, int start) {
+    TokenTrie currentTrie = trie;
+    if (currentTrie == null) {
+      synchronized (this) {
+        currentTrie = trie;
+        if (currentTrie == null) {
+          currentTrie = new TokenTrie(this, isCaseSensitive);
+          trie = currentTrie;
+        }
+      }
+    }
+    return currentTrie.longestMatch(tokens, start, getMaxTokenCount());
   }
 
   /**
@@ -238,7 +277,11 @@ public class Dictionary implements Iterable<StringList>, SerializableArtifact {
     else if (obj instanceof Dictionary) {
       Dictionary dictionary  = (Dictionary) obj;
 
-      result = entrySet.equals(dictionary.entrySet);
+      // compared through the entries, subclasses may store them differently
+      result = size() == dictionary.size();
+      for (Iterator<StringList> entries = dictionary.iterator(); result && entries.hasNext(); ) {
+        result = contains(entries.next());
+      }
     }
     else {
       result = false;
@@ -249,7 +292,12 @@ public class Dictionary implements Iterable<StringList>, SerializableArtifact {
 
   @Override
   public int hashCode() {
-    return entrySet.hashCode();
+    // equal to the hash code of the entry set, computed through the entries
+    int hash = 0;
+    for (StringList entry : this) {
+      hash += StringUtil.toLowerCase(entry.toString()).hashCode();
+    }
+    return hash;
   }
 
   @Override
@@ -0,0 +1,233 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package opennlp.tools.dictionary;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+import opennlp.tools.util.StringList;
+
+/**
+ * A trie over the tokens of the dictionary entries. Every token is mapped to an id
+ * with an open addressing hash table of tokens and the edges of the trie are stored
+ * in one open addressing hash table which is keyed by the parent node and the token
+ * id, therefore a lookup does not allocate any objects.
+ * <p>
+ * If the trie is not case sensitive the tokens are compared with the same rules as
+ * {@link String#compareToIgnoreCase(String)}, the case is folded char by char while
+ * the tokens are hashed and compared.
+ * <p>
+ * The trie is immutable after construction and can be shared between threads.
+ */
+final class TokenTrie {
+
+  private static final long EMPTY = -1L;
+
+  private final boolean caseSensitive;
+
+  private String[] tokenTable;
+  private int[] tokenIds;
+  private int numTokens;
+
+  private long[] edgeKeys;
+  private int[] edgeTargets;
+  private int numEdges;
+
+  private final BitSet terminal = new BitSet();
+  private int numNodes = 1;
+
+  TokenTrie(Iterable<StringList> entries, boolean caseSensitive) {
+    this.caseSensitive = caseSensitive;
+
+    tokenTable = new String[64];
+    tokenIds = new int[64];
+
+    edgeKeys = new long[64];
+    Arrays.fill(edgeKeys, EMPTY);
+    edgeTargets = new int[64];
+
+    for (StringList entry : entries) {
+      int node = 0;
+      for (int i = 0; i < entry.size(); i++) {
+        String token = entry.getToken(i);
+        int tokenId = tokenId(token);
+        if (tokenId < 0) {
+          tokenId = addToken(token);
+        }
+        int child = child(node, tokenId);
+        if (child < 0) {
+          child = numNodes++;
+          addEdge(node, tokenId, child);
+        }
+        node = child;
+      }
+      terminal.set(node);
+    }
+  }
+
+  /**
+   * Retrieves the number of tokens of the longest entry which matches the tokens
+   * beginning at the start index.
+   *
+   * @param tokens the tokens
+   * @param start the index of the first token
+   * @param maxLength the maximum number of tokens to match
+   *
+   * @return the number of tokens of the longest matching entry, or zero if no entry matches
+   */
+  int longestMatch(String[] tokens, int start, int maxLength) {
+    int end = (int) StrictMath.min(tokens.length, (long) start + maxLength);
+
+    int node = 0;
+    int longest = 0;
+    for (int i = start; i < end; i++) {
+      int tokenId = tokenId(tokens[i]);
+      if (tokenId < 0) {
+        break;
+      }
+      node = child(node, tokenId);
+      if (node < 0) {
+        break;
+      }
+      if (terminal.get(node)) {
+        longest = i - start + 1;
+      }
+    }
+    return longest;
+  }
+
+  static char fold(char c) {
+    // the folding is equivalent to the comparison of String.compareToIgnoreCase
+    return Character.toLowerCase(Character.toUpperCase(c));
+  }
+
+  private int tokenHash(String token) {
+    int hash = 0;
+    for (int i = 0; i < token.length(); i++) {
+      char c = token.charAt(i);
+      hash = 31 * hash + (caseSensitive ? c : fold(c));
+    }
+    hash *= 0x9E3779B9;
+    return hash ^ (hash >>> 16);
+  }
+
+  private boolean tokenEquals(String a, String b) {
+    if (caseSensitive) {
+      return a.equals(b);
+    }
+
+    if (a.length() != b.length()) {
+      return false;
+    }
+    for (int i = 0; i < a.length(); i++) {
+      if (fold(a.charAt(i)) != fold(b.charAt(i))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private int tokenId(String token) {
+    int mask = tokenTable.length - 1;
+    for (int slot = tokenHash(token) & mask; ; slot = (slot + 1) & mask) {
+      String slotToken = tokenTable[slot];
+      if (slotToken == null) {
+        return -1;
+      }
+      if (tokenEquals(slotToken, token)) {
+        return tokenIds[slot];
+      }
+    }
+  }
+
+  private int addToken(String token) {
+    if ((numTokens + 1) * 2 > tokenTable.length) {
+      String[] oldTokens = tokenTable;
+      int[] oldIds = tokenIds;
+      tokenTable = new String[oldTokens.length * 2];
+      tokenIds = new int[oldIds.length * 2];
+      for (int i = 0; i < oldTokens.length; i++) {
+        if (oldTokens[i] != null) {
+          insertToken(oldTokens[i], oldIds[i]);
+        }
+      }
+    }
+    insertToken(token, numTokens);
+    return numTokens++;
+  }
+
+  private void insertToken(String token, int tokenId) {
+    int mask = tokenTable.length - 1;
+    int slot = tokenHash(token) & mask;
+    while (tokenTable[slot] != null) {
+      slot = (slot + 1) & mask;
+    }
+    tokenTable[slot] = token;
+    tokenIds[slot] = tokenId;
+  }
+
+  private static long edgeKey(int node, int tokenId) {
+    return ((long) node << 32) | (tokenId & 0xFFFFFFFFL);
+  }
+
+  private int slot(long key) {
+    long hash = key * 0x9E3779B97F4A7C15L;
+    return (int) (hash ^ (hash >>> 32)) & (edgeKeys.length - 1);
+  }
+
+  private int child(int node, int tokenId) {
+    long key = edgeKey(node, tokenId);
+    int mask = edgeKeys.length - 1;
+    for (int slot = slot(key); ; slot = (slot + 1) & mask) {
+      long slotKey = edgeKeys[slot];
+      if (slotKey == key) {
+        return edgeTargets[slot];
+      }
+      if (slotKey == EMPTY) {
+        return -1;
+      }
+    }
+  }
+
+  private void addEdge(int node, int tokenId, int child) {
+    if ((numEdges + 1) * 2 > edgeKeys.length) {
+      long[] oldKeys = edgeKeys;
+      int[] oldTargets = edgeTargets;
+      edgeKeys = new long[oldKeys.length * 2];
+      Arrays.fill(edgeKeys, EMPTY);
+      edgeTargets = new int[oldTargets.length * 2];
+      for (int i = 0; i < oldKeys.length; i++) {
+        if (oldKeys[i] != EMPTY) {
+          insert(oldKeys[i], oldTargets[i]);
+        }
+      }
+    }
+    insert(edgeKey(node, tokenId), child);
+    numEdges++;
+  }
+
+  private void insert(long key, int target) {
+    int mask = edgeKeys.length - 1;
+    int slot = slot(key);
+    while (edgeKeys[slot] != EMPTY) {
+      slot = (slot + 1) & mask;
+    }
+    edgeKeys[slot] = key;
+    edgeTargets[slot] = target;
+  }
+}
@@ -23,6 +23,7 @@ import java.util.Collection;
 import java.util.Map;
 import java.util.Objects;
 
+import opennlp.tools.util.featuregen.FeatureSink;
 import opennlp.tools.util.featuregen.StringPattern;
 
 /**
@@ -59,4 +60,16 @@ public class BagOfWordsFeatureGenerator implements FeatureGenerator {
 
     return bagOfWords;
   }
+
+  @Override
+  public void extractFeatures(String[] text, Map<String, Object> extraInformation,
+      FeatureSink sink) {
+    Objects.requireNonNull(text, "text must not be null");
+
+    for (String word : text) {
+      if (!useOnlyAllLetterTokens || StringPattern.recognize(word).isAllLetter()) {
+        sink.add("bow=", word);
+      }
+    }
+  }
 }
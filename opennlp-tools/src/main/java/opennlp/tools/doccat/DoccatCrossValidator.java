@@ -21,7 +21,7 @@ import java.io.IOException;
 
 import opennlp.tools.util.ObjectStream;
 import opennlp.tools.util.TrainingParameters;
-import opennlp.tools.util.eval.CrossValidationPartitioner;
+import opennlp.tools.util.eval.CrossValidationRunner;
 import opennlp.tools.util.eval.Mean;
 
 /**
@@ -64,27 +64,33 @@ public class DoccatCrossValidator {
    */
   public void evaluate(ObjectStream<DocumentSample> samples, int nFolds)
       throws IOException {
+    evaluate(samples, nFolds, 1);
+  }
 
-    CrossValidationPartitioner<DocumentSample> partitioner = new CrossValidationPartitioner<>(
-        samples, nFolds);
-
-    while (partitioner.hasNext()) {
-
-      CrossValidationPartitioner.TrainingSampleStream<DocumentSample> trainingSampleStream = partitioner
-          .next();
-
-      DoccatModel model = DocumentCategorizerME.train(languageCode,
-          trainingSampleStream, params, factory);
-
-      DocumentCategorizerEvaluator evaluator = new DocumentCategorizerEvaluator(
-          new DocumentCategorizerME(model), listeners);
-
-      evaluator.evaluate(trainingSampleStream.getTestSampleStream());
-
-      documentAccuracy.add(evaluator.getAccuracy(),
-          evaluator.getDocumentCount());
-
-    }
+  /**
+   * Starts the evaluation, the models of up to the given number of folds are trained
+   * at the same time.
+   *
+   * @param samples
+   *          the data to train and test, it is read once and kept in memory
+   * @param nFolds
+   *          number of folds
+   * @param threads
+   *          the maximum number of folds which are trained at the same time
+   *
+   * @throws IOException
+   */
+  public void evaluate(ObjectStream<DocumentSample> samples, int nFolds, int threads)
+      throws IOException {
+    new CrossValidationRunner<DocumentSample, DoccatModel>(threads).run(samples, nFolds,
+        trainingSamples -> DocumentCategorizerME.train(languageCode, trainingSamples,
+            new TrainingParameters(params), factory),
+        (model, testSamples) -> {
+          DocumentCategorizerEvaluator evaluator = new DocumentCategorizerEvaluator(
+              new DocumentCategorizerME(model), listeners);
+          evaluator.evaluate(testSamples);
+          documentAccuracy.add(evaluator.getAccuracy(), evaluator.getDocumentCount());
+        });
   }
 
   /**
@@ -24,7 +24,6 @@ import java.net.URL;
 import java.nio.file.Path;
 import java.util.Map;
 
-import opennlp.tools.ml.model.AbstractModel;
 import opennlp.tools.ml.model.MaxentModel;
 import opennlp.tools.util.BaseToolFactory;
 import opennlp.tools.util.InvalidFormatException;
@@ -66,7 +65,7 @@ public class DoccatModel extends BaseModel {
   protected void validateArtifactMap() throws InvalidFormatException {
     super.validateArtifactMap();
 
-    if (!(artifactMap.get(DOCCAT_MODEL_ENTRY_NAME) instanceof AbstractModel)) {
+    if (!(artifactMap.get(DOCCAT_MODEL_ENTRY_NAME) instanceof MaxentModel)) {
       throw new InvalidFormatException("Doccat model is incomplete!");
     }
   }
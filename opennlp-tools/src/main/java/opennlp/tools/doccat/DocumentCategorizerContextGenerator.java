@@ -21,6 +21,8 @@ import java.util.Collection;
 import java.util.LinkedList;
 import java.util.Map;
 
+import opennlp.tools.util.featuregen.FeatureSink;
+
 /**
  * Context generator for document categorizer
  */
@@ -44,4 +46,14 @@ class DocumentCategorizerContextGenerator {
 
     return context.toArray(new String[context.size()]);
   }
+
+  /**
+   * Adds the features of all feature generators to the sink, in the same order
+   * as {@link #getContext(String[], Map)}.
+   */
+  void getContext(String[] text, Map<String, Object> extraInformation, FeatureSink sink) {
+    for (FeatureGenerator mFeatureGenerator : mFeatureGenerators) {
+      mFeatureGenerator.extractFeatures(text, extraInformation, sink);
+    }
+  }
 }
@@ -28,9 +28,14 @@ import java.util.TreeMap;
 
 import opennlp.tools.ml.EventTrainer;
 import opennlp.tools.ml.TrainerFactory;
+import opennlp.tools.ml.model.AbstractModel;
+import opennlp.tools.ml.model.CompactModel;
+import opennlp.tools.ml.model.MappedModel;
 import opennlp.tools.ml.model.MaxentModel;
 import opennlp.tools.util.ObjectStream;
 import opennlp.tools.util.TrainingParameters;
+import opennlp.tools.util.metrics.Metrics;
+import opennlp.tools.util.metrics.MetricsRecorder;
 
 /**
  * Maxent implementation of {@link DocumentCategorizer}.
@@ -45,6 +50,12 @@ public class DocumentCategorizerME implements DocumentCategorizer {
   private DoccatModel model;
   private DocumentCategorizerContextGenerator mContextGenerator;
 
+  /**
+   * Indicates that the model can be evaluated with feature counts, which is only
+   * equivalent to repeating the features if the score is linear in the feature values.
+   */
+  private final boolean countsSupported;
+
   /**
    * Initializes the current instance with a doccat model. Default feature
    * generation is used.
@@ -55,6 +66,21 @@ public class DocumentCategorizerME implements DocumentCategorizer {
     this.model = model;
     this.mContextGenerator = new DocumentCategorizerContextGenerator(this.model
         .getFactory().getFeatureGenerators());
+    this.countsSupported = isLinear(this.model.getMaxentModel());
+  }
+
+  /**
+   * Checks if the model scores repeated features like a single feature with the number
+   * of repetitions as value, then the text can be categorized by its feature vector.
+   */
+  static boolean isLinear(MaxentModel model) {
+    if (model instanceof AbstractModel) {
+      return !AbstractModel.ModelType.NaiveBayes.equals(((AbstractModel) model).getModelType());
+    }
+    if (model instanceof MappedModel) {
+      return !AbstractModel.ModelType.NaiveBayes.equals(((MappedModel) model).getModelType());
+    }
+    return model instanceof CompactModel;
   }
 
   /**
@@ -66,8 +92,52 @@ public class DocumentCategorizerME implements DocumentCategorizer {
    */
   @Override
   public double[] categorize(String[] text, Map<String, Object> extraInformation) {
-    return model.getMaxentModel().eval(
-        mContextGenerator.getContext(text, extraInformation));
+    MetricsRecorder recorder = Metrics.getRecorder();
+    long startNanos = recorder != null ? System.nanoTime() : 0;
+
+    double[] probs;
+    if (countsSupported) {
+      probs = categorize(getFeatureVector(text, extraInformation));
+    }
+    else {
+      probs = model.getMaxentModel().eval(
+          mContextGenerator.getContext(text, extraInformation));
+    }
+
+    if (recorder != null) {
+      recorder.recordInference(Metrics.DOCUMENT_CATEGORIZER, System.nanoTime() - startNanos,
+          text.length);
+    }
+    return probs;
+  }
+
+  /**
+   * Creates the feature vector of the given text, which contains each distinct
+   * feature once together with the number of its occurrences.
+   *
+   * @param text text tokens to categorize
+   * @param extraInformation additional information
+   * @return the feature vector
+   */
+  public FeatureVector getFeatureVector(String[] text, Map<String, Object> extraInformation) {
+    FeatureVector vector = new FeatureVector();
+    mContextGenerator.getContext(text, extraInformation, vector);
+    return vector;
+  }
+
+  /**
+   * Categorizes a feature vector, the counts are passed to the model as feature values.
+   * <p>
+   * For maxent, quasi-newton and perceptron models the result is the same as categorizing
+   * the text the vector was created from, up to floating point rounding. A naive bayes
+   * model does not score counts like repeated features and should be used with
+   * {@link #categorize(String[], Map)} instead.
+   *
+   * @param vector the feature vector
+   * @return the probabilities of the categories
+   */
+  public double[] categorize(FeatureVector vector) {
+    return model.getMaxentModel().eval(vector.getFeatures(), vector.getCounts());
   }
 
   /**
@@ -21,6 +21,8 @@ package opennlp.tools.doccat;
 import java.util.Collection;
 import java.util.Map;
 
+import opennlp.tools.util.featuregen.FeatureSink;
+
 /**
  * Interface for generating features for document categorization.
  */
@@ -34,4 +36,23 @@ public interface FeatureGenerator {
    * @return a collection of features
    */
   Collection<String> extractFeatures(String[] text, Map<String, Object> extraInformation);
+
+  /**
+   * Extract features from given text fragments and add them to the sink.
+   * <p>
+   * The features must be identical to the ones returned by
+   * {@link #extractFeatures(String[], Map)}. The default implementation adds the
+   * extracted strings, a generator should override it when it can pass the features
+   * to the sink without concatenating them.
+   *
+   * @param text             the text fragments to extract features from
+   * @param extraInformation optional extra information to be used by the feature generator
+   * @param sink             the sink which receives the features
+   */
+  default void extractFeatures(String[] text, Map<String, Object> extraInformation,
+      FeatureSink sink) {
+    for (String feature : extractFeatures(text, extraInformation)) {
+      sink.add(feature);
+    }
+  }
 }
@@ -0,0 +1,164 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package opennlp.tools.doccat;
+
+import java.util.Arrays;
+
+import opennlp.tools.util.featuregen.FeatureSink;
+
+/**
+ * A sparse vector which counts how often each distinct feature of a document occurs.
+ * <p>
+ * The features are kept in the order of their first occurrence. A feature string
+ * is only created the first time a feature is added, repeated occurrences are looked
+ * up by their characters and only increment the count. Therefore the memory used by
+ * the vector depends on the number of distinct features and not on the length of
+ * the document.
+ * <p>
+ * The counts are stored as floats and are exact up to 2^24 occurrences of a feature.
+ */
+public class FeatureVector implements FeatureSink {
+
+  private String[] features;
+  private float[] counts;
+  private int[] hashes;
+  private int size;
+
+  // open addressing table, holds the index of the feature plus one
+  private int[] slots;
+
+  public FeatureVector() {
+    features = new String[16];
+    counts = new float[16];
+    hashes = new int[16];
+    slots = new int[32];
+  }
+
+  @Override
+  public void add(CharSequence prefix, CharSequence value, int start, int end) {
+    // same hash as String.hashCode of the concatenated feature
+    int hash = 0;
+    for (int i = 0; i < prefix.length(); i++) {
+      hash = 31 * hash + prefix.charAt(i);
+    }
+    for (int i = start; i < end; i++) {
+      hash = 31 * hash + value.charAt(i);
+    }
+
+    int mask = slots.length - 1;
+    int slot = slot(hash, mask);
+    int entry;
+    while ((entry = slots[slot]) != 0) {
+      if (hashes[entry - 1] == hash && matches(features[entry - 1], prefix, value, start, end)) {
+        counts[entry - 1]++;
+        return;
+      }
+      slot = (slot + 1) & mask;
+    }
+
+    if (size == features.length) {
+      features = Arrays.copyOf(features, size * 2);
+      counts = Arrays.copyOf(counts, size * 2);
+      hashes = Arrays.copyOf(hashes, size * 2);
+    }
+
+    StringBuilder feature = new StringBuilder(prefix.length() + end - start);
+    feature.append(prefix).append(value, start, end);
+    features[size] = feature.toString();
+    counts[size] = 1;
+    hashes[size] = hash;
+    size++;
+    slots[slot] = size;
+
+    if (size * 2 > slots.length) {
+      rehash(slots.length * 2);
+    }
+  }
+
+  private static int slot(int hash, int mask) {
+    return (hash ^ (hash >>> 16)) & mask;
+  }
+
+  private static boolean matches(String feature, CharSequence prefix, CharSequence value,
+      int start, int end) {
+    int prefixLength = prefix.length();
+    if (feature.length() != prefixLength + end - start) {
+      return false;
+    }
+    for (int i = 0; i < prefixLength; i++) {
+      if (feature.charAt(i) != prefix.charAt(i)) {
+        return false;
+      }
+    }
+    for (int i = start, fi = prefixLength; i < end; i++, fi++) {
+      if (feature.charAt(fi) != value.charAt(i)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private void rehash(int capacity) {
+    slots = new int[capacity];
+    int mask = capacity - 1;
+    for (int i = 0; i < size; i++) {
+      int slot = slot(hashes[i], mask);
+      while (slots[slot] != 0) {
+        slot = (slot + 1) & mask;
+      }
+      slots[slot] = i + 1;
+    }
+  }
+
+  /**
+   * Removes all features, the allocated memory is kept for the next document.
+   */
+  public void clear() {
+    Arrays.fill(features, 0, size, null);
+    Arrays.fill(slots, 0);
+    size = 0;
+  }
+
+  /**
+   * Retrieves the number of distinct features.
+   *
+   * @return the number of distinct features
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Retrieves the distinct features in the order of their first occurrence.
+   *
+   * @return the features
+   */
+  public String[] getFeatures() {
+    return Arrays.copyOf(features, size);
+  }
+
+  /**
+   * Retrieves the number of occurrences of each feature, in the same order
+   * as {@link #getFeatures()}.
+   *
+   * @return the counts
+   */
+  public float[] getCounts() {
+    return Arrays.copyOf(counts, size);
+  }
+}
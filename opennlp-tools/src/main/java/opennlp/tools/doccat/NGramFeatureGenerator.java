@@ -24,6 +24,7 @@ import java.util.Map;
 import java.util.Objects;
 
 import opennlp.tools.util.InvalidFormatException;
+import opennlp.tools.util.featuregen.FeatureSink;
 
 /**
  * Generates ngram features for a document.
@@ -89,4 +90,22 @@ public class NGramFeatureGenerator implements FeatureGenerator {
 
     return features;
   }
+
+  @Override
+  public void extractFeatures(String[] text, Map<String, Object> extraInfo, FeatureSink sink) {
+    Objects.requireNonNull(text, "text must not be null");
+    final StringBuilder sb = new StringBuilder();
+
+    for (int i = 0; i <= text.length - minGram; i++) {
+      sb.setLength(0);
+      for (int y = 0; y < maxGram && i + y < text.length; y++) {
+        sb.append(":");
+        sb.append(text[i + y]);
+        int gramCount = y + 1;
+        if (maxGram >= gramCount && gramCount >= minGram) {
+          sink.add("ng=", sb);
+        }
+      }
+    }
+  }
 }
@@ -29,6 +29,7 @@ import opennlp.tools.cmdline.params.EncodingParameter;
 import opennlp.tools.formats.AbstractSampleStreamFactory;
 import opennlp.tools.langdetect.LanguageSample;
 import opennlp.tools.util.ObjectStream;
+import opennlp.tools.util.ShuffleObjectStream;
 
 /**
  * <b>Note:</b> Do not use this class, internal use only!
@@ -53,6 +54,12 @@ public class LeipzigLanguageSampleStreamFactory
         description = "number of samples to skip before returning")
     @OptionalParameter(defaultValue = "0")
     String getSamplesToSkip();
+
+    @ParameterDescription(valueName = "samplesInMemory",
+        description = "maximum number of samples which are shuffled in memory, "
+            + "the others are spilled to temporary files")
+    @OptionalParameter(defaultValue = "100000")
+    String getSamplesInMemory();
   }
 
   protected <P> LeipzigLanguageSampleStreamFactory(Class<P> params) {
@@ -70,10 +77,11 @@ public class LeipzigLanguageSampleStreamFactory
     File sentencesFileDir = params.getSentencesDir();
 
     try {
-      return new SampleSkipStream(new SampleShuffleStream(
+      return new SampleSkipStream(new ShuffleObjectStream<>(
           new LeipzigLanguageSampleStream(sentencesFileDir,
           Integer.parseInt(params.getSentencesPerSample()),
-          Integer.parseInt(params.getSamplesPerLanguage()) + Integer.parseInt(params.getSamplesToSkip()))),
+          Integer.parseInt(params.getSamplesPerLanguage()) + Integer.parseInt(params.getSamplesToSkip())),
+          Integer.parseInt(params.getSamplesInMemory()), 23),
           Integer.parseInt(params.getSamplesToSkip()));
     } catch (IOException e) {
       throw new TerminateToolException(-1, "IO error while opening sample data.", e);
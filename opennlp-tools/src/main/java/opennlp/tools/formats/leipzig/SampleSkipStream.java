@@ -45,6 +45,11 @@ class SampleSkipStream<T> implements ObjectStream<T> {
     skipSamples();
   }
 
+  @Override
+  public void close() throws IOException {
+    samples.close();
+  }
+
   private void skipSamples() throws IOException {
     int i = 0;
 
@@ -21,6 +21,8 @@ import java.util.ArrayList;
 import java.util.Collection;
 
 import opennlp.tools.ngram.NGramCharModel;
+import opennlp.tools.util.StringUtil;
+import opennlp.tools.util.featuregen.FeatureSink;
 import opennlp.tools.util.normalizer.AggregateCharSequenceNormalizer;
 import opennlp.tools.util.normalizer.CharSequenceNormalizer;
 
@@ -65,4 +67,43 @@ public class DefaultLanguageDetectorContextGenerator implements LanguageDetector
     }
     return context.toArray(new String[context.size()]);
   }
+
+  /**
+   * Adds the character ngrams of the document to the sink without creating a string
+   * for each ngram. An ngram is added once for each occurrence.
+   *
+   * @param document document to extract context from
+   * @param sink the sink which receives the features
+   */
+  @Override
+  public void getContext(CharSequence document, FeatureSink sink) {
+
+    // a sub class might create other features in getContext(CharSequence)
+    if (getClass() != DefaultLanguageDetectorContextGenerator.class) {
+      LanguageDetectorContextGenerator.super.getContext(document, sink);
+      return;
+    }
+
+    CharSequence normalized = normalizer.normalize(document);
+    String lowerCased = StringUtil.toLowerCase(normalized);
+
+    if (lowerCased.length() != normalized.length()) {
+      LanguageDetectorContextGenerator.super.getContext(document, sink);
+      return;
+    }
+
+    for (int length = minLength; length <= maxLength; length++) {
+      for (int start = 0; start + length <= normalized.length(); start++) {
+        int end = start + length;
+        if (Character.isLowSurrogate(normalized.charAt(start))
+            || Character.isHighSurrogate(normalized.charAt(end - 1))) {
+          // the ngram splits a surrogate pair, the single surrogate is not lower cased
+          sink.add(StringUtil.toLowerCase(normalized.subSequence(start, end)));
+        }
+        else {
+          sink.add("", lowerCased, start, end);
+        }
+      }
+    }
+  }
 }
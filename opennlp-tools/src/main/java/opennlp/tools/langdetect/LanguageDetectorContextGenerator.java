@@ -19,9 +19,25 @@ package opennlp.tools.langdetect;
 
 import java.io.Serializable;
 
+import opennlp.tools.util.featuregen.FeatureSink;
+
 /**
  * A context generator interface for language detector.
  */
 public interface LanguageDetectorContextGenerator extends Serializable {
   String[] getContext(CharSequence document);
+
+  /**
+   * Adds the context of the document to the sink. A feature may be added more than once.
+   * <p>
+   * The default implementation adds the features created by {@link #getContext(CharSequence)}.
+   *
+   * @param document document to extract context from
+   * @param sink the sink which receives the features
+   */
+  default void getContext(CharSequence document, FeatureSink sink) {
+    for (String feature : getContext(document)) {
+      sink.add(feature);
+    }
+  }
 }
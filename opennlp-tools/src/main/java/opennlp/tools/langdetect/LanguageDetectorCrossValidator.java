@@ -22,7 +22,7 @@ import java.io.IOException;
 import opennlp.tools.doccat.FeatureGenerator;
 import opennlp.tools.util.ObjectStream;
 import opennlp.tools.util.TrainingParameters;
-import opennlp.tools.util.eval.CrossValidationPartitioner;
+import opennlp.tools.util.eval.CrossValidationRunner;
 import opennlp.tools.util.eval.Mean;
 
 /**
@@ -63,27 +63,32 @@ public class LanguageDetectorCrossValidator {
    */
   public void evaluate(ObjectStream<LanguageSample> samples, int nFolds)
       throws IOException {
+    evaluate(samples, nFolds, 1);
+  }
 
-    CrossValidationPartitioner<LanguageSample> partitioner =
-        new CrossValidationPartitioner<>(samples, nFolds);
-
-    while (partitioner.hasNext()) {
-
-      CrossValidationPartitioner.TrainingSampleStream<LanguageSample> trainingSampleStream =
-          partitioner.next();
-
-      LanguageDetectorModel model = LanguageDetectorME.train(
-          trainingSampleStream, params, factory);
-
-      LanguageDetectorEvaluator evaluator = new LanguageDetectorEvaluator(
-          new LanguageDetectorME(model), listeners);
-
-      evaluator.evaluate(trainingSampleStream.getTestSampleStream());
-
-      documentAccuracy.add(evaluator.getAccuracy(),
-          evaluator.getDocumentCount());
-
-    }
+  /**
+   * Starts the evaluation, the models of up to the given number of folds are trained
+   * at the same time.
+   *
+   * @param samples
+   *          the data to train and test, it is read once and kept in memory
+   * @param nFolds
+   *          number of folds
+   * @param threads
+   *          the maximum number of folds which are trained at the same time
+   *
+   * @throws IOException
+   */
+  public void evaluate(ObjectStream<LanguageSample> samples, int nFolds, int threads)
+      throws IOException {
+    new CrossValidationRunner<LanguageSample, LanguageDetectorModel>(threads).run(samples, nFolds,
+        trainingSamples -> LanguageDetectorME.train(trainingSamples, new TrainingParameters(params), factory),
+        (model, testSamples) -> {
+          LanguageDetectorEvaluator evaluator = new LanguageDetectorEvaluator(
+              new LanguageDetectorME(model), listeners);
+          evaluator.evaluate(testSamples);
+          documentAccuracy.add(evaluator.getAccuracy(), evaluator.getDocumentCount());
+        });
   }
 
   /**
@@ -18,19 +18,30 @@
 package opennlp.tools.langdetect;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.Charset;
 import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import opennlp.tools.ml.AbstractEventTrainer;
 import opennlp.tools.ml.EventTrainer;
 import opennlp.tools.ml.TrainerFactory;
+import opennlp.tools.ml.model.AbstractModel;
+import opennlp.tools.ml.model.Context;
 import opennlp.tools.ml.model.MaxentModel;
 import opennlp.tools.util.MutableInt;
 import opennlp.tools.util.ObjectStream;
 import opennlp.tools.util.TrainingParameters;
+import opennlp.tools.util.featuregen.FeatureSink;
 
 /**
  * Implements learnable Language Detector
@@ -54,6 +65,10 @@ import opennlp.tools.util.TrainingParameters;
  * stop and report the results.
  * </p>
  * <p>
+ * The probing detection can also read the text from a {@link Reader} or an
+ * {@link InputStream}, in this case only the current chunk is kept in memory.
+ * </p>
+ * <p>
  * The authors wish to thank Ken Krugler and
  * <a href="https://github.com/kkrugler/yalder">Yalder</a>}
  * for the inspiration for many of the design
@@ -162,6 +177,79 @@ public class LanguageDetectorME implements LanguageDetector {
     }
   }
 
+  /**
+   * This will stop reading early if the stopping criteria
+   * specified in {@link LanguageDetectorConfig#DEFAULT_LANGUAGE_DETECTOR_CONFIG}
+   * are met.
+   *
+   * @param reader the reader to read the content from, it is not closed
+   * @return result
+   * @throws IOException if reading fails
+   */
+  public ProbingLanguageDetectionResult probingPredictLanguages(Reader reader) throws IOException {
+    return probingPredictLanguages(reader, LanguageDetectorConfig.DEFAULT_LANGUAGE_DETECTOR_CONFIG);
+  }
+
+  /**
+   * This will stop reading early if the stopping criteria
+   * specified in the config are met.
+   *
+   * @param in the stream to read the content from, it is not closed
+   * @param charset the encoding of the content
+   * @param config config to customize detection
+   * @return result
+   * @throws IOException if reading fails
+   */
+  public ProbingLanguageDetectionResult probingPredictLanguages(InputStream in, Charset charset,
+      LanguageDetectorConfig config) throws IOException {
+    return probingPredictLanguages(new InputStreamReader(in, charset), config);
+  }
+
+  /**
+   * This will stop reading early if the stopping criteria
+   * specified in the config are met.
+   * <p>
+   * The content is processed in the same chunks as by
+   * {@link #probingPredictLanguages(CharSequence, LanguageDetectorConfig)}, but only the
+   * current chunk is kept in memory. The ngrams of the processed chunks are collected as
+   * predicate ids of the model, therefore the memory does not grow with the length of
+   * the content.
+   *
+   * @param reader the reader to read the content from, it is not closed
+   * @param config config to customize detection
+   * @return result
+   * @throws IOException if reading fails
+   */
+  public ProbingLanguageDetectionResult probingPredictLanguages(Reader reader,
+      LanguageDetectorConfig config) throws IOException {
+    List<Language[]> predictions = new LinkedList<>();
+    int start = 0;//where to start the next chunk in codepoints
+    Language[] currPredictions = null;
+    ChunkReader chunkReader = new ChunkReader(reader);
+    StringBuilder chunk = new StringBuilder();
+    NGramSet ngrams = new NGramSet(model.getMaxentModel());
+    while (true) {
+      int actualChunkSize =
+          (start + config.getChunkSize() > config.getMaxLength()) ?
+              config.getMaxLength() - start : config.getChunkSize();
+      int length = chunkReader.read(chunk, actualChunkSize);
+
+      if (length == 0) {
+        if (currPredictions == null) {
+          return new ProbingLanguageDetectionResult(predict(ngrams.eval()), start);
+        } else {
+          return new ProbingLanguageDetectionResult(currPredictions, start);
+        }
+      }
+      start += length;
+      mContextGenerator.getContext(chunk, ngrams);
+      currPredictions = predict(ngrams.eval());
+      if (seenEnough(predictions, currPredictions, Collections.emptyMap(), config)) {
+        return new ProbingLanguageDetectionResult(currPredictions, start);
+      }
+    }
+  }
+
   private void updateCounts(String[] context, Map<String, MutableInt> ngrams) {
     for (String ngram : context) {
       MutableInt i = ngrams.get(ngram);
@@ -191,7 +279,10 @@ public class LanguageDetectorME implements LanguageDetector {
       counts[i] = 1;
       i++;
     }
-    double[] eval = model.getMaxentModel().eval(allGrams, counts);
+    return predict(model.getMaxentModel().eval(allGrams, counts));
+  }
+
+  private Language[] predict(double[] eval) {
     Language[] arr = new Language[eval.length];
     for (int j = 0; j < eval.length; j++) {
       arr[j] = new Language(model.getMaxentModel().getOutcome(j), eval[j]);
@@ -284,6 +375,116 @@ public class LanguageDetectorME implements LanguageDetector {
     return new LanguageDetectorModel(model, manifestInfoEntries, factory);
   }
 
+  /**
+   * Reads chunks of a given number of code points from a reader.
+   */
+  private static class ChunkReader {
+
+    private final Reader reader;
+    private final char[] buffer = new char[4096];
+    private int position;
+    private int limit;
+
+    ChunkReader(Reader reader) {
+      this.reader = reader;
+    }
+
+    /**
+     * Reads up to the given number of code points into the chunk.
+     *
+     * @return the number of code points which were read, zero at the end of the input
+     */
+    int read(StringBuilder chunk, int codePoints) throws IOException {
+      chunk.setLength(0);
+      int count = 0;
+      while (count < codePoints && (position < limit || fill())) {
+        char c = buffer[position++];
+        chunk.append(c);
+        if (Character.isHighSurrogate(c) && (position < limit || fill())
+            && Character.isLowSurrogate(buffer[position])) {
+          chunk.append(buffer[position++]);
+        }
+        count++;
+      }
+      return count;
+    }
+
+    private boolean fill() throws IOException {
+      int read;
+      do {
+        read = reader.read(buffer);
+      } while (read == 0);
+
+      position = 0;
+      limit = Math.max(read, 0);
+      return read > 0;
+    }
+  }
+
+  /**
+   * Collects the distinct ngrams of the processed chunks. The ngrams are stored as predicate
+   * ids if the model is an {@link AbstractModel}, unknown ngrams are dropped because they do
+   * not change the result. Otherwise the ngrams are stored as strings.
+   */
+  private static class NGramSet implements FeatureSink {
+
+    private final MaxentModel model;
+    private final AbstractModel abstractModel;
+
+    private final BitSet seen = new BitSet();
+    private int[] predicateIds = new int[256];
+    private int size;
+
+    private final Set<String> ngrams = new LinkedHashSet<>();
+
+    NGramSet(MaxentModel model) {
+      this.model = model;
+      this.abstractModel = model instanceof AbstractModel ? (AbstractModel) model : null;
+    }
+
+    @Override
+    public void add(CharSequence prefix, CharSequence value, int start, int end) {
+      if (abstractModel != null) {
+        int id = abstractModel.getPredicateId(prefix, value, start, end);
+        if (id != -1 && !seen.get(id)) {
+          seen.set(id);
+          if (size == predicateIds.length) {
+            predicateIds = Arrays.copyOf(predicateIds, size * 2);
+          }
+          predicateIds[size++] = id;
+        }
+      }
+      else {
+        ngrams.add(new StringBuilder(prefix.length() + end - start)
+            .append(prefix).append(value, start, end).toString());
+      }
+    }
+
+    @Override
+    public void add(String feature) {
+      if (abstractModel != null) {
+        add("", feature, 0, feature.length());
+      }
+      else {
+        ngrams.add(feature);
+      }
+    }
+
+    double[] eval() {
+      if (abstractModel != null) {
+        Context[] context = new Context[size];
+        for (int i = 0; i < size; i++) {
+          context[i] = abstractModel.getParameters(predicateIds[i]);
+        }
+        return abstractModel.eval(context, size, null, new double[model.getNumOutcomes()]);
+      }
+
+      float[] counts = new float[ngrams.size()];
+      Arrays.fill(counts, 1);
+      return model.eval(ngrams.toArray(new String[ngrams.size()]), counts);
+    }
+  }
+
   private static class StringCPLengthPair {
     private final String s;
     private final int length;
@@ -23,7 +23,6 @@ import java.io.InputStream;
 import java.net.URL;
 import java.util.Map;
 
-import opennlp.tools.ml.model.AbstractModel;
 import opennlp.tools.ml.model.MaxentModel;
 import opennlp.tools.util.BaseToolFactory;
 import opennlp.tools.util.InvalidFormatException;
@@ -62,7 +61,7 @@ public class LanguageDetectorModel extends BaseModel {
   protected void validateArtifactMap() throws InvalidFormatException {
     super.validateArtifactMap();
 
-    if (!(artifactMap.get(LANGDETECT_MODEL_ENTRY_NAME) instanceof AbstractModel)) {
+    if (!(artifactMap.get(LANGDETECT_MODEL_ENTRY_NAME) instanceof MaxentModel)) {
       throw new InvalidFormatException("Language detector model is incomplete!");
     }
   }
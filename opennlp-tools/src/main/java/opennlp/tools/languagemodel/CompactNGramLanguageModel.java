@@ -0,0 +1,720 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package opennlp.tools.languagemodel;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import opennlp.tools.ml.model.PredicateIndex;
+import opennlp.tools.util.StringList;
+
+/**
+ * An immutable {@link LanguageModel} which computes the same Stupid Backoff scores as an
+ * {@link NGramLanguageModel} from a compact representation of its n-gram counts.
+ * <p>
+ * The tokens are mapped to vocabulary ids with an open addressing hash table and the
+ * n-grams are stored in a trie which is packed into int arrays, one level per n-gram
+ * length. The nodes of a level are sorted by their parent and their last token, the
+ * children of a node are found with a binary search in a contiguous range of the next
+ * level. Scoring an n-gram therefore walks at most n nodes and does not create any
+ * {@link StringList}s, and the next token prediction only visits the continuations of
+ * the history instead of every n-gram of the model.
+ * <p>
+ * All tables are read in place from {@link ByteBuffer}s, a model which is written
+ * with {@link #write(OutputStream)} can be memory mapped with {@link #map(File)}.
+ * The binary layout is, all values are big endian:
+ * <pre>
+ * int      magic number
+ * int      format version
+ * int      n-gram size of the model
+ * int      number of n-grams of the source model
+ * int      number of trie levels
+ * int      vocabulary size
+ * int      number of vocabulary index slots
+ * int      number of label chars
+ * int[]    number of nodes per level
+ * int[]    vocabulary index slots, token id + 1 or 0 for an empty slot
+ * int[]    char offsets of the tokens, vocabulary size + 1
+ * int[]    token ids ordered by descending unigram count
+ * per level:
+ *   int[]  token ids of the nodes, only for levels after the first
+ *   int[]  counts of the nodes
+ *   int[]  first child of each node in the next level, number of nodes + 1,
+ *          only for levels before the last
+ * char[]   tokens
+ * </pre>
+ * The nodes of the first level are the unigrams, a node there is the token id itself.
+ * A single model file must not be larger than 2 GB.
+ */
+public class CompactNGramLanguageModel implements LanguageModel {
+
+  public static final int MAGIC_NUMBER = 0x4F4E4C4D;
+
+  public static final int VERSION = 1;
+
+  private static final int HEADER_SIZE = 8 * Integer.BYTES;
+
+  private static final double BACKOFF_FACTOR = 0.4;
+
+  private final int n;
+  private final int size;
+  private final int vocabularySize;
+
+  private final IntBuffer slots;
+  private final int slotMask;
+  private final IntBuffer labelOffsets;
+  private final CharBuffer labels;
+  private final IntBuffer unigramOrder;
+
+  private final IntBuffer[] words;
+  private final IntBuffer[] counts;
+  private final IntBuffer[] childStarts;
+
+  /**
+   * Creates a compact copy of a language model.
+   *
+   * @param model the model, n-grams which are longer than its n-gram size are not copied
+   *              because they are never scored
+   */
+  public CompactNGramLanguageModel(NGramLanguageModel model) {
+    Tables tables = new Tables(model);
+
+    n = model.getNGramSize();
+    size = model.size();
+    vocabularySize = tables.vocabulary.size();
+
+    int[] slotArray = new int[Integer.highestOneBit(Math.max(2, vocabularySize) * 2 - 1) << 1];
+    slotMask = slotArray.length - 1;
+    int[] offsetArray = new int[vocabularySize + 1];
+    StringBuilder chars = new StringBuilder();
+    for (int id = 0; id < vocabularySize; id++) {
+      String token = tables.vocabulary.get(id);
+      int slot = PredicateIndex.slot(token, slotMask);
+      while (slotArray[slot] != 0) {
+        slot = (slot + 1) & slotMask;
+      }
+      slotArray[slot] = id + 1;
+      offsetArray[id] = chars.length();
+      chars.append(token);
+    }
+    offsetArray[vocabularySize] = chars.length();
+
+    slots = IntBuffer.wrap(slotArray);
+    labelOffsets = IntBuffer.wrap(offsetArray);
+    labels = CharBuffer.wrap(chars.toString().toCharArray());
+    unigramOrder = IntBuffer.wrap(tables.unigramOrder);
+
+    int depth = tables.counts.length;
+    words = new IntBuffer[depth];
+    counts = new IntBuffer[depth];
+    childStarts = new IntBuffer[depth];
+    for (int level = 0; level < depth; level++) {
+      if (level > 0) {
+        words[level] = IntBuffer.wrap(tables.words[level]);
+      }
+      counts[level] = IntBuffer.wrap(tables.counts[level]);
+      if (level < depth - 1) {
+        childStarts[level] = IntBuffer.wrap(tables.childStarts[level]);
+      }
+    }
+  }
+
+  /**
+   * Initializes the model from a buffer in the format which is written by
+   * {@link #write(OutputStream)}. The buffer is not copied and must not be
+   * modified afterwards.
+   *
+   * @param buffer the buffer, starting at its current position
+   *
+   * @throws IOException if the buffer does not contain a compact language model
+   */
+  public CompactNGramLanguageModel(ByteBuffer buffer) throws IOException {
+
+    ByteBuffer data = buffer.slice();
+
+    if (data.remaining() < HEADER_SIZE || data.getInt(0) != MAGIC_NUMBER) {
+      throw new IOException("Not a compact language model!");
+    }
+
+    if (data.getInt(4) != VERSION) {
+      throw new IOException("Unsupported compact language model version: " + data.getInt(4));
+    }
+
+    n = data.getInt(8);
+    size = data.getInt(12);
+    int depth = data.getInt(16);
+    vocabularySize = data.getInt(20);
+    int numSlots = data.getInt(24);
+    int numChars = data.getInt(28);
+
+    if (depth < 1) {
+      throw new IOException("Invalid number of levels: " + depth);
+    }
+
+    if (Integer.bitCount(numSlots) != 1) {
+      throw new IOException("Number of slots must be a power of two: " + numSlots);
+    }
+
+    int position = HEADER_SIZE;
+    IntBuffer nodeCounts = section(data, position, depth * Integer.BYTES).asIntBuffer();
+    position += depth * Integer.BYTES;
+    slots = section(data, position, numSlots * Integer.BYTES).asIntBuffer();
+    position += numSlots * Integer.BYTES;
+    labelOffsets = section(data, position, (vocabularySize + 1) * Integer.BYTES).asIntBuffer();
+    position += (vocabularySize + 1) * Integer.BYTES;
+    unigramOrder = section(data, position, vocabularySize * Integer.BYTES).asIntBuffer();
+    position += vocabularySize * Integer.BYTES;
+
+    words = new IntBuffer[depth];
+    counts = new IntBuffer[depth];
+    childStarts = new IntBuffer[depth];
+    for (int level = 0; level < depth; level++) {
+      int numNodes = nodeCounts.get(level);
+      if (level > 0) {
+        words[level] = section(data, position, numNodes * Integer.BYTES).asIntBuffer();
+        position += numNodes * Integer.BYTES;
+      }
+      else if (numNodes != vocabularySize) {
+        throw new IOException("The first level must contain the vocabulary!");
+      }
+      counts[level] = section(data, position, numNodes * Integer.BYTES).asIntBuffer();
+      position += numNodes * Integer.BYTES;
+      if (level < depth - 1) {
+        childStarts[level] = section(data, position, (numNodes + 1) * Integer.BYTES).asIntBuffer();
+        position += (numNodes + 1) * Integer.BYTES;
+      }
+    }
+
+    labels = section(data, position, numChars * Character.BYTES).asCharBuffer();
+    slotMask = numSlots - 1;
+  }
+
+  private static ByteBuffer section(ByteBuffer data, int position, int length)
+      throws IOException {
+    if (length < 0 || position + length > data.limit()) {
+      throw new IOException("Compact language model is truncated!");
+    }
+    ByteBuffer section = data.duplicate();
+    section.position(position);
+    section.limit(position + length);
+    return section.slice();
+  }
+
+  /**
+   * Maps a model file into memory.
+   *
+   * @param file the file which was written with {@link #write(OutputStream)}
+   *
+   * @return the mapped model
+   *
+   * @throws IOException if the file cannot be mapped or does not contain a compact language model
+   */
+  public static CompactNGramLanguageModel map(File file) throws IOException {
+    try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+      return new CompactNGramLanguageModel(
+          channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+    }
+  }
+
+  /**
+   * Reads a model which was written with {@link #write(OutputStream)} from a stream into memory.
+   *
+   * @param in the stream, it is not closed
+   *
+   * @return the model
+   *
+   * @throws IOException if the stream cannot be read or does not contain a compact language model
+   */
+  public static CompactNGramLanguageModel read(InputStream in) throws IOException {
+    ReadableByteChannel channel = Channels.newChannel(in);
+
+    ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+    while (channel.read(buffer) != -1) {
+      if (!buffer.hasRemaining()) {
+        ByteBuffer larger = ByteBuffer.allocate(buffer.capacity() * 2);
+        buffer.flip();
+        larger.put(buffer);
+        buffer = larger;
+      }
+    }
+    buffer.flip();
+
+    return new CompactNGramLanguageModel(buffer);
+  }
+
+  /**
+   * Writes the model in the format which can be read with {@link #read(InputStream)}
+   * and {@link #map(File)}.
+   *
+   * @param out the stream to write to, it is not closed
+   *
+   * @throws IOException if writing fails
+   */
+  public void write(OutputStream out) throws IOException {
+    DataOutputStream dout = new DataOutputStream(out);
+
+    int depth = counts.length;
+    dout.writeInt(MAGIC_NUMBER);
+    dout.writeInt(VERSION);
+    dout.writeInt(n);
+    dout.writeInt(size);
+    dout.writeInt(depth);
+    dout.writeInt(vocabularySize);
+    dout.writeInt(slots.capacity());
+    dout.writeInt(labels.capacity());
+
+    for (IntBuffer levelCounts : counts) {
+      dout.writeInt(levelCounts.capacity());
+    }
+    writeInts(slots, dout);
+    writeInts(labelOffsets, dout);
+    writeInts(unigramOrder, dout);
+    for (int level = 0; level < depth; level++) {
+      if (level > 0) {
+        writeInts(words[level], dout);
+      }
+      writeInts(counts[level], dout);
+      if (level < depth - 1) {
+        writeInts(childStarts[level], dout);
+      }
+    }
+    for (int i = 0; i < labels.capacity(); i++) {
+      dout.writeChar(labels.get(i));
+    }
+
+    dout.flush();
+  }
+
+  private static void writeInts(IntBuffer values, DataOutputStream out) throws IOException {
+    for (int i = 0; i < values.capacity(); i++) {
+      out.writeInt(values.get(i));
+    }
+  }
+
+  /**
+   * @return the size of the n-grams which are scored by this model
+   */
+  public int getNGramSize() {
+    return n;
+  }
+
+  /**
+   * @return the number of n-grams of the model this model was created from
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * @return the number of distinct tokens
+   */
+  public int getVocabularySize() {
+    return vocabularySize;
+  }
+
+  /**
+   * Retrieves the count of an n-gram.
+   *
+   * @param ngram the tokens of the n-gram
+   *
+   * @return the count, or zero if the n-gram is unknown
+   */
+  public int getCount(String... ngram) {
+    return ngram.length > 0 ? count(wordIds(ngram, 0, ngram.length), 0, ngram.length) : 0;
+  }
+
+  @Override
+  @Deprecated
+  public double calculateProbability(StringList tokens) {
+    return calculateProbability(toArray(tokens));
+  }
+
+  @Override
+  public double calculateProbability(String... tokens) {
+    double probability = 0d;
+    if (size > 0 && tokens.length > 0) {
+      int[] ids = wordIds(tokens, 0, tokens.length);
+      // the same n-grams as NGramUtils.getNGrams, the whole sequence if it is not longer than n
+      int length = Math.min(n, ids.length);
+      for (int start = 0; start + length <= ids.length; start++) {
+        double score = stupidBackoff(ids, start, start + length);
+        probability += StrictMath.log(score);
+        if (Double.isNaN(probability)) {
+          probability = 0d;
+          break;
+        }
+      }
+      probability = StrictMath.exp(probability);
+    }
+    return probability;
+  }
+
+  @Override
+  @Deprecated
+  public StringList predictNextTokens(StringList tokens) {
+    String[] next = predictNextTokens(toArray(tokens));
+    return next != null ? new StringList(next) : null;
+  }
+
+  /**
+   * Predicts the next token of a sequence, this is the token which maximizes
+   * {@link #calculateProbability(String...)} of the sequence extended by it.
+   * If several tokens have the same probability the token which was seen first
+   * in the source model is predicted.
+   * <p>
+   * The continuations of the history are scored from the longest history to the
+   * shortest, only tokens which were not seen after a longer history are considered
+   * on the lower levels, and from the unigrams only the most frequent remaining
+   * token is considered.
+   *
+   * @param tokens the history
+   *
+   * @return the predicted token as an array of length one, or null if the model is empty
+   */
+  @Override
+  public String[] predictNextTokens(String... tokens) {
+    if (vocabularySize == 0) {
+      return null;
+    }
+
+    int historyLength = Math.min(tokens.length, n - 1);
+    int[] ids = wordIds(tokens, tokens.length - historyLength, historyLength);
+
+    // the nodes of the history suffixes, index i is the suffix which starts at i
+    int[] historyNodes = new int[historyLength];
+    for (int start = 0; start < historyLength; start++) {
+      historyNodes[start] = node(ids, start, historyLength);
+    }
+
+    int bestToken = -1;
+    double bestScore = Double.NEGATIVE_INFINITY;
+
+    for (int start = 0; start < historyLength; start++) {
+      int historyNode = historyNodes[start];
+      int level = historyLength - start - 1;
+      if (historyNode < 0 || level + 1 >= counts.length) {
+        continue;
+      }
+
+      double countM1 = counts[level].get(historyNode);
+      if (countM1 == 0d) {
+        countM1 = size;
+      }
+
+      int end = childStarts[level].get(historyNode + 1);
+      for (int child = childStarts[level].get(historyNode); child < end; child++) {
+        int count = counts[level + 1].get(child);
+        int token = words[level + 1].get(child);
+        if (count > 0 && !continuesLongerHistory(historyNodes, start, token)) {
+          double score = backoff((double) count / countM1, start);
+          if (score > bestScore || score == bestScore && token < bestToken) {
+            bestScore = score;
+            bestToken = token;
+          }
+        }
+      }
+    }
+
+    // the unigram score grows with the count, the first remaining token is the best one
+    for (int i = 0; i < vocabularySize; i++) {
+      int token = unigramOrder.get(i);
+      if (!continuesLongerHistory(historyNodes, historyLength, token)) {
+        double score = backoff((double) counts[0].get(token) / (double) size, historyLength);
+        if (score > bestScore || score == bestScore && token < bestToken) {
+          bestToken = token;
+        }
+        break;
+      }
+    }
+
+    return new String[] {token(bestToken)};
+  }
+
+  /**
+   * Checks if the token was seen after one of the history suffixes which start before end.
+   */
+  private boolean continuesLongerHistory(int[] historyNodes, int end, int token) {
+    for (int start = 0; start < end; start++) {
+      int historyNode = historyNodes[start];
+      if (historyNode >= 0) {
+        int level = historyNodes.length - start - 1;
+        int child = child(level, historyNode, token);
+        if (child >= 0 && counts[level + 1].get(child) > 0) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Computes the same score as the Stupid Backoff of {@link NGramLanguageModel}
+   * for the n-gram from start to end.
+   */
+  private double stupidBackoff(int[] ids, int start, int end) {
+    int backoffs = 0;
+    double score;
+    while (true) {
+      if (end - start == 1) {
+        score = (double) count(ids, start, end) / (double) size;
+        break;
+      }
+
+      int level = end - start - 2;
+      int prefixNode = node(ids, start, end - 1);
+      int node = prefixNode >= 0 && ids[end - 1] >= 0 ? child(level, prefixNode, ids[end - 1]) : -1;
+      int count = node >= 0 ? counts[level + 1].get(node) : 0;
+
+      if (count > 0) {
+        double countM1 = counts[level].get(prefixNode);
+        if (countM1 == 0d) {
+          countM1 = size; // to avoid Infinite if n-1grams do not exist
+        }
+        score = (double) count / countM1;
+        break;
+      }
+
+      start++;
+      backoffs++;
+    }
+    return backoff(score, backoffs);
+  }
+
+  private static double backoff(double score, int backoffs) {
+    for (int i = 0; i < backoffs; i++) {
+      score = BACKOFF_FACTOR * score;
+    }
+    return score;
+  }
+
+  private int count(int[] ids, int start, int end) {
+    int node = node(ids, start, end);
+    return node >= 0 ? counts[end - start - 1].get(node) : 0;
+  }
+
+  /**
+   * Retrieves the node of the n-gram from start to end, the node is in the level
+   * end - start - 1.
+   *
+   * @return the node or -1 if the n-gram is not contained in the trie
+   */
+  private int node(int[] ids, int start, int end) {
+    int node = ids[start];
+    for (int i = start + 1; i < end && node >= 0; i++) {
+      node = ids[i] >= 0 ? child(i - start - 1, node, ids[i]) : -1;
+    }
+    return node;
+  }
+
+  /**
+   * Retrieves the child of a node which ends with the token.
+   *
+   * @return the child in the next level or -1 if there is no such child
+   */
+  private int child(int level, int node, int token) {
+    if (level + 1 >= counts.length) {
+      return -1;
+    }
+
+    IntBuffer levelWords = words[level + 1];
+    int low = childStarts[level].get(node);
+    int high = childStarts[level].get(node + 1) - 1;
+    while (low <= high) {
+      int mid = (low + high) >>> 1;
+      int midToken = levelWords.get(mid);
+      if (midToken < token) {
+        low = mid + 1;
+      }
+      else if (midToken > token) {
+        high = mid - 1;
+      }
+      else {
+        return mid;
+      }
+    }
+    return -1;
+  }
+
+  private int[] wordIds(String[] tokens, int start, int length) {
+    int[] ids = new int[length];
+    for (int i = 0; i < length; i++) {
+      ids[i] = wordId(tokens[start + i]);
+    }
+    return ids;
+  }
+
+  private int wordId(String token) {
+    int slot = PredicateIndex.slot(token, slotMask);
+    int entry;
+    while ((entry = slots.get(slot)) != 0) {
+      if (tokenEquals(entry - 1, token)) {
+        return entry - 1;
+      }
+      slot = (slot + 1) & slotMask;
+    }
+    return -1;
+  }
+
+  private boolean tokenEquals(int id, String token) {
+    int start = labelOffsets.get(id);
+    int length = labelOffsets.get(id + 1) - start;
+
+    if (length != token.length()) {
+      return false;
+    }
+
+    for (int i = 0; i < length; i++) {
+      if (labels.get(start + i) != token.charAt(i)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private String token(int id) {
+    return labels.subSequence(labelOffsets.get(id), labelOffsets.get(id + 1)).toString();
+  }
+
+  private static String[] toArray(StringList tokens) {
+    String[] array = new String[tokens.size()];
+    for (int i = 0; i < array.length; i++) {
+      array[i] = tokens.getToken(i);
+    }
+    return array;
+  }
+
+  /**
+   * The trie levels of a {@link NGramLanguageModel} as arrays.
+   */
+  private static class Tables {
+
+    private final List<String> vocabulary = new ArrayList<>();
+    private final int[][] words;
+    private final int[][] counts;
+    private final int[][] childStarts;
+    private final int[] unigramOrder;
+
+    Tables(NGramLanguageModel model) {
+      Map<String, Integer> ids = new HashMap<>();
+      List<TreeMap<int[], Integer>> levels = new ArrayList<>();
+
+      for (StringList ngram : model) {
+        if (ngram.size() == 0 || ngram.size() > model.getNGramSize()) {
+          continue;
+        }
+
+        int[] key = new int[ngram.size()];
+        for (int i = 0; i < key.length; i++) {
+          key[i] = ids.computeIfAbsent(ngram.getToken(i), token -> {
+            vocabulary.add(token);
+            return vocabulary.size() - 1;
+          });
+        }
+
+        while (levels.size() < key.length) {
+          levels.add(new TreeMap<>(Tables::compare));
+        }
+        levels.get(key.length - 1).merge(key, model.getCount(ngram), Integer::sum);
+
+        // every prefix needs a node, prefixes which are not in the model have the count zero
+        for (int length = 1; length < key.length; length++) {
+          levels.get(length - 1).putIfAbsent(Arrays.copyOf(key, length), 0);
+        }
+      }
+
+      if (levels.isEmpty()) {
+        levels.add(new TreeMap<>(Tables::compare));
+      }
+      for (int id = 0; id < vocabulary.size(); id++) {
+        levels.get(0).putIfAbsent(new int[] {id}, 0);
+      }
+
+      int depth = levels.size();
+      words = new int[depth][];
+      counts = new int[depth][];
+      childStarts = new int[depth][];
+
+      List<int[]> parents = null;
+      for (int level = 0; level < depth; level++) {
+        List<int[]> nodes = new ArrayList<>(levels.get(level).keySet());
+        words[level] = new int[nodes.size()];
+        counts[level] = new int[nodes.size()];
+        int i = 0;
+        for (Map.Entry<int[], Integer> node : levels.get(level).entrySet()) {
+          words[level][i] = node.getKey()[level];
+          counts[level][i] = node.getValue();
+          i++;
+        }
+
+        if (parents != null) {
+          // the nodes are sorted, the children of a parent are a contiguous range
+          int[] starts = new int[parents.size() + 1];
+          int parent = 0;
+          for (int[] node : nodes) {
+            while (compare(parents.get(parent), Arrays.copyOf(node, level)) != 0) {
+              parent++;
+            }
+            starts[parent + 1]++;
+          }
+          for (int p = 0; p < parents.size(); p++) {
+            starts[p + 1] += starts[p];
+          }
+          childStarts[level - 1] = starts;
+        }
+        parents = nodes;
+      }
+
+      int[] unigramCounts = counts[0];
+      unigramOrder = new int[vocabulary.size()];
+      Integer[] order = new Integer[vocabulary.size()];
+      for (int id = 0; id < order.length; id++) {
+        order[id] = id;
+      }
+      Arrays.sort(order, (a, b) -> unigramCounts[a] != unigramCounts[b] ?
+          Integer.compare(unigramCounts[b], unigramCounts[a]) : Integer.compare(a, b));
+      for (int id = 0; id < order.length; id++) {
+        unigramOrder[id] = order[id];
+      }
+    }
+
+    private static int compare(int[] a, int[] b) {
+      for (int i = 0; i < Math.min(a.length, b.length); i++) {
+        if (a[i] != b[i]) {
+          return Integer.compare(a[i], b[i]);
+        }
+      }
+      return Integer.compare(a.length, b.length);
+    }
+  }
+}
@@ -52,6 +52,13 @@ public class NGramLanguageModel extends NGramModel implements LanguageModel {
     this.n = n;
   }
 
+  /**
+   * @return the size of the n-grams which are added and scored by this model
+   */
+  public int getNGramSize() {
+    return n;
+  }
+
   public void add(String... tokens) {
     add(new StringList(tokens), 1, n);
   }
@@ -111,11 +111,24 @@ public class LemmatizerME implements Lemmatizer {
    * @return an array containing the lemma classes
    */
   public String[] predictSES(String[] toks, String[] tags) {
-    bestSequence = model.bestSequence(toks, new Object[] {tags}, contextGenerator, sequenceValidator);
-    List<String> ses = bestSequence.getOutcomes();
+    List<String> ses = bestSequence(toks, tags).getOutcomes();
     return ses.toArray(new String[ses.size()]);
   }
 
+  /**
+   * Finds the best sequence of lemma classes. In contrast to
+   * {@link #predictSES(String[], String[])} the returned {@link Sequence} also contains
+   * the probabilities of the lemma classes.
+   *
+   * @param toks the array of tokens
+   * @param tags the array of pos tags
+   * @return the best sequence of lemma classes
+   */
+  public Sequence bestSequence(String[] toks, String[] tags) {
+    bestSequence = model.bestSequence(toks, new Object[] {tags}, contextGenerator, sequenceValidator);
+    return bestSequence;
+  }
+
   /**
    * Predict all possible lemmas (using a default upper bound).
    * @param numLemmas the default number of lemmas
@@ -208,6 +221,11 @@ public class LemmatizerME implements Lemmatizer {
 
     Map<String, String> manifestInfoEntries = new HashMap<>();
 
+    String decoder = trainParams.getStringParameter(BeamSearch.DECODER_PARAMETER, null);
+    if (decoder != null) {
+      manifestInfoEntries.put(BeamSearch.DECODER_PARAMETER, decoder);
+    }
+
     TrainerType trainerType = TrainerFactory.getTrainerType(trainParams);
 
     MaxentModel lemmatizerModel = null;
@@ -26,7 +26,6 @@ import java.util.Map;
 import java.util.Properties;
 
 import opennlp.tools.ml.BeamSearch;
-import opennlp.tools.ml.model.AbstractModel;
 import opennlp.tools.ml.model.MaxentModel;
 import opennlp.tools.ml.model.SequenceClassificationModel;
 import opennlp.tools.util.BaseToolFactory;
@@ -90,7 +89,7 @@ public class LemmatizerModel extends BaseModel {
   protected void validateArtifactMap() throws InvalidFormatException {
     super.validateArtifactMap();
 
-    if (!(artifactMap.get(LEMMATIZER_MODEL_ENTRY_NAME) instanceof AbstractModel)) {
+    if (!(artifactMap.get(LEMMATIZER_MODEL_ENTRY_NAME) instanceof MaxentModel)) {
       throw new InvalidFormatException("Lemmatizer model is incomplete!");
     }
   }
@@ -107,7 +106,8 @@ public class LemmatizerModel extends BaseModel {
         beamSize = Integer.parseInt(beamSizeString);
       }
 
-      return new BeamSearch<>(beamSize, (MaxentModel) artifactMap.get(LEMMATIZER_MODEL_ENTRY_NAME));
+      return BeamSearch.create(manifest.getProperty(BeamSearch.DECODER_PARAMETER), beamSize,
+          (MaxentModel) artifactMap.get(LEMMATIZER_MODEL_ENTRY_NAME));
     }
     else if (artifactMap.get(LEMMATIZER_MODEL_ENTRY_NAME) instanceof SequenceClassificationModel) {
       return (SequenceClassificationModel) artifactMap.get(LEMMATIZER_MODEL_ENTRY_NAME);
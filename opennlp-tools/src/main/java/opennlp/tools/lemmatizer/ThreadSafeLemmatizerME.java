@@ -0,0 +1,78 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package opennlp.tools.lemmatizer;
+
+import java.util.List;
+
+import opennlp.tools.util.Sequence;
+
+/**
+ * A thread-safe version of the {@link LemmatizerME}. The {@link LemmatizerModel} is
+ * shared between all threads, while the mutable decoding state lives in a
+ * {@link LemmatizerME} which is confined to the calling thread.
+ * <p>
+ * Call {@link #close()} from a thread which does not need the lemmatizer anymore to
+ * release its thread local state.
+ */
+public class ThreadSafeLemmatizerME implements Lemmatizer, AutoCloseable {
+
+  private final LemmatizerModel model;
+
+  private final ThreadLocal<LemmatizerME> threadLocal;
+
+  public ThreadSafeLemmatizerME(LemmatizerModel model) {
+    this.model = model;
+    this.threadLocal = ThreadLocal.withInitial(() -> new LemmatizerME(this.model));
+  }
+
+  private LemmatizerME getLemmatizer() {
+    return threadLocal.get();
+  }
+
+  @Override
+  public String[] lemmatize(String[] toks, String[] tags) {
+    return getLemmatizer().lemmatize(toks, tags);
+  }
+
+  @Override
+  public List<List<String>> lemmatize(List<String> toks, List<String> tags) {
+    return getLemmatizer().lemmatize(toks, tags);
+  }
+
+  /**
+   * Finds the best sequence of lemma classes, the returned {@link Sequence}
+   * contains the lemma classes and their probabilities. The lemmas can be
+   * retrieved with {@link LemmatizerME#decodeLemmas(String[], String[])}.
+   *
+   * @param toks the array of tokens
+   * @param tags the array of pos tags
+   * @return the best sequence of lemma classes
+   */
+  public Sequence bestSequence(String[] toks, String[] tags) {
+    return getLemmatizer().bestSequence(toks, tags);
+  }
+
+  public Sequence[] topKSequences(String[] sentence, String[] tags) {
+    return getLemmatizer().topKSequences(sentence, tags);
+  }
+
+  @Override
+  public void close() {
+    threadLocal.remove();
+  }
+}
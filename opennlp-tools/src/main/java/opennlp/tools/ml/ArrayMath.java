@@ -103,14 +103,23 @@ public class ArrayMath {
   }
 
   public static void sumFeatures(Context[] context, float[] values, double[] prior) {
-    for (int ci = 0; ci < context.length; ci++) {
+    sumFeatures(context, 0, context.length, values, prior);
+  }
+
+  /**
+   * Adds the parameters of the contexts in the range from start to end to the prior,
+   * the values are indexed relative to start.
+   */
+  public static void sumFeatures(Context[] context, int start, int end, float[] values,
+      double[] prior) {
+    for (int ci = start; ci < end; ci++) {
       if (context[ci] != null) {
         Context predParams = context[ci];
         int[] activeOutcomes = predParams.getOutcomes();
         double[] activeParameters = predParams.getParameters();
         double value = 1;
         if (values != null) {
-          value = values[ci];
+          value = values[ci - start];
         }
         for (int ai = 0; ai < activeOutcomes.length; ai++) {
           int oid = activeOutcomes[ai];
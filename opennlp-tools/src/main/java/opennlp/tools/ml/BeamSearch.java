@@ -22,12 +22,16 @@ import java.util.List;
 import java.util.PriorityQueue;
 import java.util.Queue;
 
+import opennlp.tools.ml.model.AbstractModel;
 import opennlp.tools.ml.model.MaxentModel;
+import opennlp.tools.ml.model.ParameterSink;
 import opennlp.tools.ml.model.SequenceClassificationModel;
 import opennlp.tools.util.BeamSearchContextGenerator;
 import opennlp.tools.util.Cache;
 import opennlp.tools.util.Sequence;
 import opennlp.tools.util.SequenceValidator;
+import opennlp.tools.util.metrics.Metrics;
+import opennlp.tools.util.metrics.MetricsRecorder;
 
 /**
  * Performs k-best search over sequence.  This is based on the description in
@@ -41,6 +45,18 @@ public class BeamSearch<T> implements SequenceClassificationModel<T> {
 
   public static final String BEAM_SIZE_PARAMETER = "BeamSize";
 
+  /**
+   * The manifest and training parameter which selects the decoder implementation,
+   * e.g. {@link LatticeBeamSearch#DECODER_NAME}. If it is not set this class is used.
+   */
+  public static final String DECODER_PARAMETER = "BeamSearchDecoder";
+
+  /**
+   * The name under which the accesses of the contexts cache are reported to the
+   * {@link MetricsRecorder}.
+   */
+  public static final String CACHE_NAME = "beamsearch";
+
   private static final Object[] EMPTY_ADDITIONAL_CONTEXT = new Object[0];
 
   protected int size;
@@ -48,6 +64,7 @@ public class BeamSearch<T> implements SequenceClassificationModel<T> {
 
   private double[] probs;
   private Cache<String[], double[]> contextsCache;
+  private final ParameterSink parameterSink;
   private static final int zeroLog = -100000;
 
   /**
@@ -69,9 +86,40 @@ public class BeamSearch<T> implements SequenceClassificationModel<T> {
       contextsCache = new Cache<>(cacheSize);
     }
 
+    // the features are passed directly to the model, unless they are needed as cache keys
+    if (contextsCache == null && model instanceof AbstractModel) {
+      parameterSink = new ParameterSink((AbstractModel) model);
+    }
+    else {
+      parameterSink = null;
+    }
+
     this.probs = new double[model.getNumOutcomes()];
   }
 
+  /**
+   * Creates the beam search decoder which is selected by the decoder name.
+   *
+   * @param decoder the name of the decoder, or null for the default {@link BeamSearch}
+   * @param size The size of the beam (k).
+   * @param model the model for assigning probabilities to the sequence outcomes.
+   *
+   * @return the decoder
+   */
+  public static <T> SequenceClassificationModel<T> create(String decoder, int size,
+      MaxentModel model) {
+
+    if (decoder == null) {
+      return new BeamSearch<>(size, model);
+    }
+    else if (LatticeBeamSearch.DECODER_NAME.equals(decoder)) {
+      return new LatticeBeamSearch<>(size, model);
+    }
+    else {
+      throw new IllegalArgumentException("Unknown beam search decoder: " + decoder);
+    }
+  }
+
   /**
    * Returns the best sequence of outcomes based on model for this object.
    *
@@ -95,6 +143,11 @@ public class BeamSearch<T> implements SequenceClassificationModel<T> {
       additionalContext = EMPTY_ADDITIONAL_CONTEXT;
     }
 
+    MetricsRecorder recorder = Metrics.getRecorder();
+    int expansions = 0;
+    long featureNanos = 0;
+    long evalNanos = 0;
+
     for (int i = 0; i < sequence.length; i++) {
       int sz = StrictMath.min(size, prev.size());
 
@@ -102,12 +155,35 @@ public class BeamSearch<T> implements SequenceClassificationModel<T> {
         Sequence top = prev.remove();
         List<String> tmpOutcomes = top.getOutcomes();
         String[] outcomes = tmpOutcomes.toArray(new String[tmpOutcomes.size()]);
-        String[] contexts = cg.getContext(i, sequence, outcomes, additionalContext);
+        long featureStart = recorder != null ? System.nanoTime() : 0;
+        long evalStart;
         double[] scores;
-        if (contextsCache != null) {
-          scores = contextsCache.computeIfAbsent(contexts, c -> model.eval(c, probs));
+        if (parameterSink != null) {
+          parameterSink.clear();
+          cg.getContext(i, sequence, outcomes, additionalContext, parameterSink);
+          evalStart = recorder != null ? System.nanoTime() : 0;
+          scores = parameterSink.eval(probs);
         } else {
-          scores = model.eval(contexts, probs);
+          String[] contexts = cg.getContext(i, sequence, outcomes, additionalContext);
+          evalStart = recorder != null ? System.nanoTime() : 0;
+          if (contextsCache != null) {
+            scores = contextsCache.get(contexts);
+            if (recorder != null) {
+              recorder.recordCacheAccess(CACHE_NAME, scores != null);
+            }
+            if (scores == null) {
+              scores = model.eval(contexts, probs);
+              contextsCache.put(contexts, scores);
+            }
+          } else {
+            scores = model.eval(contexts, probs);
+          }
+        }
+
+        if (recorder != null) {
+          featureNanos += evalStart - featureStart;
+          evalNanos += System.nanoTime() - evalStart;
+          expansions++;
         }
 
         double[] temp_scores = new double[scores.length];
@@ -156,6 +232,10 @@ public class BeamSearch<T> implements SequenceClassificationModel<T> {
       topSequences[seqIndex] = prev.remove();
     }
 
+    if (recorder != null) {
+      recorder.recordBeamSearch(expansions, featureNanos, evalNanos);
+    }
+
     return topSequences;
   }
 
@@ -0,0 +1,440 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package opennlp.tools.ml;
+
+import opennlp.tools.ml.model.AbstractModel;
+import opennlp.tools.ml.model.MaxentModel;
+import opennlp.tools.ml.model.ParameterSink;
+import opennlp.tools.ml.model.SequenceClassificationModel;
+import opennlp.tools.util.BeamSearchContextGenerator;
+import opennlp.tools.util.Cache;
+import opennlp.tools.util.Sequence;
+import opennlp.tools.util.SequenceValidator;
+import opennlp.tools.util.metrics.Metrics;
+import opennlp.tools.util.metrics.MetricsRecorder;
+
+/**
+ * Performs the same k-best search as {@link BeamSearch}, but keeps the beam in a
+ * lattice of primitive arrays instead of {@link Sequence} objects.
+ * <p>
+ * Every lattice node stores the outcome id, a back-pointer to its parent node in
+ * the previous column, the outcome probability and the accumulated score. The
+ * k-th best outcome of a hypothesis and the best candidates of a column are found
+ * by partial selection, and {@link Sequence} objects are only created for the
+ * returned results.
+ * <p>
+ * The scratch buffers are reused between calls, therefore an instance must not be
+ * shared between threads.
+ *
+ * @see BeamSearch
+ */
+public class LatticeBeamSearch<T> implements SequenceClassificationModel<T> {
+
+  /**
+   * The name of this decoder, to be used as value of {@link BeamSearch#DECODER_PARAMETER}.
+   */
+  public static final String DECODER_NAME = "lattice";
+
+  private static final Object[] EMPTY_ADDITIONAL_CONTEXT = new Object[0];
+
+  private static final int zeroLog = -100000;
+
+  private final int size;
+  private final MaxentModel model;
+  private final String[] outcomeNames;
+
+  private final double[] probs;
+  private final double[] selectBuffer;
+  private Cache<String[], double[]> contextsCache;
+  private final ParameterSink parameterSink;
+
+  // candidates of the column which is currently expanded
+  private int[] candParent = new int[0];
+  private int[] candOutcome = new int[0];
+  private double[] candProb = new double[0];
+  private double[] candScore = new double[0];
+  private int[] candHeap = new int[0];
+
+  // the lattice, column i starts at i * width
+  private int[] nodeOutcome = new int[0];
+  private int[] nodeParent = new int[0];
+  private double[] nodeProb = new double[0];
+  private double[] nodeScore = new double[0];
+  private int[] columnSize = new int[0];
+
+  /**
+   * Creates new search object.
+   *
+   * @param size The size of the beam (k).
+   * @param model the model for assigning probabilities to the sequence outcomes.
+   */
+  public LatticeBeamSearch(int size, MaxentModel model) {
+    this(size, model, 0);
+  }
+
+  public LatticeBeamSearch(int size, MaxentModel model, int cacheSize) {
+
+    this.size = size;
+    this.model = model;
+
+    if (cacheSize > 0) {
+      contextsCache = new Cache<>(cacheSize);
+    }
+
+    // the features are passed directly to the model, unless they are needed as cache keys
+    if (contextsCache == null && model instanceof AbstractModel) {
+      parameterSink = new ParameterSink((AbstractModel) model);
+    }
+    else {
+      parameterSink = null;
+    }
+
+    int numOutcomes = model.getNumOutcomes();
+    this.outcomeNames = new String[numOutcomes];
+    for (int i = 0; i < numOutcomes; i++) {
+      outcomeNames[i] = model.getOutcome(i);
+    }
+
+    this.probs = new double[numOutcomes];
+    this.selectBuffer = new double[numOutcomes];
+  }
+
+  private void ensureCapacity(int sequenceLength, int width) {
+
+    int candidates = width * outcomeNames.length;
+    if (candParent.length < candidates) {
+      candParent = new int[candidates];
+      candOutcome = new int[candidates];
+      candProb = new double[candidates];
+      candScore = new double[candidates];
+    }
+
+    if (candHeap.length < width) {
+      candHeap = new int[width];
+    }
+
+    int nodes = Math.max(1, sequenceLength) * width;
+    if (nodeOutcome.length < nodes) {
+      nodeOutcome = new int[nodes];
+      nodeParent = new int[nodes];
+      nodeProb = new double[nodes];
+      nodeScore = new double[nodes];
+    }
+
+    if (columnSize.length < sequenceLength) {
+      columnSize = new int[sequenceLength];
+    }
+  }
+
+  /**
+   * Returns the best sequence of outcomes based on model for this object.
+   *
+   * @param sequence The input sequence.
+   * @param additionalContext An Object[] of additional context.
+   *     This is passed to the context generator blindly with the
+   *     assumption that the context are appropiate.
+   *
+   * @return The top ranked sequence of outcomes or null if no sequence could be found
+   */
+  public Sequence[] bestSequences(int numSequences, T[] sequence,
+      Object[] additionalContext, double minSequenceScore,
+      BeamSearchContextGenerator<T> cg, SequenceValidator<T> validator) {
+
+    if (additionalContext == null) {
+      additionalContext = EMPTY_ADDITIONAL_CONTEXT;
+    }
+
+    if (sequence.length == 0) {
+      return numSequences > 0 ? new Sequence[] {new Sequence()} : new Sequence[0];
+    }
+
+    // the beam only expands the best size nodes, but the last column
+    // must hold enough nodes to return numSequences results
+    int width = Math.max(size, numSequences);
+    ensureCapacity(sequence.length, width);
+
+    MetricsRecorder recorder = Metrics.getRecorder();
+    int expansions = 0;
+    long featureNanos = 0;
+    long evalNanos = 0;
+
+    for (int i = 0; i < sequence.length; i++) {
+
+      int prevStart = (i - 1) * width;
+      int prevSize = i == 0 ? 1 : columnSize[i - 1];
+      int sz = StrictMath.min(size, prevSize);
+
+      int numCandidates = 0;
+
+      for (int sc = 0; sc < sz; sc++) {
+        int parent = i == 0 ? -1 : prevStart + sc;
+        double parentScore = i == 0 ? 0d : nodeScore[parent];
+
+        String[] outcomes = history(parent, i);
+        long featureStart = recorder != null ? System.nanoTime() : 0;
+        long evalStart;
+        double[] scores;
+        if (parameterSink != null) {
+          parameterSink.clear();
+          cg.getContext(i, sequence, outcomes, additionalContext, parameterSink);
+          evalStart = recorder != null ? System.nanoTime() : 0;
+          scores = parameterSink.eval(probs);
+        } else {
+          String[] contexts = cg.getContext(i, sequence, outcomes, additionalContext);
+          evalStart = recorder != null ? System.nanoTime() : 0;
+          if (contextsCache != null) {
+            scores = contextsCache.get(contexts);
+            if (recorder != null) {
+              recorder.recordCacheAccess(BeamSearch.CACHE_NAME, scores != null);
+            }
+            if (scores == null) {
+              scores = model.eval(contexts, probs);
+              contextsCache.put(contexts, scores);
+            }
+          } else {
+            scores = model.eval(contexts, probs);
+          }
+        }
+
+        if (recorder != null) {
+          featureNanos += evalStart - featureStart;
+          evalNanos += System.nanoTime() - evalStart;
+          expansions++;
+        }
+
+        System.arraycopy(scores, 0, selectBuffer, 0, scores.length);
+        double min = select(selectBuffer, scores.length, StrictMath.max(0, scores.length - size));
+
+        for (int p = 0; p < scores.length; p++) {
+          if (scores[p] >= min) {
+            numCandidates = addCandidate(numCandidates, i, sequence, outcomes, validator,
+                parent, parentScore, p, scores[p], minSequenceScore);
+          }
+        }
+
+        if (numCandidates == 0) { //if no advanced sequences, advance all valid
+          for (int p = 0; p < scores.length; p++) {
+            numCandidates = addCandidate(numCandidates, i, sequence, outcomes, validator,
+                parent, parentScore, p, scores[p], minSequenceScore);
+          }
+        }
+      }
+
+      columnSize[i] = selectBest(numCandidates, i * width, width);
+
+      if (columnSize[i] == 0) {
+        if (recorder != null) {
+          recorder.recordBeamSearch(expansions, featureNanos, evalNanos);
+        }
+        return new Sequence[0];
+      }
+    }
+
+    if (recorder != null) {
+      recorder.recordBeamSearch(expansions, featureNanos, evalNanos);
+    }
+
+    int last = sequence.length - 1;
+    int numSeq = StrictMath.min(numSequences, columnSize[last]);
+    Sequence[] topSequences = new Sequence[numSeq];
+
+    for (int seqIndex = 0; seqIndex < numSeq; seqIndex++) {
+      topSequences[seqIndex] = toSequence(last * width + seqIndex, sequence.length);
+    }
+
+    return topSequences;
+  }
+
+  private int addCandidate(int numCandidates, int i, T[] sequence, String[] outcomes,
+      SequenceValidator<T> validator, int parent, double parentScore, int outcome, double prob,
+      double minSequenceScore) {
+
+    if (validator.validSequence(i, sequence, outcomes, outcomeNames[outcome])) {
+      double score = parentScore + StrictMath.log(prob);
+      if (score > minSequenceScore) {
+        candParent[numCandidates] = parent;
+        candOutcome[numCandidates] = outcome;
+        candProb[numCandidates] = prob;
+        candScore[numCandidates] = score;
+        return numCandidates + 1;
+      }
+    }
+
+    return numCandidates;
+  }
+
+  /**
+   * Moves the best candidates into the lattice column starting at the given offset.
+   * The column is sorted by descending score.
+   *
+   * @return the number of nodes in the column
+   */
+  private int selectBest(int numCandidates, int columnStart, int width) {
+
+    // bounded min-heap of candidate indexes, the root is the worst kept candidate
+    int heapSize = 0;
+    for (int c = 0; c < numCandidates; c++) {
+      if (heapSize < width) {
+        candHeap[heapSize] = c;
+        siftUp(heapSize++);
+      }
+      else if (better(c, candHeap[0])) {
+        candHeap[0] = c;
+        siftDown(0, heapSize);
+      }
+    }
+
+    // pop the worst first and fill the column from the back
+    for (int n = heapSize - 1; n >= 0; n--) {
+      int c = candHeap[0];
+      candHeap[0] = candHeap[n];
+      siftDown(0, n);
+
+      int node = columnStart + n;
+      nodeOutcome[node] = candOutcome[c];
+      nodeParent[node] = candParent[c];
+      nodeProb[node] = candProb[c];
+      nodeScore[node] = candScore[c];
+    }
+
+    return heapSize;
+  }
+
+  private boolean better(int a, int b) {
+    return candScore[a] > candScore[b] || (candScore[a] == candScore[b] && a < b);
+  }
+
+  private void siftUp(int pos) {
+    int c = candHeap[pos];
+    while (pos > 0) {
+      int parent = (pos - 1) >>> 1;
+      if (!better(candHeap[parent], c)) {
+        break;
+      }
+      candHeap[pos] = candHeap[parent];
+      pos = parent;
+    }
+    candHeap[pos] = c;
+  }
+
+  private void siftDown(int pos, int heapSize) {
+    int c = candHeap[pos];
+    int half = heapSize >>> 1;
+    while (pos < half) {
+      int child = 2 * pos + 1;
+      int right = child + 1;
+      if (right < heapSize && better(candHeap[child], candHeap[right])) {
+        child = right;
+      }
+      if (!better(c, candHeap[child])) {
+        break;
+      }
+      candHeap[pos] = candHeap[child];
+      pos = child;
+    }
+    candHeap[pos] = c;
+  }
+
+  /**
+   * Retrieves the outcomes on the path which ends in the given node.
+   */
+  private String[] history(int node, int length) {
+    String[] outcomes = new String[length];
+    for (int i = length - 1; i >= 0; i--) {
+      outcomes[i] = outcomeNames[nodeOutcome[node]];
+      node = nodeParent[node];
+    }
+    return outcomes;
+  }
+
+  private Sequence toSequence(int node, int length) {
+    int[] path = new int[length];
+    for (int i = length - 1; i >= 0; i--) {
+      path[i] = node;
+      node = nodeParent[node];
+    }
+
+    Sequence seq = new Sequence();
+    for (int i = 0; i < length; i++) {
+      seq.add(outcomeNames[nodeOutcome[path[i]]], nodeProb[path[i]]);
+    }
+    return seq;
+  }
+
+  /**
+   * Finds the value which would be at position k if the first n values
+   * were sorted in ascending order. The buffer is reordered.
+   */
+  static double select(double[] values, int n, int k) {
+    int left = 0;
+    int right = n - 1;
+
+    while (left < right) {
+      double pivot = values[(left + right) >>> 1];
+      int i = left;
+      int j = right;
+      while (i <= j) {
+        while (values[i] < pivot) {
+          i++;
+        }
+        while (values[j] > pivot) {
+          j--;
+        }
+        if (i <= j) {
+          double tmp = values[i];
+          values[i] = values[j];
+          values[j] = tmp;
+          i++;
+          j--;
+        }
+      }
+
+      if (k <= j) {
+        right = j;
+      }
+      else if (k >= i) {
+        left = i;
+      }
+      else {
+        break;
+      }
+    }
+
+    return values[k];
+  }
+
+  public Sequence[] bestSequences(int numSequences, T[] sequence,
+      Object[] additionalContext, BeamSearchContextGenerator<T> cg, SequenceValidator<T> validator) {
+    return bestSequences(numSequences, sequence, additionalContext, zeroLog, cg, validator);
+  }
+
+  public Sequence bestSequence(T[] sequence, Object[] additionalContext,
+      BeamSearchContextGenerator<T> cg, SequenceValidator<T> validator) {
+    Sequence[] sequences =  bestSequences(1, sequence, additionalContext, cg, validator);
+
+    if (sequences.length > 0)
+      return sequences[0];
+    else
+      return null;
+  }
+
+  @Override
+  public String[] getOutcomes() {
+    return outcomeNames.clone();
+  }
+}
@@ -0,0 +1,199 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package opennlp.tools.ml;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.Future;
+import java.util.function.IntConsumer;
+
+/**
+ * Executes the parallel parts of a training run on a fixed number of threads.
+ * <p>
+ * The threads are created once and kept for the whole training run, the executor
+ * must be closed when the training is done. Work is always split into the same
+ * pieces for a given number of threads and partial results are combined in a fixed
+ * order, therefore the training results do not depend on the thread scheduling.
+ * <p>
+ * With one thread all work is done by the calling thread.
+ */
+public class TrainingExecutor implements AutoCloseable {
+
+  /**
+   * A task which processes the elements in the range from start (inclusive)
+   * to end (exclusive).
+   */
+  @FunctionalInterface
+  public interface RangeTask {
+    void run(int start, int end);
+  }
+
+  private final int threads;
+  private final ForkJoinPool pool;
+
+  /**
+   * Initializes the executor.
+   *
+   * @param threads the number of threads, must be at least one
+   * @param name the name of the worker threads
+   */
+  public TrainingExecutor(int threads, String name) {
+
+    if (threads < 1) {
+      throw new IllegalArgumentException("threads must be at least one but is " + threads + "!");
+    }
+
+    this.threads = threads;
+
+    if (threads > 1) {
+      pool = new ForkJoinPool(threads, forkJoinPool -> {
+        ForkJoinWorkerThread thread =
+            ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(forkJoinPool);
+        thread.setName(name);
+        thread.setDaemon(true);
+        return thread;
+      }, null, false);
+    }
+    else {
+      pool = null;
+    }
+  }
+
+  public int getThreads() {
+    return threads;
+  }
+
+  /**
+   * Runs the tasks with the indexes 0 to numTasks - 1 and waits until all are done.
+   *
+   * @param numTasks the number of tasks
+   * @param task the task, called with the index of the task
+   */
+  public void execute(int numTasks, IntConsumer task) {
+
+    if (pool == null || numTasks == 1) {
+      for (int i = 0; i < numTasks; i++) {
+        task.accept(i);
+      }
+      return;
+    }
+
+    List<Callable<Void>> callables = new ArrayList<>(numTasks);
+    for (int i = 0; i < numTasks; i++) {
+      int index = i;
+      callables.add(() -> {
+        task.accept(index);
+        return null;
+      });
+    }
+
+    try {
+      for (Future<Void> future : pool.invokeAll(callables)) {
+        future.get();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interruption is not supported!", e);
+    } catch (ExecutionException e) {
+      // Only runtime exception can be thrown during training, if one was thrown
+      // it should be re-thrown. That could for example be a NullPointerException
+      // which is caused through a bug in our implementation.
+      throw new RuntimeException("Exception during training: " + e.getMessage(), e);
+    }
+  }
+
+  /**
+   * Splits the range from 0 to size into one part per thread and processes the
+   * parts in parallel.
+   *
+   * @param size the size of the range
+   * @param task the task which processes a part
+   */
+  public void forEachRange(int size, RangeTask task) {
+    execute(threads, t -> task.run((int) ((long) size * t / threads),
+        (int) ((long) size * (t + 1) / threads)));
+  }
+
+  /**
+   * Computes the element wise sum of the buffers. The sums are computed in parallel
+   * over parts of the buffers, each element is summed in the order of the buffers.
+   *
+   * @param buffers the buffers, all of the same length as the target
+   * @param target receives the sums
+   */
+  public void sum(double[][] buffers, double[] target) {
+    forEachRange(target.length, (start, end) -> {
+      System.arraycopy(buffers[0], start, target, start, end - start);
+      for (int b = 1; b < buffers.length; b++) {
+        double[] buffer = buffers[b];
+        for (int i = start; i < end; i++) {
+          target[i] += buffer[i];
+        }
+      }
+    });
+  }
+
+  /**
+   * Splits the events into contiguous parts which take about the same time to process.
+   * The cost of an event is estimated by the number of its context predicates, which is
+   * usually much more skewed than the number of events in the parts.
+   *
+   * @param contexts the contexts of the events
+   * @param parts the number of parts
+   *
+   * @return the start index of each part followed by the number of events
+   */
+  public static int[] partition(int[][] contexts, int parts) {
+
+    long totalCost = 0;
+    for (int[] context : contexts) {
+      totalCost += cost(context);
+    }
+
+    int[] bounds = new int[parts + 1];
+    long cost = 0;
+    int part = 1;
+    for (int ei = 0; ei < contexts.length && part < parts; ei++) {
+      cost += cost(contexts[ei]);
+      while (part < parts && cost * parts >= totalCost * part) {
+        bounds[part++] = ei + 1;
+      }
+    }
+    while (part <= parts) {
+      bounds[part++] = contexts.length;
+    }
+
+    return bounds;
+  }
+
+  private static long cost(int[] context) {
+    // events without predicates still need some work
+    return context.length + 1;
+  }
+
+  @Override
+  public void close() {
+    if (pool != null) {
+      pool.shutdown();
+    }
+  }
+}
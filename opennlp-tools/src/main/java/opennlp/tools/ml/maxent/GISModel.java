@@ -17,6 +17,8 @@
 
 package opennlp.tools.ml.maxent;
 
+import java.util.Arrays;
+
 import opennlp.tools.ml.ArrayMath;
 import opennlp.tools.ml.model.AbstractModel;
 import opennlp.tools.ml.model.Context;
@@ -113,6 +115,37 @@ public final class GISModel extends AbstractModel {
   }
 
 
+  @Override
+  public double[] eval(Context[] context, int length, float[] values, double[] outsums) {
+    if (prior instanceof UniformPrior) {
+      prior.logPrior(outsums, (Context[]) null, values);
+    }
+    else {
+      prior.logPrior(outsums, Arrays.copyOf(context, length), values);
+    }
+    ArrayMath.sumFeatures(context, 0, length, values, outsums);
+    return normalize(outsums, evalParams);
+  }
+
+  @Override
+  public double[][] eval(String[][] contexts, double[][] probs) {
+    int[] offsets = new int[contexts.length + 1];
+    Context[] params = lookupParameters(contexts, offsets);
+
+    for (int i = 0; i < contexts.length; i++) {
+      double[] outsums = probs[i];
+      if (prior instanceof UniformPrior) {
+        prior.logPrior(outsums, (Context[]) null, null);
+      }
+      else {
+        prior.logPrior(outsums, Arrays.copyOfRange(params, offsets[i], offsets[i + 1]), null);
+      }
+      ArrayMath.sumFeatures(params, offsets[i], offsets[i + 1], null, outsums);
+      normalize(outsums, evalParams);
+    }
+    return probs;
+  }
+
   /**
    * Use this model to evaluate a context and return an array of the likelihood
    * of each outcome given the specified context and the specified parameters.
@@ -186,6 +219,10 @@ public final class GISModel extends AbstractModel {
 
     ArrayMath.sumFeatures(context, values, prior);
 
+    return normalize(prior, model);
+  }
+
+  private static double[] normalize(double[] prior, EvalParameters model) {
     double normal = 0.0;
     for (int oid = 0; oid < model.getNumOutcomes(); oid++) {
       prior[oid] = StrictMath.exp(prior[oid]);
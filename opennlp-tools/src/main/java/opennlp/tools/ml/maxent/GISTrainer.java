@@ -21,14 +21,10 @@ import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.Callable;
-import java.util.concurrent.CompletionService;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorCompletionService;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 import opennlp.tools.ml.AbstractEventTrainer;
 import opennlp.tools.ml.ArrayMath;
+import opennlp.tools.ml.TrainingExecutor;
 import opennlp.tools.ml.model.AbstractModel;
 import opennlp.tools.ml.model.DataIndexer;
 import opennlp.tools.ml.model.EvalParameters;
@@ -482,37 +478,40 @@ public class GISTrainer extends AbstractEventTrainer {
   private void findParameters(int iterations, double correctionConstant) {
     int threads = modelExpects.length;
 
-    ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
-      Thread thread = new Thread(runnable);
-      thread.setName("opennlp.tools.ml.maxent.ModelExpactationComputeTask.nextIteration()");
-      thread.setDaemon(true);
-      return thread;
-    });
+    // the threads are kept for all iterations
+    TrainingExecutor executor = new TrainingExecutor(threads,
+        "opennlp.tools.ml.maxent.ModelExpactationComputeTask.nextIteration()");
+
+    // the events are split into parts of about the same computation cost
+    int[] startIndex = TrainingExecutor.partition(contexts, threads);
 
-    CompletionService<ModelExpectationComputeTask> completionService =
-        new ExecutorCompletionService<>(executor);
     double prevLL = 0.0;
     double currLL;
     display("Performing " + iterations + " iterations.\n");
-    for (int i = 1; i <= iterations; i++) {
-      if (i < 10) {
-        display("  " + i + ":  ");
-      } else if (i < 100) {
-        display(" " + i + ":  ");
-      } else {
-        display(i + ":  ");
-      }
-      currLL = nextIteration(correctionConstant, completionService);
-      if (i > 1) {
-        if (prevLL > currLL) {
-          System.err.println("Model Diverging: loglikelihood decreased");
-          break;
+    try {
+      for (int i = 1; i <= iterations; i++) {
+        if (i < 10) {
+          display("  " + i + ":  ");
+        } else if (i < 100) {
+          display(" " + i + ":  ");
+        } else {
+          display(i + ":  ");
         }
-        if (currLL - prevLL < llThreshold) {
-          break;
+        currLL = nextIteration(correctionConstant, executor, startIndex);
+        if (i > 1) {
+          if (prevLL > currLL) {
+            System.err.println("Model Diverging: loglikelihood decreased");
+            break;
+          }
+          if (currLL - prevLL < llThreshold) {
+            break;
+          }
         }
+        prevLL = currLL;
       }
-      prevLL = currLL;
+    }
+    finally {
+      executor.close();
     }
 
     // kill a bunch of these big objects now that we don't need them
@@ -520,7 +519,6 @@ public class GISTrainer extends AbstractEventTrainer {
     modelExpects = null;
     numTimesEventsSeen = null;
     contexts = null;
-    executor.shutdown();
   }
 
   //modeled on implementation in  Zhang Le's maxent kit
@@ -547,50 +545,26 @@ public class GISTrainer extends AbstractEventTrainer {
   }
 
   /* Compute one iteration of GIS and retutn log-likelihood.*/
-  private double nextIteration(double correctionConstant,
-                               CompletionService<ModelExpectationComputeTask> completionService) {
+  private double nextIteration(double correctionConstant, TrainingExecutor executor,
+                               int[] startIndex) {
     // compute contribution of p(a|b_i) for each feature and the new
     // correction parameter
     double loglikelihood = 0.0;
     int numEvents = 0;
     int numCorrect = 0;
 
-    // Each thread gets equal number of tasks, if the number of tasks
-    // is not divisible by the number of threads, the first "leftOver"
-    // threads have one extra task.
+    // Each thread computes the events of one part, the parts have about
+    // the same computation cost.
     int numberOfThreads = modelExpects.length;
-    int taskSize = numUniqueEvents / numberOfThreads;
-    int leftOver = numUniqueEvents % numberOfThreads;
-
-    // submit all tasks to the completion service.
+    ModelExpectationComputeTask[] tasks = new ModelExpectationComputeTask[numberOfThreads];
     for (int i = 0; i < numberOfThreads; i++) {
-      if (i < leftOver) {
-        completionService.submit(new ModelExpectationComputeTask(i, i * taskSize + i,
-            taskSize + 1));
-      } else {
-        completionService.submit(new ModelExpectationComputeTask(i,
-            i * taskSize + leftOver, taskSize));
-      }
+      tasks[i] = new ModelExpectationComputeTask(i, startIndex[i], startIndex[i + 1] - startIndex[i]);
     }
 
-    for (int i = 0; i < numberOfThreads; i++) {
-      ModelExpectationComputeTask finishedTask;
-      try {
-        finishedTask = completionService.take().get();
-      } catch (InterruptedException e) {
-        // TODO: We got interrupted, but that is currently not really supported!
-        // For now we just print the exception and fail hard. We hopefully soon
-        // handle this case properly!
-        e.printStackTrace();
-        throw new IllegalStateException("Interruption is not supported!", e);
-      } catch (ExecutionException e) {
-        // Only runtime exception can be thrown during training, if one was thrown
-        // it should be re-thrown. That could for example be a NullPointerException
-        // which is caused through a bug in our implementation.
-        throw new RuntimeException("Exception during training: " + e.getMessage(), e);
-      }
+    executor.execute(numberOfThreads, i -> tasks[i].call());
 
-      // When they are done, retrieve the results ...
+    // When they are done, retrieve the results in a fixed order ...
+    for (ModelExpectationComputeTask finishedTask : tasks) {
       numEvents += finishedTask.getNumEvents();
       numCorrect += finishedTask.getNumCorrect();
       loglikelihood += finishedTask.getLoglikelihood();
@@ -598,16 +572,18 @@ public class GISTrainer extends AbstractEventTrainer {
 
     display(".");
 
-    // merge the results of the two computations
-    for (int pi = 0; pi < numPreds; pi++) {
-      int[] activeOutcomes = params[pi].getOutcomes();
+    // merge the results of the two computations, the predicates are merged in parallel
+    executor.forEachRange(numPreds, (start, end) -> {
+      for (int pi = start; pi < end; pi++) {
+        int[] activeOutcomes = params[pi].getOutcomes();
 
-      for (int aoi = 0; aoi < activeOutcomes.length; aoi++) {
-        for (int i = 1; i < modelExpects.length; i++) {
-          modelExpects[0][pi].updateParameter(aoi, modelExpects[i][pi].getParameters()[aoi]);
+        for (int aoi = 0; aoi < activeOutcomes.length; aoi++) {
+          for (int i = 1; i < modelExpects.length; i++) {
+            modelExpects[0][pi].updateParameter(aoi, modelExpects[i][pi].getParameters()[aoi]);
+          }
         }
       }
-    }
+    });
 
     display(".");
 
@@ -17,22 +17,21 @@
 
 package opennlp.tools.ml.maxent.quasinewton;
 
-import java.lang.reflect.Constructor;
-import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.List;
 import java.util.concurrent.Callable;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
 
 import opennlp.tools.ml.ArrayMath;
+import opennlp.tools.ml.TrainingExecutor;
 import opennlp.tools.ml.model.DataIndexer;
 
 /**
- * Evaluate negative log-likelihood and its gradient in parallel
+ * Evaluate negative log-likelihood and its gradient in parallel.
+ * <p>
+ * The threads are kept until {@link #close()} is called. The contexts are split
+ * into parts of about the same computation cost and the partial gradients are
+ * summed in parallel.
  */
-public class ParallelNegLogLikelihood extends NegLogLikelihood {
+public class ParallelNegLogLikelihood extends NegLogLikelihood implements AutoCloseable {
 
   // Number of threads
   private int threads;
@@ -43,6 +42,11 @@ public class ParallelNegLogLikelihood extends NegLogLikelihood {
   // Partial gradient
   private double[][] gradientThread;
 
+  // Start index of the contexts of each thread
+  private final int[] startIndex;
+
+  private final TrainingExecutor executor;
+
   public ParallelNegLogLikelihood(DataIndexer indexer, int threads) {
     super(indexer);
 
@@ -53,6 +57,9 @@ public class ParallelNegLogLikelihood extends NegLogLikelihood {
     this.threads                = threads;
     this.negLogLikelihoodThread = new double[threads];
     this.gradientThread         = new double[threads][dimension];
+    this.startIndex             = TrainingExecutor.partition(contexts, threads);
+    this.executor               = new TrainingExecutor(threads,
+        "opennlp.tools.ml.maxent.quasinewton.ParallelNegLogLikelihood.computeInParallel()");
   }
 
   /**
@@ -66,7 +73,8 @@ public class ParallelNegLogLikelihood extends NegLogLikelihood {
           "x is invalid, its dimension is not equal to domain dimension.");
 
     // Compute partial value of negative log-likelihood in each thread
-    computeInParallel(x, NegLLComputeTask.class);
+    executor.execute(threads, t ->
+        new NegLLComputeTask(t, startIndex[t], startIndex[t + 1] - startIndex[t], x).call());
 
     double negLogLikelihood = 0;
     for (int t = 0; t < threads; t++) {
@@ -87,58 +95,21 @@ public class ParallelNegLogLikelihood extends NegLogLikelihood {
           "x is invalid, its dimension is not equal to the function.");
 
     // Compute partial gradient in each thread
-    computeInParallel(x, GradientComputeTask.class);
+    executor.execute(threads, t ->
+        new GradientComputeTask(t, startIndex[t], startIndex[t + 1] - startIndex[t], x).call());
 
     // Accumulate gradient
-    for (int i = 0; i < dimension; i++) {
-      gradient[i] = 0;
-      for (int t = 0; t < threads; t++) {
-        gradient[i] += gradientThread[t][i];
-      }
-    }
+    executor.sum(gradientThread, gradient);
 
     return gradient;
   }
 
   /**
-   * Compute tasks in parallel
+   * Stops the threads.
    */
-  private void computeInParallel(double[] x, Class<? extends ComputeTask> taskClass) {
-
-    ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
-      Thread thread = new Thread(runnable);
-      thread.setName(
-          "opennlp.tools.ml.maxent.quasinewton.ParallelNegLogLikelihood.computeInParallel()");
-      thread.setDaemon(true);
-      return thread;
-    });
-
-    int taskSize = numContexts / threads;
-    int leftOver = numContexts % threads;
-
-    try {
-      Constructor<? extends ComputeTask> cons = taskClass.getConstructor(
-          ParallelNegLogLikelihood.class,
-          int.class, int.class, int.class, double[].class);
-
-      List<Future<?>> futures = new ArrayList<>();
-      for (int i = 0; i < threads; i++) {
-        if (i != threads - 1)
-          futures.add(executor.submit(
-              cons.newInstance(this, i, i * taskSize, taskSize, x)));
-        else
-          futures.add(executor.submit(
-              cons.newInstance(this, i, i * taskSize, taskSize + leftOver, x)));
-      }
-
-      for (Future<?> future: futures)
-        future.get();
-
-    } catch (Exception e) {
-      e.printStackTrace();
-    }
-
-    executor.shutdown();
+  @Override
+  public void close() {
+    executor.close();
   }
 
   /**
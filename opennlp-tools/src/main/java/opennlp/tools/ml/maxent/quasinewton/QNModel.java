@@ -17,6 +17,8 @@
 
 package opennlp.tools.ml.maxent.quasinewton;
 
+import java.util.Arrays;
+
 import opennlp.tools.ml.ArrayMath;
 import opennlp.tools.ml.model.AbstractModel;
 import opennlp.tools.ml.model.Context;
@@ -78,6 +80,30 @@ public class QNModel extends AbstractModel {
       }
     }
 
+    return normalize(probs);
+  }
+
+  @Override
+  public double[] eval(Context[] context, int length, float[] values, double[] probs) {
+    Arrays.fill(probs, 0);
+    ArrayMath.sumFeatures(context, 0, length, values, probs);
+    return normalize(probs);
+  }
+
+  @Override
+  public double[][] eval(String[][] contexts, double[][] probs) {
+    int[] offsets = new int[contexts.length + 1];
+    Context[] params = lookupParameters(contexts, offsets);
+
+    for (int i = 0; i < contexts.length; i++) {
+      Arrays.fill(probs[i], 0);
+      ArrayMath.sumFeatures(params, offsets[i], offsets[i + 1], null, probs[i]);
+      normalize(probs[i]);
+    }
+    return probs;
+  }
+
+  private double[] normalize(double[] probs) {
     double logSumExp = ArrayMath.logSumOfExps(probs);
     for (int oi = 0; oi < outcomeNames.length; oi++) {
       probs[oi] = StrictMath.exp(probs[oi] - logSumExp);
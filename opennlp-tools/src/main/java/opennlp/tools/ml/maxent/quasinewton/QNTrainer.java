@@ -190,7 +190,15 @@ public class QNTrainer extends AbstractEventTrainer {
         l1Cost, l2Cost, iterations, m, maxFctEval, printMessages);
     minimizer.setEvaluator(new ModelEvaluator(indexer));
 
-    double[] parameters = minimizer.minimize(objectiveFunction);
+    double[] parameters;
+    try {
+      parameters = minimizer.minimize(objectiveFunction);
+    }
+    finally {
+      if (objectiveFunction instanceof ParallelNegLogLikelihood) {
+        ((ParallelNegLogLikelihood) objectiveFunction).close();
+      }
+    }
 
     // Construct model with trained parameters
     String[] predLabels = indexer.getPredLabels();
@@ -158,6 +158,36 @@ public abstract class AbstractDataIndexer implements DataIndexer {
     return numUniqueEvents;
   }
 
+  /**
+   * Stores events which are already sorted and merged, or which are collected
+   * without sorting. The seen counts of the events must be set.
+   *
+   * @param uniqueEvents the unique events
+   * @param numEvents the number of events before they were merged
+   * @throws InsufficientTrainingDataException if not enough events are provided
+   */
+  protected void setUniqueEvents(List<ComparableEvent> uniqueEvents, int numEvents)
+      throws InsufficientTrainingDataException {
+
+    if (uniqueEvents.isEmpty()) {
+      throw new InsufficientTrainingDataException("Insufficient training data to create model.");
+    }
+
+    this.numEvents = numEvents;
+
+    int numUniqueEvents = uniqueEvents.size();
+    contexts = new int[numUniqueEvents][];
+    outcomeList = new int[numUniqueEvents];
+    numTimesEventsSeen = new int[numUniqueEvents];
+
+    for (int i = 0; i < numUniqueEvents; i++) {
+      ComparableEvent evt = uniqueEvents.get(i);
+      numTimesEventsSeen[i] = evt.seen;
+      outcomeList[i] = evt.outcome;
+      contexts[i] = evt.predIndexes;
+    }
+  }
+
   protected List<ComparableEvent> index(ObjectStream<Event> events,
                                         Map<String, Integer> predicateIndex) throws IOException {
     Map<String, Integer> omap = new HashMap<>();
@@ -19,6 +19,7 @@ package opennlp.tools.ml.model;
 
 import java.text.DecimalFormat;
 import java.util.Arrays;
+import java.util.IdentityHashMap;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Objects;
@@ -41,6 +42,12 @@ public abstract class AbstractModel implements MaxentModel {
   /** The type of the model. */
   protected ModelType modelType;
 
+  /** Index over the predicates which is created on first use. */
+  private volatile ParameterIndex parameterIndex;
+
+  /** Maps the parameters back to their predicates, created on first use by the default eval. */
+  private volatile Map<Context, String> predicateLabels;
+
   protected AbstractModel(Context[] params, String[] predLabels,
       Map<String, Context> pmap, String[] outcomeNames) {
     this.pmap = pmap;
@@ -138,6 +145,162 @@ public abstract class AbstractModel implements MaxentModel {
     return evalParams.getNumOutcomes();
   }
 
+  /**
+   * Looks up the parameters of the predicates of a batch of contexts. The parameters
+   * of context i are stored from offsets[i] to offsets[i + 1] in the returned array,
+   * unknown predicates are null.
+   *
+   * @param contexts the contexts
+   * @param offsets an array with the length of contexts + 1 which receives the offsets
+   *
+   * @return the parameters of all predicates
+   */
+  protected final Context[] lookupParameters(String[][] contexts, int[] offsets) {
+    int numPredicates = 0;
+    for (int i = 0; i < contexts.length; i++) {
+      offsets[i] = numPredicates;
+      numPredicates += contexts[i].length;
+    }
+    offsets[contexts.length] = numPredicates;
+
+    Context[] params = new Context[numPredicates];
+    for (int i = 0; i < contexts.length; i++) {
+      String[] context = contexts[i];
+      for (int ci = 0, pi = offsets[i]; ci < context.length; ci++, pi++) {
+        params[pi] = pmap.get(context[ci]);
+      }
+    }
+    return params;
+  }
+
+  /**
+   * Retrieves the parameters of a predicate.
+   *
+   * @param predicate the predicate
+   *
+   * @return the parameters or null if the predicate is unknown
+   */
+  public final Context getParameters(String predicate) {
+    return pmap.get(predicate);
+  }
+
+  /**
+   * Retrieves the parameters of the predicate which is the concatenation of the prefix and
+   * the characters of the value from start (inclusive) to end (exclusive), without creating
+   * the predicate string.
+   *
+   * @param prefix the prefix of the predicate
+   * @param value the value of the predicate
+   * @param start the index of the first character of the value
+   * @param end the index after the last character of the value
+   *
+   * @return the parameters or null if the predicate is unknown
+   */
+  public final Context getParameters(CharSequence prefix, CharSequence value, int start, int end) {
+    ParameterIndex index = parameterIndex();
+    int id = index.predicates.get(prefix, value, start, end);
+    return id != -1 ? index.params[id] : null;
+  }
+
+  /**
+   * Retrieves the id of the predicate which is the concatenation of the prefix and
+   * the characters of the value from start (inclusive) to end (exclusive). The ids are
+   * in the range from zero to the number of predicates of the model.
+   *
+   * @param prefix the prefix of the predicate
+   * @param value the value of the predicate
+   * @param start the index of the first character of the value
+   * @param end the index after the last character of the value
+   *
+   * @return the predicate id or -1 if the predicate is unknown
+   */
+  public final int getPredicateId(CharSequence prefix, CharSequence value, int start, int end) {
+    return parameterIndex().predicates.get(prefix, value, start, end);
+  }
+
+  /**
+   * Retrieves the parameters of a predicate.
+   *
+   * @param predicateId the id of the predicate
+   *
+   * @return the parameters
+   *
+   * @see #getPredicateId(CharSequence, CharSequence, int, int)
+   */
+  public final Context getParameters(int predicateId) {
+    return parameterIndex().params[predicateId];
+  }
+
+  private ParameterIndex parameterIndex() {
+    ParameterIndex index = parameterIndex;
+    if (index == null) {
+      synchronized (this) {
+        index = parameterIndex;
+        if (index == null) {
+          index = new ParameterIndex(pmap);
+          parameterIndex = index;
+        }
+      }
+    }
+    return index;
+  }
+
+  /**
+   * Evaluates the parameters of the predicates which have been observed at the present
+   * decision point, the result is identical to the evaluation of the predicate strings.
+   *
+   * @param context the parameters of the predicates, null for unknown predicates
+   * @param length the number of predicates in the context array
+   * @param values the values of the predicates or null
+   * @param outsums receives the normalized probabilities of the outcomes
+   *
+   * The default implementation maps the parameters back to their predicate strings and
+   * evaluates them with {@link #eval(String[], float[])}, the models of this package
+   * override it with an evaluation which works directly on the parameters.
+   *
+   * @return the outsums array
+   */
+  public double[] eval(Context[] context, int length, float[] values, double[] outsums) {
+    Map<Context, String> labels = predicateLabels();
+
+    String[] predicates = new String[length];
+    float[] predicateValues = values != null ? new float[length] : null;
+    int numPredicates = 0;
+    for (int i = 0; i < length; i++) {
+      if (context[i] != null) {
+        predicates[numPredicates] = labels.get(context[i]);
+        if (values != null) {
+          predicateValues[numPredicates] = values[i];
+        }
+        numPredicates++;
+      }
+    }
+
+    predicates = Arrays.copyOf(predicates, numPredicates);
+    double[] probs = values != null
+        ? eval(predicates, Arrays.copyOf(predicateValues, numPredicates)) : eval(predicates);
+
+    System.arraycopy(probs, 0, outsums, 0, probs.length);
+    return outsums;
+  }
+
+  private Map<Context, String> predicateLabels() {
+    Map<Context, String> labels = predicateLabels;
+    if (labels == null) {
+      synchronized (this) {
+        labels = predicateLabels;
+        if (labels == null) {
+          labels = new IdentityHashMap<>(pmap.size());
+          for (Map.Entry<String, Context> entry : pmap.entrySet()) {
+            labels.put(entry.getValue(), entry.getKey());
+          }
+          predicateLabels = labels;
+        }
+      }
+    }
+    return labels;
+  }
+
   /**
    * Provides the fundamental data structures which encode the maxent model
    * information.  This method will usually only be needed by
@@ -163,6 +326,17 @@ public abstract class AbstractModel implements MaxentModel {
     return data;
   }
 
+  private static class ParameterIndex {
+
+    private final PredicateIndex predicates;
+    private final Context[] params;
+
+    private ParameterIndex(Map<String, Context> pmap) {
+      predicates = new PredicateIndex(pmap.keySet().toArray(new String[pmap.size()]));
+      params = pmap.values().toArray(new Context[pmap.size()]);
+    }
+  }
+
   @Override
   public int hashCode() {
     return Objects.hash(pmap, Arrays.hashCode(outcomeNames), evalParams, prior);
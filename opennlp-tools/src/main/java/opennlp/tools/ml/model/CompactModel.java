@@ -0,0 +1,428 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package opennlp.tools.ml.model;
+
+import java.text.DecimalFormat;
+import java.util.Arrays;
+import java.util.Map;
+
+import opennlp.tools.ml.ArrayMath;
+
+/**
+ * A read-only representation of a maxent, quasi-newton or perceptron model
+ * which is optimized for evaluation.
+ * <p>
+ * The predicates are mapped to integer ids with a {@link PredicateIndex}, and the parameters
+ * of all predicates are stored in three contiguous arrays in compressed sparse row layout:
+ * the parameters of the predicate with the id <code>p</code> are stored from
+ * <code>offsets[p]</code> (inclusive) to <code>offsets[p + 1]</code> (exclusive) in the
+ * <code>outcomes</code> and <code>parameters</code> arrays.
+ * <p>
+ * The <code>eval</code> methods which take an output array write the distribution into
+ * it and do not allocate. The probabilities are the same as the ones computed by the
+ * original model.
+ *
+ * @see PredicateIndex
+ */
+public class CompactModel implements MaxentModel {
+
+  private final AbstractModel.ModelType modelType;
+  private final String[] outcomeNames;
+  private final PredicateIndex predicates;
+
+  private final int[] offsets;
+  private final int[] outcomes;
+  private final double[] parameters;
+
+  private final Prior prior;
+  private final double initialValue;
+
+  /**
+   * Initializes the model with parameters in compressed sparse row layout.
+   *
+   * @param modelType the type of the model, this determines the normalization
+   * @param outcomeNames the names of the outcomes
+   * @param predicates the index of the predicates
+   * @param offsets the start of the parameters of each predicate, must have one
+   *                element more than there are predicates
+   * @param outcomes the outcome id of each parameter
+   * @param parameters the parameters
+   * @param prior the prior of a {@link AbstractModel.ModelType#Maxent} model, otherwise ignored
+   */
+  public CompactModel(AbstractModel.ModelType modelType, String[] outcomeNames,
+      PredicateIndex predicates, int[] offsets, int[] outcomes, double[] parameters, Prior prior) {
+
+    if (AbstractModel.ModelType.NaiveBayes.equals(modelType)) {
+      throw new IllegalArgumentException("Model type is not supported: " + modelType);
+    }
+
+    if (offsets.length != predicates.size() + 1) {
+      throw new IllegalArgumentException("Expected " + (predicates.size() + 1) +
+          " offsets, but got " + offsets.length);
+    }
+
+    this.modelType = modelType;
+    this.outcomeNames = outcomeNames;
+    this.predicates = predicates;
+    this.offsets = offsets;
+    this.outcomes = outcomes;
+    this.parameters = parameters;
+
+    if (AbstractModel.ModelType.Maxent.equals(modelType) && !(prior instanceof UniformPrior)) {
+      this.prior = prior;
+    }
+    else {
+      this.prior = null;
+    }
+    this.initialValue = initialValue(modelType, outcomeNames.length);
+  }
+
+  /**
+   * Creates a compact copy of a {@link opennlp.tools.ml.maxent.GISModel},
+   * {@link opennlp.tools.ml.maxent.quasinewton.QNModel} or
+   * {@link opennlp.tools.ml.perceptron.PerceptronModel}.
+   *
+   * @param model the model to copy
+   *
+   * @return the compact model
+   *
+   * @throws IllegalArgumentException if the model type is not supported
+   */
+  public static CompactModel create(MaxentModel model) {
+
+    if (!(model instanceof AbstractModel)) {
+      throw new IllegalArgumentException("Model is not supported: " + model.getClass().getName());
+    }
+
+    AbstractModel abstractModel = (AbstractModel) model;
+
+    Map<String, Context> pmap = abstractModel.pmap;
+
+    String[] predLabels = new String[pmap.size()];
+    int[] offsets = new int[pmap.size() + 1];
+
+    int numParameters = 0;
+    int pid = 0;
+    for (Map.Entry<String, Context> entry : pmap.entrySet()) {
+      predLabels[pid++] = entry.getKey();
+      numParameters += entry.getValue().getOutcomes().length;
+    }
+
+    int[] outcomes = new int[numParameters];
+    double[] parameters = new double[numParameters];
+
+    pid = 0;
+    int offset = 0;
+    for (Context context : pmap.values()) {
+      offsets[pid++] = offset;
+      int[] activeOutcomes = context.getOutcomes();
+      System.arraycopy(activeOutcomes, 0, outcomes, offset, activeOutcomes.length);
+      System.arraycopy(context.getParameters(), 0, parameters, offset, activeOutcomes.length);
+      offset += activeOutcomes.length;
+    }
+    offsets[pid] = offset;
+
+    return new CompactModel(abstractModel.getModelType(), abstractModel.outcomeNames,
+        new PredicateIndex(predLabels), offsets, outcomes, parameters, abstractModel.prior);
+  }
+
+  /**
+   * Checks if the model is evaluated with a non-uniform prior.
+   *
+   * @return true if the model has a non-uniform prior
+   */
+  boolean hasPrior() {
+    return prior != null;
+  }
+
+  /**
+   * Retrieves the id of a predicate.
+   *
+   * @param predicate the predicate
+   *
+   * @return the predicate id or -1 if the predicate is unknown
+   */
+  public int getPredicateIndex(String predicate) {
+    return predicates.get(predicate);
+  }
+
+  /**
+   * @return the number of predicates of this model
+   */
+  public int getNumPredicates() {
+    return predicates.size();
+  }
+
+  public AbstractModel.ModelType getModelType() {
+    return modelType;
+  }
+
+  String[] getOutcomeNames() {
+    return outcomeNames;
+  }
+
+  PredicateIndex getPredicates() {
+    return predicates;
+  }
+
+  int[] getOffsets() {
+    return offsets;
+  }
+
+  int[] getOutcomes() {
+    return outcomes;
+  }
+
+  double[] getParameters() {
+    return parameters;
+  }
+
+  public double[] eval(String[] context) {
+    return eval(context, null, new double[outcomeNames.length]);
+  }
+
+  public double[] eval(String[] context, float[] values) {
+    return eval(context, values, new double[outcomeNames.length]);
+  }
+
+  public double[] eval(String[] context, double[] outsums) {
+    return eval(context, null, outsums);
+  }
+
+  /**
+   * Evaluates a context and writes the distribution into the provided array.
+   *
+   * @param context the predicates which have been observed at the present decision point
+   * @param values the values of the predicates, or null if all values are one
+   * @param outsums the array the distribution is written to
+   *
+   * @return the array which contains the distribution
+   */
+  public double[] eval(String[] context, float[] values, double[] outsums) {
+
+    if (prior != null) {
+      return evalWithPrior(context, values, outsums);
+    }
+
+    initialize(outsums);
+
+    for (int ci = 0; ci < context.length; ci++) {
+      int pid = predicates.get(context[ci]);
+      if (pid != -1) {
+        sumFeature(pid, values != null ? values[ci] : 1, outsums);
+      }
+    }
+
+    return normalize(outsums);
+  }
+
+  /**
+   * Evaluates a context of predicate ids and writes the distribution into the provided array.
+   *
+   * @param context the predicate ids which have been observed at the present decision point,
+   *                ids of -1 are ignored
+   * @param length the number of predicate ids in the context
+   * @param values the values of the predicates, or null if all values are one
+   * @param outsums the array the distribution is written to
+   *
+   * @return the array which contains the distribution
+   */
+  public double[] eval(int[] context, int length, float[] values, double[] outsums) {
+
+    if (prior != null) {
+      return evalWithPrior(context, length, values, outsums);
+    }
+
+    initialize(outsums);
+
+    for (int ci = 0; ci < length; ci++) {
+      int pid = context[ci];
+      if (pid != -1) {
+        sumFeature(pid, values != null ? values[ci] : 1, outsums);
+      }
+    }
+
+    return normalize(outsums);
+  }
+
+  /**
+   * Evaluates a context with a non-uniform prior.
+   */
+  private double[] evalWithPrior(String[] context, float[] values, double[] outsums) {
+    int[] pids = new int[context.length];
+    for (int ci = 0; ci < context.length; ci++) {
+      pids[ci] = predicates.get(context[ci]);
+    }
+    return evalWithPrior(pids, context.length, values, outsums);
+  }
+
+  /**
+   * Evaluates a context of predicate ids with a non-uniform prior, the prior expects
+   * only the ids of the known predicates, therefore these need to be collected first.
+   */
+  private double[] evalWithPrior(int[] context, int length, float[] values, double[] outsums) {
+    int[] pids = new int[length];
+    float[] pvalues = values != null ? new float[length] : null;
+
+    int numPids = 0;
+    for (int ci = 0; ci < length; ci++) {
+      if (context[ci] != -1) {
+        pids[numPids] = context[ci];
+        if (values != null) {
+          pvalues[numPids] = values[ci];
+        }
+        numPids++;
+      }
+    }
+
+    if (numPids < length) {
+      pids = Arrays.copyOf(pids, numPids);
+      if (pvalues != null) {
+        pvalues = Arrays.copyOf(pvalues, numPids);
+      }
+    }
+
+    prior.logPrior(outsums, pids, pvalues);
+
+    for (int ci = 0; ci < numPids; ci++) {
+      sumFeature(pids[ci], pvalues != null ? pvalues[ci] : 1, outsums);
+    }
+
+    return normalize(outsums);
+  }
+
+  private void sumFeature(int pid, double value, double[] outsums) {
+    for (int ai = offsets[pid], end = offsets[pid + 1]; ai < end; ai++) {
+      outsums[outcomes[ai]] += parameters[ai] * value;
+    }
+  }
+
+  private void initialize(double[] outsums) {
+    Arrays.fill(outsums, 0, outcomeNames.length, initialValue);
+  }
+
+  private double[] normalize(double[] outsums) {
+    return normalize(modelType, outsums, outcomeNames.length);
+  }
+
+  /**
+   * Retrieves the value the outsums start with, the log of the uniform prior
+   * for maxent models and zero otherwise.
+   */
+  static double initialValue(AbstractModel.ModelType modelType, int numOutcomes) {
+    return AbstractModel.ModelType.Maxent.equals(modelType) ?
+        StrictMath.log(1.0 / numOutcomes) : 0d;
+  }
+
+  /**
+   * Turns the summed parameters into a distribution, in the same way the
+   * model of the given type does it.
+   */
+  static double[] normalize(AbstractModel.ModelType modelType, double[] outsums,
+      int numOutcomes) {
+
+    switch (modelType) {
+      case Maxent: {
+        double normal = 0.0;
+        for (int oid = 0; oid < numOutcomes; oid++) {
+          outsums[oid] = StrictMath.exp(outsums[oid]);
+          normal += outsums[oid];
+        }
+        for (int oid = 0; oid < numOutcomes; oid++) {
+          outsums[oid] /= normal;
+        }
+        break;
+      }
+      case MaxentQn: {
+        double logSumExp = ArrayMath.logSumOfExps(outsums);
+        for (int oid = 0; oid < numOutcomes; oid++) {
+          outsums[oid] = StrictMath.exp(outsums[oid] - logSumExp);
+        }
+        break;
+      }
+      case Perceptron: {
+        double maxPrior = 1;
+        for (int oid = 0; oid < numOutcomes; oid++) {
+          if (maxPrior < StrictMath.abs(outsums[oid]))
+            maxPrior = StrictMath.abs(outsums[oid]);
+        }
+
+        double normal = 0.0;
+        for (int oid = 0; oid < numOutcomes; oid++) {
+          outsums[oid] = StrictMath.exp(outsums[oid] / maxPrior);
+          normal += outsums[oid];
+        }
+        for (int oid = 0; oid < numOutcomes; oid++) {
+          outsums[oid] /= normal;
+        }
+        break;
+      }
+      default:
+        throw new IllegalStateException("Model type is not supported: " + modelType);
+    }
+
+    return outsums;
+  }
+
+  public String getBestOutcome(double[] ocs) {
+    return outcomeNames[ArrayMath.argmax(ocs)];
+  }
+
+  public String getAllOutcomes(double[] ocs) {
+    return allOutcomes("CompactModel", outcomeNames, ocs);
+  }
+
+  /**
+   * Formats the outcome names paired with their probabilities, shared with the
+   * {@link MappedModel}.
+   */
+  static String allOutcomes(String modelName, String[] outcomeNames, double[] ocs) {
+    if (ocs.length != outcomeNames.length) {
+      return "The double array sent as a parameter to " + modelName + ".getAllOutcomes() " +
+          "must not have been produced by this model.";
+    }
+    else {
+      DecimalFormat df =  new DecimalFormat("0.0000");
+      StringBuilder sb = new StringBuilder(ocs.length * 2);
+      sb.append(outcomeNames[0]).append("[").append(df.format(ocs[0])).append("]");
+      for (int i = 1; i < ocs.length; i++) {
+        sb.append("  ").append(outcomeNames[i]).append("[").append(df.format(ocs[i])).append("]");
+      }
+      return sb.toString();
+    }
+  }
+
+  public String getOutcome(int i) {
+    return outcomeNames[i];
+  }
+
+  public int getIndex(String outcome) {
+    return indexOf(outcomeNames, outcome);
+  }
+
+  static int indexOf(String[] outcomeNames, String outcome) {
+    for (int i = 0; i < outcomeNames.length; i++) {
+      if (outcomeNames[i].equals(outcome))
+        return i;
+    }
+    return -1;
+  }
+
+  public int getNumOutcomes() {
+    return outcomeNames.length;
+  }
+}
@@ -50,6 +50,10 @@ public class DataIndexerFactory {
         indexer = new OnePassRealValueDataIndexer();
         break;
 
+      case AbstractEventTrainer.DATA_INDEXER_STREAMING_VALUE:
+        indexer = new StreamingDataIndexer();
+        break;
+
       default:
         // if the user passes in a class name for the indexer, try to instantiate the class.
         indexer = ExtensionLoader.instantiateExtension(DataIndexer.class, indexerParam);
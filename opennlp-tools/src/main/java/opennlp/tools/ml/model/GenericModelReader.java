@@ -17,8 +17,11 @@
 
 package opennlp.tools.ml.model;
 
+import java.io.BufferedInputStream;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 
 import opennlp.tools.ml.maxent.io.GISModelReader;
 import opennlp.tools.ml.maxent.io.QNModelReader;
@@ -33,6 +36,26 @@ public class GenericModelReader extends AbstractModelReader {
     super(f);
   }
 
+  /**
+   * Reads a model from a file. A file in the {@link MappedModel} format is mapped into
+   * memory, all other files are read with a {@link GenericModelReader}.
+   *
+   * @param f the model file
+   *
+   * @return the model
+   *
+   * @throws IOException if the model cannot be read
+   */
+  public static MaxentModel readModel(File f) throws IOException {
+    try (InputStream in = new BufferedInputStream(new FileInputStream(f))) {
+      if (MappedModel.isMappedModel(in)) {
+        return MappedModel.map(f);
+      }
+    }
+
+    return new GenericModelReader(f).getModel();
+  }
+
   public GenericModelReader(DataReader dataReader) {
     super(dataReader);
   }
@@ -0,0 +1,448 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package opennlp.tools.ml.model;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.StandardOpenOption;
+
+import opennlp.tools.ml.ArrayMath;
+
+/**
+ * A model whose parameter tables and predicate index are evaluated in place
+ * from a {@link ByteBuffer}, usually a memory mapped file. Loading such a model
+ * only reads the header and the outcome names, the rest of the data is paged
+ * in by the operating system on demand, and several processes which map the
+ * same file share one copy of it in the page cache.
+ * <p>
+ * The binary layout is the one of a {@link CompactModel}, all values are big endian:
+ * <pre>
+ * int      magic number
+ * int      format version
+ * int      model type, the ordinal of {@link AbstractModel.ModelType}
+ * int      number of outcomes
+ * int      number of predicates
+ * int      number of parameters
+ * int      number of predicate index slots
+ * int      number of label chars
+ * double[] parameters
+ * int[]    parameter offsets of the predicates, number of predicates + 1
+ * int[]    outcome ids of the parameters
+ * int[]    predicate index slots, predicate id + 1 or 0 for an empty slot
+ * int[]    char offsets of the predicate labels, number of predicates + 1
+ * int[]    char offsets of the outcome names, number of outcomes + 1
+ * char[]   predicate labels followed by the outcome names
+ * </pre>
+ * A single model file must not be larger than 2 GB.
+ */
+public class MappedModel implements MaxentModel {
+
+  public static final int MAGIC_NUMBER = 0x4F4E4D4D;
+
+  public static final int VERSION = 1;
+
+  private static final int HEADER_SIZE = 8 * Integer.BYTES;
+
+  private final AbstractModel.ModelType modelType;
+  private final String[] outcomeNames;
+  private final double initialValue;
+
+  private final DoubleBuffer parameters;
+  private final IntBuffer offsets;
+  private final IntBuffer outcomes;
+  private final IntBuffer slots;
+  private final int slotMask;
+  private final IntBuffer labelOffsets;
+  private final CharBuffer labels;
+
+  /**
+   * Initializes the model from a buffer in the mapped model format. The buffer
+   * is not copied and must not be modified afterwards.
+   *
+   * @param buffer the buffer, starting at its current position
+   *
+   * @throws IOException if the buffer does not contain a mapped model
+   */
+  public MappedModel(ByteBuffer buffer) throws IOException {
+
+    ByteBuffer data = buffer.slice();
+
+    if (data.remaining() < HEADER_SIZE || data.getInt(0) != MAGIC_NUMBER) {
+      throw new IOException("Not a mapped model!");
+    }
+
+    if (data.getInt(4) != VERSION) {
+      throw new IOException("Unsupported mapped model version: " + data.getInt(4));
+    }
+
+    int type = data.getInt(8);
+    if (type < 0 || type >= AbstractModel.ModelType.values().length) {
+      throw new IOException("Unknown model type: " + type);
+    }
+    modelType = AbstractModel.ModelType.values()[type];
+
+    int numOutcomes = data.getInt(12);
+    int numPreds = data.getInt(16);
+    int numParams = data.getInt(20);
+    int numSlots = data.getInt(24);
+    int numChars = data.getInt(28);
+
+    if (Integer.bitCount(numSlots) != 1) {
+      throw new IOException("Number of slots must be a power of two: " + numSlots);
+    }
+
+    int position = HEADER_SIZE;
+    parameters = section(data, position, numParams * Double.BYTES).asDoubleBuffer();
+    position += numParams * Double.BYTES;
+    offsets = section(data, position, (numPreds + 1) * Integer.BYTES).asIntBuffer();
+    position += (numPreds + 1) * Integer.BYTES;
+    outcomes = section(data, position, numParams * Integer.BYTES).asIntBuffer();
+    position += numParams * Integer.BYTES;
+    slots = section(data, position, numSlots * Integer.BYTES).asIntBuffer();
+    position += numSlots * Integer.BYTES;
+    labelOffsets = section(data, position, (numPreds + 1) * Integer.BYTES).asIntBuffer();
+    position += (numPreds + 1) * Integer.BYTES;
+    IntBuffer outcomeOffsets = section(data, position, (numOutcomes + 1) * Integer.BYTES)
+        .asIntBuffer();
+    position += (numOutcomes + 1) * Integer.BYTES;
+    labels = section(data, position, numChars * Character.BYTES).asCharBuffer();
+
+    slotMask = numSlots - 1;
+
+    outcomeNames = new String[numOutcomes];
+    for (int oid = 0; oid < numOutcomes; oid++) {
+      int start = outcomeOffsets.get(oid);
+      int end = outcomeOffsets.get(oid + 1);
+      outcomeNames[oid] = labels.subSequence(start, end).toString();
+    }
+
+    initialValue = CompactModel.initialValue(modelType, numOutcomes);
+  }
+
+  private static ByteBuffer section(ByteBuffer data, int position, int length)
+      throws IOException {
+    if (position + length > data.limit()) {
+      throw new IOException("Mapped model is truncated!");
+    }
+    ByteBuffer section = data.duplicate();
+    section.position(position);
+    section.limit(position + length);
+    return section.slice();
+  }
+
+  /**
+   * Maps a model file into memory.
+   *
+   * @param file the file in the mapped model format
+   *
+   * @return the mapped model
+   *
+   * @throws IOException if the file cannot be mapped or does not contain a mapped model
+   */
+  public static MappedModel map(File file) throws IOException {
+    try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+      return new MappedModel(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+    }
+  }
+
+  /**
+   * Reads a model in the mapped model format from a stream into memory,
+   * this is used when the model is not stored in a file of its own.
+   *
+   * @param in the stream, it is not closed
+   *
+   * @return the model
+   *
+   * @throws IOException if the stream cannot be read or does not contain a mapped model
+   */
+  public static MappedModel read(InputStream in) throws IOException {
+    ReadableByteChannel channel = Channels.newChannel(in);
+
+    ByteBuffer buffer = ByteBuffer.allocateDirect(64 * 1024);
+    while (channel.read(buffer) != -1) {
+      if (!buffer.hasRemaining()) {
+        ByteBuffer larger = ByteBuffer.allocateDirect(buffer.capacity() * 2);
+        buffer.flip();
+        larger.put(buffer);
+        buffer = larger;
+      }
+    }
+    buffer.flip();
+
+    return new MappedModel(buffer);
+  }
+
+  /**
+   * Checks if a stream starts with a model in the mapped model format. The stream
+   * must support mark and reset and is reset to its current position.
+   *
+   * @param in the stream
+   *
+   * @return true if the stream contains a mapped model
+   */
+  public static boolean isMappedModel(InputStream in) throws IOException {
+    in.mark(Integer.BYTES);
+    try {
+      int magic = 0;
+      for (int i = 0; i < Integer.BYTES; i++) {
+        int b = in.read();
+        if (b == -1) {
+          return false;
+        }
+        magic = (magic << 8) | b;
+      }
+      return magic == MAGIC_NUMBER;
+    }
+    finally {
+      in.reset();
+    }
+  }
+
+  /**
+   * Writes a model in the mapped model format.
+   *
+   * @param model a {@link MappedModel}, a {@link CompactModel} or a model which
+   *              is supported by {@link CompactModel#create(MaxentModel)}
+   * @param out the stream to write to, it is not closed
+   *
+   * @throws IOException if writing fails
+   * @throws IllegalArgumentException if the model has a non-uniform prior, the format
+   *                                  cannot store it
+   */
+  public static void write(MaxentModel model, OutputStream out) throws IOException {
+
+    DataOutputStream dout = new DataOutputStream(out);
+
+    if (model instanceof MappedModel) {
+      ((MappedModel) model).write(dout);
+      dout.flush();
+      return;
+    }
+
+    CompactModel compactModel = model instanceof CompactModel ?
+        (CompactModel) model : CompactModel.create(model);
+
+    if (compactModel.hasPrior()) {
+      throw new IllegalArgumentException(
+          "Models with a non-uniform prior are not supported by the mapped model format!");
+    }
+
+    String[] outcomeNames = compactModel.getOutcomeNames();
+    PredicateIndex predicates = compactModel.getPredicates();
+    int[] slots = predicates.getSlots();
+    double[] parameters = compactModel.getParameters();
+
+    int numChars = 0;
+    for (int pid = 0; pid < predicates.size(); pid++) {
+      numChars += predicates.getLabel(pid).length();
+    }
+    for (String outcomeName : outcomeNames) {
+      numChars += outcomeName.length();
+    }
+
+    dout.writeInt(MAGIC_NUMBER);
+    dout.writeInt(VERSION);
+    dout.writeInt(compactModel.getModelType().ordinal());
+    dout.writeInt(outcomeNames.length);
+    dout.writeInt(predicates.size());
+    dout.writeInt(parameters.length);
+    dout.writeInt(slots.length);
+    dout.writeInt(numChars);
+
+    for (double parameter : parameters) {
+      dout.writeDouble(parameter);
+    }
+    for (int offset : compactModel.getOffsets()) {
+      dout.writeInt(offset);
+    }
+    for (int outcome : compactModel.getOutcomes()) {
+      dout.writeInt(outcome);
+    }
+    for (int slot : slots) {
+      dout.writeInt(slot);
+    }
+
+    int offset = 0;
+    for (int pid = 0; pid < predicates.size(); pid++) {
+      dout.writeInt(offset);
+      offset += predicates.getLabel(pid).length();
+    }
+    dout.writeInt(offset);
+
+    for (String outcomeName : outcomeNames) {
+      dout.writeInt(offset);
+      offset += outcomeName.length();
+    }
+    dout.writeInt(offset);
+
+    for (int pid = 0; pid < predicates.size(); pid++) {
+      dout.writeChars(predicates.getLabel(pid));
+    }
+    for (String outcomeName : outcomeNames) {
+      dout.writeChars(outcomeName);
+    }
+
+    dout.flush();
+  }
+
+  private void write(DataOutputStream out) throws IOException {
+    out.writeInt(MAGIC_NUMBER);
+    out.writeInt(VERSION);
+    out.writeInt(modelType.ordinal());
+    out.writeInt(outcomeNames.length);
+    out.writeInt(offsets.capacity() - 1);
+    out.writeInt(parameters.capacity());
+    out.writeInt(slots.capacity());
+    out.writeInt(labels.capacity());
+
+    for (int i = 0; i < parameters.capacity(); i++) {
+      out.writeDouble(parameters.get(i));
+    }
+    for (int i = 0; i < offsets.capacity(); i++) {
+      out.writeInt(offsets.get(i));
+    }
+    for (int i = 0; i < outcomes.capacity(); i++) {
+      out.writeInt(outcomes.get(i));
+    }
+    for (int i = 0; i < slots.capacity(); i++) {
+      out.writeInt(slots.get(i));
+    }
+    for (int i = 0; i < labelOffsets.capacity(); i++) {
+      out.writeInt(labelOffsets.get(i));
+    }
+
+    int offset = labelOffsets.get(labelOffsets.capacity() - 1);
+    for (String outcomeName : outcomeNames) {
+      out.writeInt(offset);
+      offset += outcomeName.length();
+    }
+    out.writeInt(offset);
+
+    for (int i = 0; i < labels.capacity(); i++) {
+      out.writeChar(labels.get(i));
+    }
+  }
+
+  /**
+   * Retrieves the id of a predicate.
+   *
+   * @param predicate the predicate
+   *
+   * @return the predicate id or -1 if the predicate is unknown
+   */
+  public int getPredicateIndex(String predicate) {
+    int slot = PredicateIndex.slot(predicate, slotMask);
+    int entry;
+    while ((entry = slots.get(slot)) != 0) {
+      if (labelEquals(entry - 1, predicate)) {
+        return entry - 1;
+      }
+      slot = (slot + 1) & slotMask;
+    }
+    return -1;
+  }
+
+  private boolean labelEquals(int pid, String predicate) {
+    int start = labelOffsets.get(pid);
+    int length = labelOffsets.get(pid + 1) - start;
+
+    if (length != predicate.length()) {
+      return false;
+    }
+
+    for (int i = 0; i < length; i++) {
+      if (labels.get(start + i) != predicate.charAt(i)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  public AbstractModel.ModelType getModelType() {
+    return modelType;
+  }
+
+  public double[] eval(String[] context) {
+    return eval(context, null, new double[outcomeNames.length]);
+  }
+
+  public double[] eval(String[] context, float[] values) {
+    return eval(context, values, new double[outcomeNames.length]);
+  }
+
+  public double[] eval(String[] context, double[] outsums) {
+    return eval(context, null, outsums);
+  }
+
+  /**
+   * Evaluates a context and writes the distribution into the provided array.
+   *
+   * @param context the predicates which have been observed at the present decision point
+   * @param values the values of the predicates, or null if all values are one
+   * @param outsums the array the distribution is written to
+   *
+   * @return the array which contains the distribution
+   */
+  public double[] eval(String[] context, float[] values, double[] outsums) {
+
+    for (int oid = 0; oid < outcomeNames.length; oid++) {
+      outsums[oid] = initialValue;
+    }
+
+    for (int ci = 0; ci < context.length; ci++) {
+      int pid = getPredicateIndex(context[ci]);
+      if (pid != -1) {
+        double value = values != null ? values[ci] : 1;
+        for (int ai = offsets.get(pid), end = offsets.get(pid + 1); ai < end; ai++) {
+          outsums[outcomes.get(ai)] += parameters.get(ai) * value;
+        }
+      }
+    }
+
+    return CompactModel.normalize(modelType, outsums, outcomeNames.length);
+  }
+
+  public String getBestOutcome(double[] ocs) {
+    return outcomeNames[ArrayMath.argmax(ocs)];
+  }
+
+  public String getAllOutcomes(double[] ocs) {
+    return CompactModel.allOutcomes("MappedModel", outcomeNames, ocs);
+  }
+
+  public String getOutcome(int i) {
+    return outcomeNames[i];
+  }
+
+  public int getIndex(String outcome) {
+    return CompactModel.indexOf(outcomeNames, outcome);
+  }
+
+  public int getNumOutcomes() {
+    return outcomeNames.length;
+  }
+}
@@ -53,6 +53,25 @@ public interface MaxentModel {
    */
   double[] eval(String[] context, float[] values);
 
+  /**
+   * Evaluates a batch of contexts. Models should implement this to look up the
+   * predicates of all contexts at once and to score them in a single loop, this
+   * default implementation evaluates the contexts one by one.
+   *
+   * @param contexts The contexts which are to be evaluated, each is a list of
+   *                 String names of the contextual predicates.
+   * @param probs A matrix with at least one row for each context, a row is populated with the
+   *              probabilities for each of the different outcomes and must have
+   *              the length {@link #getNumOutcomes()}.
+   * @return the probs matrix
+   */
+  default double[][] eval(String[][] contexts, double[][] probs) {
+    for (int i = 0; i < contexts.length; i++) {
+      eval(contexts[i], probs[i]);
+    }
+    return probs;
+  }
+
   /**
    * Simple function to return the outcome associated with the index
    * containing the highest probability in the double[].
@@ -0,0 +1,121 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package opennlp.tools.ml.model;
+
+import java.util.Arrays;
+
+import opennlp.tools.util.featuregen.FeatureSink;
+
+/**
+ * A {@link FeatureSink} which looks up the parameters of the features in a model
+ * and collects them for the evaluation of the context. The features are never
+ * converted to strings.
+ * <p>
+ * The sink is reused for many contexts and is not thread safe.
+ */
+public class ParameterSink implements FeatureSink {
+
+  private final AbstractModel model;
+
+  private Context[] parameters = new Context[64];
+  private int size;
+
+  /**
+   * Initializes the sink.
+   *
+   * @param model the model which provides the parameters
+   */
+  public ParameterSink(AbstractModel model) {
+    this.model = model;
+  }
+
+  @Override
+  public void add(CharSequence prefix, CharSequence value, int start, int end) {
+    append(model.getParameters(prefix, value, start, end));
+  }
+
+  @Override
+  public void add(String feature) {
+    append(model.getParameters(feature));
+  }
+
+  /**
+   * Adds the parameters of features which were looked up before, e.g. by a cache.
+   *
+   * @param contexts the parameters, null for unknown features
+   */
+  public void addAll(Context[] contexts) {
+    if (size + contexts.length > parameters.length) {
+      parameters = Arrays.copyOf(parameters, StrictMath.max(size + contexts.length, size * 2));
+    }
+    System.arraycopy(contexts, 0, parameters, size, contexts.length);
+    size += contexts.length;
+  }
+
+  /**
+   * Retrieves a copy of the parameters of the features which were added after the
+   * given number of features.
+   *
+   * @param start the number of features which are not copied
+   *
+   * @return the parameters, null for unknown features
+   */
+  public Context[] getParameters(int start) {
+    return Arrays.copyOfRange(parameters, start, size);
+  }
+
+  /**
+   * @return the model which provides the parameters
+   */
+  public AbstractModel getModel() {
+    return model;
+  }
+
+  private void append(Context context) {
+    if (size == parameters.length) {
+      parameters = Arrays.copyOf(parameters, size * 2);
+    }
+    parameters[size++] = context;
+  }
+
+  /**
+   * @return the number of features which were added since the last clear
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Removes all features.
+   */
+  public void clear() {
+    Arrays.fill(parameters, 0, size, null);
+    size = 0;
+  }
+
+  /**
+   * Evaluates the features which were added since the last clear.
+   *
+   * @param outsums receives the normalized probabilities of the outcomes
+   *
+   * @return the outsums array
+   */
+  public double[] eval(double[] outsums) {
+    return model.eval(parameters, size, null, outsums);
+  }
+}
@@ -0,0 +1,195 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package opennlp.tools.ml.model;
+
+import java.util.Arrays;
+
+/**
+ * An immutable mapping of predicate labels to the integers 0 to n-1, where the
+ * integer of a predicate is its position in the array of labels the index was
+ * created with.
+ * <p>
+ * The index uses open addressing with linear probing over a power of two sized
+ * table, a lookup only touches a primitive int array and the label array and
+ * does not allocate.
+ */
+public class PredicateIndex {
+
+  private final String[] labels;
+
+  /** The slots contain the predicate id plus one, zero marks an empty slot. */
+  private final int[] slots;
+  private final int mask;
+
+  /**
+   * Initializes the index.
+   *
+   * @param labels the predicate labels, must not contain duplicates
+   */
+  public PredicateIndex(String[] labels) {
+    this.labels = labels;
+
+    int capacity = Integer.highestOneBit(Math.max(2, labels.length) * 2 - 1) << 1;
+    slots = new int[capacity];
+    mask = capacity - 1;
+
+    for (int id = 0; id < labels.length; id++) {
+      int slot = slot(labels[id]);
+      while (slots[slot] != 0) {
+        if (labels[slots[slot] - 1].equals(labels[id])) {
+          throw new IllegalArgumentException("Duplicate predicate: " + labels[id]);
+        }
+        slot = (slot + 1) & mask;
+      }
+      slots[slot] = id + 1;
+    }
+  }
+
+  private int slot(String label) {
+    return slot(label, mask);
+  }
+
+  /**
+   * Computes the first slot of a label in a table with the given mask, the
+   * hash only depends on {@link String#hashCode()} and can be persisted.
+   *
+   * @param label the label
+   * @param mask the size of the table minus one, the size must be a power of two
+   *
+   * @return the first slot to probe
+   */
+  public static int slot(String label, int mask) {
+    return slot(label.hashCode(), mask);
+  }
+
+  private static int slot(int hash, int mask) {
+    int h = hash * 0x9E3779B9;
+    return (h ^ (h >>> 16)) & mask;
+  }
+
+  int[] getSlots() {
+    return slots;
+  }
+
+  /**
+   * Retrieves the id of a predicate.
+   *
+   * @param label the predicate label
+   *
+   * @return the id of the predicate or -1 if it is not contained in this index
+   */
+  public int get(String label) {
+    int slot = slot(label);
+    int entry;
+    while ((entry = slots[slot]) != 0) {
+      if (labels[entry - 1].equals(label)) {
+        return entry - 1;
+      }
+      slot = (slot + 1) & mask;
+    }
+    return -1;
+  }
+
+  /**
+   * Retrieves the id of the predicate which is the concatenation of the prefix and
+   * the characters of the value from start (inclusive) to end (exclusive). The
+   * concatenated label is never created, the hash is computed over both parts.
+   *
+   * @param prefix the prefix of the predicate label
+   * @param value the value of the predicate label
+   * @param start the index of the first character of the value
+   * @param end the index after the last character of the value
+   *
+   * @return the id of the predicate or -1 if it is not contained in this index
+   */
+  public int get(CharSequence prefix, CharSequence value, int start, int end) {
+    // same hash as String.hashCode of the concatenated label
+    int hash = 0;
+    for (int i = 0; i < prefix.length(); i++) {
+      hash = 31 * hash + prefix.charAt(i);
+    }
+    for (int i = start; i < end; i++) {
+      hash = 31 * hash + value.charAt(i);
+    }
+
+    int slot = slot(hash, mask);
+    int entry;
+    while ((entry = slots[slot]) != 0) {
+      String label = labels[entry - 1];
+      if (label.hashCode() == hash && matches(label, prefix, value, start, end)) {
+        return entry - 1;
+      }
+      slot = (slot + 1) & mask;
+    }
+    return -1;
+  }
+
+  private static boolean matches(String label, CharSequence prefix, CharSequence value,
+      int start, int end) {
+    int prefixLength = prefix.length();
+    if (label.length() != prefixLength + end - start) {
+      return false;
+    }
+    for (int i = 0; i < prefixLength; i++) {
+      if (label.charAt(i) != prefix.charAt(i)) {
+        return false;
+      }
+    }
+    for (int i = start, li = prefixLength; i < end; i++, li++) {
+      if (label.charAt(li) != value.charAt(i)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Retrieves the label of a predicate.
+   *
+   * @param id the predicate id
+   *
+   * @return the predicate label
+   */
+  public String getLabel(int id) {
+    return labels[id];
+  }
+
+  /**
+   * @return the number of predicates in this index
+   */
+  public int size() {
+    return labels.length;
+  }
+
+  @Override
+  public int hashCode() {
+    return Arrays.hashCode(labels);
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (obj == this) {
+      return true;
+    }
+
+    if (obj instanceof PredicateIndex) {
+      return Arrays.equals(labels, ((PredicateIndex) obj).labels);
+    }
+
+    return false;
+  }
+}
@@ -32,4 +32,16 @@ public interface SequenceStream extends ObjectStream<Sequence> {
    */
   Event[] updateContext(Sequence sequence, AbstractModel model);
 
+  /**
+   * Indicates whether {@link #updateContext(Sequence, AbstractModel)} can be called
+   * concurrently from multiple threads for different sequences and whether the result
+   * only depends on the sequence and the model. Trainers can only train on multiple
+   * threads if this is the case.
+   *
+   * @return true if updateContext can be called concurrently, otherwise false
+   */
+  default boolean isUpdateContextConcurrent() {
+    return false;
+  }
+
 }
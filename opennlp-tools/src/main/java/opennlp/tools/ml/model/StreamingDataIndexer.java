@@ -0,0 +1,677 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package opennlp.tools.ml.model;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+import opennlp.tools.util.ObjectStream;
+import opennlp.tools.util.TrainingParameters;
+
+/**
+ * Collecting event and context counts by making two passes over the events, like the
+ * {@link TwoPassDataIndexer}, but with a heap usage which does not grow with the
+ * number of events.
+ * <p>
+ * During the first pass the events are encoded with integer ids in blocks, the blocks
+ * are compressed and written to a temporary file. The blocks are encoded and their
+ * predicates are counted by several threads. During the second pass the blocks are
+ * read again, and the events are sorted in runs of a limited size which are written to
+ * temporary files and merged afterwards. Only the unique events are kept in memory.
+ * <p>
+ * The indexed events are identical to the ones of the {@link TwoPassDataIndexer}.
+ */
+public class StreamingDataIndexer extends AbstractDataIndexer {
+
+  /**
+   * The number of events which are encoded and compressed together.
+   */
+  public static final String BLOCK_SIZE_PARAM = "IndexerBlockSize";
+  public static final int BLOCK_SIZE_DEFAULT = 4096;
+
+  /**
+   * The number of events which are sorted in memory before they are written to a run file.
+   */
+  public static final String RUN_SIZE_PARAM = "IndexerRunSize";
+  public static final int RUN_SIZE_DEFAULT = 1 << 20;
+
+  public StreamingDataIndexer() {}
+
+  @Override
+  public void index(ObjectStream<Event> eventStream) throws IOException {
+    int cutoff = trainingParameters.getIntParameter(CUTOFF_PARAM, CUTOFF_DEFAULT);
+    boolean sort = trainingParameters.getBooleanParameter(SORT_PARAM, SORT_DEFAULT);
+    int threads = trainingParameters.getIntParameter(TrainingParameters.THREADS_PARAM, 1);
+    int blockSize = trainingParameters.getIntParameter(BLOCK_SIZE_PARAM, BLOCK_SIZE_DEFAULT);
+    int runSize = trainingParameters.getIntParameter(RUN_SIZE_PARAM, RUN_SIZE_DEFAULT);
+
+    if (threads < 1 || blockSize < 1 || runSize < 1) {
+      throw new IllegalArgumentException("Threads, block size and run size must be positive!");
+    }
+
+    long start = System.currentTimeMillis();
+
+    display("Indexing events with Streaming using cutoff of " + cutoff + "\n\n");
+
+    display("\tComputing event counts...  ");
+
+    Vocabulary predicates = new Vocabulary();
+    Vocabulary outcomes = new Vocabulary();
+    Counts counts = new Counts();
+
+    File spill = File.createTempFile("events", null);
+    spill.deleteOnExit();
+
+    List<File> runs = new ArrayList<>();
+
+    try {
+      int numEvents;
+      try (DataOutputStream out = new DataOutputStream(
+          new BufferedOutputStream(new FileOutputStream(spill)))) {
+        numEvents = spill(eventStream, out, predicates, outcomes, counts, threads, blockSize);
+      }
+
+      display("done. " + numEvents + " events\n");
+
+      display("\tIndexing...  ");
+
+      String[] predicateLabels = predicates.labels();
+      int[] predicateMap = selectPredicates(predicateLabels, counts, cutoff);
+
+      List<ComparableEvent> events = new ArrayList<>();
+      int numIndexedEvents;
+      try (DataInputStream in = new DataInputStream(
+          new BufferedInputStream(new FileInputStream(spill)))) {
+        numIndexedEvents = index(in, predicateLabels, predicateMap, outcomes.labels(),
+            events, runs, sort ? runSize : Integer.MAX_VALUE);
+      }
+
+      display("done.\n");
+
+      if (sort) {
+        display("Sorting and merging events... ");
+      }
+      else {
+        display("Collecting events... ");
+      }
+
+      if (sort) {
+        if (!runs.isEmpty()) {
+          if (!events.isEmpty()) {
+            runs.add(writeRun(sortAndMergeRun(events)));
+          }
+          events = mergeRuns(runs);
+        }
+        else {
+          events = sortAndMergeRun(events);
+        }
+      }
+
+      setUniqueEvents(events, numIndexedEvents);
+
+      if (sort) {
+        display("done. Reduced " + numIndexedEvents + " events to " + events.size() + ".\n");
+      }
+    }
+    finally {
+      spill.delete();
+      for (File run : runs) {
+        run.delete();
+      }
+    }
+
+    display(String.format("Done indexing in %.2f s.\n", (System.currentTimeMillis() - start) / 1000d));
+  }
+
+  /**
+   * Encodes the events in blocks and writes them to the spill file. The predicates are
+   * counted while the blocks are encoded.
+   *
+   * Protocol of a block, all values are var ints unless noted otherwise:
+   *  1 - (int) - length of the compressed block
+   *  2 - number of events, followed by the compressed events
+   *  3 - outcome id
+   *  4 - context array length
+   *  5+ - predicate id
+   *  6 - values array length
+   *  7+ - (float) - value
+   *
+   * @return the number of events
+   */
+  private int spill(ObjectStream<Event> eventStream, DataOutputStream out, Vocabulary predicates,
+      Vocabulary outcomes, Counts counts, int threads, int blockSize) throws IOException {
+
+    ExecutorService executor = null;
+    if (threads > 1) {
+      executor = Executors.newFixedThreadPool(threads, runnable -> {
+        Thread thread = new Thread(runnable);
+        thread.setName("opennlp.tools.ml.model.StreamingDataIndexer.spill()");
+        thread.setDaemon(true);
+        return thread;
+      });
+    }
+
+    // blocks are written in the order of the events, at most two blocks
+    // per thread are pending to bound the memory usage
+    Deque<Future<Block>> pending = new ArrayDeque<>();
+
+    try {
+      int numEvents = 0;
+      List<Event> events = new ArrayList<>(blockSize);
+
+      Event ev;
+      while ((ev = eventStream.read()) != null) {
+        numEvents++;
+        events.add(ev);
+
+        if (events.size() == blockSize) {
+          submit(executor, pending, events, predicates, outcomes, out, counts);
+          events = new ArrayList<>(blockSize);
+
+          while (pending.size() > 2 * threads) {
+            write(pending.poll(), out, counts);
+          }
+        }
+      }
+
+      if (!events.isEmpty()) {
+        submit(executor, pending, events, predicates, outcomes, out, counts);
+      }
+
+      while (!pending.isEmpty()) {
+        write(pending.poll(), out, counts);
+      }
+
+      return numEvents;
+    }
+    finally {
+      if (executor != null) {
+        executor.shutdownNow();
+      }
+    }
+  }
+
+  private static void submit(ExecutorService executor, Deque<Future<Block>> pending,
+      List<Event> events, Vocabulary predicates, Vocabulary outcomes, DataOutputStream out,
+      Counts counts) throws IOException {
+    if (executor != null) {
+      pending.add(executor.submit(() -> Block.encode(events, predicates, outcomes)));
+    }
+    else {
+      Block.encode(events, predicates, outcomes).write(out, counts);
+    }
+  }
+
+  private static void write(Future<Block> block, DataOutputStream out, Counts counts)
+      throws IOException {
+    try {
+      block.get().write(out, counts);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted while indexing events!", e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof IOException) {
+        throw (IOException) e.getCause();
+      }
+      throw new RuntimeException("Exception during indexing: " + e.getMessage(), e);
+    }
+  }
+
+  /**
+   * Selects the predicates which occur at least cutoff times. The selected predicates
+   * are indexed in their sorted order.
+   *
+   * @return the index of each predicate id or -1 if it is not selected
+   */
+  private int[] selectPredicates(String[] labels, Counts counts, int cutoff) {
+    Integer[] selected = new Integer[labels.length];
+    int numSelected = 0;
+    for (int id = 0; id < labels.length; id++) {
+      if (counts.get(id) >= cutoff) {
+        selected[numSelected++] = id;
+      }
+    }
+    Arrays.sort(selected, 0, numSelected, Comparator.comparing(id -> labels[id]));
+
+    int[] predicateMap = new int[labels.length];
+    Arrays.fill(predicateMap, -1);
+
+    predLabels = new String[numSelected];
+    predCounts = new int[numSelected];
+    for (int i = 0; i < numSelected; i++) {
+      predicateMap[selected[i]] = i;
+      predLabels[i] = labels[selected[i]];
+      predCounts[i] = counts.get(selected[i]);
+    }
+
+    return predicateMap;
+  }
+
+  /**
+   * Reads the blocks of the spill file and maps the events to the selected predicates.
+   * Whenever runSize events are collected they are sorted, merged and written to a run.
+   *
+   * @return the number of indexed events
+   */
+  private int index(DataInputStream in, String[] predicateLabels, int[] predicateMap,
+      String[] outcomeLabels, List<ComparableEvent> events, List<File> runs, int runSize)
+      throws IOException {
+
+    // the outcomes are indexed in the order they appear in
+    int[] outcomeMap = new int[outcomeLabels.length];
+    Arrays.fill(outcomeMap, -1);
+    List<String> indexedOutcomes = new ArrayList<>();
+
+    int numIndexedEvents = 0;
+
+    int blockLength;
+    while ((blockLength = readBlockLength(in)) != -1) {
+      byte[] block = new byte[blockLength];
+      in.readFully(block);
+
+      try (DataInputStream blockIn = new DataInputStream(new BufferedInputStream(
+          new InflaterInputStream(new ByteArrayInputStream(block))))) {
+
+        int numEvents = readVarInt(blockIn);
+        for (int ei = 0; ei < numEvents; ei++) {
+          int outcome = readVarInt(blockIn);
+          if (outcomeMap[outcome] == -1) {
+            outcomeMap[outcome] = indexedOutcomes.size();
+            indexedOutcomes.add(outcomeLabels[outcome]);
+          }
+
+          int[] context = new int[readVarInt(blockIn)];
+          int numActive = 0;
+          for (int ci = 0; ci < context.length; ci++) {
+            context[ci] = readVarInt(blockIn);
+            if (predicateMap[context[ci]] != -1) {
+              numActive++;
+            }
+          }
+
+          float[] values = readValues(blockIn);
+
+          // drop events with no active features
+          if (numActive > 0) {
+            int[] cons = new int[numActive];
+            for (int ci = 0, ai = 0; ci < context.length; ci++) {
+              int pid = predicateMap[context[ci]];
+              if (pid != -1) {
+                cons[ai++] = pid;
+              }
+            }
+            events.add(new ComparableEvent(outcomeMap[outcome], cons, values));
+            numIndexedEvents++;
+
+            if (events.size() >= runSize) {
+              runs.add(writeRun(sortAndMergeRun(events)));
+              events.clear();
+            }
+          }
+          else {
+            String[] dropped = new String[context.length];
+            for (int ci = 0; ci < context.length; ci++) {
+              dropped[ci] = predicateLabels[context[ci]];
+            }
+            display("Dropped event " + outcomeLabels[outcome] + ":"
+                + Arrays.asList(dropped) + "\n");
+          }
+        }
+      }
+    }
+
+    this.outcomeLabels = indexedOutcomes.toArray(new String[indexedOutcomes.size()]);
+
+    return numIndexedEvents;
+  }
+
+  private static int readBlockLength(DataInputStream in) throws IOException {
+    int b1 = in.read();
+    if (b1 == -1) {
+      return -1;
+    }
+    return (b1 << 24) | (in.readUnsignedByte() << 16) | (in.readUnsignedByte() << 8)
+        | in.readUnsignedByte();
+  }
+
+  /**
+   * Sorts the events and merges the duplicates, the first of equal events is kept.
+   */
+  private static List<ComparableEvent> sortAndMergeRun(List<ComparableEvent> events) {
+    Collections.sort(events);
+
+    List<ComparableEvent> merged = new ArrayList<>();
+    ComparableEvent last = null;
+    for (ComparableEvent ev : events) {
+      if (last != null && last.compareTo(ev) == 0) {
+        last.seen += ev.seen;
+      }
+      else {
+        merged.add(ev);
+        last = ev;
+      }
+    }
+    return merged;
+  }
+
+  private static File writeRun(List<ComparableEvent> events) throws IOException {
+    File run = File.createTempFile("events-run", null);
+    run.deleteOnExit();
+
+    Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+    try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+        new DeflaterOutputStream(new FileOutputStream(run), deflater)))) {
+      writeVarInt(out, events.size());
+      for (ComparableEvent ev : events) {
+        writeVarInt(out, ev.outcome);
+        writeVarInt(out, ev.seen);
+        writeVarInt(out, ev.predIndexes.length);
+        for (int pid : ev.predIndexes) {
+          writeVarInt(out, pid);
+        }
+        writeValues(out, ev.values);
+      }
+    }
+    finally {
+      deflater.end();
+    }
+
+    return run;
+  }
+
+  /**
+   * Merges the sorted runs. Equal events are merged, on ties the event of the
+   * earlier run is kept, that is the event which appeared first.
+   */
+  private static List<ComparableEvent> mergeRuns(List<File> runs) throws IOException {
+    PriorityQueue<RunReader> queue = new PriorityQueue<>(runs.size(),
+        Comparator.<RunReader, ComparableEvent>comparing(reader -> reader.current)
+            .thenComparingInt(reader -> reader.index));
+
+    List<ComparableEvent> merged = new ArrayList<>();
+
+    try {
+      for (int i = 0; i < runs.size(); i++) {
+        RunReader reader = new RunReader(runs.get(i), i);
+        if (reader.next()) {
+          queue.add(reader);
+        }
+        else {
+          reader.close();
+        }
+      }
+
+      ComparableEvent last = null;
+      while (!queue.isEmpty()) {
+        RunReader reader = queue.poll();
+        ComparableEvent ev = reader.current;
+
+        if (last != null && last.compareTo(ev) == 0) {
+          last.seen += ev.seen;
+        }
+        else {
+          merged.add(ev);
+          last = ev;
+        }
+
+        if (reader.next()) {
+          queue.add(reader);
+        }
+        else {
+          reader.close();
+        }
+      }
+    }
+    finally {
+      for (RunReader reader : queue) {
+        reader.close();
+      }
+    }
+
+    return merged;
+  }
+
+  static void writeVarInt(DataOutput out, int value) throws IOException {
+    while ((value & ~0x7F) != 0) {
+      out.writeByte((value & 0x7F) | 0x80);
+      value >>>= 7;
+    }
+    out.writeByte(value);
+  }
+
+  static int readVarInt(DataInput in) throws IOException {
+    int value = 0;
+    for (int shift = 0; shift < 32; shift += 7) {
+      int b = in.readUnsignedByte();
+      value |= (b & 0x7F) << shift;
+      if ((b & 0x80) == 0) {
+        return value;
+      }
+    }
+    throw new IOException("Malformed var int!");
+  }
+
+  private static void writeValues(DataOutput out, float[] values) throws IOException {
+    if (values == null) {
+      writeVarInt(out, 0);
+    }
+    else {
+      writeVarInt(out, values.length);
+      for (float value : values) {
+        out.writeFloat(value);
+      }
+    }
+  }
+
+  private static float[] readValues(DataInput in) throws IOException {
+    int length = readVarInt(in);
+    if (length == 0) {
+      return null;
+    }
+    float[] values = new float[length];
+    for (int i = 0; i < length; i++) {
+      values[i] = in.readFloat();
+    }
+    return values;
+  }
+
+  /**
+   * Assigns ids to labels, ids can be requested concurrently.
+   */
+  private static class Vocabulary {
+
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+    private final AtomicInteger nextId = new AtomicInteger();
+
+    int id(String label) {
+      Integer id = ids.get(label);
+      if (id == null) {
+        id = ids.computeIfAbsent(label, l -> nextId.getAndIncrement());
+      }
+      return id;
+    }
+
+    String[] labels() {
+      String[] labels = new String[ids.size()];
+      for (Map.Entry<String, Integer> entry : ids.entrySet()) {
+        labels[entry.getValue()] = entry.getKey();
+      }
+      return labels;
+    }
+  }
+
+  /**
+   * The predicate counts, indexed by predicate id.
+   */
+  private static class Counts {
+
+    private int[] counts = new int[1024];
+
+    void add(int id, int count) {
+      if (id >= counts.length) {
+        counts = Arrays.copyOf(counts, Math.max(id + 1, 2 * counts.length));
+      }
+      counts[id] += count;
+    }
+
+    int get(int id) {
+      return id < counts.length ? counts[id] : 0;
+    }
+  }
+
+  /**
+   * A compressed block of encoded events together with the counts of its predicates.
+   */
+  private static class Block {
+
+    private final byte[] data;
+    private final int[] predicateIds;
+    private final int[] predicateCounts;
+
+    private Block(byte[] data, int[] predicateIds, int[] predicateCounts) {
+      this.data = data;
+      this.predicateIds = predicateIds;
+      this.predicateCounts = predicateCounts;
+    }
+
+    static Block encode(List<Event> events, Vocabulary predicates, Vocabulary outcomes)
+        throws IOException {
+
+      int numPredicates = 0;
+      for (Event ev : events) {
+        numPredicates += ev.getContext().length;
+      }
+      int[] occurrences = new int[numPredicates];
+      int numOccurrences = 0;
+
+      ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+      Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+      try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+          new DeflaterOutputStream(bytes, deflater)))) {
+        writeVarInt(out, events.size());
+        for (Event ev : events) {
+          writeVarInt(out, outcomes.id(ev.getOutcome()));
+          String[] context = ev.getContext();
+          writeVarInt(out, context.length);
+          for (String predicate : context) {
+            int id = predicates.id(predicate);
+            writeVarInt(out, id);
+            occurrences[numOccurrences++] = id;
+          }
+          writeValues(out, ev.getValues());
+        }
+      }
+      finally {
+        deflater.end();
+      }
+
+      // the sorted occurrences are counted as runs of equal ids
+      Arrays.sort(occurrences);
+      int numIds = 0;
+      for (int i = 0; i < occurrences.length; i++) {
+        if (i == 0 || occurrences[i] != occurrences[i - 1]) {
+          numIds++;
+        }
+      }
+      int[] ids = new int[numIds];
+      int[] counts = new int[numIds];
+      for (int i = 0, j = -1; i < occurrences.length; i++) {
+        if (i == 0 || occurrences[i] != occurrences[i - 1]) {
+          ids[++j] = occurrences[i];
+        }
+        counts[j]++;
+      }
+
+      return new Block(bytes.toByteArray(), ids, counts);
+    }
+
+    void write(DataOutputStream out, Counts counts) throws IOException {
+      out.writeInt(data.length);
+      out.write(data);
+      for (int i = 0; i < predicateIds.length; i++) {
+        counts.add(predicateIds[i], predicateCounts[i]);
+      }
+    }
+  }
+
+  private static class RunReader implements AutoCloseable {
+
+    private final DataInputStream in;
+    private final int index;
+    private int remaining;
+    private ComparableEvent current;
+
+    RunReader(File run, int index) throws IOException {
+      this.in = new DataInputStream(new BufferedInputStream(
+          new InflaterInputStream(new FileInputStream(run))));
+      this.index = index;
+      this.remaining = readVarInt(in);
+    }
+
+    boolean next() throws IOException {
+      if (remaining == 0) {
+        current = null;
+        return false;
+      }
+      remaining--;
+
+      int outcome = readVarInt(in);
+      int seen = readVarInt(in);
+      int[] predIndexes = new int[readVarInt(in)];
+      for (int i = 0; i < predIndexes.length; i++) {
+        predIndexes[i] = readVarInt(in);
+      }
+      current = new ComparableEvent(outcome, predIndexes, readValues(in));
+      current.seen = seen;
+      return true;
+    }
+
+    @Override
+    public void close() throws IOException {
+      in.close();
+    }
+  }
+}
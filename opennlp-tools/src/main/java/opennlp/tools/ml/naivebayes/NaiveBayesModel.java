@@ -81,12 +81,33 @@ public class NaiveBayesModel extends AbstractModel {
     return eval(scontexts, values, outsums, evalParams, true);
   }
 
+  @Override
+  public double[] eval(Context[] context, int length, float[] values, double[] outsums) {
+    return eval(context, 0, length, values, outsums, evalParams);
+  }
+
+  @Override
+  public double[][] eval(String[][] contexts, double[][] probs) {
+    int[] offsets = new int[contexts.length + 1];
+    Context[] params = lookupParameters(contexts, offsets);
+
+    for (int i = 0; i < contexts.length; i++) {
+      eval(params, offsets[i], offsets[i + 1], null, probs[i], evalParams);
+    }
+    return probs;
+  }
+
   public static double[] eval(int[] context, double[] prior, EvalParameters model) {
     return eval(context, null, prior, model, true);
   }
 
   static double[] eval(Context[] context, float[] values, double[] prior,
                        EvalParameters model, boolean normalize) {
+    return eval(context, 0, context.length, values, prior, model);
+  }
+
+  private static double[] eval(Context[] context, int start, int end, float[] values,
+      double[] prior, EvalParameters model) {
     Probabilities<Integer> probabilities = new LogProbabilities<>();
     double[] outcomeTotals = model instanceof NaiveBayesEvalParameters
         ? ((NaiveBayesEvalParameters) model).getOutcomeTotals() : new double[prior.length];
@@ -95,13 +116,13 @@ public class NaiveBayesModel extends AbstractModel {
     double[] activeParameters;
     int[] activeOutcomes;
     double value = 1;
-    for (int ci = 0; ci < context.length; ci++) {
+    for (int ci = start; ci < end; ci++) {
       if (context[ci] != null) {
         Context predParams = context[ci];
         activeOutcomes = predParams.getOutcomes();
         activeParameters = predParams.getParameters();
         if (values != null) {
-          value = values[ci];
+          value = values[ci - start];
         }
         int ai = 0;
         for (int i = 0; i < outcomeTotals.length && ai < activeOutcomes.length; ++i) {
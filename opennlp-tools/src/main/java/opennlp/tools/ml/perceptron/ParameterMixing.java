@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package opennlp.tools.ml.perceptron;
+
+import opennlp.tools.ml.TrainingExecutor;
+import opennlp.tools.ml.model.MutableContext;
+
+/**
+ * Utilities for training perceptrons with iterative parameter mixing as described in:
+ * Distributed Training Strategies for the Structured Perceptron.
+ * Ryan McDonald, Keith Hall and Gideon Mann, NAACL 2010.
+ * <p>
+ * Every iteration each shard of the training data is trained on its own copy of the
+ * parameters, afterwards the copies are mixed into one parameter set, weighted by the
+ * size of the shards. The shards and the summation order are fixed, therefore the
+ * result only depends on the data and the number of threads.
+ */
+final class ParameterMixing {
+
+  private ParameterMixing() {
+  }
+
+  /**
+   * Computes the weighted sum of the shard parameters. The predicates are split into
+   * ranges which are mixed in parallel.
+   *
+   * @param executor the executor
+   * @param shards the parameters of each shard, indexed by predicate and outcome
+   * @param weights the weight of each shard
+   * @param mixed receives the mixed parameters
+   */
+  static void mix(TrainingExecutor executor, double[][][] shards, double[] weights,
+      double[][] mixed) {
+
+    executor.forEachRange(mixed.length, (start, end) -> {
+      for (int pi = start; pi < end; pi++) {
+        double[] params = mixed[pi];
+        for (int oi = 0; oi < params.length; oi++) {
+          double sum = 0;
+          for (int s = 0; s < shards.length; s++) {
+            sum += weights[s] * shards[s][pi][oi];
+          }
+          params[oi] = sum;
+        }
+      }
+    });
+  }
+
+  static double[][] copyOf(double[][] params) {
+    double[][] copy = new double[params.length][];
+    for (int pi = 0; pi < params.length; pi++) {
+      copy[pi] = params[pi].clone();
+    }
+    return copy;
+  }
+
+  static void copy(double[][] source, double[][] target) {
+    for (int pi = 0; pi < source.length; pi++) {
+      System.arraycopy(source[pi], 0, target[pi], 0, source[pi].length);
+    }
+  }
+
+  static MutableContext[] toContexts(double[][] params, int numOutcomes) {
+    int[] allOutcomesPattern = new int[numOutcomes];
+    for (int oi = 0; oi < numOutcomes; oi++) {
+      allOutcomesPattern[oi] = oi;
+    }
+
+    MutableContext[] contexts = new MutableContext[params.length];
+    for (int pi = 0; pi < params.length; pi++) {
+      contexts[pi] = new MutableContext(allOutcomesPattern, params[pi]);
+    }
+    return contexts;
+  }
+}
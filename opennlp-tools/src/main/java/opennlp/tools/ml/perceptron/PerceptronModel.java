@@ -50,6 +50,28 @@ public class PerceptronModel extends AbstractModel {
     return eval(scontexts,values,outsums,evalParams,true);
   }
 
+  @Override
+  public double[] eval(Context[] context, int length, float[] values, double[] outsums) {
+    java.util.Arrays.fill(outsums, 0);
+    ArrayMath.sumFeatures(context, 0, length, values, outsums);
+    normalize(outsums, evalParams);
+    return outsums;
+  }
+
+  @Override
+  public double[][] eval(String[][] contexts, double[][] probs) {
+    int[] offsets = new int[contexts.length + 1];
+    Context[] params = lookupParameters(contexts, offsets);
+
+    for (int i = 0; i < contexts.length; i++) {
+      double[] outsums = probs[i];
+      java.util.Arrays.fill(outsums, 0);
+      ArrayMath.sumFeatures(params, offsets[i], offsets[i + 1], null, outsums);
+      normalize(outsums, evalParams);
+    }
+    return probs;
+  }
+
   public static double[] eval(int[] context, double[] prior, EvalParameters model) {
     return eval(context,null,prior,model,true);
   }
@@ -70,25 +92,29 @@ public class PerceptronModel extends AbstractModel {
     ArrayMath.sumFeatures(context, values, prior);
 
     if (normalize) {
-      int numOutcomes = model.getNumOutcomes();
+      normalize(prior, model);
+    }
+    return prior;
+  }
 
-      double maxPrior = 1;
+  private static void normalize(double[] prior, EvalParameters model) {
+    int numOutcomes = model.getNumOutcomes();
 
-      for (int oid = 0; oid < numOutcomes; oid++) {
-        if (maxPrior < StrictMath.abs(prior[oid]))
-          maxPrior = StrictMath.abs(prior[oid]);
-      }
+    double maxPrior = 1;
 
-      double normal = 0.0;
-      for (int oid = 0; oid < numOutcomes; oid++) {
-        prior[oid] = StrictMath.exp(prior[oid] / maxPrior);
-        normal += prior[oid];
-      }
+    for (int oid = 0; oid < numOutcomes; oid++) {
+      if (maxPrior < StrictMath.abs(prior[oid]))
+        maxPrior = StrictMath.abs(prior[oid]);
+    }
 
-      for (int oid = 0; oid < numOutcomes; oid++) {
-        prior[oid] /= normal;
-      }
+    double normal = 0.0;
+    for (int oid = 0; oid < numOutcomes; oid++) {
+      prior[oid] = StrictMath.exp(prior[oid] / maxPrior);
+      normal += prior[oid];
+    }
+
+    for (int oid = 0; oid < numOutcomes; oid++) {
+      prior[oid] /= normal;
     }
-    return prior;
   }
 }
@@ -18,9 +18,11 @@
 package opennlp.tools.ml.perceptron;
 
 import java.io.IOException;
+import java.util.Arrays;
 
 import opennlp.tools.ml.AbstractEventTrainer;
 import opennlp.tools.ml.ArrayMath;
+import opennlp.tools.ml.TrainingExecutor;
 import opennlp.tools.ml.model.AbstractModel;
 import opennlp.tools.ml.model.DataIndexer;
 import opennlp.tools.ml.model.EvalParameters;
@@ -33,7 +35,9 @@ import opennlp.tools.util.TrainingParameters;
  * average weighting as described in:
  * Discriminative Training Methods for Hidden Markov Models: Theory and Experiments
  * with the Perceptron Algorithm. Michael Collins, EMNLP 2002.
- *
+ * <p>
+ * If more than one thread is configured the model is trained with iterative
+ * parameter mixing on a fixed split of the events, see {@link ParameterMixing}.
  */
 public class PerceptronTrainer extends AbstractEventTrainer {
 
@@ -79,6 +83,8 @@ public class PerceptronTrainer extends AbstractEventTrainer {
 
   private boolean useSkippedlAveraging;
 
+  private int threads = 1;
+
   public PerceptronTrainer() {
   }
 
@@ -144,6 +150,8 @@ public class PerceptronTrainer extends AbstractEventTrainer {
 
     this.setTolerance(tolerance);
 
+    this.setThreads(trainingParameters.getIntParameter(TrainingParameters.THREADS_PARAM, 1));
+
     model = this.trainModel(iterations, indexer, cutoff, useAverage);
 
     return model;
@@ -202,6 +210,21 @@ public class PerceptronTrainer extends AbstractEventTrainer {
     useSkippedlAveraging = averaging;
   }
 
+  /**
+   * Sets the number of threads. With more than one thread the events are split into
+   * one shard per thread and the parameters are trained with iterative parameter mixing.
+   *
+   * @param threads the number of threads
+   */
+  public void setThreads(int threads) {
+
+    if (threads < 1) {
+      throw new IllegalArgumentException("threads must be at least one but is " + threads + "!");
+    }
+
+    this.threads = threads;
+  }
+
   public AbstractModel trainModel(int iterations, DataIndexer di, int cutoff) {
     return trainModel(iterations,di,cutoff,true);
   }
@@ -229,7 +252,13 @@ public class PerceptronTrainer extends AbstractEventTrainer {
 
     display("Computing model parameters...\n");
 
-    MutableContext[] finalParameters = findParameters(iterations, useAverage);
+    MutableContext[] finalParameters;
+    if (threads > 1) {
+      finalParameters = findParametersParallel(iterations, useAverage);
+    }
+    else {
+      finalParameters = findParameters(iterations, useAverage);
+    }
 
     display("...done.\n");
 
@@ -376,6 +405,159 @@ public class PerceptronTrainer extends AbstractEventTrainer {
 
   }
 
+  private MutableContext[] findParametersParallel(int iterations, boolean useAverage) {
+
+    display("Performing " + iterations + " iterations with " + threads + " threads.\n");
+
+    // split the events into contiguous shards of about the same number of events
+    int[] shardStart = new int[threads + 1];
+    double[] shardWeights = new double[threads];
+    for (int ei = 0, t = 1, seen = 0; ei < numUniqueEvents; ei++) {
+      seen += numTimesEventsSeen[ei];
+      while (t < threads && seen >= (long) numEvents * t / threads) {
+        shardStart[t++] = ei + 1;
+      }
+    }
+    shardStart[threads] = numUniqueEvents;
+    for (int t = 0; t < threads; t++) {
+      int shardEvents = 0;
+      for (int ei = shardStart[t]; ei < shardStart[t + 1]; ei++) {
+        shardEvents += numTimesEventsSeen[ei];
+      }
+      shardWeights[t] = (double) shardEvents / numEvents;
+    }
+
+    double[][] params = new double[numPreds][numOutcomes];
+    double[][] summedParams = useAverage ? new double[numPreds][numOutcomes] : null;
+
+    double[][][] shardParams = new double[threads][][];
+    for (int t = 0; t < threads; t++) {
+      shardParams[t] = ParameterMixing.copyOf(params);
+    }
+
+    double prevAccuracy1 = 0.0;
+    double prevAccuracy2 = 0.0;
+    double prevAccuracy3 = 0.0;
+
+    int numTimesSummed = 0;
+
+    TrainingExecutor executor = new TrainingExecutor(threads,
+        "opennlp.tools.ml.perceptron.PerceptronTrainer.findParametersParallel()");
+
+    try {
+      double stepsize = 1;
+      for (int i = 1; i <= iterations; i++) {
+
+        if (stepSizeDecrease != null)
+          stepsize *= 1 - stepSizeDecrease;
+
+        displayIteration(i);
+
+        int[] shardCorrect = new int[threads];
+        double step = stepsize;
+        executor.execute(threads, t -> {
+          ParameterMixing.copy(params, shardParams[t]);
+          shardCorrect[t] = trainShard(shardParams[t], shardStart[t], shardStart[t + 1], step);
+        });
+
+        int numCorrect = 0;
+        for (int t = 0; t < threads; t++) {
+          numCorrect += shardCorrect[t];
+        }
+
+        ParameterMixing.mix(executor, shardParams, shardWeights, params);
+
+        double trainingAccuracy = (double) numCorrect / numEvents;
+        if (i < 10 || (i % 10) == 0)
+          display(". (" + numCorrect + "/" + numEvents + ") " + trainingAccuracy + "\n");
+
+        boolean doAveraging;
+
+        doAveraging = useAverage && useSkippedlAveraging && (i < 20 || isPerfectSquare(i)) || useAverage;
+
+        if (doAveraging) {
+          numTimesSummed++;
+          for (int pi = 0; pi < numPreds; pi++)
+            for (int aoi = 0; aoi < numOutcomes; aoi++)
+              summedParams[pi][aoi] += params[pi][aoi];
+        }
+
+        if (StrictMath.abs(prevAccuracy1 - trainingAccuracy) < tolerance
+            && StrictMath.abs(prevAccuracy2 - trainingAccuracy) < tolerance
+            && StrictMath.abs(prevAccuracy3 - trainingAccuracy) < tolerance) {
+          display("Stopping: change in training set accuracy less than " + tolerance + "\n");
+          break;
+        }
+
+        prevAccuracy1 = prevAccuracy2;
+        prevAccuracy2 = prevAccuracy3;
+        prevAccuracy3 = trainingAccuracy;
+      }
+    }
+    finally {
+      executor.close();
+    }
+
+    trainingStats(new EvalParameters(ParameterMixing.toContexts(params, numOutcomes), numOutcomes));
+
+    if (useAverage) {
+      for (int pi = 0; pi < numPreds; pi++)
+        for (int aoi = 0; aoi < numOutcomes; aoi++)
+          summedParams[pi][aoi] /= numTimesSummed;
+
+      return ParameterMixing.toContexts(summedParams, numOutcomes);
+    }
+    else {
+      return ParameterMixing.toContexts(params, numOutcomes);
+    }
+  }
+
+  /**
+   * Performs one perceptron iteration over the events of a shard.
+   *
+   * @return the number of correctly predicted events
+   */
+  private int trainShard(double[][] params, int start, int end, double stepsize) {
+    int numCorrect = 0;
+    double[] modelDistribution = new double[numOutcomes];
+
+    for (int ei = start; ei < end; ei++) {
+      int targetOutcome = outcomeList[ei];
+      int[] context = contexts[ei];
+
+      for (int ni = 0; ni < this.numTimesEventsSeen[ei]; ni++) {
+
+        Arrays.fill(modelDistribution, 0);
+        for (int ci = 0; ci < context.length; ci++) {
+          double value = values != null ? values[ei][ci] : 1;
+          double[] predParams = params[context[ci]];
+          for (int oi = 0; oi < numOutcomes; oi++) {
+            modelDistribution[oi] += predParams[oi] * value;
+          }
+        }
+
+        int maxOutcome = ArrayMath.argmax(modelDistribution);
+
+        if (maxOutcome != targetOutcome) {
+          for (int ci = 0; ci < context.length; ci++) {
+            double[] predParams = params[context[ci]];
+            if (values == null) {
+              predParams[targetOutcome] += stepsize;
+              predParams[maxOutcome] -= stepsize;
+            } else {
+              predParams[targetOutcome] += stepsize * values[ei][ci];
+              predParams[maxOutcome] -= stepsize * values[ei][ci];
+            }
+          }
+        }
+        else {
+          numCorrect++;
+        }
+      }
+    }
+    return numCorrect;
+  }
+
   private double trainingStats(EvalParameters evalParams) {
     int numCorrect = 0;
 
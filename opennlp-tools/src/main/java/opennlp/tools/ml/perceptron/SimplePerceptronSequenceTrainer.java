@@ -24,6 +24,7 @@ import java.util.List;
 import java.util.Map;
 
 import opennlp.tools.ml.AbstractEventModelSequenceTrainer;
+import opennlp.tools.ml.TrainingExecutor;
 import opennlp.tools.ml.model.AbstractDataIndexer;
 import opennlp.tools.ml.model.AbstractModel;
 import opennlp.tools.ml.model.DataIndexer;
@@ -33,6 +34,7 @@ import opennlp.tools.ml.model.OnePassDataIndexer;
 import opennlp.tools.ml.model.Sequence;
 import opennlp.tools.ml.model.SequenceStream;
 import opennlp.tools.ml.model.SequenceStreamEventStream;
+import opennlp.tools.util.TrainingParameters;
 
 /**
  * Trains models for sequences using the perceptron algorithm.  Each outcome is represented as
@@ -42,6 +44,10 @@ import opennlp.tools.ml.model.SequenceStreamEventStream;
  * with the Perceptron Algorithm. Michael Collins, EMNLP 2002.
  * Specifically only updates are applied to tokens which were incorrectly tagged by a sequence tagger
  * rather than to all feature across the sequence which differ from the training sequence.
+ * <p>
+ * If more than one thread is configured and the {@link SequenceStream} supports concurrent calls
+ * to {@link SequenceStream#updateContext(Sequence, AbstractModel)} the model is trained with
+ * iterative parameter mixing, see {@link ParameterMixing}.
  */
 public class SimplePerceptronSequenceTrainer extends AbstractEventModelSequenceTrainer {
 
@@ -79,6 +85,10 @@ public class SimplePerceptronSequenceTrainer extends AbstractEventModelSequenceT
 
   private String[] predLabels;
   private int numSequences;
+  private int threads = 1;
+
+  /** Number of sequences which are read before they are handed to the shards. */
+  private static final int SEQUENCE_BATCH_SIZE = 256;
 
   public SimplePerceptronSequenceTrainer() {
   }
@@ -113,6 +123,11 @@ public class SimplePerceptronSequenceTrainer extends AbstractEventModelSequenceT
 
     boolean useAverage = trainingParameters.getBooleanParameter("UseAverage", true);
 
+    threads = trainingParameters.getIntParameter(TrainingParameters.THREADS_PARAM, 1);
+    if (threads < 1) {
+      throw new IllegalArgumentException("Threads must be at least one but is " + threads + "!");
+    }
+
     return trainModel(iterations, events, cutoff, useAverage);
   }
 
@@ -188,7 +203,15 @@ public class SimplePerceptronSequenceTrainer extends AbstractEventModelSequenceT
     double[] modelDistribution = new double[numOutcomes];
 
     display("Computing model parameters...\n");
-    findParameters(iterations);
+    if (threads > 1 && sequenceStream.isUpdateContextConcurrent()) {
+      findParametersParallel(iterations);
+    }
+    else {
+      if (threads > 1) {
+        display("The sequence stream does not support concurrent updates, training with one thread.\n");
+      }
+      findParameters(iterations);
+    }
     display("...done.\n");
 
     /* Create and return the model ****/
@@ -249,58 +272,7 @@ public class SimplePerceptronSequenceTrainer extends AbstractEventModelSequenceT
         }
       }
       if (update) {
-        for (int oi = 0; oi < numOutcomes; oi++) {
-          featureCounts.get(oi).clear();
-        }
-        //System.err.print("train:");for (int ei=0;ei<events.length;ei++)
-        // {System.err.print(" "+events[ei].getOutcome());} System.err.println();
-        //training feature count computation
-        for (int ei = 0; ei < events.length; ei++, oei++) {
-          String[] contextStrings = events[ei].getContext();
-          float[] values = events[ei].getValues();
-          int oi = omap.get(events[ei].getOutcome());
-          for (int ci = 0; ci < contextStrings.length; ci++) {
-            float value = 1;
-            if (values != null) {
-              value = values[ci];
-            }
-            Float c = featureCounts.get(oi).get(contextStrings[ci]);
-            if (c == null) {
-              c = value;
-            }
-            else {
-              c += value;
-            }
-            featureCounts.get(oi).put(contextStrings[ci], c);
-          }
-        }
-        //evaluation feature count computation
-        //System.err.print("test: ");for (int ei=0;ei<taggerEvents.length;ei++)
-        // {System.err.print(" "+taggerEvents[ei].getOutcome());} System.err.println();
-        for (Event taggerEvent : taggerEvents) {
-          String[] contextStrings = taggerEvent.getContext();
-          float[] values = taggerEvent.getValues();
-          int oi = omap.get(taggerEvent.getOutcome());
-          for (int ci = 0; ci < contextStrings.length; ci++) {
-            float value = 1;
-            if (values != null) {
-              value = values[ci];
-            }
-            Float c = featureCounts.get(oi).get(contextStrings[ci]);
-            if (c == null) {
-              c = -1 * value;
-            }
-            else {
-              c -= value;
-            }
-            if (c == 0f) {
-              featureCounts.get(oi).remove(contextStrings[ci]);
-            }
-            else {
-              featureCounts.get(oi).put(contextStrings[ci], c);
-            }
-          }
-        }
+        computeFeatureCounts(events, taggerEvents, featureCounts);
         for (int oi = 0; oi < numOutcomes; oi++) {
           for (String feature : featureCounts.get(oi).keySet()) {
             int pi = pmap.getOrDefault(feature, -1);
@@ -350,6 +322,250 @@ public class SimplePerceptronSequenceTrainer extends AbstractEventModelSequenceT
     display(". (" + numCorrect + "/" + numEvents + ") " + ((double) numCorrect / numEvents) + "\n");
   }
 
+  /**
+   * Computes the difference between the feature counts of the training events
+   * and the feature counts of the events predicted by the tagger.
+   */
+  private void computeFeatureCounts(Event[] events, Event[] taggerEvents,
+      List<Map<String,Float>> featureCounts) {
+    for (int oi = 0; oi < numOutcomes; oi++) {
+      featureCounts.get(oi).clear();
+    }
+    //training feature count computation
+    for (Event event : events) {
+      String[] contextStrings = event.getContext();
+      float[] values = event.getValues();
+      int oi = omap.get(event.getOutcome());
+      for (int ci = 0; ci < contextStrings.length; ci++) {
+        float value = 1;
+        if (values != null) {
+          value = values[ci];
+        }
+        Float c = featureCounts.get(oi).get(contextStrings[ci]);
+        if (c == null) {
+          c = value;
+        }
+        else {
+          c += value;
+        }
+        featureCounts.get(oi).put(contextStrings[ci], c);
+      }
+    }
+    //evaluation feature count computation
+    for (Event taggerEvent : taggerEvents) {
+      String[] contextStrings = taggerEvent.getContext();
+      float[] values = taggerEvent.getValues();
+      int oi = omap.get(taggerEvent.getOutcome());
+      for (int ci = 0; ci < contextStrings.length; ci++) {
+        float value = 1;
+        if (values != null) {
+          value = values[ci];
+        }
+        Float c = featureCounts.get(oi).get(contextStrings[ci]);
+        if (c == null) {
+          c = -1 * value;
+        }
+        else {
+          c -= value;
+        }
+        if (c == 0f) {
+          featureCounts.get(oi).remove(contextStrings[ci]);
+        }
+        else {
+          featureCounts.get(oi).put(contextStrings[ci], c);
+        }
+      }
+    }
+  }
+
+  /**
+   * Trains the parameters with iterative parameter mixing. The sequences are assigned
+   * round-robin to one shard per thread, each shard trains its own copy of the parameters
+   * during an iteration and the copies are mixed at the end of the iteration.
+   * <p>
+   * The averaged parameters are computed with the same weighting as in the serial
+   * training, the parameters of a shard after each of its sequences are summed lazily
+   * by weighting each update with the number of remaining sequences of the shard.
+   */
+  private void findParametersParallel(int iterations) throws IOException {
+    display("Performing " + iterations + " iterations with " + threads + " threads.\n");
+
+    double[][] mixed = new double[numPreds][numOutcomes];
+    double[][] summed = useAverage ? new double[numPreds][numOutcomes] : null;
+
+    int[] shardSize = new int[threads];
+    double[] shardWeights = new double[threads];
+    double[][][] shardParams = new double[threads][][];
+    double[][][] shardSums = new double[threads][][];
+    for (int t = 0; t < threads; t++) {
+      shardSize[t] = (numSequences - t + threads - 1) / threads;
+      shardWeights[t] = numSequences > 0 ? (double) shardSize[t] / numSequences : 0;
+      shardParams[t] = new double[numPreds][numOutcomes];
+      if (useAverage) {
+        shardSums[t] = new double[numPreds][numOutcomes];
+      }
+    }
+
+    TrainingExecutor executor = new TrainingExecutor(threads,
+        "opennlp.tools.ml.perceptron.SimplePerceptronSequenceTrainer.findParametersParallel()");
+
+    try {
+      for (int i = 1; i <= iterations; i++) {
+        if (i < 10)
+          display("  " + i + ":  ");
+        else if (i < 100)
+          display(" " + i + ":  ");
+        else
+          display(i + ":  ");
+
+        for (int t = 0; t < threads; t++) {
+          ParameterMixing.copy(mixed, shardParams[t]);
+        }
+
+        int numCorrect = 0;
+        int[] shardPosition = new int[threads];
+
+        sequenceStream.reset();
+
+        List<List<Sequence>> batches = new ArrayList<>(threads);
+        for (int t = 0; t < threads; t++) {
+          batches.add(new ArrayList<>(SEQUENCE_BATCH_SIZE));
+        }
+
+        boolean endOfStream = false;
+        while (!endOfStream) {
+          for (int t = 0; t < threads; t++) {
+            batches.get(t).clear();
+          }
+
+          for (int si = 0; si < SEQUENCE_BATCH_SIZE * threads; si++) {
+            Sequence sequence = sequenceStream.read();
+            if (sequence == null) {
+              endOfStream = true;
+              break;
+            }
+            // the position in the stream is a multiple of threads at the start of every batch
+            batches.get(si % threads).add(sequence);
+          }
+
+          int[] shardCorrect = new int[threads];
+          executor.execute(threads, t -> shardCorrect[t] = trainShard(batches.get(t),
+              shardParams[t], shardSums[t], shardPosition[t], shardSize[t]));
+
+          for (int t = 0; t < threads; t++) {
+            numCorrect += shardCorrect[t];
+            shardPosition[t] += batches.get(t).size();
+          }
+        }
+
+        ParameterMixing.mix(executor, shardParams, shardWeights, mixed);
+
+        if (useAverage) {
+          // every shard starts with the previously mixed parameters, these are
+          // contained in the sums of the shards for each of their sequences
+          for (int t = 0; t < threads; t++) {
+            double[][] sums = shardSums[t];
+            for (int pi = 0; pi < numPreds; pi++) {
+              for (int oi = 0; oi < numOutcomes; oi++) {
+                summed[pi][oi] += sums[pi][oi];
+              }
+            }
+          }
+        }
+
+        display(". (" + numCorrect + "/" + numEvents + ") " + ((double) numCorrect / numEvents) + "\n");
+      }
+    }
+    finally {
+      executor.close();
+    }
+
+    params = ParameterMixing.toContexts(mixed, numOutcomes);
+
+    if (useAverage) {
+      double totIterations = (double) iterations * numSequences;
+      for (int pi = 0; pi < numPreds; pi++) {
+        for (int oi = 0; oi < numOutcomes; oi++) {
+          summed[pi][oi] /= totIterations;
+        }
+      }
+      averageParams = ParameterMixing.toContexts(summed, numOutcomes);
+      trainingStats(averageParams);
+    }
+    else {
+      trainingStats(params);
+    }
+  }
+
+  /**
+   * Trains a shard on a batch of its sequences.
+   *
+   * @param batch the sequences
+   * @param shardParams the parameters of the shard
+   * @param shardSums the summed parameters of the shard or null if no averaging is used
+   * @param position the position of the first sequence of the batch in the shard
+   * @param shardSize the number of sequences of the shard in one iteration
+   *
+   * @return the number of correctly tagged events
+   */
+  private int trainShard(List<Sequence> batch, double[][] shardParams, double[][] shardSums,
+      int position, int shardSize) {
+
+    if (batch.isEmpty()) {
+      return 0;
+    }
+
+    int numCorrect = 0;
+    List<Map<String,Float>> featureCounts = new ArrayList<>(numOutcomes);
+    for (int oi = 0; oi < numOutcomes; oi++) {
+      featureCounts.add(new HashMap<>());
+    }
+
+    if (shardSums != null && position == 0) {
+      for (int pi = 0; pi < numPreds; pi++) {
+        for (int oi = 0; oi < numOutcomes; oi++) {
+          shardSums[pi][oi] = shardSize * shardParams[pi][oi];
+        }
+      }
+    }
+
+    // the model refers to the parameter arrays of the shard and sees all updates
+    PerceptronModel model = new PerceptronModel(ParameterMixing.toContexts(shardParams, numOutcomes),
+        predLabels, outcomeLabels);
+
+    for (int s = 0; s < batch.size(); s++) {
+      Sequence sequence = batch.get(s);
+      Event[] taggerEvents = sequenceStream.updateContext(sequence, model);
+      Event[] events = sequence.getEvents();
+      boolean update = false;
+      for (int ei = 0; ei < events.length; ei++) {
+        if (!taggerEvents[ei].getOutcome().equals(events[ei].getOutcome())) {
+          update = true;
+        }
+        else {
+          numCorrect++;
+        }
+      }
+      if (update) {
+        computeFeatureCounts(events, taggerEvents, featureCounts);
+        // the updated parameters are used for the remaining sequences of the shard
+        int remaining = shardSize - (position + s);
+        for (int oi = 0; oi < numOutcomes; oi++) {
+          for (Map.Entry<String, Float> feature : featureCounts.get(oi).entrySet()) {
+            int pi = pmap.getOrDefault(feature.getKey(), -1);
+            if (pi != -1) {
+              shardParams[pi][oi] += feature.getValue();
+              if (shardSums != null) {
+                shardSums[pi][oi] += feature.getValue() * remaining;
+              }
+            }
+          }
+        }
+      }
+    }
+    return numCorrect;
+  }
+
   private void trainingStats(MutableContext[] params) throws IOException {
     int numCorrect = 0;
     int oei = 0;
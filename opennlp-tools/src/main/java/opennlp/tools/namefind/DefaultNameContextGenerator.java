@@ -18,12 +18,16 @@
 package opennlp.tools.namefind;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
+import opennlp.tools.ml.model.Context;
+import opennlp.tools.ml.model.ParameterSink;
 import opennlp.tools.util.featuregen.AdaptiveFeatureGenerator;
 import opennlp.tools.util.featuregen.BigramNameFeatureGenerator;
 import opennlp.tools.util.featuregen.CachedFeatureGenerator;
 import opennlp.tools.util.featuregen.FeatureGeneratorUtil;
+import opennlp.tools.util.featuregen.FeatureSink;
 import opennlp.tools.util.featuregen.OutcomePriorFeatureGenerator;
 import opennlp.tools.util.featuregen.PreviousMapFeatureGenerator;
 import opennlp.tools.util.featuregen.TokenClassFeatureGenerator;
@@ -38,6 +42,12 @@ public class DefaultNameContextGenerator implements NameContextGenerator {
 
   protected AdaptiveFeatureGenerator[] featureGenerators;
 
+  private final StringBuilder outcomeAndToken = new StringBuilder();
+
+  private final SentenceFeatureCache sentenceCache = new SentenceFeatureCache();
+
+  private boolean sentenceCacheEnabled = true;
+
   @Deprecated
   private static AdaptiveFeatureGenerator windowFeatures = new CachedFeatureGenerator(
       new WindowFeatureGenerator(new TokenFeatureGenerator(), 2, 2),
@@ -100,6 +110,71 @@ public class DefaultNameContextGenerator implements NameContextGenerator {
     }
   }
 
+  /**
+   * Enables or disables the sentence cache, it is enabled by default. The cache must
+   * be disabled if a feature generator creates features which depend on the previous
+   * outcomes, otherwise the cached features of the first sequence are used for all
+   * sequences of the beam.
+   *
+   * @param enabled true to cache the features of the feature generators per sentence
+   */
+  public void setSentenceCacheEnabled(boolean enabled) {
+    sentenceCacheEnabled = enabled;
+  }
+
+  public boolean isSentenceCacheEnabled() {
+    return sentenceCacheEnabled;
+  }
+
+  /**
+   * Starts to cache the features of the feature generators for the tokens, unless the
+   * cache is disabled. The feature generators must not depend on the previous outcomes,
+   * only the previous outcome features are created for every sequence of the beam.
+   *
+   * @see #setSentenceCacheEnabled(boolean)
+   */
+  @Override
+  public void beginSentence(String[] tokens) {
+    if (sentenceCacheEnabled) {
+      sentenceCache.begin(tokens);
+    }
+  }
+
+  @Override
+  public void endSentence() {
+    sentenceCache.end();
+  }
+
+  /**
+   * Retrieves the number of times the features of a token were found in the sentence cache.
+   *
+   * @return number of cache hits
+   */
+  public long getNumberOfCacheHits() {
+    return sentenceCache.getNumberOfCacheHits();
+  }
+
+  /**
+   * Retrieves the number of times the features of a token were created for the sentence cache.
+   *
+   * @return number of cache misses
+   */
+  public long getNumberOfCacheMisses() {
+    return sentenceCache.getNumberOfCacheMisses();
+  }
+
+  private void createFeatures(List<String> features, String[] tokens, int index, String[] preds) {
+    for (AdaptiveFeatureGenerator featureGenerator : featureGenerators) {
+      featureGenerator.createFeatures(features, tokens, index, preds);
+    }
+  }
+
+  private void createFeatures(FeatureSink sink, String[] tokens, int index, String[] preds) {
+    for (AdaptiveFeatureGenerator featureGenerator : featureGenerators) {
+      featureGenerator.createFeatures(sink, tokens, index, preds);
+    }
+  }
+
   /**
    * Return the context for finding names at the specified index.
    * @param index The index of the token in the specified toks array for which the
@@ -115,8 +190,18 @@ public class DefaultNameContextGenerator implements NameContextGenerator {
   public String[] getContext(int index, String[] tokens, String[] preds, Object[] additionalContext) {
     List<String> features = new ArrayList<>();
 
-    for (AdaptiveFeatureGenerator featureGenerator : featureGenerators) {
-      featureGenerator.createFeatures(features, tokens, index, preds);
+    if (sentenceCache.covers(tokens)) {
+      String[] tokenFeatures = sentenceCache.getFeatures(index);
+      if (tokenFeatures == null) {
+        createFeatures(features, tokens, index, preds);
+        sentenceCache.putFeatures(index, features.toArray(new String[features.size()]));
+      }
+      else {
+        features.addAll(Arrays.asList(tokenFeatures));
+      }
+    }
+    else {
+      createFeatures(features, tokens, index, preds);
     }
 
     //previous outcome features
@@ -140,4 +225,51 @@ public class DefaultNameContextGenerator implements NameContextGenerator {
 
     return features.toArray(new String[features.size()]);
   }
+
+  /**
+   * Adds the same features as {@link #getContext(int, String[], String[], Object[])}
+   * to the sink, without creating a string for every feature.
+   */
+  @Override
+  public void getContext(int index, String[] tokens, String[] preds, Object[] additionalContext,
+      FeatureSink sink) {
+
+    if (sink instanceof ParameterSink && sentenceCache.covers(tokens)) {
+      ParameterSink parameterSink = (ParameterSink) sink;
+      Context[] tokenParameters = sentenceCache.getParameters(index, parameterSink.getModel());
+      if (tokenParameters == null) {
+        int start = parameterSink.size();
+        createFeatures(sink, tokens, index, preds);
+        sentenceCache.putParameters(index, parameterSink.getParameters(start));
+      }
+      else {
+        parameterSink.addAll(tokenParameters);
+      }
+    }
+    else {
+      createFeatures(sink, tokens, index, preds);
+    }
+
+    //previous outcome features
+    String po = NameFinderME.OTHER;
+    String ppo = NameFinderME.OTHER;
+
+    if (preds != null) {
+      if (index > 1) {
+        ppo = preds[index - 2];
+      }
+
+      if (index > 0) {
+        po = preds[index - 1];
+      }
+      sink.add("po=", po);
+      outcomeAndToken.setLength(0);
+      outcomeAndToken.append(po).append(',').append(tokens[index]);
+      sink.add("pow=", outcomeAndToken);
+      outcomeAndToken.setLength(po.length() + 1);
+      outcomeAndToken.append(FeatureGeneratorUtil.tokenFeature(tokens[index]));
+      sink.add("powf=", outcomeAndToken);
+      sink.add("ppo=", ppo);
+    }
+  }
 }
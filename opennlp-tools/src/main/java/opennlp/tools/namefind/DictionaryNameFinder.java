@@ -17,17 +17,19 @@
 
 package opennlp.tools.namefind;
 
-import java.util.LinkedList;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 
 import opennlp.tools.dictionary.Dictionary;
 import opennlp.tools.util.Span;
-import opennlp.tools.util.StringList;
 
 /**
  * This is a dictionary based name finder, it scans text
  * for names inside a dictionary.
+ * <p>
+ * The text is scanned from left to right, at every position the longest
+ * dictionary entry is matched, see {@link Dictionary#longestMatch(String[], int)}.
  */
 public class DictionaryNameFinder implements TokenNameFinder {
 
@@ -58,34 +60,15 @@ public class DictionaryNameFinder implements TokenNameFinder {
   }
 
   public Span[] find(String[] textTokenized) {
-    List<Span> namesFound = new LinkedList<>();
+    List<Span> namesFound = new ArrayList<>();
 
     for (int offsetFrom = 0; offsetFrom < textTokenized.length; offsetFrom++) {
-      Span nameFound = null;
-      String[] tokensSearching;
+      int length = mDictionary.longestMatch(textTokenized, offsetFrom);
 
-      for (int offsetTo = offsetFrom; offsetTo < textTokenized.length; offsetTo++) {
-        int lengthSearching = offsetTo - offsetFrom + 1;
-
-        if (lengthSearching > mDictionary.getMaxTokenCount()) {
-          break;
-        } else {
-          tokensSearching = new String[lengthSearching];
-          System.arraycopy(textTokenized, offsetFrom, tokensSearching, 0,
-              lengthSearching);
-
-          StringList entryForSearch = new StringList(tokensSearching);
-
-          if (mDictionary.contains(entryForSearch)) {
-            nameFound = new Span(offsetFrom, offsetTo + 1, type);
-          }
-        }
-      }
-
-      if (nameFound != null) {
-        namesFound.add(nameFound);
+      if (length > 0) {
+        namesFound.add(new Span(offsetFrom, offsetFrom + length, type));
         // skip over the found tokens for the next search
-        offsetFrom += nameFound.length() - 1;
+        offsetFrom += length - 1;
       }
     }
     return namesFound.toArray(new Span[namesFound.size()]);
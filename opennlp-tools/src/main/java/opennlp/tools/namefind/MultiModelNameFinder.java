@@ -0,0 +1,381 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package opennlp.tools.namefind;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+import opennlp.tools.ml.model.SequenceClassificationModel;
+import opennlp.tools.util.Sequence;
+import opennlp.tools.util.SequenceCodec;
+import opennlp.tools.util.SequenceValidator;
+import opennlp.tools.util.Span;
+import opennlp.tools.util.featuregen.AdaptiveFeatureGenerator;
+import opennlp.tools.util.featuregen.AdditionalContextFeatureGenerator;
+import opennlp.tools.util.featuregen.AggregatedFeatureGenerator;
+import opennlp.tools.util.featuregen.CachedFeatureGenerator;
+import opennlp.tools.util.featuregen.FeatureGeneratorUtil;
+import opennlp.tools.util.featuregen.FeatureSink;
+import opennlp.tools.util.featuregen.GeneratorFactory;
+import opennlp.tools.util.featuregen.WindowFeatureGenerator;
+import opennlp.tools.util.metrics.Metrics;
+import opennlp.tools.util.metrics.MetricsRecorder;
+
+/**
+ * A name finder which runs several {@link TokenNameFinderModel}s, e.g. one for
+ * persons and one for organizations, over a sentence in one pass.
+ * <p>
+ * Models which have the same feature generator descriptor and the same resources
+ * share their feature generation: the features of the generators which do not keep
+ * adaptive data are created once per token and are then evaluated by every model of
+ * the group. The features of adaptive generators, like the previous map, and of the
+ * previous outcomes are still created per model, therefore each model finds the same
+ * names as a {@link NameFinderME} would. Models with a custom {@link TokenNameFinderFactory}
+ * always use their own context generator.
+ * <p>
+ * The names of all models are merged, overlapping names can optionally be resolved
+ * with {@link NameFinderME#dropOverlappingSpans(Span[])}.
+ * <p>
+ * This class is not thread safe.
+ */
+public class MultiModelNameFinder implements TokenNameFinder {
+
+  private static final String[][] EMPTY = new String[0][0];
+
+  private final AdditionalContextFeatureGenerator additionalContextFeatureGenerator =
+      new AdditionalContextFeatureGenerator();
+
+  private final List<SharedFeatures> sharedFeatures = new ArrayList<>();
+  private final ModelDecoder[] decoders;
+  private final boolean dropOverlappingSpans;
+
+  /**
+   * Initializes the name finder, overlapping names of different models are kept.
+   *
+   * @param models the name finder models
+   */
+  public MultiModelNameFinder(TokenNameFinderModel... models) {
+    this(false, models);
+  }
+
+  /**
+   * Initializes the name finder.
+   *
+   * @param dropOverlappingSpans if true overlapping names are resolved with
+   *     {@link NameFinderME#dropOverlappingSpans(Span[])}
+   * @param models the name finder models
+   */
+  public MultiModelNameFinder(boolean dropOverlappingSpans, TokenNameFinderModel... models) {
+    if (models.length == 0) {
+      throw new IllegalArgumentException("at least one model must be provided!");
+    }
+
+    this.dropOverlappingSpans = dropOverlappingSpans;
+
+    decoders = new ModelDecoder[models.length];
+    for (int i = 0; i < models.length; i++) {
+      NameContextGenerator contextGenerator = createSharedContextGenerator(models[i]);
+      if (contextGenerator == null) {
+        contextGenerator = models[i].getFactory().createContextGenerator();
+      }
+      contextGenerator.addFeatureGenerator(
+          new WindowFeatureGenerator(additionalContextFeatureGenerator, 8, 8));
+
+      decoders[i] = new ModelDecoder(models[i], contextGenerator);
+    }
+  }
+
+  /**
+   * Splits the top level generators of the model into the generators which can be shared
+   * and the adaptive ones, and joins the group of models with the same features.
+   *
+   * @return the context generator, or null if the features of the model cannot be shared
+   */
+  private NameContextGenerator createSharedContextGenerator(TokenNameFinderModel model) {
+    TokenNameFinderFactory factory = model.getFactory();
+    if (factory.getClass() != TokenNameFinderFactory.class) {
+      return null;
+    }
+
+    AdaptiveFeatureGenerator generator = factory.createFeatureGenerators();
+    if (generator == null) {
+      return null;
+    }
+
+    if (generator instanceof CachedFeatureGenerator) {
+      generator = ((CachedFeatureGenerator) generator).getCachedFeatureGenerator();
+    }
+
+    List<AdaptiveFeatureGenerator> generators;
+    if (generator instanceof AggregatedFeatureGenerator) {
+      generators = new ArrayList<>(((AggregatedFeatureGenerator) generator).getGenerators());
+    }
+    else {
+      generators = Collections.singletonList(generator);
+    }
+
+    SharedFeatures shared = null;
+    for (SharedFeatures candidate : sharedFeatures) {
+      if (candidate.accepts(model, factory.getFeatureGenerator())) {
+        shared = candidate;
+        break;
+      }
+    }
+
+    if (shared == null) {
+      shared = new SharedFeatures(model, factory.getFeatureGenerator(), generators);
+      sharedFeatures.add(shared);
+    }
+
+    AdaptiveFeatureGenerator[] modelGenerators = new AdaptiveFeatureGenerator[generators.size()];
+    for (int i = 0; i < modelGenerators.length; i++) {
+      modelGenerators[i] = shared.isShared(i) ? shared.view(i) : generators.get(i);
+    }
+
+    return new DefaultNameContextGenerator(new AggregatedFeatureGenerator(modelGenerators));
+  }
+
+  @Override
+  public Span[] find(String[] tokens) {
+    return find(tokens, EMPTY);
+  }
+
+  /**
+   * Generates the name tags of all models for the given sequence, typically a sentence.
+   *
+   * @param tokens an array of the tokens or words of the sequence, typically a sentence.
+   * @param additionalContext features which are based on context outside of the
+   *     sentence but which should also be used.
+   *
+   * @return the sorted spans of the names which were found by all models.
+   */
+  public Span[] find(String[] tokens, String[][] additionalContext) {
+
+    MetricsRecorder recorder = Metrics.getRecorder();
+    long startNanos = recorder != null ? System.nanoTime() : 0;
+
+    additionalContextFeatureGenerator.setCurrentContext(additionalContext);
+
+    List<Span> names = new ArrayList<>();
+    for (SharedFeatures shared : sharedFeatures) {
+      shared.begin(tokens);
+    }
+    try {
+      for (ModelDecoder decoder : decoders) {
+        Collections.addAll(names, decoder.find(tokens, additionalContext));
+      }
+    } finally {
+      for (SharedFeatures shared : sharedFeatures) {
+        shared.end();
+      }
+    }
+
+    Span[] spans = names.toArray(new Span[names.size()]);
+    if (dropOverlappingSpans) {
+      spans = NameFinderME.dropOverlappingSpans(spans);
+    }
+    else {
+      Arrays.sort(spans);
+    }
+
+    if (recorder != null) {
+      recorder.recordInference(Metrics.NAME_FINDER, System.nanoTime() - startNanos, tokens.length);
+    }
+    return spans;
+  }
+
+  /**
+   * Forgets all adaptive data of all models which was collected during previous
+   * calls to one of the find methods.
+   */
+  @Override
+  public void clearAdaptiveData() {
+    for (ModelDecoder decoder : decoders) {
+      decoder.contextGenerator.clearAdaptiveData();
+    }
+  }
+
+  /**
+   * Decodes the names of one model, like {@link NameFinderME} does.
+   */
+  private static class ModelDecoder {
+
+    private final SequenceClassificationModel<String> model;
+    private final SequenceCodec<String> seqCodec;
+    private final SequenceValidator<String> sequenceValidator;
+    private final NameContextGenerator contextGenerator;
+
+    ModelDecoder(TokenNameFinderModel model, NameContextGenerator contextGenerator) {
+      this.model = model.getNameFinderSequenceModel();
+      this.seqCodec = model.getFactory().createSequenceCodec();
+      this.sequenceValidator = seqCodec.createSequenceValidator();
+      this.contextGenerator = contextGenerator;
+    }
+
+    Span[] find(String[] tokens, String[][] additionalContext) {
+      Sequence bestSequence;
+      contextGenerator.beginSentence(tokens);
+      try {
+        bestSequence = model.bestSequence(tokens, additionalContext, contextGenerator,
+            sequenceValidator);
+      } finally {
+        contextGenerator.endSentence();
+      }
+
+      List<String> c = bestSequence.getOutcomes();
+
+      contextGenerator.updateAdaptiveData(tokens, c.toArray(new String[c.size()]));
+      Span[] spans = seqCodec.decode(c);
+
+      double[] probs = NameFinderME.probs(spans, bestSequence.getProbs());
+      for (int i = 0; i < spans.length; i++) {
+        spans[i] = new Span(spans[i], probs[i]);
+      }
+      return spans;
+    }
+  }
+
+  /**
+   * Holds the generators of one feature generator descriptor which do not keep adaptive
+   * data and caches their features for the tokens of the current sentence.
+   */
+  private static class SharedFeatures {
+
+    private final TokenNameFinderModel model;
+    private final byte[] descriptor;
+    private final Set<String> resourceNames;
+    private final AdaptiveFeatureGenerator[] generators;
+
+    private String[] tokens;
+    private String[][][] features;
+
+    SharedFeatures(TokenNameFinderModel model, byte[] descriptor,
+        List<AdaptiveFeatureGenerator> generators) {
+      this.model = model;
+      this.descriptor = descriptor;
+
+      try {
+        resourceNames = GeneratorFactory.extractArtifactSerializerMappings(
+            new ByteArrayInputStream(descriptor)).keySet();
+      } catch (IOException e) {
+        throw new IllegalStateException("Reading from mem cannot result in an I/O error", e);
+      }
+
+      this.generators = new AdaptiveFeatureGenerator[generators.size()];
+      for (int i = 0; i < this.generators.length; i++) {
+        AdaptiveFeatureGenerator generator = generators.get(i);
+        if (!FeatureGeneratorUtil.isAdaptive(generator)) {
+          this.generators[i] = generator;
+        }
+      }
+    }
+
+    /**
+     * @return true if the model has the same descriptor and resources
+     */
+    boolean accepts(TokenNameFinderModel otherModel, byte[] otherDescriptor) {
+      if (!Arrays.equals(descriptor, otherDescriptor)) {
+        return false;
+      }
+
+      for (String resourceName : resourceNames) {
+        if (!Objects.equals(model.getArtifact(resourceName), otherModel.getArtifact(resourceName))) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    boolean isShared(int index) {
+      return generators[index] != null;
+    }
+
+    AdaptiveFeatureGenerator view(int index) {
+      return new SharedFeatureView(this, index);
+    }
+
+    void begin(String[] tokens) {
+      this.tokens = tokens;
+      features = new String[tokens.length][][];
+    }
+
+    void end() {
+      tokens = null;
+      features = null;
+    }
+
+    String[] getFeatures(int generatorIndex, String[] tokens, int index, String[] preds) {
+      if (this.tokens != tokens) {
+        return createFeatures(generatorIndex, tokens, index, preds);
+      }
+
+      if (features[index] == null) {
+        features[index] = new String[generators.length][];
+      }
+
+      String[] tokenFeatures = features[index][generatorIndex];
+      if (tokenFeatures == null) {
+        tokenFeatures = createFeatures(generatorIndex, tokens, index, preds);
+        features[index][generatorIndex] = tokenFeatures;
+      }
+      return tokenFeatures;
+    }
+
+    private String[] createFeatures(int generatorIndex, String[] tokens, int index,
+        String[] preds) {
+      List<String> tokenFeatures = new ArrayList<>();
+      generators[generatorIndex].createFeatures(tokenFeatures, tokens, index, preds);
+      return tokenFeatures.toArray(new String[tokenFeatures.size()]);
+    }
+  }
+
+  /**
+   * Passes the shared features of one generator to a model.
+   */
+  private static class SharedFeatureView implements AdaptiveFeatureGenerator {
+
+    private final SharedFeatures shared;
+    private final int generatorIndex;
+
+    SharedFeatureView(SharedFeatures shared, int generatorIndex) {
+      this.shared = shared;
+      this.generatorIndex = generatorIndex;
+    }
+
+    @Override
+    public void createFeatures(List<String> features, String[] tokens, int index,
+        String[] previousOutcomes) {
+      Collections.addAll(features, shared.getFeatures(generatorIndex, tokens, index,
+          previousOutcomes));
+    }
+
+    @Override
+    public void createFeatures(FeatureSink sink, String[] tokens, int index,
+        String[] previousOutcomes) {
+      for (String feature : shared.getFeatures(generatorIndex, tokens, index, previousOutcomes)) {
+        sink.add(feature);
+      }
+    }
+  }
+}
@@ -46,4 +46,22 @@ public interface NameContextGenerator extends BeamSearchContextGenerator<String>
    */
   void clearAdaptiveData();
 
+  /**
+   * Informs the context generator that the contexts of the specified tokens are
+   * requested until {@link #endSentence()} is called. Features which do not depend on
+   * the previous outcomes can be computed once per token in this time and be shared
+   * by all sequences of the beam.
+   *
+   * @param tokens The tokens of the sentence.
+   */
+  default void beginSentence(String[] tokens) {
+  }
+
+  /**
+   * Informs the context generator that the contexts of the tokens passed to
+   * {@link #beginSentence(String[])} are no longer requested.
+   */
+  default void endSentence() {
+  }
+
 }
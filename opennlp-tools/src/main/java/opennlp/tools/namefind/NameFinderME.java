@@ -48,6 +48,8 @@ import opennlp.tools.util.featuregen.AdaptiveFeatureGenerator;
 import opennlp.tools.util.featuregen.AdditionalContextFeatureGenerator;
 import opennlp.tools.util.featuregen.GeneratorFactory;
 import opennlp.tools.util.featuregen.WindowFeatureGenerator;
+import opennlp.tools.util.metrics.Metrics;
+import opennlp.tools.util.metrics.MetricsRecorder;
 
 /**
  * Class for creating a maximum-entropy-based name finder.
@@ -123,15 +125,28 @@ public class NameFinderME implements TokenNameFinder {
    */
   public Span[] find(String[] tokens, String[][] additionalContext) {
 
+    MetricsRecorder recorder = Metrics.getRecorder();
+    long startNanos = recorder != null ? System.nanoTime() : 0;
+
     additionalContextFeatureGenerator.setCurrentContext(additionalContext);
 
-    bestSequence = model.bestSequence(tokens, additionalContext, contextGenerator, sequenceValidator);
+    contextGenerator.beginSentence(tokens);
+    try {
+      bestSequence = model.bestSequence(tokens, additionalContext, contextGenerator,
+          sequenceValidator);
+    } finally {
+      contextGenerator.endSentence();
+    }
 
     List<String> c = bestSequence.getOutcomes();
 
     contextGenerator.updateAdaptiveData(tokens, c.toArray(new String[c.size()]));
     Span[] spans = seqCodec.decode(c);
     spans = setProbs(spans);
+
+    if (recorder != null) {
+      recorder.recordInference(Metrics.NAME_FINDER, System.nanoTime() - startNanos, tokens.length);
+    }
     return spans;
   }
 
@@ -197,9 +212,12 @@ public class NameFinderME implements TokenNameFinder {
    * @return an array of probabilities for each of the specified spans.
    */
   public double[] probs(Span[] spans) {
+    return probs(spans, bestSequence.getProbs());
+  }
+
+  static double[] probs(Span[] spans, double[] probs) {
 
     double[] sprobs = new double[spans.length];
-    double[] probs = bestSequence.getProbs();
 
     for (int si = 0; si < spans.length; si++) {
 
@@ -230,6 +248,11 @@ public class NameFinderME implements TokenNameFinder {
 
     Map<String, String> manifestInfoEntries = new HashMap<>();
 
+    String decoder = trainParams.getStringParameter(BeamSearch.DECODER_PARAMETER, null);
+    if (decoder != null) {
+      manifestInfoEntries.put(BeamSearch.DECODER_PARAMETER, decoder);
+    }
+
     MaxentModel nameFinderModel = null;
 
     SequenceClassificationModel<String> seqModel = null;
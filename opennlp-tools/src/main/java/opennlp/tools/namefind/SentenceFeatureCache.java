@@ -0,0 +1,100 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package opennlp.tools.namefind;
+
+import opennlp.tools.ml.model.AbstractModel;
+import opennlp.tools.ml.model.Context;
+
+/**
+ * Caches the features of the tokens of one sentence which do not depend on the
+ * previous outcomes. The features of a token are stored as strings and, when the
+ * context is passed directly to a model, as the parameters of that model.
+ * <p>
+ * The cache is filled between {@link #begin(String[])} and {@link #end()} and is
+ * only used for the token array which was passed to begin.
+ */
+final class SentenceFeatureCache {
+
+  private String[] tokens;
+  private String[][] features;
+  private Context[][] parameters;
+  private AbstractModel model;
+
+  private long numberOfCacheHits;
+  private long numberOfCacheMisses;
+
+  void begin(String[] tokens) {
+    this.tokens = tokens;
+    features = new String[tokens.length][];
+    parameters = new Context[tokens.length][];
+    model = null;
+  }
+
+  void end() {
+    tokens = null;
+    features = null;
+    parameters = null;
+    model = null;
+  }
+
+  /**
+   * @return true if the features of the tokens are cached
+   */
+  boolean covers(String[] tokens) {
+    return tokens != null && this.tokens == tokens;
+  }
+
+  String[] getFeatures(int index) {
+    return count(features[index]);
+  }
+
+  void putFeatures(int index, String[] tokenFeatures) {
+    features[index] = tokenFeatures;
+  }
+
+  Context[] getParameters(int index, AbstractModel model) {
+    if (this.model != model) {
+      // the parameters belong to another model
+      parameters = new Context[tokens.length][];
+      this.model = model;
+    }
+    return count(parameters[index]);
+  }
+
+  void putParameters(int index, Context[] tokenParameters) {
+    parameters[index] = tokenParameters;
+  }
+
+  private <T> T count(T entry) {
+    if (entry != null) {
+      numberOfCacheHits++;
+    }
+    else {
+      numberOfCacheMisses++;
+    }
+    return entry;
+  }
+
+  long getNumberOfCacheHits() {
+    return numberOfCacheHits;
+  }
+
+  long getNumberOfCacheMisses() {
+    return numberOfCacheMisses;
+  }
+}
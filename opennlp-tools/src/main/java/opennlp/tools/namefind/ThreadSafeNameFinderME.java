@@ -0,0 +1,68 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package opennlp.tools.namefind;
+
+import opennlp.tools.util.Span;
+
+/**
+ * A thread-safe version of the {@link NameFinderME}. The {@link TokenNameFinderModel}
+ * is shared between all threads, while the mutable decoding state and the adaptive
+ * data live in a {@link NameFinderME} which is confined to the calling thread.
+ * <p>
+ * The returned {@link Span}s carry the probabilities of the names.
+ * <p>
+ * Call {@link #close()} from a thread which does not need the name finder anymore to
+ * release its thread local state.
+ */
+public class ThreadSafeNameFinderME implements TokenNameFinder, AutoCloseable {
+
+  private final TokenNameFinderModel model;
+
+  private final ThreadLocal<NameFinderME> threadLocal;
+
+  public ThreadSafeNameFinderME(TokenNameFinderModel model) {
+    this.model = model;
+    this.threadLocal = ThreadLocal.withInitial(() -> new NameFinderME(this.model));
+  }
+
+  private NameFinderME getNameFinder() {
+    return threadLocal.get();
+  }
+
+  @Override
+  public Span[] find(String[] tokens) {
+    return getNameFinder().find(tokens);
+  }
+
+  public Span[] find(String[] tokens, String[][] additionalContext) {
+    return getNameFinder().find(tokens, additionalContext);
+  }
+
+  /**
+   * Clears the adaptive data of the calling thread.
+   */
+  @Override
+  public void clearAdaptiveData() {
+    getNameFinder().clearAdaptiveData();
+  }
+
+  @Override
+  public void close() {
+    threadLocal.remove();
+  }
+}
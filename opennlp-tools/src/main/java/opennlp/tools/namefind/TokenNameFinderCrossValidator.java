@@ -30,7 +30,7 @@ import opennlp.tools.util.FilterObjectStream;
 import opennlp.tools.util.ObjectStream;
 import opennlp.tools.util.SequenceCodec;
 import opennlp.tools.util.TrainingParameters;
-import opennlp.tools.util.eval.CrossValidationPartitioner;
+import opennlp.tools.util.eval.CrossValidationRunner;
 import opennlp.tools.util.eval.FMeasure;
 
 public class TokenNameFinderCrossValidator {
@@ -203,35 +203,49 @@ public class TokenNameFinderCrossValidator {
    */
   public void evaluate(ObjectStream<NameSample> samples, int nFolds)
       throws IOException {
+    evaluate(samples, nFolds, 1);
+  }
 
+  /**
+   * Starts the evaluation, the models of up to the given number of folds are trained
+   * at the same time.
+   *
+   * @param samples
+   *          the data to train and test, it is read once and kept in memory
+   * @param nFolds
+   *          number of folds
+   * @param threads
+   *          the maximum number of folds which are trained at the same time
+   *
+   * @throws IOException
+   */
+  public void evaluate(ObjectStream<NameSample> samples, int nFolds, int threads)
+      throws IOException {
     // Note: The name samples need to be grouped on a document basis.
 
-    CrossValidationPartitioner<DocumentSample> partitioner = new CrossValidationPartitioner<>(
-        new NameToDocumentSampleStream(samples), nFolds);
-
-    while (partitioner.hasNext()) {
-
-      CrossValidationPartitioner.TrainingSampleStream<DocumentSample> trainingSampleStream =
-          partitioner.next();
-
-      TokenNameFinderModel model;
-      if (factory != null) {
-        model = NameFinderME.train(languageCode, type, new DocumentToNameSampleStream(trainingSampleStream),
-            params, factory);
-      }
-      else {
-        model = NameFinderME.train(languageCode, type, new DocumentToNameSampleStream(trainingSampleStream),
-            params, TokenNameFinderFactory.create(null, featureGeneratorBytes, resources, new BioCodec()));
-      }
-
-      // do testing
-      TokenNameFinderEvaluator evaluator = new TokenNameFinderEvaluator(
-          new NameFinderME(model), listeners);
-
-      evaluator.evaluate(new DocumentToNameSampleStream(trainingSampleStream.getTestSampleStream()));
-
-      fmeasure.mergeInto(evaluator.getFMeasure());
-    }
+    new CrossValidationRunner<DocumentSample, TokenNameFinderModel>(threads).run(
+        new NameToDocumentSampleStream(samples), nFolds,
+        trainingSamples -> {
+          TrainingParameters foldParams = new TrainingParameters(params);
+          if (factory != null) {
+            return NameFinderME.train(languageCode, type, new DocumentToNameSampleStream(trainingSamples),
+                foldParams, factory);
+          }
+          else {
+            return NameFinderME.train(languageCode, type, new DocumentToNameSampleStream(trainingSamples),
+                foldParams, TokenNameFinderFactory.create(null, featureGeneratorBytes, resources,
+                new BioCodec()));
+          }
+        },
+        (model, testSamples) -> {
+          // do testing
+          TokenNameFinderEvaluator evaluator = new TokenNameFinderEvaluator(
+              new NameFinderME(model), listeners);
+
+          evaluator.evaluate(new DocumentToNameSampleStream(testSamples));
+
+          fmeasure.mergeInto(evaluator.getFMeasure());
+        });
   }
 
   public FMeasure getFMeasure() {
@@ -145,6 +145,15 @@ public class TokenNameFinderFactory extends BaseToolFactory {
     }
   }
 
+  /**
+   * Creates the context generator of the name finder. The context generator caches the
+   * features of the feature generators per sentence, therefore they must not depend on
+   * the previous outcomes. A subclass whose feature generators depend on them has to
+   * override this method and disable the cache with
+   * {@link DefaultNameContextGenerator#setSentenceCacheEnabled(boolean)}.
+   *
+   * @return the context generator
+   */
   public NameContextGenerator createContextGenerator() {
 
     AdaptiveFeatureGenerator featureGenerator = createFeatureGenerators();
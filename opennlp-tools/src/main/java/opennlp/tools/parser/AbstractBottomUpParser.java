@@ -19,11 +19,8 @@ package opennlp.tools.parser;
 
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
-import java.util.SortedSet;
-import java.util.TreeSet;
 
 import opennlp.tools.chunker.Chunker;
 import opennlp.tools.dictionary.Dictionary;
@@ -35,6 +32,8 @@ import opennlp.tools.util.Sequence;
 import opennlp.tools.util.Span;
 import opennlp.tools.util.StringList;
 import opennlp.tools.util.TrainingParameters;
+import opennlp.tools.util.metrics.Metrics;
+import opennlp.tools.util.metrics.MetricsRecorder;
 
 /**
  * Abstract class which contains code to tag and chunk parses for bottom up parsing and
@@ -77,17 +76,17 @@ public abstract class AbstractBottomUpParser implements Parser {
   /**
    * Completed parses.
    */
-  private SortedSet<Parse> completeParses;
+  private BoundedParseQueue completeParses;
 
   /**
    * Incomplete parses which will be advanced.
    */
-  private SortedSet<Parse> odh;
+  private BoundedParseQueue odh;
 
   /**
    * Incomplete parses which have been advanced.
    */
-  private SortedSet<Parse> ndh;
+  private BoundedParseQueue ndh;
 
   /**
    * The head rules for the parser.
@@ -172,6 +171,12 @@ public abstract class AbstractBottomUpParser implements Parser {
    */
   protected boolean debugOn = false;
 
+  /**
+   * Specifies whether incomplete parses which are less probable than the requested
+   * number of complete parses should not be advanced.
+   */
+  private boolean pruneToBestComplete = false;
+
   public AbstractBottomUpParser(POSTagger tagger, Chunker chunker, HeadRules headRules,
       int beamSize, double advancePercentage) {
     this.tagger = tagger;
@@ -182,9 +187,9 @@ public abstract class AbstractBottomUpParser implements Parser {
     reportFailedParse = true;
     this.headRules = headRules;
     this.punctSet = headRules.getPunctuationTags();
-    odh = new TreeSet<>();
-    ndh = new TreeSet<>();
-    completeParses = new TreeSet<>();
+    odh = new BoundedParseQueue(K);
+    ndh = new BoundedParseQueue(K);
+    completeParses = new BoundedParseQueue(M);
   }
 
   /**
@@ -196,6 +201,18 @@ public abstract class AbstractBottomUpParser implements Parser {
     this.reportFailedParse = errorReporting;
   }
 
+  /**
+   * Specifies whether the search should stop to advance incomplete parses which are less
+   * probable than the requested number of complete parses found so far. Such parses can
+   * not become one of the returned parses, but because fewer parses are advanced the
+   * search might continue longer and find different parses. The default is false.
+   *
+   * @param prune If true then incomplete parses are pruned, false otherwise.
+   */
+  public void setPruneToBestComplete(boolean prune) {
+    this.pruneToBestComplete = prune;
+  }
+
   /**
    * Assigns parent references for the specified parse so that they
    * are consistent with the children references.
@@ -267,10 +284,27 @@ public abstract class AbstractBottomUpParser implements Parser {
   protected abstract void advanceTop(Parse p);
 
   public Parse[] parse(Parse tokens, int numParses) {
+    MetricsRecorder recorder = Metrics.getRecorder();
+    if (recorder == null) {
+      return parseTokens(tokens, numParses);
+    }
+
+    long startNanos = System.nanoTime();
+    Parse[] parses = parseTokens(tokens, numParses);
+    recorder.recordInference(Metrics.PARSER, System.nanoTime() - startNanos, tokens.getChildCount());
+    return parses;
+  }
+
+  private Parse[] parseTokens(Parse tokens, int numParses) {
     if (createDerivationString) tokens.setDerivation(new StringBuffer(100));
+    // only the first K incomplete and the first M or numParses complete parses
+    // can influence the result, the queues drop the others
     odh.clear();
     ndh.clear();
     completeParses.clear();
+    odh.ensureCapacity(K);
+    ndh.ensureCapacity(K);
+    completeParses.ensureCapacity(StrictMath.max(M, numParses));
     int derivationStage = 0; //derivation length
     int maxDerivationLength = 2 * tokens.getChildCount() + 3;
     odh.add(tokens);
@@ -279,19 +313,21 @@ public abstract class AbstractBottomUpParser implements Parser {
     double bestComplete = -100000; //approximating -infinity/0 in ln domain
     while (odh.size() > 0 && (completeParses.size() < M || (odh.first()).getProb() < minComplete)
         && derivationStage < maxDerivationLength) {
-      ndh = new TreeSet<>();
+      ndh.clear();
+
+      // the least probable of all advanced parses, including the ones which are dropped
+      Parse leastAdvanced = null;
 
-      int derivationRank = 0;
-      for (Iterator<Parse> pi = odh.iterator(); pi.hasNext()
+      for (int derivationRank = 0; derivationRank < odh.size()
           && derivationRank < K; derivationRank++) { // foreach derivation
-        Parse tp = pi.next();
-        //TODO: Need to look at this for K-best parsing cases
-        /*
-         //this parse and the ones which follow will never win, stop advancing.
-         if (tp.getProb() < bestComplete) {
-         break;
-         }
-         */
+        Parse tp = odh.get(derivationRank);
+
+        if (pruneToBestComplete && numParses > 0 && completeParses.size() >= numParses
+            && tp.getProb() < completeParses.get(numParses - 1).getProb()) {
+          //this parse and the ones which follow will never win, stop advancing.
+          break;
+        }
+
         if (guess == null && derivationStage == 2) {
           guess = tp;
         }
@@ -310,8 +346,8 @@ public abstract class AbstractBottomUpParser implements Parser {
             nd = advanceChunks(tp,bestComplete);
           }
           else {
-            //System.err.println("advancing ts "+j+" prob="+((Parse) ndh.last()).getProb());
-            nd = advanceChunks(tp,(ndh.last()).getProb());
+            //System.err.println("advancing ts "+j+" prob="+leastAdvanced.getProb());
+            nd = advanceChunks(tp,leastAdvanced.getProb());
           }
         }
         else { // i > 1
@@ -329,6 +365,9 @@ public abstract class AbstractBottomUpParser implements Parser {
               }
               completeParses.add(parse);
             } else {
+              if (leastAdvanced == null || parse.compareTo(leastAdvanced) > 0) {
+                leastAdvanced = parse;
+              }
               ndh.add(parse);
             }
           }
@@ -343,7 +382,9 @@ public abstract class AbstractBottomUpParser implements Parser {
         }
       }
       derivationStage++;
-      odh = ndh;
+      BoundedParseQueue advanced = ndh;
+      ndh = odh;
+      odh = advanced;
     }
     if (completeParses.size() == 0) {
       // if (reportFailedParse) System.err.println("Couldn't find parse for: " + tokens);
@@ -356,14 +397,11 @@ public abstract class AbstractBottomUpParser implements Parser {
       return new Parse[] {completeParses.first()};
     }
     else {
-      List<Parse> topParses = new ArrayList<>(numParses);
-      while (!completeParses.isEmpty() && topParses.size() < numParses) {
-        Parse tp = completeParses.first();
-        completeParses.remove(tp);
-        topParses.add(tp);
-        //parses.remove(tp);
+      Parse[] topParses = new Parse[StrictMath.min(numParses, completeParses.size())];
+      for (int i = 0; i < topParses.length; i++) {
+        topParses[i] = completeParses.get(i);
       }
-      return topParses.toArray(new Parse[topParses.size()]);
+      return topParses;
     }
   }
 
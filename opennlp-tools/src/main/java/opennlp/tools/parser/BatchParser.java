@@ -0,0 +1,283 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package opennlp.tools.parser;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import opennlp.tools.util.ObjectStream;
+import opennlp.tools.util.Span;
+
+/**
+ * Parses batches of tokenized sentences concurrently. Every thread uses its own
+ * {@link Parser}, all parsers share one {@link ParserModel}.
+ * <p>
+ * The sentences of a batch are handed out to the threads from the longest to the
+ * shortest, therefore the threads finish a batch at about the same time. The parses
+ * are returned in the order of the input sentences and are identical to the parses of
+ * a single parser.
+ * <p>
+ * An instance parses one batch at a time and must only be used by one thread. It
+ * must be closed to stop the threads.
+ */
+public class BatchParser implements AutoCloseable {
+
+  /**
+   * The default number of sentences which are parsed together.
+   */
+  public static final int DEFAULT_BATCH_SIZE = 1000;
+
+  private final Parser[] parsers;
+  private final ExecutorService executor;
+  private final int batchSize;
+
+  private long sentenceCount;
+  private long tokenCount;
+  private long parseTimeNanos;
+
+  /**
+   * Initializes the batch parser with the default beam size, advance percentage
+   * and batch size.
+   *
+   * @param model the parser model
+   * @param threads the number of threads, must be at least one
+   */
+  public BatchParser(ParserModel model, int threads) {
+    this(model, AbstractBottomUpParser.defaultBeamSize,
+        AbstractBottomUpParser.defaultAdvancePercentage, threads, DEFAULT_BATCH_SIZE);
+  }
+
+  /**
+   * Initializes the batch parser.
+   *
+   * @param model the parser model
+   * @param beamSize the beam size of the parsers
+   * @param advancePercentage the advance percentage of the parsers
+   * @param threads the number of threads, must be at least one
+   * @param batchSize the number of sentences which are read from a stream and
+   *                  parsed together, must be at least one
+   */
+  public BatchParser(ParserModel model, int beamSize, double advancePercentage, int threads,
+      int batchSize) {
+
+    if (threads < 1) {
+      throw new IllegalArgumentException("threads must be at least one but is " + threads + "!");
+    }
+
+    if (batchSize < 1) {
+      throw new IllegalArgumentException("batchSize must be at least one but is " + batchSize + "!");
+    }
+
+    parsers = new Parser[threads];
+    for (int i = 0; i < threads; i++) {
+      parsers[i] = ParserFactory.create(model, beamSize, advancePercentage);
+    }
+
+    if (threads > 1) {
+      executor = Executors.newFixedThreadPool(threads, runnable -> {
+        Thread thread = new Thread(runnable, "opennlp-batch-parser");
+        thread.setDaemon(true);
+        return thread;
+      });
+    }
+    else {
+      executor = null;
+    }
+
+    this.batchSize = batchSize;
+  }
+
+  /**
+   * Parses the sentences.
+   *
+   * @param sentences the tokens of the sentences
+   * @param numParses the number of parses which should be returned for every sentence
+   *
+   * @return the parses of every sentence in the order of the sentences
+   */
+  public Parse[][] parse(List<String[]> sentences, int numParses) {
+
+    long startTime = System.nanoTime();
+
+    String[][] tokens = sentences.toArray(new String[sentences.size()][]);
+    Parse[][] parses = new Parse[tokens.length][];
+
+    // the longest sentences are parsed first, the others fill the gaps
+    Integer[] order = new Integer[tokens.length];
+    for (int i = 0; i < order.length; i++) {
+      order[i] = i;
+    }
+    Arrays.sort(order, (i1, i2) -> Integer.compare(tokens[i2].length, tokens[i1].length));
+
+    AtomicInteger nextSentence = new AtomicInteger();
+
+    if (executor == null) {
+      parseSentences(parsers[0], tokens, order, nextSentence, numParses, parses);
+    }
+    else {
+      List<Callable<Void>> workers = new ArrayList<>(parsers.length);
+      for (Parser parser : parsers) {
+        workers.add(() -> {
+          parseSentences(parser, tokens, order, nextSentence, numParses, parses);
+          return null;
+        });
+      }
+
+      try {
+        for (Future<Void> future : executor.invokeAll(workers)) {
+          future.get();
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IllegalStateException("Interruption is not supported!", e);
+      } catch (ExecutionException e) {
+        // Only runtime exceptions can be thrown by the parser, if one was thrown
+        // it should be re-thrown.
+        throw new RuntimeException("Exception during parsing: " + e.getMessage(), e);
+      }
+    }
+
+    sentenceCount += tokens.length;
+    for (String[] sentence : tokens) {
+      tokenCount += sentence.length;
+    }
+    parseTimeNanos += System.nanoTime() - startTime;
+
+    return parses;
+  }
+
+  /**
+   * Parses the sentences of the stream in batches. The returned stream reads a batch of
+   * sentences when its parses are requested, closing it closes the sentence stream.
+   *
+   * @param sentences the tokens of the sentences
+   * @param numParses the number of parses which should be returned for every sentence
+   *
+   * @return the parses of every sentence in the order of the sentences
+   */
+  public ObjectStream<Parse[]> parse(ObjectStream<String[]> sentences, int numParses) {
+    return new ObjectStream<Parse[]>() {
+
+      private Parse[][] batch = new Parse[0][];
+      private int index;
+
+      @Override
+      public Parse[] read() throws IOException {
+        if (index == batch.length) {
+          List<String[]> batchSentences = new ArrayList<>(batchSize);
+          String[] sentence;
+          while (batchSentences.size() < batchSize && (sentence = sentences.read()) != null) {
+            batchSentences.add(sentence);
+          }
+
+          if (batchSentences.isEmpty()) {
+            return null;
+          }
+
+          batch = parse(batchSentences, numParses);
+          index = 0;
+        }
+
+        return batch[index++];
+      }
+
+      @Override
+      public void reset() throws IOException {
+        sentences.reset();
+        batch = new Parse[0][];
+        index = 0;
+      }
+
+      @Override
+      public void close() throws IOException {
+        sentences.close();
+      }
+    };
+  }
+
+  private static void parseSentences(Parser parser, String[][] tokens, Integer[] order,
+      AtomicInteger nextSentence, int numParses, Parse[][] parses) {
+    int i;
+    while ((i = nextSentence.getAndIncrement()) < order.length) {
+      int sentence = order[i];
+      Parse p = createParse(tokens[sentence]);
+      if (numParses == 1 || p.getChildCount() == 0) {
+        parses[sentence] = new Parse[] {parser.parse(p)};
+      }
+      else {
+        parses[sentence] = parser.parse(p, numParses);
+      }
+    }
+  }
+
+  private static Parse createParse(String[] tokens) {
+    String text = String.join(" ", tokens);
+
+    Parse p = new Parse(text, new Span(0, text.length()), AbstractBottomUpParser.INC_NODE, 0, 0);
+    int start = 0;
+    for (int i = 0; i < tokens.length; i++) {
+      p.insert(new Parse(text, new Span(start, start + tokens[i].length()),
+          AbstractBottomUpParser.TOK_NODE, 0, i));
+      start += tokens[i].length() + 1;
+    }
+    return p;
+  }
+
+  /**
+   * @return the number of sentences which were parsed
+   */
+  public long getSentenceCount() {
+    return sentenceCount;
+  }
+
+  /**
+   * @return the number of tokens of the sentences which were parsed
+   */
+  public long getTokenCount() {
+    return tokenCount;
+  }
+
+  /**
+   * @return the time spent in parsing in nanoseconds
+   */
+  public long getParseTimeNanos() {
+    return parseTimeNanos;
+  }
+
+  /**
+   * @return the number of parsed sentences per second of parse time
+   */
+  public double getSentencesPerSecond() {
+    return parseTimeNanos > 0 ? sentenceCount * 1e9 / parseTimeNanos : 0;
+  }
+
+  @Override
+  public void close() {
+    if (executor != null) {
+      executor.shutdown();
+    }
+  }
+}
@@ -0,0 +1,130 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package opennlp.tools.parser;
+
+import java.util.Arrays;
+
+/**
+ * A fixed capacity queue of parses which is ordered by {@link Parse#compareTo(Parse)},
+ * the most probable parse first.
+ * <p>
+ * The queue keeps the same parses as the first entries of a {@link java.util.TreeSet}
+ * would, a parse which compares equal to a contained parse is not added and a parse
+ * which is less probable than all parses of a full queue is dropped. The parses are
+ * stored in a sorted array which is reused for every sentence, this is faster than a
+ * heap for the small capacities of the parser beam.
+ */
+final class BoundedParseQueue {
+
+  private Parse[] parses;
+  private int size;
+
+  /**
+   * Initializes the queue.
+   *
+   * @param capacity the maximum number of parses, must be at least one
+   */
+  BoundedParseQueue(int capacity) {
+    if (capacity < 1) {
+      throw new IllegalArgumentException("capacity must be at least one but is " + capacity + "!");
+    }
+    parses = new Parse[capacity];
+  }
+
+  /**
+   * Changes the capacity of the queue, the queue must be empty.
+   *
+   * @param capacity the maximum number of parses, must be at least one
+   */
+  void ensureCapacity(int capacity) {
+    if (size != 0) {
+      throw new IllegalStateException("The queue must be empty to change its capacity!");
+    }
+    if (capacity > parses.length) {
+      parses = new Parse[capacity];
+    }
+  }
+
+  /**
+   * Adds the parse if it is among the most probable parses.
+   *
+   * @param parse the parse
+   *
+   * @return true if the parse was added
+   */
+  boolean add(Parse parse) {
+    int low = 0;
+    int high = size - 1;
+    while (low <= high) {
+      int mid = (low + high) >>> 1;
+      int cmp = parses[mid].compareTo(parse);
+      if (cmp < 0) {
+        low = mid + 1;
+      }
+      else if (cmp > 0) {
+        high = mid - 1;
+      }
+      else {
+        return false;
+      }
+    }
+
+    if (low == parses.length) {
+      return false;
+    }
+
+    int moved = StrictMath.min(size, parses.length - 1) - low;
+    System.arraycopy(parses, low, parses, low + 1, moved);
+    parses[low] = parse;
+    if (size < parses.length) {
+      size++;
+    }
+    return true;
+  }
+
+  /**
+   * Retrieves the parse at the specified rank.
+   *
+   * @param index the rank, 0 is the most probable parse
+   *
+   * @return the parse
+   */
+  Parse get(int index) {
+    if (index >= size) {
+      throw new IndexOutOfBoundsException("index: " + index + ", size: " + size);
+    }
+    return parses[index];
+  }
+
+  Parse first() {
+    return get(0);
+  }
+
+  int size() {
+    return size;
+  }
+
+  boolean isEmpty() {
+    return size == 0;
+  }
+
+  void clear() {
+    Arrays.fill(parses, 0, size, null);
+    size = 0;
+  }
+}
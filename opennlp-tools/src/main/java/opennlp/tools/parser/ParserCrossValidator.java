@@ -19,13 +19,47 @@ package opennlp.tools.parser;
 
 import java.io.IOException;
 
+import opennlp.tools.util.FilterObjectStream;
 import opennlp.tools.util.ObjectStream;
 import opennlp.tools.util.TrainingParameters;
-import opennlp.tools.util.eval.CrossValidationPartitioner;
+import opennlp.tools.util.eval.CrossValidationRunner;
 import opennlp.tools.util.eval.FMeasure;
 
 public class ParserCrossValidator {
 
+  private static class ParseToStringStream extends FilterObjectStream<Parse, String> {
+
+    ParseToStringStream(ObjectStream<Parse> samples) {
+      super(samples);
+    }
+
+    @Override
+    public String read() throws IOException {
+      Parse parse = samples.read();
+
+      if (parse == null) {
+        return null;
+      }
+
+      StringBuffer parseString = new StringBuffer();
+      parse.show(parseString);
+      return parseString.toString();
+    }
+  }
+
+  private static class StringToParseStream extends FilterObjectStream<String, Parse> {
+
+    StringToParseStream(ObjectStream<String> samples) {
+      super(samples);
+    }
+
+    @Override
+    public Parse read() throws IOException {
+      String parse = samples.read();
+      return parse != null ? Parse.parseParse(parse) : null;
+    }
+  }
+
   private final String languageCode;
 
   private final TrainingParameters params;
@@ -44,33 +78,50 @@ public class ParserCrossValidator {
     this.params = params;
     this.rules = rules;
     this.parserType = parserType;
+    this.monitors = monitors;
   }
 
-  public void evaluate(ObjectStream<Parse> samples, int nFolds) throws IOException {
-
-    CrossValidationPartitioner<Parse> partitioner = new CrossValidationPartitioner<>(samples, nFolds);
-
-    while (partitioner.hasNext()) {
-      CrossValidationPartitioner.TrainingSampleStream<Parse> trainingSampleStream = partitioner.next();
-
-      ParserModel model;
-
-      if (ParserType.CHUNKING.equals(parserType)) {
-        model = opennlp.tools.parser.chunking.Parser.train(languageCode, samples, rules, params);
-      }
-      else if (ParserType.TREEINSERT.equals(parserType)) {
-        model = opennlp.tools.parser.treeinsert.Parser.train(languageCode, samples, rules, params);
-      }
-      else {
-        throw new IllegalStateException("Unexpected parser type: " + parserType);
-      }
-
-      ParserEvaluator evaluator = new ParserEvaluator(ParserFactory.create(model), monitors);
-
-      evaluator.evaluate(trainingSampleStream.getTestSampleStream());
+  public void evaluate(ObjectStream<Parse> samples, int nFolds)
+      throws IOException {
+    evaluate(samples, nFolds, 1);
+  }
 
-      fmeasure.mergeInto(evaluator.getFMeasure());
-    }
+  /**
+   * Starts the evaluation, the models of up to the given number of folds are trained
+   * at the same time.
+   *
+   * @param samples
+   *          the data to train and test, it is read once and kept in memory
+   * @param nFolds
+   *          number of folds
+   * @param threads
+   *          the maximum number of folds which are trained at the same time
+   *
+   * @throws IOException
+   */
+  public void evaluate(ObjectStream<Parse> samples, int nFolds, int threads)
+      throws IOException {
+    // The parses are changed during training, the samples are kept as strings
+    // and every fold reads copies of them
+    new CrossValidationRunner<String, ParserModel>(threads).run(new ParseToStringStream(samples), nFolds,
+        trainingSamples -> {
+          ObjectStream<Parse> parses = new StringToParseStream(trainingSamples);
+          TrainingParameters foldParams = new TrainingParameters(params);
+          if (ParserType.CHUNKING.equals(parserType)) {
+            return opennlp.tools.parser.chunking.Parser.train(languageCode, parses, rules, foldParams);
+          }
+          else if (ParserType.TREEINSERT.equals(parserType)) {
+            return opennlp.tools.parser.treeinsert.Parser.train(languageCode, parses, rules, foldParams);
+          }
+          else {
+            throw new IllegalStateException("Unexpected parser type: " + parserType);
+          }
+        },
+        (model, testSamples) -> {
+          ParserEvaluator evaluator = new ParserEvaluator(ParserFactory.create(model), monitors);
+          evaluator.evaluate(new StringToParseStream(testSamples));
+          fmeasure.mergeInto(evaluator.getFMeasure());
+        });
   }
 
   public FMeasure getFMeasure() {
@@ -31,7 +31,6 @@ import java.util.Map;
 import java.util.Objects;
 
 import opennlp.tools.chunker.ChunkerModel;
-import opennlp.tools.ml.model.AbstractModel;
 import opennlp.tools.ml.model.MaxentModel;
 import opennlp.tools.postag.POSModel;
 import opennlp.tools.util.InvalidFormatException;
@@ -218,7 +217,7 @@ public class ParserModel extends BaseModel {
   protected void validateArtifactMap() throws InvalidFormatException {
     super.validateArtifactMap();
 
-    if (!(artifactMap.get(BUILD_MODEL_ENTRY_NAME)  instanceof AbstractModel)) {
+    if (!(artifactMap.get(BUILD_MODEL_ENTRY_NAME)  instanceof MaxentModel)) {
       throw new InvalidFormatException("Missing the build model!");
     }
 
@@ -230,7 +229,7 @@ public class ParserModel extends BaseModel {
             throw new InvalidFormatException("attachModel must be null for chunking parser!");
       }
       else if (ParserType.TREEINSERT.equals(modelType)) {
-        if (!(artifactMap.get(ATTACH_MODEL_ENTRY_NAME)  instanceof AbstractModel))
+        if (!(artifactMap.get(ATTACH_MODEL_ENTRY_NAME)  instanceof MaxentModel))
           throw new InvalidFormatException("attachModel must not be null!");
       }
       else {
@@ -241,7 +240,7 @@ public class ParserModel extends BaseModel {
       throw new InvalidFormatException("Missing the parser type property!");
     }
 
-    if (!(artifactMap.get(CHECK_MODEL_ENTRY_NAME)  instanceof AbstractModel)) {
+    if (!(artifactMap.get(CHECK_MODEL_ENTRY_NAME)  instanceof MaxentModel)) {
       throw new InvalidFormatException("Missing the check model!");
     }
 
@@ -23,6 +23,7 @@ import java.util.Objects;
 
 import opennlp.tools.util.Cache;
 import opennlp.tools.util.featuregen.AdaptiveFeatureGenerator;
+import opennlp.tools.util.featuregen.FeatureSink;
 
 /**
  * A context generator for the POS Tagger.
@@ -102,4 +103,15 @@ public class ConfigurablePOSContextGenerator implements POSContextGenerator {
     }
     return contexts;
   }
+
+  /**
+   * Adds the context for making a pos tag decision at the specified token index
+   * to the sink. The features are passed directly from the feature generator to the
+   * sink and are not cached.
+   */
+  @Override
+  public void getContext(int index, String[] tokens, String[] tags, Object[] additionalContext,
+      FeatureSink sink) {
+    featureGenerator.createFeatures(sink, tokens, index, tags);
+  }
 }
@@ -149,7 +149,8 @@ public final class POSModel extends BaseModel implements SerializableArtifact {
         beamSize = Integer.parseInt(beamSizeString);
       }
 
-      return new BeamSearch<>(beamSize, (MaxentModel) artifactMap.get(POS_MODEL_ENTRY_NAME));
+      return BeamSearch.create(manifest.getProperty(BeamSearch.DECODER_PARAMETER), beamSize,
+          (MaxentModel) artifactMap.get(POS_MODEL_ENTRY_NAME));
     }
     else if (artifactMap.get(POS_MODEL_ENTRY_NAME) instanceof SequenceClassificationModel) {
       return (SequenceClassificationModel) artifactMap.get(POS_MODEL_ENTRY_NAME);
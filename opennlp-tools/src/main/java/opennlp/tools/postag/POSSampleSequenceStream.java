@@ -48,11 +48,23 @@ public class POSSampleSequenceStream implements SequenceStream {
     Object[] ac = pss.getSource().getAddictionalContext();
     String[] tags = tagger.tag(pss.getSource().getSentence());
     Event[] events = new Event[sentence.length];
-    POSSampleEventStream.generateEvents(sentence, tags, ac, pcg)
-        .toArray(events);
+    // the context generator might cache features and is therefore not thread safe
+    synchronized (pcg) {
+      POSSampleEventStream.generateEvents(sentence, tags, ac, pcg)
+          .toArray(events);
+    }
     return events;
   }
 
+  /**
+   * Every call to {@link #updateContext(Sequence, AbstractModel)} creates its own tagger
+   * and only the shared context generator is accessed under a lock.
+   */
+  @Override
+  public boolean isUpdateContextConcurrent() {
+    return true;
+  }
+
   @Override
   public Sequence read() throws IOException {
 
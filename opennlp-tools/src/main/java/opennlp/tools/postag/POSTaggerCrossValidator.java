@@ -24,7 +24,7 @@ import java.util.Map;
 import opennlp.tools.dictionary.Dictionary;
 import opennlp.tools.util.ObjectStream;
 import opennlp.tools.util.TrainingParameters;
-import opennlp.tools.util.eval.CrossValidationPartitioner;
+import opennlp.tools.util.eval.CrossValidationRunner;
 import opennlp.tools.util.eval.Mean;
 
 public class POSTaggerCrossValidator {
@@ -71,6 +71,10 @@ public class POSTaggerCrossValidator {
   /**
    * Creates a {@link POSTaggerCrossValidator} using the given
    * {@link POSTaggerFactory}.
+   * <p>
+   * The factory itself is not used for training, every fold is trained with a new
+   * factory created by {@link POSTaggerFactory#copy()}. A custom factory with state of
+   * its own must override that method to carry its state over to the copies.
    */
   public POSTaggerCrossValidator(String languageCode,
       TrainingParameters trainParam, POSTaggerFactory factory,
@@ -92,58 +96,68 @@ public class POSTaggerCrossValidator {
    *
    * @throws IOException
    */
-  public void evaluate(ObjectStream<POSSample> samples, int nFolds) throws IOException {
-
-    CrossValidationPartitioner<POSSample> partitioner = new CrossValidationPartitioner<>(
-        samples, nFolds);
-
-    while (partitioner.hasNext()) {
+  public void evaluate(ObjectStream<POSSample> samples, int nFolds)
+      throws IOException {
+    evaluate(samples, nFolds, 1);
+  }
 
-      CrossValidationPartitioner.TrainingSampleStream<POSSample> trainingSampleStream = partitioner
-          .next();
+  /**
+   * Starts the evaluation, the models of up to the given number of folds are trained
+   * at the same time.
+   *
+   * @param samples
+   *          the data to train and test, it is read once and kept in memory
+   * @param nFolds
+   *          number of folds
+   * @param threads
+   *          the maximum number of folds which are trained at the same time
+   *
+   * @throws IOException
+   */
+  public void evaluate(ObjectStream<POSSample> samples, int nFolds, int threads)
+      throws IOException {
+    // every fold uses a factory of its own which is initialized with the
+    // tag dictionary of the fold, a given factory is copied for every fold
+    new CrossValidationRunner<POSSample, POSModel>(threads).run(samples, nFolds,
+        trainingSamples -> {
+          POSTaggerFactory foldFactory = factory != null ? factory.copy()
+              : POSTaggerFactory.create(factoryClassName, featureGeneratorBytes, resources, null);
+          return train(trainingSamples, foldFactory);
+        },
+        (model, testSamples) -> {
+          POSEvaluator evaluator = new POSEvaluator(new POSTaggerME(model), listeners);
+          evaluator.evaluate(testSamples);
+          wordAccuracy.add(evaluator.getWordAccuracy(), evaluator.getWordCount());
+        });
+  }
 
+  private POSModel train(ObjectStream<POSSample> trainingSampleStream, POSTaggerFactory foldFactory)
+      throws IOException {
 
-      if (this.tagDictionaryFile != null
-          && this.factory.getTagDictionary() == null) {
-        this.factory.setTagDictionary(this.factory
-            .createTagDictionary(tagDictionaryFile));
-      }
+    if (this.tagDictionaryFile != null) {
+      foldFactory.setTagDictionary(foldFactory.createTagDictionary(tagDictionaryFile));
+    }
 
-      TagDictionary dict = null;
-      if (this.tagdicCutoff != null) {
-        dict = this.factory.getTagDictionary();
-        if (dict == null) {
-          dict = this.factory.createEmptyTagDictionary();
-        }
-        if (dict instanceof MutableTagDictionary) {
-          POSTaggerME.populatePOSDictionary(trainingSampleStream, (MutableTagDictionary)dict,
-              this.tagdicCutoff);
-        } else {
-          throw new IllegalArgumentException(
-              "Can't extend a TagDictionary that does not implement MutableTagDictionary.");
-        }
-        trainingSampleStream.reset();
+    TagDictionary dict = null;
+    if (this.tagdicCutoff != null) {
+      dict = foldFactory.getTagDictionary();
+      if (dict == null) {
+        dict = foldFactory.createEmptyTagDictionary();
       }
-
-      if (this.factory == null) {
-        this.factory = POSTaggerFactory.create(this.factoryClassName, null, null);
+      if (dict instanceof MutableTagDictionary) {
+        POSTaggerME.populatePOSDictionary(trainingSampleStream, (MutableTagDictionary) dict,
+            this.tagdicCutoff);
+      } else {
+        throw new IllegalArgumentException(
+            "Can't extend a TagDictionary that does not implement MutableTagDictionary.");
       }
+      trainingSampleStream.reset();
+    }
 
-      factory.init(featureGeneratorBytes, resources, dict);
-
-      POSModel model = POSTaggerME.train(languageCode, trainingSampleStream,
-          params, this.factory);
-
-      POSEvaluator evaluator = new POSEvaluator(new POSTaggerME(model), listeners);
-
-      evaluator.evaluate(trainingSampleStream.getTestSampleStream());
-
-      wordAccuracy.add(evaluator.getWordAccuracy(), evaluator.getWordCount());
+    foldFactory.init(featureGeneratorBytes, resources, dict);
 
-      if (this.tagdicCutoff != null) {
-        this.factory.setTagDictionary(null);
-      }
-    }
+    return POSTaggerME.train(languageCode, trainingSampleStream, new TrainingParameters(params),
+        foldFactory);
   }
 
   /**
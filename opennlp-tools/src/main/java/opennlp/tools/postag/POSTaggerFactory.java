@@ -411,6 +411,45 @@ public class POSTaggerFactory extends BaseToolFactory {
     return theFactory;
   }
 
+  /**
+   * Creates a new factory of the same class to train another model with the same
+   * settings, e.g. the model of a fold in a cross validation. The new factory has
+   * the ngram dictionary, the feature generator descriptor and the resources of this
+   * factory, but no tag dictionary.
+   * <p>
+   * The default implementation instantiates the class of this factory with its no-arg
+   * constructor. Subclasses with state of their own or without a public no-arg
+   * constructor should override this method.
+   *
+   * @return the new factory
+   *
+   * @throws InvalidFormatException if the factory cannot be instantiated
+   */
+  protected POSTaggerFactory copy() throws InvalidFormatException {
+
+    POSTaggerFactory theFactory;
+
+    if (getClass() == POSTaggerFactory.class) {
+      theFactory = new POSTaggerFactory();
+    }
+    else {
+      try {
+        theFactory = ExtensionLoader.instantiateExtension(
+            POSTaggerFactory.class, getClass().getName());
+      } catch (Exception e) {
+        String msg = "Could not instantiate the " + getClass().getName()
+            + ". The initialization throw an exception.";
+        throw new InvalidFormatException(msg, e);
+      }
+    }
+
+    theFactory.ngramDictionary = ngramDictionary;
+    theFactory.featureGeneratorBytes = featureGeneratorBytes;
+    theFactory.resources = resources;
+
+    return theFactory;
+  }
+
   public TagDictionary createEmptyTagDictionary() {
     this.posDictionary = new POSDictionary(true);
     return this.posDictionary;
@@ -43,6 +43,8 @@ import opennlp.tools.util.StringList;
 import opennlp.tools.util.StringUtil;
 import opennlp.tools.util.TrainingParameters;
 import opennlp.tools.util.featuregen.StringPattern;
+import opennlp.tools.util.metrics.Metrics;
+import opennlp.tools.util.metrics.MetricsRecorder;
 
 /**
  * A part-of-speech tagger that uses maximum entropy.  Tries to predict whether
@@ -135,11 +137,32 @@ public class POSTaggerME implements POSTagger {
   }
 
   public String[] tag(String[] sentence, Object[] additionaContext) {
-    bestSequence = model.bestSequence(sentence, additionaContext, contextGen, sequenceValidator);
-    List<String> t = bestSequence.getOutcomes();
+    List<String> t = bestSequence(sentence, additionaContext).getOutcomes();
     return t.toArray(new String[t.size()]);
   }
 
+  /**
+   * Finds the best tag sequence for the specified sentence. In contrast to
+   * {@link #tag(String[], Object[])} the returned {@link Sequence} also contains
+   * the probabilities of the tags.
+   *
+   * @param sentence An array of tokens which make up a sentence.
+   * @param additionaContext The additional context, can be null.
+   *
+   * @return the best tag sequence
+   */
+  public Sequence bestSequence(String[] sentence, Object[] additionaContext) {
+    MetricsRecorder recorder = Metrics.getRecorder();
+    long startNanos = recorder != null ? System.nanoTime() : 0;
+
+    bestSequence = model.bestSequence(sentence, additionaContext, contextGen, sequenceValidator);
+
+    if (recorder != null) {
+      recorder.recordInference(Metrics.POS_TAGGER, System.nanoTime() - startNanos, sentence.length);
+    }
+    return bestSequence;
+  }
+
   /**
    * Returns at most the specified number of taggings for the specified sentence.
    *
@@ -231,6 +254,11 @@ public class POSTaggerME implements POSTagger {
 
     Map<String, String> manifestInfoEntries = new HashMap<>();
 
+    String decoder = trainParams.getStringParameter(BeamSearch.DECODER_PARAMETER, null);
+    if (decoder != null) {
+      manifestInfoEntries.put(BeamSearch.DECODER_PARAMETER, decoder);
+    }
+
     TrainerType trainerType = TrainerFactory.getTrainerType(trainParams);
 
     MaxentModel posModel = null;
@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package opennlp.tools.postag;
+
+import java.util.List;
+
+import opennlp.tools.util.Sequence;
+
+/**
+ * A thread-safe version of the {@link POSTaggerME}. The {@link POSModel} is shared
+ * between all threads, while the mutable decoding state lives in a
+ * {@link POSTaggerME} which is confined to the calling thread.
+ * <p>
+ * Call {@link #close()} from a thread which does not need the tagger anymore to
+ * release its thread local state.
+ */
+public class ThreadSafePOSTaggerME implements POSTagger, AutoCloseable {
+
+  private final POSModel model;
+
+  private final ThreadLocal<POSTaggerME> threadLocal;
+
+  public ThreadSafePOSTaggerME(POSModel model) {
+    this.model = model;
+    this.threadLocal = ThreadLocal.withInitial(() -> new POSTaggerME(this.model));
+  }
+
+  private POSTaggerME getTagger() {
+    return threadLocal.get();
+  }
+
+  @Override
+  public String[] tag(String[] sentence) {
+    return getTagger().tag(sentence);
+  }
+
+  @Override
+  public String[] tag(String[] sentence, Object[] additionaContext) {
+    return getTagger().tag(sentence, additionaContext);
+  }
+
+  /**
+   * Finds the best tag sequence for the specified sentence, the returned
+   * {@link Sequence} contains the tags and their probabilities.
+   *
+   * @param sentence An array of tokens which make up a sentence.
+   * @param additionaContext The additional context, can be null.
+   *
+   * @return the best tag sequence
+   */
+  public Sequence bestSequence(String[] sentence, Object[] additionaContext) {
+    return getTagger().bestSequence(sentence, additionaContext);
+  }
+
+  @Override
+  public Sequence[] topKSequences(String[] sentence) {
+    return getTagger().topKSequences(sentence);
+  }
+
+  @Override
+  public Sequence[] topKSequences(String[] sentence, Object[] additionaContext) {
+    return getTagger().topKSequences(sentence, additionaContext);
+  }
+
+  public String[] getOrderedTags(List<String> words, List<String> tags, int index,
+      double[] tprobs) {
+    return getTagger().getOrderedTags(words, tags, index, tprobs);
+  }
+
+  @Override
+  public void close() {
+    threadLocal.remove();
+  }
+}
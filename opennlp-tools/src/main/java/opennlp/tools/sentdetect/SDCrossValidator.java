@@ -21,7 +21,7 @@ import java.io.IOException;
 
 import opennlp.tools.util.ObjectStream;
 import opennlp.tools.util.TrainingParameters;
-import opennlp.tools.util.eval.CrossValidationPartitioner;
+import opennlp.tools.util.eval.CrossValidationRunner;
 import opennlp.tools.util.eval.FMeasure;
 import opennlp.tools.util.model.ModelUtil;
 
@@ -90,29 +90,35 @@ public class SDCrossValidator {
    *
    * @throws IOException
    */
-  public void evaluate(ObjectStream<SentenceSample> samples, int nFolds) throws IOException {
-
-    CrossValidationPartitioner<SentenceSample> partitioner =
-        new CrossValidationPartitioner<>(samples, nFolds);
-
-    while (partitioner.hasNext()) {
-
-      CrossValidationPartitioner.TrainingSampleStream<SentenceSample> trainingSampleStream =
-          partitioner.next();
-
-      SentenceModel model;
-
-      model = SentenceDetectorME.train(languageCode, trainingSampleStream,
-          sdFactory, params);
-
-      // do testing
-      SentenceDetectorEvaluator evaluator = new SentenceDetectorEvaluator(
-          new SentenceDetectorME(model), listeners);
-
-      evaluator.evaluate(trainingSampleStream.getTestSampleStream());
+  public void evaluate(ObjectStream<SentenceSample> samples, int nFolds)
+      throws IOException {
+    evaluate(samples, nFolds, 1);
+  }
 
-      fmeasure.mergeInto(evaluator.getFMeasure());
-    }
+  /**
+   * Starts the evaluation, the models of up to the given number of folds are trained
+   * at the same time.
+   *
+   * @param samples
+   *          the data to train and test, it is read once and kept in memory
+   * @param nFolds
+   *          number of folds
+   * @param threads
+   *          the maximum number of folds which are trained at the same time
+   *
+   * @throws IOException
+   */
+  public void evaluate(ObjectStream<SentenceSample> samples, int nFolds, int threads)
+      throws IOException {
+    new CrossValidationRunner<SentenceSample, SentenceModel>(threads).run(samples, nFolds,
+        trainingSamples -> SentenceDetectorME.train(languageCode, trainingSamples, sdFactory,
+            new TrainingParameters(params)),
+        (model, testSamples) -> {
+          SentenceDetectorEvaluator evaluator = new SentenceDetectorEvaluator(
+              new SentenceDetectorME(model), listeners);
+          evaluator.evaluate(testSamples);
+          fmeasure.mergeInto(evaluator.getFMeasure());
+        });
   }
 
   public FMeasure getFMeasure() {
@@ -36,6 +36,8 @@ import opennlp.tools.util.ObjectStream;
 import opennlp.tools.util.Span;
 import opennlp.tools.util.StringUtil;
 import opennlp.tools.util.TrainingParameters;
+import opennlp.tools.util.metrics.Metrics;
+import opennlp.tools.util.metrics.MetricsRecorder;
 import opennlp.tools.util.model.ModelUtil;
 
 /**
@@ -56,6 +58,11 @@ public class SentenceDetectorME implements SentenceDetector {
    */
   public static final String NO_SPLIT = "n";
 
+  /**
+   * The default size of the window of {@link #sentPosDetect(Readable)} in chars.
+   */
+  public static final int DEFAULT_WINDOW_SIZE = 8192;
+
   /**
    * The maximum entropy model to use to evaluate contexts.
    */
@@ -76,6 +83,17 @@ public class SentenceDetectorME implements SentenceDetector {
    */
   private List<Double> sentProbs = new ArrayList<>();
 
+  /**
+   * The maximum number of end of sentence candidates which are scored in one batch.
+   */
+  private static final int BATCH_SIZE = 256;
+
+  /**
+   * The contexts and probabilities of a batch, reused for every batch.
+   */
+  private final String[][] batchContexts = new String[BATCH_SIZE][];
+  private double[][] batchProbs;
+
   protected boolean useTokenEnd;
 
   /**
@@ -162,21 +180,58 @@ public class SentenceDetectorME implements SentenceDetector {
    *
    */
   public Span[] sentPosDetect(String s) {
+    MetricsRecorder recorder = Metrics.getRecorder();
+    if (recorder == null) {
+      return detectSentences(s);
+    }
+
+    long startNanos = System.nanoTime();
+    Span[] spans = detectSentences(s);
+    recorder.recordInference(Metrics.SENTENCE_DETECTOR, System.nanoTime() - startNanos, s.length());
+    return spans;
+  }
+
+  private void scoreBatch(StringBuffer sb, int[] candidates, int start, int end) {
+    if (batchProbs == null) {
+      batchProbs = new double[BATCH_SIZE][model.getNumOutcomes()];
+    }
+
+    String[][] contexts = end - start == BATCH_SIZE
+        ? batchContexts : new String[end - start][];
+    for (int ci = start; ci < end; ci++) {
+      contexts[ci - start] = cgen.getContext(sb, candidates[ci]);
+    }
+    model.eval(contexts, batchProbs);
+  }
+
+  private Span[] detectSentences(String s) {
     sentProbs.clear();
     StringBuffer sb = new StringBuffer(s);
     List<Integer> enders = scanner.getPositions(s);
     List<Integer> positions = new ArrayList<>(enders.size());
 
-    for (int i = 0, end = enders.size(), index = 0; i < end; i++) {
+    // skip over the leading parts of non-token final delimiters
+    int[] candidates = new int[enders.size()];
+    int numCandidates = 0;
+    for (int i = 0, end = enders.size(); i < end; i++) {
       int cint = enders.get(i);
-      // skip over the leading parts of non-token final delimiters
       int fws = getFirstWS(s,cint + 1);
       if (i + 1 < end && enders.get(i + 1) < fws) {
         continue;
       }
+      candidates[numCandidates++] = cint;
+    }
+
+    for (int ci = 0, index = 0; ci < numCandidates; ci++) {
+      // the end of sentence candidates are scored in batches of a fixed size
+      if (ci % BATCH_SIZE == 0) {
+        scoreBatch(sb, candidates, ci, Math.min(numCandidates, ci + BATCH_SIZE));
+      }
+
+      int cint = candidates[ci];
       if (positions.size() > 0 && cint < positions.get(positions.size() - 1)) continue;
 
-      double[] probs = model.eval(cgen.getContext(sb, cint));
+      double[] probs = batchProbs[ci % BATCH_SIZE];
       String bestOutcome = model.getBestOutcome(probs);
 
       if (bestOutcome.equals(SPLIT) && isAcceptableBreak(s, index, cint)) {
@@ -265,6 +320,39 @@ public class SentenceDetectorME implements SentenceDetector {
     return spans;
   }
 
+  /**
+   * Detects the sentences of a text which is read incrementally, e.g. from a
+   * {@link java.io.Reader} or a {@link java.nio.CharBuffer}, with a window of
+   * {@value #DEFAULT_WINDOW_SIZE} chars.
+   *
+   * @param in the text
+   * @return the spans of the sentences
+   *
+   * @see #sentPosDetect(Readable, int)
+   */
+  public ObjectStream<Span> sentPosDetect(Readable in) {
+    return sentPosDetect(in, DEFAULT_WINDOW_SIZE);
+  }
+
+  /**
+   * Detects the sentences of a text which is read incrementally, e.g. from a
+   * {@link java.io.Reader} or a {@link java.nio.CharBuffer}.
+   * <p>
+   * A sentence is returned as soon as its end is decided, the span has absolute offsets
+   * into the text and carries the probability of the decision. The spans are the same as
+   * the ones {@link #sentPosDetect(String)} returns for the whole text, but only a window
+   * of the text is held in memory and {@link #getSentenceProbabilities()} is not updated.
+   * <p>
+   * The stream uses this sentence detector and must not be used concurrently to it.
+   *
+   * @param in the text
+   * @param windowSize the initial size of the window in chars
+   * @return the spans of the sentences
+   */
+  public ObjectStream<Span> sentPosDetect(Readable in, int windowSize) {
+    return new StreamingSentenceDetector(this, model, cgen, scanner, useTokenEnd, in, windowSize);
+  }
+
   /**
    * Returns the probabilities associated with the most recent
    * calls to sentDetect().
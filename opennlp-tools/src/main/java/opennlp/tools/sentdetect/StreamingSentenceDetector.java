@@ -0,0 +1,334 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package opennlp.tools.sentdetect;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.CharBuffer;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+
+import opennlp.tools.ml.model.MaxentModel;
+import opennlp.tools.util.ObjectStream;
+import opennlp.tools.util.Span;
+import opennlp.tools.util.StringUtil;
+
+/**
+ * Detects the sentences of a text which is read incrementally from a {@link Readable},
+ * see {@link SentenceDetectorME#sentPosDetect(Readable, int)}.
+ * <p>
+ * The text is held in a window which starts two tokens before the first undecided end of
+ * sentence candidate. A candidate is decided when the window contains the token which follows
+ * it, this is the context the {@link DefaultSDContextGenerator} looks at. The window only grows
+ * beyond its initial size if this context does not fit into it, e.g. for a very long token.
+ * The offsets of the candidates are kept in an int array.
+ */
+final class StreamingSentenceDetector implements ObjectStream<Span> {
+
+  private final SentenceDetectorME detector;
+  private final MaxentModel model;
+  private final SDContextGenerator cgen;
+  private final char[] eosCharacters;
+  private final boolean useTokenEnd;
+
+  private final Readable in;
+
+  private char[] window;
+  private int windowStart;
+  private int length;
+  private boolean eof;
+  private String windowText;
+
+  /** the absolute offset after the last non whitespace char which was dropped from the window */
+  private int droppedContentEnd;
+
+  /** the absolute offset from which the next end of sentence character is searched */
+  private int scanPosition;
+
+  /** the absolute offset after the last accepted break */
+  private int index;
+
+  /** the absolute start offset of the last sentence */
+  private int lastPosition = -1;
+
+  /** the absolute offset of the first non whitespace char of the current sentence, or -1 */
+  private int sentenceStart = -1;
+
+  private int[] candidates = new int[16];
+
+  private final Deque<Span> sentences = new ArrayDeque<>();
+  private boolean finished;
+
+  StreamingSentenceDetector(SentenceDetectorME detector, MaxentModel model, SDContextGenerator cgen,
+      EndOfSentenceScanner scanner, boolean useTokenEnd, Readable in, int windowSize) {
+
+    if (windowSize < 1) {
+      throw new IllegalArgumentException("windowSize must be positive but is " + windowSize + "!");
+    }
+
+    this.detector = detector;
+    this.model = model;
+    this.cgen = cgen;
+    this.useTokenEnd = useTokenEnd;
+    this.in = in;
+
+    eosCharacters = new char[scanner.getEOSCharacters().size()];
+    int i = 0;
+    for (Character eosCharacter : scanner.getEOSCharacters()) {
+      eosCharacters[i++] = eosCharacter;
+    }
+
+    window = new char[windowSize];
+  }
+
+  /**
+   * Retrieves the next sentence.
+   *
+   * @return the span of the sentence with absolute offsets and the probability of
+   *     the decision, or null if the end of the text is reached
+   */
+  @Override
+  public Span read() throws IOException {
+    while (sentences.isEmpty() && !finished) {
+      fill();
+      detect();
+
+      if (eof) {
+        // the rest of the text is the last sentence
+        if (sentenceStart >= 0) {
+          addSentence(sentenceStart, trimEnd(windowStart + length), 1d);
+        }
+        finished = true;
+      }
+    }
+    return sentences.poll();
+  }
+
+  private boolean isEos(char c) {
+    for (char eosCharacter : eosCharacters) {
+      if (c == eosCharacter) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private boolean isWhitespace(int i) {
+    return StringUtil.isWhitespace(window[i]);
+  }
+
+  private void fill() throws IOException {
+    compact();
+
+    if (length == window.length) {
+      window = Arrays.copyOf(window, window.length * 2);
+    }
+
+    int count = in.read(CharBuffer.wrap(window, length, window.length - length));
+    if (count < 0) {
+      eof = true;
+    }
+    else {
+      length += count;
+    }
+    windowText = null;
+  }
+
+  /**
+   * Drops the text which is not needed anymore, the window keeps the whitespace
+   * char before the two tokens which precede the scan position.
+   */
+  private void compact() {
+    int i = scanPosition - windowStart - 1;
+    while (i >= 0 && isWhitespace(i)) {
+      i--;
+    }
+
+    int keep;
+    if (i < 0) {
+      // only whitespace, one whitespace char is enough
+      keep = Math.max(0, scanPosition - windowStart - 1);
+    }
+    else {
+      while (i >= 0 && !isWhitespace(i)) {
+        i--;
+      }
+      while (i >= 0 && isWhitespace(i)) {
+        i--;
+      }
+      while (i >= 0 && !isWhitespace(i)) {
+        i--;
+      }
+      keep = Math.max(0, i);
+    }
+
+    if (keep > 0) {
+      for (int j = keep - 1; j >= 0; j--) {
+        if (!isWhitespace(j)) {
+          droppedContentEnd = windowStart + j + 1;
+          break;
+        }
+      }
+
+      System.arraycopy(window, keep, window, 0, length - keep);
+      length -= keep;
+      windowStart += keep;
+    }
+  }
+
+  /**
+   * Decides all candidates whose context is in the window, the same way as
+   * {@link SentenceDetectorME#sentPosDetect(String)} does.
+   */
+  private void detect() {
+    if (sentenceStart < 0 && lastPosition < 0) {
+      for (int i = 0; i < length; i++) {
+        if (!isWhitespace(i)) {
+          sentenceStart = windowStart + i;
+          break;
+        }
+      }
+    }
+
+    int numCandidates = 0;
+    int i = scanPosition - windowStart;
+    while (true) {
+      while (i < length && !isEos(window[i])) {
+        i++;
+      }
+
+      if (i == length) {
+        scanPosition = windowStart + length;
+        break;
+      }
+
+      // a later end of sentence character in the same token replaces the candidate
+      int eos = i;
+      int firstWS = eos + 1;
+      while (firstWS < length && !isWhitespace(firstWS) && !isEos(window[firstWS])) {
+        firstWS++;
+      }
+
+      if (firstWS < length && !isWhitespace(firstWS)) {
+        i = firstWS;
+        continue;
+      }
+
+      // the context contains the next token and the whitespace after it
+      int nextEnd = firstWS;
+      while (nextEnd < length && isWhitespace(nextEnd)) {
+        nextEnd++;
+      }
+      while (nextEnd < length && !isWhitespace(nextEnd)) {
+        nextEnd++;
+      }
+
+      if (nextEnd == length && !eof) {
+        scanPosition = windowStart + eos;
+        break;
+      }
+
+      if (numCandidates == candidates.length) {
+        candidates = Arrays.copyOf(candidates, candidates.length * 2);
+      }
+      candidates[numCandidates++] = windowStart + eos;
+
+      i = firstWS;
+      scanPosition = windowStart + firstWS;
+    }
+
+    if (numCandidates == 0) {
+      return;
+    }
+
+    // all decided candidates of the window are scored in one batch
+    CharSequence text = CharBuffer.wrap(window, 0, length);
+    String[][] contexts = new String[numCandidates][];
+    double[][] candidateProbs = new double[numCandidates][model.getNumOutcomes()];
+    for (int ci = 0; ci < numCandidates; ci++) {
+      contexts[ci] = cgen.getContext(text, candidates[ci] - windowStart);
+    }
+    model.eval(contexts, candidateProbs);
+
+    for (int ci = 0; ci < numCandidates; ci++) {
+      int cint = candidates[ci];
+      if (lastPosition >= 0 && cint < lastPosition) {
+        continue;
+      }
+
+      double[] probs = candidateProbs[ci];
+      String bestOutcome = model.getBestOutcome(probs);
+
+      if (bestOutcome.equals(SentenceDetectorME.SPLIT) && detector.isAcceptableBreak(
+          getWindowText(), Math.max(0, index - windowStart), cint - windowStart)) {
+        if (index != cint) {
+          int position = cint + 1 - windowStart;
+          if (useTokenEnd) {
+            while (position < length && !isWhitespace(position)) {
+              position++;
+            }
+          }
+          while (position < length && isWhitespace(position)) {
+            position++;
+          }
+          position += windowStart;
+
+          if (sentenceStart >= 0) {
+            addSentence(sentenceStart, trimEnd(position), probs[model.getIndex(bestOutcome)]);
+          }
+          sentenceStart = position;
+          lastPosition = position;
+        }
+
+        index = cint + 1;
+      }
+    }
+  }
+
+  private String getWindowText() {
+    if (windowText == null) {
+      windowText = new String(window, 0, length);
+    }
+    return windowText;
+  }
+
+  /**
+   * @return the absolute offset after the last non whitespace char before the offset
+   */
+  private int trimEnd(int end) {
+    int i = end - windowStart;
+    while (i > 0 && isWhitespace(i - 1)) {
+      i--;
+    }
+    return i > 0 ? windowStart + i : droppedContentEnd;
+  }
+
+  private void addSentence(int start, int end, double prob) {
+    if (end > start) {
+      sentences.add(new Span(start, end, prob));
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (in instanceof Closeable) {
+      ((Closeable) in).close();
+    }
+  }
+}
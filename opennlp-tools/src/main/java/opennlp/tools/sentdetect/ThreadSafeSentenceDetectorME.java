@@ -0,0 +1,62 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package opennlp.tools.sentdetect;
+
+import opennlp.tools.util.Span;
+
+/**
+ * A thread-safe version of the {@link SentenceDetectorME}. The {@link SentenceModel} is
+ * shared between all threads, while the mutable state lives in a
+ * {@link SentenceDetectorME} which is confined to the calling thread.
+ * <p>
+ * The {@link Span}s returned by {@link #sentPosDetect(String)} carry the sentence
+ * probabilities.
+ * <p>
+ * Call {@link #close()} from a thread which does not need the sentence detector anymore
+ * to release its thread local state.
+ */
+public class ThreadSafeSentenceDetectorME implements SentenceDetector, AutoCloseable {
+
+  private final SentenceModel model;
+
+  private final ThreadLocal<SentenceDetectorME> threadLocal;
+
+  public ThreadSafeSentenceDetectorME(SentenceModel model) {
+    this.model = model;
+    this.threadLocal = ThreadLocal.withInitial(() -> new SentenceDetectorME(this.model));
+  }
+
+  private SentenceDetectorME getSentenceDetector() {
+    return threadLocal.get();
+  }
+
+  @Override
+  public String[] sentDetect(String s) {
+    return getSentenceDetector().sentDetect(s);
+  }
+
+  @Override
+  public Span[] sentPosDetect(String s) {
+    return getSentenceDetector().sentPosDetect(s);
+  }
+
+  @Override
+  public void close() {
+    threadLocal.remove();
+  }
+}
@@ -23,6 +23,7 @@ import java.util.List;
 import java.util.Set;
 
 import opennlp.tools.util.StringUtil;
+import opennlp.tools.util.featuregen.FeatureSink;
 
 /**
  * Generate events for maxent decisions for tokenization.
@@ -108,6 +109,88 @@ public class DefaultTokenContextGenerator implements TokenContextGenerator {
     return preds;
   }
 
+  /**
+   * Adds the same features as {@link #createContext(String, int)} to the sink, the
+   * prefix, suffix and character features are read from the text and no strings
+   * are created for them.
+   * <p>
+   * Subclasses which customize {@link #createContext(String, int)} or
+   * {@link #addCharPreds(String, char, List)} keep working because for them the
+   * features are created with these methods.
+   */
+  @Override
+  public void getContext(CharSequence text, int start, int end, int index, FeatureSink sink) {
+    if (getClass() != DefaultTokenContextGenerator.class) {
+      TokenContextGenerator.super.getContext(text, start, end, index, sink);
+      return;
+    }
+
+    int position = start + index;
+    sink.add("p=", text, start, position);
+    sink.add("s=", text, position, end);
+    if (index > 0) {
+      addCharPreds("p1", "p1=", text, position - 1, sink);
+      if (index > 1) {
+        addCharPreds("p2", "p2=", text, position - 2, sink);
+        sink.add("p21=", text, position - 2, position);
+      }
+      else {
+        sink.add("p2=bok");
+      }
+      sink.add("p1f1=", text, position - 1, position + 1);
+    }
+    else {
+      sink.add("p1=bok");
+    }
+    addCharPreds("f1", "f1=", text, position, sink);
+    if (position + 1 < end) {
+      addCharPreds("f2", "f2=", text, position + 1, sink);
+      sink.add("f12=", text, position, position + 2);
+    }
+    else {
+      sink.add("f2=bok");
+    }
+    if (text.charAt(start) == '&' && text.charAt(end - 1) == ';') {
+      sink.add("cc");//character code
+    }
+
+    if (position == end - 1 && !inducedAbbreviations.isEmpty()
+        && inducedAbbreviations.contains(text.subSequence(start, end).toString())) {
+      sink.add("pabb");
+    }
+  }
+
+  private static void addCharPreds(String key, String charKey, CharSequence text, int position,
+      FeatureSink sink) {
+    char c = text.charAt(position);
+    sink.add(charKey, text, position, position + 1);
+    if (Character.isLetter(c)) {
+      sink.add(key, "_alpha");
+      if (Character.isUpperCase(c)) {
+        sink.add(key, "_caps");
+      }
+    }
+    else if (Character.isDigit(c)) {
+      sink.add(key, "_num");
+    }
+    else if (StringUtil.isWhitespace(c)) {
+      sink.add(key, "_ws");
+    }
+    else {
+      if (c == '.' || c == '?' || c == '!') {
+        sink.add(key, "_eos");
+      }
+      else if (c == '`' || c == '"' || c == '\'') {
+        sink.add(key, "_quote");
+      }
+      else if (c == '[' || c == '{' || c == '(') {
+        sink.add(key, "_lp");
+      }
+      else if (c == ']' || c == '}' || c == ')') {
+        sink.add(key, "_rp");
+      }
+    }
+  }
 
   /**
    * Helper function for getContext.
@@ -17,9 +17,6 @@
 
 package opennlp.tools.tokenize;
 
-import java.util.ArrayList;
-import java.util.List;
-
 import opennlp.tools.util.Span;
 import opennlp.tools.util.StringUtil;
 
@@ -61,15 +58,25 @@ public class SimpleTokenizer extends AbstractTokenizer {
   }
 
   public Span[] tokenizePos(String s) {
+    TokenBuffer tokens = new TokenBuffer();
+    tokenizePos(s, 0, s.length(), tokens);
+    return tokens.toSpans();
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * The tokens have the probability 0, as the spans returned by {@link #tokenizePos(String)}.
+   */
+  @Override
+  public void tokenizePos(CharSequence text, int rangeStart, int rangeEnd, TokenBuffer tokens) {
     CharacterEnum charType = CharacterEnum.WHITESPACE;
     CharacterEnum state = charType;
 
-    List<Span> tokens = new ArrayList<>();
-    int sl = s.length();
     int start = -1;
     char pc = 0;
-    for (int ci = 0; ci < sl; ci++) {
-      char c = s.charAt(ci);
+    for (int ci = rangeStart; ci < rangeEnd; ci++) {
+      char c = text.charAt(ci);
       if (StringUtil.isWhitespace(c)) {
         charType = CharacterEnum.WHITESPACE;
       }
@@ -89,7 +96,7 @@ public class SimpleTokenizer extends AbstractTokenizer {
       }
       else {
         if (charType != state || charType == CharacterEnum.OTHER && c != pc) {
-          tokens.add(new Span(start, ci));
+          tokens.add(start, ci, 0);
           start = ci;
         }
       }
@@ -97,8 +104,7 @@ public class SimpleTokenizer extends AbstractTokenizer {
       pc = c;
     }
     if (charType != CharacterEnum.WHITESPACE) {
-      tokens.add(new Span(start, sl));
+      tokens.add(start, rangeEnd, 0);
     }
-    return tokens.toArray(new Span[tokens.size()]);
   }
 }
@@ -0,0 +1,67 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package opennlp.tools.tokenize;
+
+import opennlp.tools.util.Span;
+
+/**
+ * A thread-safe version of the {@link TokenizerME}. The {@link TokenizerModel} is
+ * shared between all threads, while the mutable state lives in a
+ * {@link TokenizerME} which is confined to the calling thread.
+ * <p>
+ * The {@link Span}s returned by {@link #tokenizePos(String)} carry the token
+ * probabilities.
+ * <p>
+ * Call {@link #close()} from a thread which does not need the tokenizer anymore to
+ * release its thread local state.
+ */
+public class ThreadSafeTokenizerME implements Tokenizer, AutoCloseable {
+
+  private final TokenizerModel model;
+
+  private final ThreadLocal<TokenizerME> threadLocal;
+
+  public ThreadSafeTokenizerME(TokenizerModel model) {
+    this.model = model;
+    this.threadLocal = ThreadLocal.withInitial(() -> new TokenizerME(this.model));
+  }
+
+  private TokenizerME getTokenizer() {
+    return threadLocal.get();
+  }
+
+  @Override
+  public String[] tokenize(String s) {
+    return getTokenizer().tokenize(s);
+  }
+
+  @Override
+  public Span[] tokenizePos(String s) {
+    return getTokenizer().tokenizePos(s);
+  }
+
+  @Override
+  public void tokenizePos(CharSequence text, int start, int end, TokenBuffer tokens) {
+    getTokenizer().tokenizePos(text, start, end, tokens);
+  }
+
+  @Override
+  public void close() {
+    threadLocal.remove();
+  }
+}
@@ -0,0 +1,150 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package opennlp.tools.tokenize;
+
+import java.util.Arrays;
+
+import opennlp.tools.util.Span;
+
+/**
+ * A reusable buffer which receives the tokens found by
+ * {@link Tokenizer#tokenizePos(CharSequence, int, int, TokenBuffer)}.
+ * <p>
+ * The start and end offsets and the probabilities of the tokens are stored in
+ * primitive arrays which grow on demand and are kept between calls to {@link #clear()},
+ * a caller which tokenizes many texts with one buffer does not allocate any objects
+ * per token.
+ * <p>
+ * The arrays returned by {@link #getStarts()}, {@link #getEnds()} and {@link #getProbs()}
+ * might be longer than the number of tokens, only the first {@link #size()} elements are valid.
+ * A buffer is not thread safe.
+ */
+public class TokenBuffer {
+
+  private int[] starts;
+  private int[] ends;
+  private double[] probs;
+  private int size;
+
+  public TokenBuffer() {
+    this(16);
+  }
+
+  /**
+   * Initializes the buffer.
+   *
+   * @param initialCapacity the number of tokens the buffer can hold before it grows
+   */
+  public TokenBuffer(int initialCapacity) {
+    if (initialCapacity < 1) {
+      throw new IllegalArgumentException("initialCapacity must be positive: " + initialCapacity);
+    }
+    starts = new int[initialCapacity];
+    ends = new int[initialCapacity];
+    probs = new double[initialCapacity];
+  }
+
+  /**
+   * Appends a token.
+   *
+   * @param start the offset of the first character of the token
+   * @param end the offset after the last character of the token
+   * @param prob the probability of the token
+   */
+  public void add(int start, int end, double prob) {
+    if (size == starts.length) {
+      int capacity = 2 * size;
+      starts = Arrays.copyOf(starts, capacity);
+      ends = Arrays.copyOf(ends, capacity);
+      probs = Arrays.copyOf(probs, capacity);
+    }
+    starts[size] = start;
+    ends[size] = end;
+    probs[size] = prob;
+    size++;
+  }
+
+  /**
+   * Removes all tokens, the arrays are kept.
+   */
+  public void clear() {
+    size = 0;
+  }
+
+  /**
+   * @return the number of tokens in the buffer
+   */
+  public int size() {
+    return size;
+  }
+
+  public int getStart(int index) {
+    checkIndex(index);
+    return starts[index];
+  }
+
+  public int getEnd(int index) {
+    checkIndex(index);
+    return ends[index];
+  }
+
+  public double getProb(int index) {
+    checkIndex(index);
+    return probs[index];
+  }
+
+  /**
+   * @return the start offsets, only the first {@link #size()} elements are valid
+   */
+  public int[] getStarts() {
+    return starts;
+  }
+
+  /**
+   * @return the end offsets, only the first {@link #size()} elements are valid
+   */
+  public int[] getEnds() {
+    return ends;
+  }
+
+  /**
+   * @return the probabilities, only the first {@link #size()} elements are valid
+   */
+  public double[] getProbs() {
+    return probs;
+  }
+
+  /**
+   * Creates a span for every token in the buffer, the spans carry the probabilities.
+   *
+   * @return the spans of the tokens
+   */
+  public Span[] toSpans() {
+    Span[] spans = new Span[size];
+    for (int i = 0; i < size; i++) {
+      spans[i] = new Span(starts[i], ends[i], probs[i]);
+    }
+    return spans;
+  }
+
+  private void checkIndex(int index) {
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException("index: " + index + ", size: " + size);
+    }
+  }
+}
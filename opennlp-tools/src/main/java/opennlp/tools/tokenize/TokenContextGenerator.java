@@ -17,6 +17,8 @@
 
 package opennlp.tools.tokenize;
 
+import opennlp.tools.util.featuregen.FeatureSink;
+
 /**
  * Interface for {@link TokenizerME} context generators.
  */
@@ -32,4 +34,24 @@ public interface TokenContextGenerator {
    *   specified index.
    */
   String[] getContext(String sentence, int index);
+
+  /**
+   * Adds the features for the token which is the range of the text from start to
+   * end at the specified index to the sink.
+   * <p>
+   * The default implementation copies the token into a string and adds the features
+   * returned by {@link #getContext(String, int)}, implementations should override it
+   * to read directly from the text.
+   *
+   * @param text the text which contains the token
+   * @param start the offset of the first character of the token
+   * @param end the offset after the last character of the token
+   * @param index the index relative to start to consider splitting the token
+   * @param sink the sink which receives the features
+   */
+  default void getContext(CharSequence text, int start, int end, int index, FeatureSink sink) {
+    for (String feature : getContext(text.subSequence(start, end).toString(), index)) {
+      sink.add(feature);
+    }
+  }
 }
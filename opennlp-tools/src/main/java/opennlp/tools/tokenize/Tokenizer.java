@@ -62,4 +62,24 @@ public interface Tokenizer {
    * token as the individuals array elements.
    */
   Span[] tokenizePos(String s);
+
+  /**
+   * Finds the boundaries of atomic parts in a range of a character sequence and
+   * appends them to the buffer. The offsets of the tokens are relative to the
+   * beginning of the character sequence and not to the beginning of the range.
+   * <p>
+   * The default implementation copies the range into a string and calls
+   * {@link #tokenizePos(String)}, implementations should override it to
+   * read directly from the character sequence.
+   *
+   * @param text the text which contains the range to be tokenized
+   * @param start the offset of the first character of the range
+   * @param end the offset after the last character of the range
+   * @param tokens the buffer which receives the tokens, it is not cleared
+   */
+  default void tokenizePos(CharSequence text, int start, int end, TokenBuffer tokens) {
+    for (Span token : tokenizePos(text.subSequence(start, end).toString())) {
+      tokens.add(start + token.getStart(), start + token.getEnd(), token.getProb());
+    }
+  }
 }
@@ -21,7 +21,7 @@ import java.io.IOException;
 
 import opennlp.tools.util.ObjectStream;
 import opennlp.tools.util.TrainingParameters;
-import opennlp.tools.util.eval.CrossValidationPartitioner;
+import opennlp.tools.util.eval.CrossValidationRunner;
 import opennlp.tools.util.eval.FMeasure;
 
 public class TokenizerCrossValidator {
@@ -49,24 +49,34 @@ public class TokenizerCrossValidator {
    *
    * @throws IOException
    */
-  public void evaluate(ObjectStream<TokenSample> samples, int nFolds) throws IOException {
-
-    CrossValidationPartitioner<TokenSample> partitioner =
-        new CrossValidationPartitioner<>(samples, nFolds);
-
-    while (partitioner.hasNext()) {
-
-      CrossValidationPartitioner.TrainingSampleStream<TokenSample> trainingSampleStream =
-          partitioner.next();
-
-      // Maybe throws IOException if temporary file handling fails ...
-      TokenizerModel model = TokenizerME.train(trainingSampleStream, this.factory, params);
-
-      TokenizerEvaluator evaluator = new TokenizerEvaluator(new TokenizerME(model), listeners);
+  public void evaluate(ObjectStream<TokenSample> samples, int nFolds)
+      throws IOException {
+    evaluate(samples, nFolds, 1);
+  }
 
-      evaluator.evaluate(trainingSampleStream.getTestSampleStream());
-      fmeasure.mergeInto(evaluator.getFMeasure());
-    }
+  /**
+   * Starts the evaluation, the models of up to the given number of folds are trained
+   * at the same time.
+   *
+   * @param samples
+   *          the data to train and test, it is read once and kept in memory
+   * @param nFolds
+   *          number of folds
+   * @param threads
+   *          the maximum number of folds which are trained at the same time
+   *
+   * @throws IOException
+   */
+  public void evaluate(ObjectStream<TokenSample> samples, int nFolds, int threads)
+      throws IOException {
+    new CrossValidationRunner<TokenSample, TokenizerModel>(threads).run(samples, nFolds,
+        // Maybe throws IOException if temporary file handling fails ...
+        trainingSamples -> TokenizerME.train(trainingSamples, factory, new TrainingParameters(params)),
+        (model, testSamples) -> {
+          TokenizerEvaluator evaluator = new TokenizerEvaluator(new TokenizerME(model), listeners);
+          evaluator.evaluate(testSamples);
+          fmeasure.mergeInto(evaluator.getFMeasure());
+        });
   }
 
   public FMeasure getFMeasure() {
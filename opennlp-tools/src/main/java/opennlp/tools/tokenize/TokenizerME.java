@@ -18,23 +18,27 @@
 package opennlp.tools.tokenize;
 
 import java.io.IOException;
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import opennlp.tools.dictionary.Dictionary;
 import opennlp.tools.ml.EventTrainer;
 import opennlp.tools.ml.TrainerFactory;
+import opennlp.tools.ml.model.AbstractModel;
 import opennlp.tools.ml.model.Event;
 import opennlp.tools.ml.model.MaxentModel;
+import opennlp.tools.ml.model.ParameterSink;
 import opennlp.tools.tokenize.lang.Factory;
 import opennlp.tools.util.ObjectStream;
 import opennlp.tools.util.Span;
 import opennlp.tools.util.TrainingParameters;
+import opennlp.tools.util.metrics.Metrics;
+import opennlp.tools.util.metrics.MetricsRecorder;
 
 /**
  * A Tokenizer for converting raw text into separated tokens.  It uses
@@ -111,12 +115,26 @@ public class TokenizerME extends AbstractTokenizer {
   private boolean useAlphaNumericOptimization;
 
   /**
-   * List of probabilities for each token returned from a call to
+   * The tokens and probabilities returned from the most recent call to
    * <code>tokenize</code> or <code>tokenizePos</code>.
    */
-  private List<Double> tokProbs;
+  private final TokenBuffer tokens = new TokenBuffer(50);
 
-  private List<Span> newTokens;
+  private final TokenBuffer whitespaceTokens = new TokenBuffer(50);
+
+  /**
+   * Receives the features of the split candidates if the model can look them up
+   * without strings, otherwise null.
+   */
+  private ParameterSink parameterSink;
+
+  private double[] candidateProbs;
+
+  /**
+   * The probabilities of the split candidates of a token, the rows
+   * are reused between calls.
+   */
+  private double[][] splitProbs = new double[0][];
 
   public TokenizerME(TokenizerModel model) {
     TokenizerFactory factory = model.getFactory();
@@ -125,8 +143,7 @@ public class TokenizerME extends AbstractTokenizer {
     this.model = model.getMaxentModel();
     this.useAlphaNumericOptimization = factory.isUseAlphaNumericOptmization();
 
-    newTokens = new ArrayList<>();
-    tokProbs = new ArrayList<>(50);
+    initParameterSink();
   }
 
   /**
@@ -143,8 +160,14 @@ public class TokenizerME extends AbstractTokenizer {
     this.model = model.getMaxentModel();
     useAlphaNumericOptimization = model.useAlphaNumericOptimization();
 
-    newTokens = new ArrayList<>();
-    tokProbs = new ArrayList<>(50);
+    initParameterSink();
+  }
+
+  private void initParameterSink() {
+    if (model instanceof AbstractModel) {
+      parameterSink = new ParameterSink((AbstractModel) model);
+      candidateProbs = new double[model.getNumOutcomes()];
+    }
   }
 
   private static Set<String> getAbbreviations(Dictionary abbreviations) {
@@ -162,11 +185,7 @@ public class TokenizerME extends AbstractTokenizer {
    *     call to tokenize.  If not applicable an empty array is returned.
    */
   public double[] getTokenProbabilities() {
-    double[] tokProbArray = new double[tokProbs.size()];
-    for (int i = 0; i < tokProbArray.length; i++) {
-      tokProbArray[i] = tokProbs.get(i);
-    }
-    return tokProbArray;
+    return Arrays.copyOf(tokens.getProbs(), tokens.size());
   }
 
   /**
@@ -174,46 +193,116 @@ public class TokenizerME extends AbstractTokenizer {
    *
    * @param d  The string to be tokenized.
    *
-   * @return   A span array containing individual tokens as elements.
+   * @return   A span array containing individual tokens as elements,
+   *           the spans carry the token probabilities.
    */
   public Span[] tokenizePos(String d) {
-    Span[] tokens = WhitespaceTokenizer.INSTANCE.tokenizePos(d);
-    newTokens.clear();
-    tokProbs.clear();
-    for (Span s : tokens) {
-      String tok = d.substring(s.getStart(), s.getEnd());
+    MetricsRecorder recorder = Metrics.getRecorder();
+    long startNanos = recorder != null ? System.nanoTime() : 0;
+
+    tokens.clear();
+    findTokens(d, 0, d.length(), tokens);
+    Span[] spans = tokens.toSpans();
+
+    if (recorder != null) {
+      recorder.recordInference(Metrics.TOKENIZER, System.nanoTime() - startNanos, spans.length);
+    }
+    return spans;
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * The features of the split candidates are read directly from the text. The
+   * probabilities of the tokens are written to the buffer and are not returned by
+   * {@link #getTokenProbabilities()}.
+   */
+  @Override
+  public void tokenizePos(CharSequence text, int start, int end, TokenBuffer tokens) {
+    MetricsRecorder recorder = Metrics.getRecorder();
+    long startNanos = recorder != null ? System.nanoTime() : 0;
+    int numTokens = tokens.size();
+
+    findTokens(text, start, end, tokens);
+
+    if (recorder != null) {
+      recorder.recordInference(Metrics.TOKENIZER, System.nanoTime() - startNanos,
+          tokens.size() - numTokens);
+    }
+  }
+
+  private void findTokens(CharSequence text, int start, int end, TokenBuffer tokens) {
+    whitespaceTokens.clear();
+    WhitespaceTokenizer.INSTANCE.tokenizePos(text, start, end, whitespaceTokens);
+
+    Matcher alphanumericMatcher = null;
+    for (int i = 0; i < whitespaceTokens.size(); i++) {
+      int tokStart = whitespaceTokens.getStart(i);
+      int tokEnd = whitespaceTokens.getEnd(i);
       // Can't tokenize single characters
-      if (tok.length() < 2) {
-        newTokens.add(s);
-        tokProbs.add(1d);
-      } else if (useAlphaNumericOptimization() && alphanumeric.matcher(tok).matches()) {
-        newTokens.add(s);
-        tokProbs.add(1d);
-      } else {
-        int start = s.getStart();
-        int end = s.getEnd();
-        final int origStart = s.getStart();
-        double tokenProb = 1.0;
-        for (int j = origStart + 1; j < end; j++) {
-          double[] probs =
-              model.eval(cg.getContext(tok, j - origStart));
-          String best = model.getBestOutcome(probs);
-          tokenProb *= probs[model.getIndex(best)];
-          if (best.equals(TokenizerME.SPLIT)) {
-            newTokens.add(new Span(start, j));
-            tokProbs.add(tokenProb);
-            start = j;
-            tokenProb = 1.0;
-          }
+      if (tokEnd - tokStart < 2) {
+        tokens.add(tokStart, tokEnd, 1d);
+        continue;
+      }
+      if (useAlphaNumericOptimization()) {
+        if (alphanumericMatcher == null) {
+          alphanumericMatcher = alphanumeric.matcher(text);
+        }
+        // the region has opaque bounds, it matches as if the token was a string of its own
+        if (alphanumericMatcher.region(tokStart, tokEnd).matches()) {
+          tokens.add(tokStart, tokEnd, 1d);
+          continue;
         }
-        newTokens.add(new Span(start, end));
-        tokProbs.add(tokenProb);
       }
+      splitToken(text, tokStart, tokEnd, tokens);
     }
+  }
 
-    Span[] spans = new Span[newTokens.size()];
-    newTokens.toArray(spans);
-    return spans;
+  private void splitToken(CharSequence text, int tokStart, int tokEnd, TokenBuffer tokens) {
+    double[][] batchProbs = null;
+    if (parameterSink == null) {
+      // all split candidates of the token are scored in one batch
+      String tok = text.subSequence(tokStart, tokEnd).toString();
+      String[][] contexts = new String[tokEnd - tokStart - 1][];
+      for (int j = tokStart + 1; j < tokEnd; j++) {
+        contexts[j - tokStart - 1] = cg.getContext(tok, j - tokStart);
+      }
+      batchProbs = model.eval(contexts, splitProbs(contexts.length));
+    }
+
+    int start = tokStart;
+    double tokenProb = 1.0;
+    for (int j = tokStart + 1; j < tokEnd; j++) {
+      double[] probs;
+      if (parameterSink != null) {
+        parameterSink.clear();
+        cg.getContext(text, tokStart, tokEnd, j - tokStart, parameterSink);
+        probs = parameterSink.eval(candidateProbs);
+      }
+      else {
+        probs = batchProbs[j - tokStart - 1];
+      }
+      String best = model.getBestOutcome(probs);
+      tokenProb *= probs[model.getIndex(best)];
+      if (best.equals(TokenizerME.SPLIT)) {
+        tokens.add(start, j, tokenProb);
+        start = j;
+        tokenProb = 1.0;
+      }
+    }
+    tokens.add(start, tokEnd, tokenProb);
+  }
+
+  private double[][] splitProbs(int numCandidates) {
+    if (splitProbs.length < numCandidates) {
+      double[][] probs = new double[Math.max(numCandidates, 2 * splitProbs.length)][];
+      System.arraycopy(splitProbs, 0, probs, 0, splitProbs.length);
+      for (int i = splitProbs.length; i < probs.length; i++) {
+        probs[i] = new double[model.getNumOutcomes()];
+      }
+      splitProbs = probs;
+    }
+    return splitProbs;
   }
 
   /**
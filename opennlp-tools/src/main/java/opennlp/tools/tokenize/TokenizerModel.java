@@ -26,7 +26,6 @@ import java.nio.file.Path;
 import java.util.Map;
 
 import opennlp.tools.dictionary.Dictionary;
-import opennlp.tools.ml.model.AbstractModel;
 import opennlp.tools.ml.model.MaxentModel;
 import opennlp.tools.util.BaseToolFactory;
 import opennlp.tools.util.InvalidFormatException;
@@ -111,7 +110,7 @@ public final class TokenizerModel extends BaseModel {
   protected void validateArtifactMap() throws InvalidFormatException {
     super.validateArtifactMap();
 
-    if (!(artifactMap.get(TOKENIZER_MODEL_ENTRY) instanceof AbstractModel)) {
+    if (!(artifactMap.get(TOKENIZER_MODEL_ENTRY) instanceof MaxentModel)) {
       throw new InvalidFormatException("Token model is incomplete!");
     }
 
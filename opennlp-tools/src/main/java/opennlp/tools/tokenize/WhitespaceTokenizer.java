@@ -17,9 +17,6 @@
 
 package opennlp.tools.tokenize;
 
-import java.util.ArrayList;
-import java.util.List;
-
 import opennlp.tools.util.Span;
 import opennlp.tools.util.StringUtil;
 
@@ -44,16 +41,26 @@ public class WhitespaceTokenizer extends AbstractTokenizer {
   }
 
   public Span[] tokenizePos(String d) {
+    TokenBuffer tokens = new TokenBuffer();
+    tokenizePos(d, 0, d.length(), tokens);
+    return tokens.toSpans();
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * The tokens have the probability 0, as the spans returned by {@link #tokenizePos(String)}.
+   */
+  @Override
+  public void tokenizePos(CharSequence text, int start, int end, TokenBuffer tokens) {
     int tokStart = -1;
-    List<Span> tokens = new ArrayList<>();
     boolean inTok = false;
 
     //gather up potential tokens
-    int end = d.length();
-    for (int i = 0; i < end; i++) {
-      if (StringUtil.isWhitespace(d.charAt(i))) {
+    for (int i = start; i < end; i++) {
+      if (StringUtil.isWhitespace(text.charAt(i))) {
         if (inTok) {
-          tokens.add(new Span(tokStart, i));
+          tokens.add(tokStart, i, 0);
           inTok = false;
           tokStart = -1;
         }
@@ -67,9 +74,7 @@ public class WhitespaceTokenizer extends AbstractTokenizer {
     }
 
     if (inTok) {
-      tokens.add(new Span(tokStart, end));
+      tokens.add(tokStart, end, 0);
     }
-
-    return tokens.toArray(new Span[tokens.size()]);
   }
 }
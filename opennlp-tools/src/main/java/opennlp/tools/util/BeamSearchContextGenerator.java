@@ -17,6 +17,8 @@
 
 package opennlp.tools.util;
 
+import opennlp.tools.util.featuregen.FeatureSink;
+
 /**
  * Interface for context generators used with a sequence beam search.
  */
@@ -31,4 +33,23 @@ public interface BeamSearchContextGenerator<T> {
      * @return the context for the specified position in the specified sequence.
      */
   String[] getContext(int index, T[] sequence, String[] priorDecisions, Object[] additionalContext);
+
+  /**
+   * Adds the context for the specified position in the specified sequence to the sink.
+   * The default implementation adds the features returned by
+   * {@link #getContext(int, Object[], String[], Object[])}.
+   *
+   * @param index The index of the sequence.
+   * @param sequence  The sequence of items over which the beam search is performed.
+   * @param priorDecisions The sequence of decisions made prior to the context for
+   *     which this decision is being made.
+   * @param additionalContext Any addition context specific to a class implementing this interface.
+   * @param sink The sink which receives the context.
+   */
+  default void getContext(int index, T[] sequence, String[] priorDecisions,
+      Object[] additionalContext, FeatureSink sink) {
+    for (String context : getContext(index, sequence, priorDecisions, additionalContext)) {
+      sink.add(context);
+    }
+  }
 }
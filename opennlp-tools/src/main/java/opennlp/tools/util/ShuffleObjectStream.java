@@ -0,0 +1,222 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package opennlp.tools.util;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * A stream which returns the samples of another stream in a random order without
+ * keeping all of them in memory.
+ * <p>
+ * The samples are read in blocks of at most the given number of samples, every block
+ * is shuffled in memory and all blocks except the last one are written to temporary
+ * files. The blocks are then merged by picking the next sample of a block chosen at
+ * random, weighted by the number of samples left in each block. The result is a
+ * uniformly random permutation of all samples, while only the last block and one
+ * sample of every other block are held in memory. If all samples fit into one block
+ * no file is written and the order is the one of
+ * {@link Collections#shuffle(List, Random)} with the given seed.
+ * <p>
+ * The underlying stream is read once, on the first call of {@link #read()}. A
+ * {@link #reset()} returns the same order again, therefore the stream can be used by
+ * trainers which iterate several times over the samples. The temporary files are
+ * deleted when the stream is closed.
+ *
+ * @param <T> the type of the samples, they are written with java serialization
+ */
+public class ShuffleObjectStream<T extends Serializable> extends FilterObjectStream<T, T> {
+
+  private final int blockSize;
+  private final long seed;
+
+  private boolean loaded;
+
+  private final List<File> blockFiles = new ArrayList<>();
+  private List<T> lastBlock = new ArrayList<>();
+
+  private long mergeSeed;
+  private int[] blockSizes;
+
+  private Random random;
+  private int[] remaining;
+  private long totalRemaining;
+  private ObjectInputStream[] readers;
+
+  /**
+   * Initializes the stream.
+   *
+   * @param samples the samples to shuffle
+   * @param blockSize the maximum number of samples which are held in memory
+   * @param seed the seed of the random permutation
+   */
+  public ShuffleObjectStream(ObjectStream<T> samples, int blockSize, long seed) {
+    super(samples);
+
+    if (blockSize < 1) {
+      throw new IllegalArgumentException("blockSize must be at least one but is " + blockSize + "!");
+    }
+
+    this.blockSize = blockSize;
+    this.seed = seed;
+  }
+
+  private void load() throws IOException {
+    Random blockRandom = new Random(seed);
+
+    List<T> block = new ArrayList<>();
+    T sample;
+    while ((sample = samples.read()) != null) {
+      if (block.size() == blockSize) {
+        Collections.shuffle(block, blockRandom);
+        blockFiles.add(writeBlock(block));
+        block.clear();
+      }
+      block.add(sample);
+    }
+    Collections.shuffle(block, blockRandom);
+    lastBlock = block;
+
+    blockSizes = new int[blockFiles.size() + 1];
+    for (int i = 0; i < blockFiles.size(); i++) {
+      blockSizes[i] = blockSize;
+    }
+    blockSizes[blockFiles.size()] = lastBlock.size();
+
+    mergeSeed = blockRandom.nextLong();
+    loaded = true;
+  }
+
+  private static File writeBlock(List<?> block) throws IOException {
+    File file = File.createTempFile("samples-block", null);
+    file.deleteOnExit();
+
+    try (ObjectOutputStream out = new ObjectOutputStream(
+        new BufferedOutputStream(new FileOutputStream(file)))) {
+      for (Object sample : block) {
+        out.writeObject(sample);
+        // the stream must not keep references to the written samples
+        out.reset();
+      }
+    }
+    return file;
+  }
+
+  private void startMerge() throws IOException {
+    closeReaders();
+
+    random = new Random(mergeSeed);
+    remaining = blockSizes.clone();
+    totalRemaining = 0;
+    for (int size : blockSizes) {
+      totalRemaining += size;
+    }
+
+    readers = new ObjectInputStream[blockFiles.size()];
+    for (int i = 0; i < readers.length; i++) {
+      readers[i] = new ObjectInputStream(
+          new BufferedInputStream(new FileInputStream(blockFiles.get(i))));
+    }
+  }
+
+  @Override
+  public T read() throws IOException {
+    if (!loaded) {
+      load();
+      startMerge();
+    }
+
+    if (totalRemaining == 0) {
+      return null;
+    }
+
+    long pick = totalRemaining <= Integer.MAX_VALUE
+        ? random.nextInt((int) totalRemaining)
+        : (long) (random.nextDouble() * totalRemaining);
+
+    int block = 0;
+    while (pick >= remaining[block]) {
+      pick -= remaining[block];
+      block++;
+    }
+
+    remaining[block]--;
+    totalRemaining--;
+
+    if (block == blockFiles.size()) {
+      return lastBlock.get(blockSizes[block] - remaining[block] - 1);
+    }
+
+    return readSample(readers[block]);
+  }
+
+  @SuppressWarnings("unchecked")
+  private T readSample(ObjectInputStream in) throws IOException {
+    try {
+      return (T) in.readObject();
+    } catch (ClassNotFoundException e) {
+      throw new IOException("Failed to read a spilled sample: " + e.getMessage(), e);
+    }
+  }
+
+  /**
+   * Returns the samples again in the same order, the underlying stream is not reset.
+   */
+  @Override
+  public void reset() throws IOException {
+    if (loaded) {
+      startMerge();
+    }
+  }
+
+  private void closeReaders() throws IOException {
+    if (readers != null) {
+      for (ObjectInputStream reader : readers) {
+        reader.close();
+      }
+      readers = null;
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    try {
+      closeReaders();
+    }
+    finally {
+      for (File file : blockFiles) {
+        file.delete();
+      }
+      blockFiles.clear();
+      lastBlock = new ArrayList<>();
+      loaded = false;
+      super.close();
+    }
+  }
+}
@@ -0,0 +1,192 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package opennlp.tools.util.eval;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import opennlp.tools.util.ObjectStream;
+
+/**
+ * Runs a cross validation on samples which are read only once. The samples are kept
+ * in memory and every fold reads them through an index based view, therefore the
+ * training samples of a fold can be read as often as the trainer needs to and the
+ * folds do not depend on each other.
+ * <p>
+ * The models of the folds are trained concurrently on a fixed number of threads.
+ * Each model is tested by the calling thread as soon as it is trained, in the order of
+ * the folds. Evaluation monitors and the merging of the results see the folds in the
+ * same order as in a sequential run and need not be thread safe, the results do not
+ * depend on the number of threads. The trainer is called concurrently and must not
+ * modify shared state or the samples, e.g. training parameters which a training
+ * method changes must be copied for every fold.
+ * <p>
+ * The folds are the ones of {@link CrossValidationPartitioner}, the sample at index i
+ * is a test sample of the fold i % number of folds.
+ *
+ * @param <S> the type of the samples
+ * @param <M> the type of the models
+ */
+public class CrossValidationRunner<S, M> {
+
+  /**
+   * Trains the model of a fold.
+   */
+  @FunctionalInterface
+  public interface Trainer<S, M> {
+    M train(ObjectStream<S> samples) throws IOException;
+  }
+
+  /**
+   * Tests the model of a fold.
+   */
+  @FunctionalInterface
+  public interface Tester<S, M> {
+    void test(M model, ObjectStream<S> samples) throws IOException;
+  }
+
+  private final int threads;
+
+  /**
+   * Initializes the runner.
+   *
+   * @param threads the maximum number of folds which are trained at the same time,
+   *                with one thread everything is done by the calling thread
+   */
+  public CrossValidationRunner(int threads) {
+    if (threads < 1) {
+      throw new IllegalArgumentException("threads must be at least one but is " + threads + "!");
+    }
+    this.threads = threads;
+  }
+
+  /**
+   * Reads the samples and trains and tests the model of every fold.
+   *
+   * @param samples the samples, the stream is read once and not closed
+   * @param nFolds the number of folds
+   * @param trainer trains the model of a fold from its training samples
+   * @param tester tests the model of a fold on its test samples
+   *
+   * @throws IOException if reading the samples fails or the trainer or tester throws it
+   */
+  public void run(ObjectStream<S> samples, int nFolds, Trainer<S, M> trainer, Tester<S, M> tester)
+      throws IOException {
+
+    if (nFolds < 1) {
+      throw new IllegalArgumentException("nFolds must be at least one but is " + nFolds + "!");
+    }
+
+    List<S> elements = new ArrayList<>();
+    S sample;
+    while ((sample = samples.read()) != null) {
+      elements.add(sample);
+    }
+
+    if (threads == 1 || nFolds == 1) {
+      for (int fold = 0; fold < nFolds; fold++) {
+        M model = trainer.train(new FoldStream<>(elements, nFolds, fold, false));
+        tester.test(model, new FoldStream<>(elements, nFolds, fold, true));
+      }
+      return;
+    }
+
+    ExecutorService executor = Executors.newFixedThreadPool(Math.min(threads, nFolds), task -> {
+      Thread thread = new Thread(task, "cross-validation");
+      thread.setDaemon(true);
+      return thread;
+    });
+
+    try {
+      List<Future<M>> models = new ArrayList<>(nFolds);
+      for (int fold = 0; fold < nFolds; fold++) {
+        ObjectStream<S> trainingSamples = new FoldStream<>(elements, nFolds, fold, false);
+        models.add(executor.submit(() -> trainer.train(trainingSamples)));
+      }
+
+      for (int fold = 0; fold < nFolds; fold++) {
+        tester.test(getModel(models.get(fold)), new FoldStream<>(elements, nFolds, fold, true));
+      }
+    }
+    finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private static <M> M getModel(Future<M> model) throws IOException {
+    try {
+      return model.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interruption is not supported!", e);
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof IOException) {
+        throw (IOException) cause;
+      }
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw new IllegalStateException("Exception during training: " + cause.getMessage(), cause);
+    }
+  }
+
+  /**
+   * The training or the test samples of a fold.
+   */
+  private static class FoldStream<S> implements ObjectStream<S> {
+
+    private final List<S> elements;
+    private final int nFolds;
+    private final int fold;
+    private final boolean test;
+
+    private int index;
+
+    FoldStream(List<S> elements, int nFolds, int fold, boolean test) {
+      this.elements = elements;
+      this.nFolds = nFolds;
+      this.fold = fold;
+      this.test = test;
+    }
+
+    @Override
+    public S read() {
+      while (index < elements.size()) {
+        int i = index++;
+        if ((i % nFolds == fold) == test) {
+          return elements.get(i);
+        }
+      }
+      return null;
+    }
+
+    @Override
+    public void reset() {
+      index = 0;
+    }
+  }
+}
@@ -18,6 +18,7 @@
 
 package opennlp.tools.util.featuregen;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -30,6 +31,13 @@ import java.util.List;
  * must only be called from one thread. The resources used by a feature
  * generator are typically shared between man instances of features generators
  * which are called from many threads and have to be thread safe.
+ * <p>
+ * <b>Note:</b><br>
+ * The name finder creates the features of a token once per sentence and uses them
+ * for all sequences of the beam, the features of a generator used by the name finder
+ * must therefore not depend on the previous outcomes. A generator which reads them
+ * requires a context generator without the sentence cache, see
+ * {@link opennlp.tools.namefind.DefaultNameContextGenerator#setSentenceCacheEnabled(boolean)}.
  */
 public interface AdaptiveFeatureGenerator {
 
@@ -44,6 +52,29 @@ public interface AdaptiveFeatureGenerator {
    */
   void createFeatures(List<String> features, String[] tokens, int index, String[] previousOutcomes);
 
+  /**
+   * Adds the appropriate features for the token at the specified index with the
+   * specified array of previous outcomes to the specified sink.
+   * <p>
+   * The features must be identical to the ones created by
+   * {@link #createFeatures(List, String[], int, String[])}. The default implementation
+   * creates the features as strings, a generator should override it when it can pass
+   * the features to the sink without concatenating them.
+   *
+   * @param sink The sink which receives the features.
+   * @param tokens The tokens of the sentence or other text unit being processed.
+   * @param index The index of the token which is currently being processed.
+   * @param previousOutcomes The outcomes for the tokens prior to the specified index.
+   */
+  default void createFeatures(FeatureSink sink, String[] tokens, int index,
+      String[] previousOutcomes) {
+    List<String> features = new ArrayList<>();
+    createFeatures(features, tokens, index, previousOutcomes);
+    for (String feature : features) {
+      sink.add(feature);
+    }
+  }
+
   /**
    * Informs the feature generator that the specified tokens have been classified with the
    * corresponding set of specified outcomes.
@@ -79,6 +79,19 @@ public class AggregatedFeatureGenerator implements AdaptiveFeatureGenerator {
     }
   }
 
+  /**
+   * Calls the {@link AdaptiveFeatureGenerator#createFeatures(FeatureSink, String[], int, String[])}
+   * method on all aggregated {@link AdaptiveFeatureGenerator}s.
+   */
+  @Override
+  public void createFeatures(FeatureSink sink, String[] tokens, int index,
+      String[] previousOutcomes) {
+
+    for (AdaptiveFeatureGenerator generator : generators) {
+      generator.createFeatures(sink, tokens, index, previousOutcomes);
+    }
+  }
+
   /**
    * Calls the {@link AdaptiveFeatureGenerator#updateAdaptiveData(String[], String[])}
    * method on all aggregated {@link AdaptiveFeatureGenerator}s.
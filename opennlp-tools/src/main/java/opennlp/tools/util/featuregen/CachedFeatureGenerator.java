@@ -22,12 +22,19 @@ import java.util.ArrayList;
 import java.util.List;
 
 import opennlp.tools.util.Cache;
+import opennlp.tools.util.metrics.Metrics;
+import opennlp.tools.util.metrics.MetricsRecorder;
 
 /**
  * Caches features of the aggregated {@link AdaptiveFeatureGenerator}s.
  */
 public class CachedFeatureGenerator implements AdaptiveFeatureGenerator {
 
+  /**
+   * The name under which the accesses of the cache are reported to the {@link MetricsRecorder}.
+   */
+  public static final String CACHE_NAME = "featuregen";
+
   private final AdaptiveFeatureGenerator generator;
 
   private String[] prevTokens;
@@ -50,16 +57,35 @@ public class CachedFeatureGenerator implements AdaptiveFeatureGenerator {
 
   public void createFeatures(List<String> features, String[] tokens, int index,
       String[] previousOutcomes) {
+    features.addAll(getFeatures(tokens, index, previousOutcomes));
+  }
+
+  /**
+   * Passes the cached features to the sink, if the features of the token are
+   * not cached yet they are created as strings and added to the cache.
+   */
+  @Override
+  public void createFeatures(FeatureSink sink, String[] tokens, int index,
+      String[] previousOutcomes) {
+    for (String feature : getFeatures(tokens, index, previousOutcomes)) {
+      sink.add(feature);
+    }
+  }
+
+  private List<String> getFeatures(String[] tokens, int index, String[] previousOutcomes) {
 
     List<String> cacheFeatures;
+    MetricsRecorder recorder = Metrics.getRecorder();
 
     if (tokens == prevTokens) {
       cacheFeatures = contextsCache.get(index);
 
       if (cacheFeatures != null) {
         numberOfCacheHits++;
-        features.addAll(cacheFeatures);
-        return;
+        if (recorder != null) {
+          recorder.recordCacheAccess(CACHE_NAME, true);
+        }
+        return cacheFeatures;
       }
 
     } else {
@@ -70,11 +96,14 @@ public class CachedFeatureGenerator implements AdaptiveFeatureGenerator {
     cacheFeatures = new ArrayList<>();
 
     numberOfCacheMisses++;
+    if (recorder != null) {
+      recorder.recordCacheAccess(CACHE_NAME, false);
+    }
 
     generator.createFeatures(cacheFeatures, tokens, index, previousOutcomes);
 
     contextsCache.put(index, cacheFeatures);
-    features.addAll(cacheFeatures);
+    return cacheFeatures;
   }
 
   public void updateAdaptiveData(String[] tokens, String[] outcomes) {
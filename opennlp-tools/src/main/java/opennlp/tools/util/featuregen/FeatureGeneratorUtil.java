@@ -113,4 +113,61 @@ public class FeatureGeneratorUtil {
 
     return (feat);
   }
+
+  /**
+   * Appends the token in lower case to the builder, the result is identical to
+   * {@link opennlp.tools.util.StringUtil#toLowerCase(CharSequence)} but no
+   * intermediate objects are created.
+   *
+   * @param builder the builder
+   * @param token the token
+   *
+   * @return the builder
+   */
+  static StringBuilder appendLowerCase(StringBuilder builder, CharSequence token) {
+    for (int i = 0; i < token.length(); ) {
+      int codePoint = Character.codePointAt(token, i);
+      builder.appendCodePoint(Character.toLowerCase(codePoint));
+      i += Character.charCount(codePoint);
+    }
+    return builder;
+  }
+
+  /**
+   * Checks if a feature generator keeps adaptive data, that is if the generator or one
+   * of the generators it is composed of overrides
+   * {@link AdaptiveFeatureGenerator#updateAdaptiveData(String[], String[])} or
+   * {@link AdaptiveFeatureGenerator#clearAdaptiveData()}. The features of a generator
+   * which is not adaptive do not depend on the previously processed sentences.
+   *
+   * @param generator the feature generator
+   * @return true if the generator keeps adaptive data
+   */
+  public static boolean isAdaptive(AdaptiveFeatureGenerator generator) {
+    if (generator instanceof AggregatedFeatureGenerator) {
+      for (AdaptiveFeatureGenerator aggregated :
+          ((AggregatedFeatureGenerator) generator).getGenerators()) {
+        if (isAdaptive(aggregated)) {
+          return true;
+        }
+      }
+      return false;
+    }
+    else if (generator instanceof CachedFeatureGenerator) {
+      return isAdaptive(((CachedFeatureGenerator) generator).getCachedFeatureGenerator());
+    }
+    else if (generator instanceof WindowFeatureGenerator) {
+      return isAdaptive(((WindowFeatureGenerator) generator).getGenerator());
+    }
+
+    try {
+      Class<?> generatorClass = generator.getClass();
+      return generatorClass.getMethod("updateAdaptiveData", String[].class, String[].class)
+          .getDeclaringClass() != AdaptiveFeatureGenerator.class
+          || generatorClass.getMethod("clearAdaptiveData")
+          .getDeclaringClass() != AdaptiveFeatureGenerator.class;
+    } catch (NoSuchMethodException e) {
+      throw new IllegalStateException(e);
+    }
+  }
 }
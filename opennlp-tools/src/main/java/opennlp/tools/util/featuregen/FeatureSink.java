@@ -0,0 +1,75 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package opennlp.tools.util.featuregen;
+
+import java.util.List;
+
+/**
+ * Receives the features which are created by an {@link AdaptiveFeatureGenerator}.
+ * <p>
+ * A feature is passed as a prefix and a value which together form the feature string,
+ * e.g. the prefix "w=" and the value "house" form the feature "w=house". A sink which
+ * maps the features to model parameters can look them up directly and does not need
+ * to create a string for every feature.
+ * <p>
+ * The passed character sequences might be reused by the caller and are only valid
+ * during the call, an implementation which keeps a feature must copy it.
+ */
+public interface FeatureSink {
+
+  /**
+   * Adds the feature which is the concatenation of the prefix and the characters of
+   * the value from start (inclusive) to end (exclusive).
+   *
+   * @param prefix the prefix of the feature
+   * @param value the value of the feature
+   * @param start the index of the first character of the value
+   * @param end the index after the last character of the value
+   */
+  void add(CharSequence prefix, CharSequence value, int start, int end);
+
+  /**
+   * Adds the feature which is the concatenation of the prefix and the value.
+   *
+   * @param prefix the prefix of the feature
+   * @param value the value of the feature
+   */
+  default void add(CharSequence prefix, CharSequence value) {
+    add(prefix, value, 0, value.length());
+  }
+
+  /**
+   * Adds the feature.
+   *
+   * @param feature the feature
+   */
+  default void add(String feature) {
+    add("", feature, 0, feature.length());
+  }
+
+  /**
+   * Creates a sink which adds the features as strings to the list.
+   *
+   * @param features the list which receives the features
+   *
+   * @return the sink
+   */
+  static FeatureSink toList(List<String> features) {
+    return new ListFeatureSink(features);
+  }
+}
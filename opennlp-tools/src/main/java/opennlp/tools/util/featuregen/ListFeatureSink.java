@@ -15,47 +15,29 @@
  * limitations under the License.
  */
 
-package opennlp.tools.formats.leipzig;
+package opennlp.tools.util.featuregen;
 
-import java.io.IOException;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Iterator;
 import java.util.List;
-import java.util.Random;
 
-import opennlp.tools.util.ObjectStream;
-
-class SampleShuffleStream<T> implements ObjectStream<T> {
-
-  private List<T> bufferedSamples = new ArrayList<>();
-
-  private Iterator<T> sampleIt;
-
-  SampleShuffleStream(ObjectStream<T> samples) throws IOException {
-
-    T sample;
-    while ((sample = samples.read()) != null) {
-      bufferedSamples.add(sample);
-    }
+/**
+ * A {@link FeatureSink} which adds the features as strings to a list.
+ */
+class ListFeatureSink implements FeatureSink {
 
-    Collections.shuffle(bufferedSamples, new Random(23));
+  private final List<String> features;
 
-    reset();
+  ListFeatureSink(List<String> features) {
+    this.features = features;
   }
 
   @Override
-  public T read() throws IOException {
-
-    if (sampleIt.hasNext()) {
-      return sampleIt.next();
-    }
-
-    return null;
+  public void add(CharSequence prefix, CharSequence value, int start, int end) {
+    features.add(new StringBuilder(prefix.length() + end - start)
+        .append(prefix).append(value, start, end).toString());
   }
 
   @Override
-  public void reset() throws IOException, UnsupportedOperationException {
-    sampleIt = bufferedSamples.iterator();
+  public void add(String feature) {
+    features.add(feature);
   }
 }
@@ -41,6 +41,16 @@ public class PrefixFeatureGenerator implements AdaptiveFeatureGenerator {
       features.add("pre=" + pref);
     }
   }
+
+  @Override
+  public void createFeatures(FeatureSink sink, String[] tokens, int index,
+      String[] previousOutcomes) {
+    String lex = tokens[index];
+    int prefixes = StrictMath.min(prefixLength, lex.length());
+    for (int li = 0; li < prefixes; li++) {
+      sink.add("pre=", lex, 0, li + 1);
+    }
+  }
   
   private String[] getPrefixes(String lex) {
       
@@ -41,6 +41,16 @@ public class SuffixFeatureGenerator implements AdaptiveFeatureGenerator {
       features.add("suf=" + suff);
     }
   }
+
+  @Override
+  public void createFeatures(FeatureSink sink, String[] tokens, int index,
+      String[] previousOutcomes) {
+    String lex = tokens[index];
+    int suffixes = StrictMath.min(suffixLength, lex.length());
+    for (int li = 0; li < suffixes; li++) {
+      sink.add("suf=", lex, lex.length() - li - 1, lex.length());
+    }
+  }
   
   private String[] getSuffixes(String lex) {
       
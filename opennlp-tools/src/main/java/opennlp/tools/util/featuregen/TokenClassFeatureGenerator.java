@@ -30,8 +30,13 @@ public class TokenClassFeatureGenerator implements AdaptiveFeatureGenerator {
   private static final String TOKEN_CLASS_PREFIX = "wc";
   private static final String TOKEN_AND_CLASS_PREFIX = "w&c";
 
+  private static final String TOKEN_CLASS_FEATURE_PREFIX = TOKEN_CLASS_PREFIX + "=";
+  private static final String TOKEN_AND_CLASS_FEATURE_PREFIX = TOKEN_AND_CLASS_PREFIX + "=";
+
   private boolean generateWordAndClassFeature;
 
+  private final StringBuilder tokenAndClass = new StringBuilder();
+
   public TokenClassFeatureGenerator() {
     this(false);
   }
@@ -49,4 +54,16 @@ public class TokenClassFeatureGenerator implements AdaptiveFeatureGenerator {
           "," + wordClass);
     }
   }
+
+  @Override
+  public void createFeatures(FeatureSink sink, String[] tokens, int index, String[] preds) {
+    String wordClass = FeatureGeneratorUtil.tokenFeature(tokens[index]);
+    sink.add(TOKEN_CLASS_FEATURE_PREFIX, wordClass);
+
+    if (generateWordAndClassFeature) {
+      tokenAndClass.setLength(0);
+      FeatureGeneratorUtil.appendLowerCase(tokenAndClass, tokens[index]).append(',').append(wordClass);
+      sink.add(TOKEN_AND_CLASS_FEATURE_PREFIX, tokenAndClass);
+    }
+  }
 }
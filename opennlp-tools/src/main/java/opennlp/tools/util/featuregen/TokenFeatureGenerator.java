@@ -28,8 +28,12 @@ import opennlp.tools.util.StringUtil;
 public class TokenFeatureGenerator implements AdaptiveFeatureGenerator {
 
   private static final String WORD_PREFIX = "w";
+  private static final String FEATURE_PREFIX = WORD_PREFIX + "=";
+
   private boolean lowercase;
 
+  private final StringBuilder lowerCaseToken = new StringBuilder();
+
   public TokenFeatureGenerator(boolean lowercase) {
     this.lowercase = lowercase;
   }
@@ -46,4 +50,15 @@ public class TokenFeatureGenerator implements AdaptiveFeatureGenerator {
       features.add(WORD_PREFIX + "=" + tokens[index]);
     }
   }
+
+  @Override
+  public void createFeatures(FeatureSink sink, String[] tokens, int index, String[] preds) {
+    if (lowercase) {
+      lowerCaseToken.setLength(0);
+      sink.add(FEATURE_PREFIX, FeatureGeneratorUtil.appendLowerCase(lowerCaseToken, tokens[index]));
+    }
+    else {
+      sink.add(FEATURE_PREFIX, tokens[index]);
+    }
+  }
 }
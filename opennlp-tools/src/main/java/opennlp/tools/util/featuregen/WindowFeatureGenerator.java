@@ -18,7 +18,6 @@
 
 package opennlp.tools.util.featuregen;
 
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -40,6 +39,11 @@ public class WindowFeatureGenerator implements AdaptiveFeatureGenerator {
   private final int prevWindowSize;
   private final int nextWindowSize;
 
+  private final String[] prevPrefixes;
+  private final String[] nextPrefixes;
+
+  private final WindowFeatureSink windowSink = new WindowFeatureSink();
+
   /**
    * Initializes the current instance with the given parameters.
    *
@@ -51,6 +55,16 @@ public class WindowFeatureGenerator implements AdaptiveFeatureGenerator {
     this.generator = generator;
     this.prevWindowSize = prevWindowSize;
     this.nextWindowSize = nextWindowSize;
+
+    prevPrefixes = new String[StrictMath.max(0, prevWindowSize)];
+    for (int i = 0; i < prevPrefixes.length; i++) {
+      prevPrefixes[i] = PREV_PREFIX + (i + 1);
+    }
+
+    nextPrefixes = new String[StrictMath.max(0, nextWindowSize)];
+    for (int i = 0; i < nextPrefixes.length; i++) {
+      nextPrefixes[i] = NEXT_PREFIX + (i + 1);
+    }
   }
 
   /**
@@ -84,28 +98,27 @@ public class WindowFeatureGenerator implements AdaptiveFeatureGenerator {
   }
 
   public void createFeatures(List<String> features, String[] tokens, int index, String[] preds) {
+    createFeatures(FeatureSink.toList(features), tokens, index, preds);
+  }
+
+  @Override
+  public void createFeatures(FeatureSink sink, String[] tokens, int index, String[] preds) {
     // current features
-    generator.createFeatures(features, tokens, index, preds);
+    generator.createFeatures(sink, tokens, index, preds);
 
     // previous features
     for (int i = 1; i < prevWindowSize + 1; i++) {
       if (index - i >= 0) {
-        List<String> prevFeatures = new ArrayList<>();
-        generator.createFeatures(prevFeatures, tokens, index - i, preds);
-        for (String prevFeature : prevFeatures) {
-          features.add(PREV_PREFIX + i + prevFeature);
-        }
+        windowSink.reset(sink, prevPrefixes[i - 1]);
+        generator.createFeatures(windowSink, tokens, index - i, preds);
       }
     }
 
     // next features
     for (int i = 1; i < nextWindowSize + 1; i++) {
       if (i + index < tokens.length) {
-        List<String> nextFeatures = new ArrayList<>();
-        generator.createFeatures(nextFeatures, tokens, index + i, preds);
-        for (String nextFeature : nextFeatures) {
-          features.add(NEXT_PREFIX + i + nextFeature);
-        }
+        windowSink.reset(sink, nextPrefixes[i - 1]);
+        generator.createFeatures(windowSink, tokens, index + i, preds);
       }
     }
   }
@@ -118,6 +131,41 @@ public class WindowFeatureGenerator implements AdaptiveFeatureGenerator {
     generator.clearAdaptiveData();
   }
 
+  /**
+   * Retrieves the {@link AdaptiveFeatureGenerator} whose features are created
+   * for the positions of the window.
+   *
+   * @return the windowed generator
+   */
+  public AdaptiveFeatureGenerator getGenerator() {
+    return generator;
+  }
+
+  /**
+   * Prepends the window prefix to the features of a window position, the prefix
+   * is kept in a reused builder.
+   */
+  private static class WindowFeatureSink implements FeatureSink {
+
+    private final StringBuilder prefix = new StringBuilder();
+    private int windowPrefixLength;
+    private FeatureSink sink;
+
+    void reset(FeatureSink sink, String windowPrefix) {
+      this.sink = sink;
+      prefix.setLength(0);
+      prefix.append(windowPrefix);
+      windowPrefixLength = prefix.length();
+    }
+
+    @Override
+    public void add(CharSequence featurePrefix, CharSequence value, int start, int end) {
+      prefix.setLength(windowPrefixLength);
+      prefix.append(featurePrefix);
+      sink.add(prefix, value, start, end);
+    }
+  }
+
   @Override
   public String toString() {
     return super.toString() + ": Prev window size: " + prevWindowSize
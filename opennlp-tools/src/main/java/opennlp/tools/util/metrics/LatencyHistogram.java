@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package opennlp.tools.util.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A thread safe histogram of durations in nanoseconds.
+ * <p>
+ * The durations are counted in buckets whose bounds are powers of two, therefore a
+ * percentile is an upper bound which is at most twice the exact value. The count,
+ * the mean and the maximum are exact.
+ */
+public class LatencyHistogram {
+
+  private final AtomicLongArray buckets = new AtomicLongArray(64);
+  private final LongAdder count = new LongAdder();
+  private final LongAdder total = new LongAdder();
+  private final AtomicLong max = new AtomicLong();
+
+  /**
+   * Records a duration.
+   *
+   * @param nanos the duration in nanoseconds, negative values are counted as zero
+   */
+  public void record(long nanos) {
+    long value = Math.max(0, nanos);
+    buckets.incrementAndGet(bucket(value));
+    count.increment();
+    total.add(value);
+    if (value > max.get()) {
+      max.accumulateAndGet(value, Math::max);
+    }
+  }
+
+  /**
+   * The bucket i contains the values from 2^(i-1) (inclusive) to 2^i (exclusive),
+   * the bucket 0 contains only the value zero.
+   */
+  private static int bucket(long value) {
+    return 64 - Long.numberOfLeadingZeros(value);
+  }
+
+  public long getCount() {
+    return count.sum();
+  }
+
+  public long getTotalNanos() {
+    return total.sum();
+  }
+
+  public long getMaxNanos() {
+    return max.get();
+  }
+
+  public double getMeanNanos() {
+    long n = count.sum();
+    return n > 0 ? total.sum() / (double) n : 0;
+  }
+
+  /**
+   * Retrieves an upper bound of the percentile.
+   *
+   * @param percentile the percentile, between 0 and 100
+   *
+   * @return the upper bound of the bucket which contains the percentile,
+   *     but not more than the maximum, or zero if nothing was recorded
+   */
+  public long getPercentileNanos(double percentile) {
+    if (percentile < 0 || percentile > 100) {
+      throw new IllegalArgumentException("percentile must be between 0 and 100 but is "
+          + percentile + "!");
+    }
+
+    long n = 0;
+    long[] counts = new long[buckets.length()];
+    for (int i = 0; i < counts.length; i++) {
+      counts[i] = buckets.get(i);
+      n += counts[i];
+    }
+
+    long rank = (long) Math.ceil(percentile / 100 * n);
+    long seen = 0;
+    for (int i = 0; i < counts.length; i++) {
+      seen += counts[i];
+      if (seen >= rank && seen > 0) {
+        long upperBound = i == 0 ? 0 : (i >= 63 ? Long.MAX_VALUE : (1L << i) - 1);
+        return Math.min(upperBound, max.get());
+      }
+    }
+    return 0;
+  }
+}
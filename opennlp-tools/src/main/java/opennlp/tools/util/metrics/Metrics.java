@@ -0,0 +1,63 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package opennlp.tools.util.metrics;
+
+/**
+ * Holds the {@link MetricsRecorder} which receives the runtime metrics of the components.
+ * <p>
+ * By default no recorder is installed and the components do not measure anything, apart
+ * from checking if a recorder is installed. The components read the recorder once per
+ * call, therefore a recorder can be installed and removed at any time.
+ */
+public final class Metrics {
+
+  public static final String NAME_FINDER = "namefinder";
+  public static final String POS_TAGGER = "postagger";
+  public static final String TOKENIZER = "tokenizer";
+  public static final String SENTENCE_DETECTOR = "sentdetect";
+  public static final String CHUNKER = "chunker";
+  public static final String DOCUMENT_CATEGORIZER = "doccat";
+  public static final String PARSER = "parser";
+
+  private static volatile MetricsRecorder recorder;
+
+  private Metrics() {
+  }
+
+  /**
+   * Installs the recorder which receives the metrics.
+   *
+   * @param metricsRecorder the recorder, or null to disable the metrics
+   */
+  public static void setRecorder(MetricsRecorder metricsRecorder) {
+    recorder = metricsRecorder;
+  }
+
+  /**
+   * Retrieves the installed recorder.
+   *
+   * @return the recorder, or null if the metrics are disabled
+   */
+  public static MetricsRecorder getRecorder() {
+    return recorder;
+  }
+
+  public static boolean isEnabled() {
+    return recorder != null;
+  }
+}
@@ -0,0 +1,68 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package opennlp.tools.util.metrics;
+
+/**
+ * Receives the runtime metrics of the inference components.
+ * <p>
+ * A recorder is installed with {@link Metrics#setRecorder(MetricsRecorder)}. The methods
+ * are called by the components on the threads which use them, an implementation must
+ * therefore be thread safe and should return quickly. All methods do nothing by default,
+ * an implementation only overrides the ones it is interested in.
+ */
+public interface MetricsRecorder {
+
+  /**
+   * Records one call of an inference component, e.g. the tagging of a sentence.
+   *
+   * @param component the name of the component, one of the component constants of {@link Metrics}
+   * @param nanos the duration of the call in nanoseconds
+   * @param size the number of processed tokens, or the number of characters
+   *             for the sentence detector
+   */
+  default void recordInference(String component, long nanos, int size) {
+  }
+
+  /**
+   * Records one beam search.
+   *
+   * @param expansions the number of sequences which were expanded
+   * @param featureGenerationNanos the time spent in the context generator
+   * @param modelEvalNanos the time spent in the evaluation of the model
+   */
+  default void recordBeamSearch(int expansions, long featureGenerationNanos, long modelEvalNanos) {
+  }
+
+  /**
+   * Records one access of a cache.
+   *
+   * @param cache the name of the cache
+   * @param hit true if the value was found in the cache
+   */
+  default void recordCacheAccess(String cache, boolean hit) {
+  }
+
+  /**
+   * Records the loading of a model.
+   *
+   * @param component the name of the component the model belongs to
+   * @param nanos the duration of the loading in nanoseconds
+   */
+  default void recordModelLoad(String component, long nanos) {
+  }
+}
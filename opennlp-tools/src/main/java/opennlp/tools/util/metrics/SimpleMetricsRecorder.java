@@ -0,0 +1,185 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package opennlp.tools.util.metrics;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A {@link MetricsRecorder} which aggregates the metrics in memory.
+ * <p>
+ * It keeps a {@link LatencyHistogram} and the number of processed tokens per component,
+ * the number of beam expansions and the time spent in feature generation and model
+ * evaluation, the hit rate per cache and a {@link LatencyHistogram} of the model load
+ * times per component.
+ */
+public class SimpleMetricsRecorder implements MetricsRecorder {
+
+  /**
+   * The inference metrics of a component, both are created together so that a
+   * reader never sees one without the other.
+   */
+  private static class Inference {
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LongAdder tokens = new LongAdder();
+  }
+
+  private final Map<String, Inference> inference = new ConcurrentHashMap<>();
+
+  private final LongAdder beamSearches = new LongAdder();
+  private final LongAdder beamExpansions = new LongAdder();
+  private final LongAdder featureGenerationNanos = new LongAdder();
+  private final LongAdder modelEvalNanos = new LongAdder();
+
+  private final Map<String, LongAdder> cacheHits = new ConcurrentHashMap<>();
+  private final Map<String, LongAdder> cacheMisses = new ConcurrentHashMap<>();
+
+  private final Map<String, LatencyHistogram> modelLoad = new ConcurrentHashMap<>();
+
+  @Override
+  public void recordInference(String component, long nanos, int size) {
+    Inference metrics = inference.computeIfAbsent(component, k -> new Inference());
+    metrics.tokens.add(size);
+    metrics.latency.record(nanos);
+  }
+
+  @Override
+  public void recordBeamSearch(int expansions, long featureGeneration, long modelEval) {
+    beamSearches.increment();
+    beamExpansions.add(expansions);
+    featureGenerationNanos.add(featureGeneration);
+    modelEvalNanos.add(modelEval);
+  }
+
+  @Override
+  public void recordCacheAccess(String cache, boolean hit) {
+    (hit ? cacheHits : cacheMisses).computeIfAbsent(cache, k -> new LongAdder()).increment();
+  }
+
+  @Override
+  public void recordModelLoad(String component, long nanos) {
+    modelLoad.computeIfAbsent(component, k -> new LatencyHistogram()).record(nanos);
+  }
+
+  /**
+   * Retrieves the latency histogram of a component.
+   *
+   * @param component the name of the component
+   *
+   * @return the histogram, or null if the component did not record anything
+   */
+  public LatencyHistogram getLatency(String component) {
+    Inference metrics = inference.get(component);
+    return metrics != null ? metrics.latency : null;
+  }
+
+  /**
+   * Retrieves the number of tokens a component processed per second of its own time.
+   *
+   * @param component the name of the component
+   *
+   * @return the tokens per second, or zero if the component did not record anything
+   */
+  public double getTokensPerSecond(String component) {
+    Inference metrics = inference.get(component);
+    if (metrics == null || metrics.latency.getTotalNanos() == 0) {
+      return 0;
+    }
+    return metrics.tokens.sum() * 1e9 / metrics.latency.getTotalNanos();
+  }
+
+  public long getBeamSearches() {
+    return beamSearches.sum();
+  }
+
+  public long getBeamExpansions() {
+    return beamExpansions.sum();
+  }
+
+  public long getFeatureGenerationNanos() {
+    return featureGenerationNanos.sum();
+  }
+
+  public long getModelEvalNanos() {
+    return modelEvalNanos.sum();
+  }
+
+  /**
+   * Retrieves the hit rate of a cache.
+   *
+   * @param cache the name of the cache
+   *
+   * @return the ratio of hits to accesses, or zero if the cache was not accessed
+   */
+  public double getCacheHitRate(String cache) {
+    long hits = sum(cacheHits.get(cache));
+    long accesses = hits + sum(cacheMisses.get(cache));
+    return accesses > 0 ? hits / (double) accesses : 0;
+  }
+
+  private static long sum(LongAdder adder) {
+    return adder != null ? adder.sum() : 0;
+  }
+
+  /**
+   * Retrieves the histogram of the model load times of a component.
+   *
+   * @param component the name of the component
+   *
+   * @return the histogram, or null if no model of the component was loaded
+   */
+  public LatencyHistogram getModelLoadTime(String component) {
+    return modelLoad.get(component);
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder();
+
+    for (Map.Entry<String, Inference> entry : new TreeMap<>(inference).entrySet()) {
+      LatencyHistogram latency = entry.getValue().latency;
+      sb.append(String.format(Locale.ROOT, "%s: calls=%d mean=%.3fms p50<=%.3fms p99<=%.3fms max=%.3fms "
+              + "tokens/s=%.1f%n", entry.getKey(), latency.getCount(),
+          latency.getMeanNanos() / 1e6, latency.getPercentileNanos(50) / 1e6,
+          latency.getPercentileNanos(99) / 1e6, latency.getMaxNanos() / 1e6,
+          getTokensPerSecond(entry.getKey())));
+    }
+
+    if (getBeamSearches() > 0) {
+      sb.append(String.format(Locale.ROOT, "beam search: searches=%d expansions=%d featuregen=%.3fms "
+              + "eval=%.3fms%n", getBeamSearches(), getBeamExpansions(),
+          getFeatureGenerationNanos() / 1e6, getModelEvalNanos() / 1e6));
+    }
+
+    TreeMap<String, LongAdder> caches = new TreeMap<>(cacheHits);
+    caches.putAll(cacheMisses);
+    for (String cache : caches.keySet()) {
+      sb.append(String.format(Locale.ROOT, "cache %s: hit rate=%.3f%n", cache, getCacheHitRate(cache)));
+    }
+
+    for (Map.Entry<String, LatencyHistogram> entry : new TreeMap<>(modelLoad).entrySet()) {
+      sb.append(String.format(Locale.ROOT, "model load %s: count=%d mean=%.3fms%n", entry.getKey(),
+          entry.getValue().getCount(), entry.getValue().getMeanNanos() / 1e6));
+    }
+
+    return sb.toString();
+  }
+}
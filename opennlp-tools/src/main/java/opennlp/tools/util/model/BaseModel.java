@@ -29,7 +29,9 @@ import java.io.ObjectOutputStream;
 import java.io.OutputStream;
 import java.io.Serializable;
 import java.net.URL;
+import java.nio.ByteBuffer;
 import java.nio.file.Path;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -39,10 +41,13 @@ import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
 import java.util.zip.ZipOutputStream;
 
+import opennlp.tools.ml.model.MappedModel;
 import opennlp.tools.util.BaseToolFactory;
 import opennlp.tools.util.InvalidFormatException;
 import opennlp.tools.util.Version;
 import opennlp.tools.util.ext.ExtensionLoader;
+import opennlp.tools.util.metrics.Metrics;
+import opennlp.tools.util.metrics.MetricsRecorder;
 
 /**
  * This model is a common based which can be used by the components
@@ -173,14 +178,24 @@ public abstract class BaseModel implements ArtifactProvider, Serializable {
   protected BaseModel(String componentName, InputStream in) throws IOException {
     this(componentName, true);
 
-    loadModel(in);
+    loadModel(in, Collections.emptyMap());
   }
 
+  /**
+   * Initializes the current instance. Models in the {@link MappedModel} format which
+   * are stored uncompressed in the package are mapped from the file instead of
+   * being read into memory.
+   *
+   * @param componentName the component name
+   * @param modelFile the file containing the model
+   *
+   * @throws IOException
+   */
   protected BaseModel(String componentName, File modelFile) throws IOException  {
     this(componentName, true);
 
     try (InputStream in = new BufferedInputStream(new FileInputStream(modelFile))) {
-      loadModel(in);
+      loadModel(in, StoredEntryMapper.map(modelFile));
     }
   }
 
@@ -188,11 +203,26 @@ public abstract class BaseModel implements ArtifactProvider, Serializable {
     this(componentName, true);
 
     try (InputStream in = new BufferedInputStream(modelURL.openStream())) {
-      loadModel(in);
+      loadModel(in, Collections.emptyMap());
+    }
+  }
+
+  private void loadModel(InputStream in, Map<String, ByteBuffer> mappedEntries)
+      throws IOException {
+
+    MetricsRecorder recorder = Metrics.getRecorder();
+    if (recorder == null) {
+      readModel(in, mappedEntries);
+    }
+    else {
+      long startNanos = System.nanoTime();
+      readModel(in, mappedEntries);
+      recorder.recordModelLoad(componentName, System.nanoTime() - startNanos);
     }
   }
 
-  private void loadModel(InputStream in) throws IOException {
+  private void readModel(InputStream in, Map<String, ByteBuffer> mappedEntries)
+      throws IOException {
 
     Objects.requireNonNull(in, "in must not be null");
 
@@ -239,7 +269,7 @@ public abstract class BaseModel implements ArtifactProvider, Serializable {
     // false it is wrapped before hand into an Buffered InputStream
     in.reset();
 
-    finishLoadingArtifacts(in);
+    finishLoadingArtifacts(in, mappedEntries);
 
     checkArtifactMap();
   }
@@ -283,7 +313,7 @@ public abstract class BaseModel implements ArtifactProvider, Serializable {
   /**
    * Finish loading the artifacts now that it knows all serializers.
    */
-  private void finishLoadingArtifacts(InputStream in)
+  private void finishLoadingArtifacts(InputStream in, Map<String, ByteBuffer> mappedEntries)
       throws IOException {
 
     final ZipInputStream zip = new ZipInputStream(in);
@@ -308,7 +338,9 @@ public abstract class BaseModel implements ArtifactProvider, Serializable {
         factory = ExtensionLoader.instantiateExtension(ArtifactSerializer.class, artifactSerializerClazzName);
       }
 
-      if (factory != null) {
+      if (factory instanceof GenericModelSerializer && mappedEntries.containsKey(entryName)) {
+        artifactMap.put(entryName, new MappedModel(mappedEntries.get(entryName)));
+      } else if (factory != null) {
         artifactMap.put(entryName, factory.create(zip));
       } else {
         throw new InvalidFormatException("Unknown artifact format: " + extension);
@@ -644,6 +676,6 @@ public abstract class BaseModel implements ArtifactProvider, Serializable {
 
     componentName = in.readUTF();
 
-    this.loadModel(in);
+    this.loadModel(in, Collections.emptyMap());
   }
 }
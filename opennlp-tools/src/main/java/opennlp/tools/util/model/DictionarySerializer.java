@@ -17,21 +17,39 @@
 
 package opennlp.tools.util.model;
 
+import java.io.BufferedInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.util.Map;
 
+import opennlp.tools.dictionary.CompactDictionary;
 import opennlp.tools.dictionary.Dictionary;
 
+/**
+ * Serializes {@link Dictionary} artifacts. A {@link CompactDictionary} is written in
+ * its binary format, all other dictionaries are written as xml. When a dictionary is
+ * loaded the format is detected.
+ */
 public class DictionarySerializer implements ArtifactSerializer<Dictionary> {
 
   public Dictionary create(InputStream in) throws IOException {
-    return new Dictionary(in);
+    InputStream dictionaryIn = new BufferedInputStream(in);
+
+    if (CompactDictionary.isBinaryFormat(dictionaryIn)) {
+      return CompactDictionary.readBinary(dictionaryIn);
+    }
+
+    return new Dictionary(dictionaryIn);
   }
 
   public void serialize(Dictionary dictionary, OutputStream out) throws IOException {
-    dictionary.serialize(out);
+    if (dictionary instanceof CompactDictionary) {
+      ((CompactDictionary) dictionary).writeBinary(out);
+    }
+    else {
+      dictionary.serialize(out);
+    }
   }
 
   static void register(Map<String, ArtifactSerializer> factories) {
@@ -17,23 +17,43 @@
 
 package opennlp.tools.util.model;
 
+import java.io.BufferedInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.util.Map;
 
-import opennlp.tools.ml.model.AbstractModel;
 import opennlp.tools.ml.model.BinaryFileDataReader;
+import opennlp.tools.ml.model.CompactModel;
 import opennlp.tools.ml.model.GenericModelReader;
+import opennlp.tools.ml.model.MappedModel;
+import opennlp.tools.ml.model.MaxentModel;
 
-public class GenericModelSerializer implements ArtifactSerializer<AbstractModel> {
+/**
+ * Reads and writes the models of a model package. Models are either in the format of
+ * the {@link GenericModelReader} or in the {@link MappedModel} format, a
+ * {@link MappedModel} or a {@link CompactModel} is written in the {@link MappedModel}
+ * format.
+ */
+public class GenericModelSerializer implements ArtifactSerializer<MaxentModel> {
+
+  public MaxentModel create(InputStream in) throws IOException {
+    in = new BufferedInputStream(in);
+
+    if (MappedModel.isMappedModel(in)) {
+      return MappedModel.read(in);
+    }
 
-  public AbstractModel create(InputStream in) throws IOException {
     return new GenericModelReader(new BinaryFileDataReader(in)).getModel();
   }
 
-  public void serialize(AbstractModel artifact, OutputStream out) throws IOException {
-    ModelUtil.writeModel(artifact, out);
+  public void serialize(MaxentModel artifact, OutputStream out) throws IOException {
+    if (artifact instanceof MappedModel || artifact instanceof CompactModel) {
+      MappedModel.write(artifact, out);
+    }
+    else {
+      ModelUtil.writeModel(artifact, out);
+    }
   }
 
   public static void register(Map<String, ArtifactSerializer> factories) {
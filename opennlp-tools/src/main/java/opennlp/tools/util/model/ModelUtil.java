@@ -17,6 +17,7 @@
 
 package opennlp.tools.util.model;
 
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
@@ -27,10 +28,16 @@ import java.util.HashSet;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
 
 import opennlp.tools.ml.maxent.GISTrainer;
 import opennlp.tools.ml.model.AbstractModel;
+import opennlp.tools.ml.model.CompactModel;
 import opennlp.tools.ml.model.GenericModelWriter;
+import opennlp.tools.ml.model.MappedModel;
 import opennlp.tools.ml.model.MaxentModel;
 import opennlp.tools.util.TrainingParameters;
 
@@ -124,6 +131,75 @@ public final class ModelUtil {
     return byteArrayOut.toByteArray();
   }
 
+  /**
+   * Copies a model package and converts all models in it which are supported by
+   * {@link CompactModel} to the {@link MappedModel} format. All other artifacts are
+   * copied unchanged.
+   *
+   * The converted models are stored uncompressed, this allows a model which is loaded
+   * from a file to map them into memory.
+   *
+   * This methods does not close the provided streams.
+   *
+   * @param in the model package to convert
+   * @param out the stream the converted model package is written to
+   *
+   * @return the number of converted models
+   *
+   * @throws IOException if reading or writing fails
+   */
+  public static int convertToMappedModels(InputStream in, OutputStream out) throws IOException {
+
+    ZipInputStream zipIn = new ZipInputStream(in);
+    ZipOutputStream zipOut = new ZipOutputStream(out);
+
+    GenericModelSerializer modelSerializer = new GenericModelSerializer();
+
+    int convertedModels = 0;
+
+    ZipEntry entry;
+    while ((entry = zipIn.getNextEntry()) != null) {
+      byte[] artifact = read(zipIn);
+      boolean converted = false;
+
+      if (entry.getName().endsWith(".model")) {
+        MaxentModel model = modelSerializer.create(new ByteArrayInputStream(artifact));
+
+        if (!(model instanceof MappedModel)) {
+          try {
+            ByteArrayOutputStream mappedOut = new ByteArrayOutputStream();
+            MappedModel.write(CompactModel.create(model), mappedOut);
+            artifact = mappedOut.toByteArray();
+            converted = true;
+            convertedModels++;
+          }
+          catch (IllegalArgumentException e) {
+            // the model type is not supported, it is copied as it is
+          }
+        }
+      }
+
+      ZipEntry outEntry = new ZipEntry(entry.getName());
+      if (converted) {
+        CRC32 crc = new CRC32();
+        crc.update(artifact);
+        outEntry.setMethod(ZipEntry.STORED);
+        outEntry.setSize(artifact.length);
+        outEntry.setCompressedSize(artifact.length);
+        outEntry.setCrc(crc.getValue());
+      }
+
+      zipOut.putNextEntry(outEntry);
+      zipOut.write(artifact);
+      zipOut.closeEntry();
+      zipIn.closeEntry();
+    }
+
+    zipOut.finish();
+
+    return convertedModels;
+  }
+
   public static void addCutoffAndIterations(Map<String, String> manifestInfoEntries,
       int cutoff, int iterations) {
     manifestInfoEntries.put(BaseModel.TRAINING_CUTOFF_PROPERTY, Integer.toString(cutoff));
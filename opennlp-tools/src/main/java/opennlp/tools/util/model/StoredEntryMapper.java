@@ -0,0 +1,156 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package opennlp.tools.util.model;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+
+import opennlp.tools.ml.model.MappedModel;
+
+/**
+ * Maps the uncompressed {@link MappedModel} entries of a model package file into memory,
+ * the entries are located with the central directory of the zip file.
+ * <p>
+ * Zip64 packages and packages which cannot be parsed are not mapped, these are
+ * loaded through the {@link ArtifactSerializer}s instead.
+ */
+final class StoredEntryMapper {
+
+  private static final int LOCAL_HEADER_SIGNATURE = 0x04034b50;
+  private static final int CENTRAL_HEADER_SIGNATURE = 0x02014b50;
+  private static final int END_SIGNATURE = 0x06054b50;
+
+  private static final int LOCAL_HEADER_SIZE = 30;
+  private static final int CENTRAL_HEADER_SIZE = 46;
+  private static final int END_SIZE = 22;
+  private static final int MAX_COMMENT_SIZE = 0xFFFF;
+
+  private static final int STORED = 0;
+
+  private StoredEntryMapper() {
+    // not intended to be instantiated
+  }
+
+  /**
+   * Maps the stored entries of a model package which contain a {@link MappedModel}.
+   *
+   * @param file the model package
+   *
+   * @return the mapped buffers by entry name, empty if nothing can be mapped
+   *
+   * @throws IOException if the file cannot be read
+   */
+  static Map<String, ByteBuffer> map(File file) throws IOException {
+
+    Map<String, ByteBuffer> entries = new HashMap<>();
+
+    try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+
+      long size = channel.size();
+      if (size < END_SIZE || size > Integer.MAX_VALUE) {
+        return entries;
+      }
+
+      MappedByteBuffer data = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+      data.order(ByteOrder.LITTLE_ENDIAN);
+
+      int end = findEnd(data);
+      if (end == -1) {
+        return entries;
+      }
+
+      int numEntries = data.getShort(end + 10) & 0xFFFF;
+      long position = data.getInt(end + 16) & 0xFFFFFFFFL;
+
+      for (int i = 0; i < numEntries; i++) {
+        if (position + CENTRAL_HEADER_SIZE > size
+            || data.getInt((int) position) != CENTRAL_HEADER_SIGNATURE) {
+          return new HashMap<>();
+        }
+
+        int p = (int) position;
+        int method = data.getShort(p + 10) & 0xFFFF;
+        long compressedSize = data.getInt(p + 20) & 0xFFFFFFFFL;
+        int nameLength = data.getShort(p + 28) & 0xFFFF;
+        int extraLength = data.getShort(p + 30) & 0xFFFF;
+        int commentLength = data.getShort(p + 32) & 0xFFFF;
+        long localHeader = data.getInt(p + 42) & 0xFFFFFFFFL;
+
+        if (p + CENTRAL_HEADER_SIZE + nameLength > size) {
+          return new HashMap<>();
+        }
+
+        byte[] name = new byte[nameLength];
+        ByteBuffer nameBuffer = data.duplicate();
+        nameBuffer.position(p + CENTRAL_HEADER_SIZE);
+        nameBuffer.get(name);
+
+        if (method == STORED) {
+          ByteBuffer entry = entry(data, localHeader, compressedSize);
+          if (entry != null && entry.remaining() >= Integer.BYTES
+              && entry.getInt(0) == MappedModel.MAGIC_NUMBER) {
+            entries.put(new String(name, StandardCharsets.UTF_8), entry);
+          }
+        }
+
+        position += CENTRAL_HEADER_SIZE + nameLength + extraLength + commentLength;
+      }
+    }
+
+    return entries;
+  }
+
+  private static int findEnd(ByteBuffer data) {
+    int last = data.limit() - END_SIZE;
+    int first = Math.max(0, last - MAX_COMMENT_SIZE);
+    for (int p = last; p >= first; p--) {
+      if (data.getInt(p) == END_SIGNATURE) {
+        return p;
+      }
+    }
+    return -1;
+  }
+
+  private static ByteBuffer entry(ByteBuffer data, long localHeader, long length) {
+    if (localHeader + LOCAL_HEADER_SIZE > data.limit()
+        || data.getInt((int) localHeader) != LOCAL_HEADER_SIGNATURE) {
+      return null;
+    }
+
+    int p = (int) localHeader;
+    long start = localHeader + LOCAL_HEADER_SIZE + (data.getShort(p + 26) & 0xFFFF)
+        + (data.getShort(p + 28) & 0xFFFF);
+
+    if (start + length > data.limit()) {
+      return null;
+    }
+
+    ByteBuffer entry = data.duplicate();
+    entry.position((int) start);
+    entry.limit((int) (start + length));
+    return entry.slice().order(ByteOrder.BIG_ENDIAN);
+  }
+}
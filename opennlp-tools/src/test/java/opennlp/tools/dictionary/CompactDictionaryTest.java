@@ -0,0 +1,120 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package opennlp.tools.dictionary;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import opennlp.tools.util.StringList;
+import opennlp.tools.util.model.DictionarySerializer;
+
+/**
+ * Tests for the {@link CompactDictionary} class.
+ */
+public class CompactDictionaryTest {
+
+  private static Dictionary createDictionary(boolean caseSensitive) {
+    Dictionary dictionary = new Dictionary(caseSensitive);
+    dictionary.put(new StringList("New", "York"));
+    dictionary.put(new StringList("New", "York", "City"));
+    dictionary.put(new StringList("York"));
+    dictionary.put(new StringList("Bern"));
+    return dictionary;
+  }
+
+  @Test
+  public void testLookupCaseInsensitive() {
+    Dictionary dictionary = new CompactDictionary(createDictionary(false));
+
+    Assert.assertFalse(dictionary.isCaseSensitive());
+    Assert.assertEquals(4, dictionary.size());
+    Assert.assertEquals(1, dictionary.getMinTokenCount());
+    Assert.assertEquals(3, dictionary.getMaxTokenCount());
+
+    Assert.assertTrue(dictionary.contains(new StringList("new", "YORK")));
+    Assert.assertTrue(dictionary.contains(new StringList("New", "York", "City")));
+    Assert.assertTrue(dictionary.contains(new StringList("bern")));
+    Assert.assertFalse(dictionary.contains(new StringList("New")));
+    Assert.assertFalse(dictionary.contains(new StringList("York", "New")));
+
+    Assert.assertTrue(dictionary.asStringSet().contains("BERN"));
+    Assert.assertEquals(3, dictionary.longestMatch(new String[] {"new", "york", "city"}, 0));
+  }
+
+  @Test
+  public void testLookupCaseSensitive() {
+    Dictionary dictionary = new CompactDictionary(createDictionary(true));
+
+    Assert.assertTrue(dictionary.isCaseSensitive());
+    Assert.assertTrue(dictionary.contains(new StringList("New", "York")));
+    Assert.assertFalse(dictionary.contains(new StringList("new", "York")));
+    Assert.assertFalse(dictionary.asStringSet().contains("bern"));
+  }
+
+  @Test
+  public void testEquals() {
+    Dictionary dictionary = createDictionary(false);
+    Dictionary compact = new CompactDictionary(dictionary);
+
+    Assert.assertEquals(dictionary, compact);
+    Assert.assertEquals(compact, dictionary);
+    Assert.assertEquals(dictionary.hashCode(), compact.hashCode());
+
+    Set<StringList> entries = new HashSet<>();
+    compact.forEach(entries::add);
+    Set<StringList> expected = new HashSet<>();
+    dictionary.forEach(expected::add);
+    Assert.assertEquals(expected, entries);
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void testImmutable() {
+    new CompactDictionary(createDictionary(false)).put(new StringList("Paris"));
+  }
+
+  @Test
+  public void testSerialization() throws IOException {
+    DictionarySerializer serializer = new DictionarySerializer();
+
+    for (boolean caseSensitive : new boolean[] {true, false}) {
+      Dictionary compact = new CompactDictionary(createDictionary(caseSensitive));
+
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      serializer.serialize(compact, out);
+
+      Dictionary restored = serializer.create(new ByteArrayInputStream(out.toByteArray()));
+      Assert.assertTrue(restored instanceof CompactDictionary);
+      Assert.assertEquals(caseSensitive, restored.isCaseSensitive());
+      Assert.assertEquals(compact, restored);
+      Assert.assertEquals(3, restored.getMaxTokenCount());
+    }
+
+    // the xml format can still be read
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    serializer.serialize(createDictionary(false), out);
+    Dictionary restored = serializer.create(new ByteArrayInputStream(out.toByteArray()));
+    Assert.assertFalse(restored instanceof CompactDictionary);
+    Assert.assertEquals(createDictionary(false), restored);
+  }
+}
@@ -230,4 +230,56 @@ public class DictionaryTest {
     Assert.assertTrue(!dict.contains(entry2));
   }
 
+  /**
+   * Tests the longest match lookup.
+   */
+  @Test
+  public void testLongestMatch() {
+    Dictionary dict = getCaseInsensitive();
+    dict.put(new StringList("New", "York"));
+    dict.put(new StringList("New", "York", "City"));
+    dict.put(new StringList("York"));
+
+    String[] tokens = {"in", "new", "YORK", "city", "and", "York", "Town"};
+
+    Assert.assertEquals(0, dict.longestMatch(tokens, 0));
+    Assert.assertEquals(3, dict.longestMatch(tokens, 1));
+    Assert.assertEquals(1, dict.longestMatch(tokens, 2));
+    Assert.assertEquals(1, dict.longestMatch(tokens, 5));
+    Assert.assertEquals(0, dict.longestMatch(tokens, 6));
+
+    // the lookup must reflect changes of the entries
+    dict.remove(new StringList("New", "York", "City"));
+    Assert.assertEquals(2, dict.longestMatch(tokens, 1));
+    dict.put(new StringList("York", "Town"));
+    Assert.assertEquals(2, dict.longestMatch(tokens, 5));
+  }
+
+  /**
+   * Tests the longest match lookup with more tokens than fit into the initial tables.
+   */
+  @Test
+  public void testLongestMatchManyTokens() {
+    Dictionary dict = getCaseInsensitive();
+    for (int i = 0; i < 500; i++) {
+      dict.put(new StringList("Token" + i, "Ä" + i));
+    }
+
+    Assert.assertEquals(2, dict.longestMatch(new String[] {"TOKEN123", "ä123"}, 0));
+    Assert.assertEquals(0, dict.longestMatch(new String[] {"token123", "ä124"}, 0));
+    Assert.assertEquals(0, dict.longestMatch(new String[] {"token500", "ä500"}, 0));
+  }
+
+  /**
+   * Tests the longest match lookup with a case sensitive dictionary.
+   */
+  @Test
+  public void testLongestMatchCaseSensitive() {
+    Dictionary dict = getCaseSensitive();
+    dict.put(new StringList("New", "York"));
+
+    Assert.assertEquals(2, dict.longestMatch(new String[] {"New", "York"}, 0));
+    Assert.assertEquals(0, dict.longestMatch(new String[] {"new", "York"}, 0));
+    Assert.assertEquals(0, dict.longestMatch(new String[] {"New", "york"}, 0));
+  }
 }
@@ -17,13 +17,18 @@
 
 package opennlp.tools.doccat;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.util.Collections;
 import java.util.Set;
 import java.util.SortedMap;
 
 import org.junit.Assert;
 import org.junit.Test;
 
+import opennlp.tools.ml.model.CompactModel;
+import opennlp.tools.ml.model.MappedModel;
 import opennlp.tools.util.InsufficientTrainingDataException;
 import opennlp.tools.util.ObjectStream;
 import opennlp.tools.util.ObjectStreamUtils;
@@ -63,6 +68,49 @@ public class DocumentCategorizerMETest {
     Assert.assertEquals(1, cat.size());
   }
   
+  @Test
+  public void testFeatureVector() throws IOException {
+
+    ObjectStream<DocumentSample> samples = ObjectStreamUtils.createObjectStream(
+        new DocumentSample("1", new String[]{"a", "b", "c"}),
+        new DocumentSample("1", new String[]{"a", "b", "c", "1", "2"}),
+        new DocumentSample("0", new String[]{"x", "y", "z"}),
+        new DocumentSample("0", new String[]{"x", "y", "z", "5", "6"}));
+
+    TrainingParameters params = new TrainingParameters();
+    params.put(TrainingParameters.ITERATIONS_PARAM, 100);
+    params.put(TrainingParameters.CUTOFF_PARAM, 0);
+
+    DoccatModel model = DocumentCategorizerME.train("x-unspecified", samples,
+        params, new DoccatFactory());
+
+    DocumentCategorizerME doccat = new DocumentCategorizerME(model);
+
+    String[] text = {"a", "x", "a", "b", "unknown", "a", "y", "unknown"};
+    FeatureVector vector = doccat.getFeatureVector(text, Collections.emptyMap());
+    Assert.assertArrayEquals(new String[] {"bow=a", "bow=x", "bow=b", "bow=unknown", "bow=y"},
+        vector.getFeatures());
+    Assert.assertArrayEquals(new float[] {3, 1, 1, 2, 1}, vector.getCounts(), 0f);
+
+    String[] context = new String[text.length];
+    for (int i = 0; i < text.length; i++) {
+      context[i] = "bow=" + text[i];
+    }
+    Assert.assertArrayEquals(model.getMaxentModel().eval(context), doccat.categorize(text), 1e-10);
+
+    // converted models score the counts as well
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    MappedModel.write(model.getMaxentModel(), out);
+    MappedModel mappedModel = MappedModel.read(new ByteArrayInputStream(out.toByteArray()));
+    Assert.assertTrue(DocumentCategorizerME.isLinear(mappedModel));
+    Assert.assertTrue(DocumentCategorizerME.isLinear(CompactModel.create(model.getMaxentModel())));
+
+    DoccatModel mappedDoccatModel = new DoccatModel("x-unspecified", mappedModel,
+        Collections.emptyMap(), new DoccatFactory());
+    Assert.assertArrayEquals(model.getMaxentModel().eval(context),
+        new DocumentCategorizerME(mappedDoccatModel).categorize(text), 1e-10);
+  }
+
   @Test(expected = InsufficientTrainingDataException.class)
   public void insufficientTestData() throws IOException {
 
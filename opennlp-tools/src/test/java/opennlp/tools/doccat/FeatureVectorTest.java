@@ -0,0 +1,80 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package opennlp.tools.doccat;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import opennlp.tools.util.featuregen.FeatureSink;
+
+public class FeatureVectorTest {
+
+  @Test
+  public void testCounts() {
+    FeatureVector vector = new FeatureVector();
+    vector.add("bow=", "a");
+    vector.add("bow=", "xby", 1, 2);
+    vector.add("bow=a");
+    vector.add("", "bow=b");
+    vector.add("bow=", "c");
+
+    Assert.assertEquals(3, vector.size());
+    Assert.assertArrayEquals(new String[] {"bow=a", "bow=b", "bow=c"}, vector.getFeatures());
+    Assert.assertArrayEquals(new float[] {2, 2, 1}, vector.getCounts(), 0f);
+
+    vector.clear();
+    Assert.assertEquals(0, vector.size());
+    vector.add("bow=c");
+    Assert.assertArrayEquals(new String[] {"bow=c"}, vector.getFeatures());
+  }
+
+  @Test
+  public void testManyFeatures() {
+    FeatureVector vector = new FeatureVector();
+    for (int n = 0; n < 3; n++) {
+      for (int i = 0; i < 1000; i++) {
+        vector.add("f=", Integer.toString(i));
+      }
+    }
+
+    Assert.assertEquals(1000, vector.size());
+    String[] features = vector.getFeatures();
+    float[] counts = vector.getCounts();
+    for (int i = 0; i < 1000; i++) {
+      Assert.assertEquals("f=" + i, features[i]);
+      Assert.assertEquals(3f, counts[i], 0f);
+    }
+  }
+
+  @Test
+  public void testGeneratorsMatchStringFeatures() throws Exception {
+    String[] text = {"a", "b", "a", "b", "a", "c"};
+    FeatureGenerator[] generators =
+        {new BagOfWordsFeatureGenerator(), new NGramFeatureGenerator(1, 3)};
+
+    for (FeatureGenerator generator : generators) {
+      List<String> features = new ArrayList<>();
+      generator.extractFeatures(text, Collections.emptyMap(), FeatureSink.toList(features));
+      Assert.assertEquals(generator.extractFeatures(text, Collections.emptyMap()), features);
+    }
+  }
+}
@@ -17,12 +17,17 @@
 
 package opennlp.tools.langdetect;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
 
 import org.junit.Assert;
 import org.junit.Test;
 
+import opennlp.tools.util.featuregen.FeatureSink;
+
 
 public class DefaultLanguageDetectorContextGeneratorTest {
 
@@ -40,4 +45,19 @@ public class DefaultLanguageDetectorContextGeneratorTest {
     Assert.assertTrue(features.contains("e f"));
     Assert.assertTrue(features.contains(" fg"));
   }
+
+  @Test
+  public void extractContextToSink() {
+    // contains a surrogate pair of a character which has a lower case form
+    String doc = "AbcDe Ab \uD801\uDC00x";
+
+    LanguageDetectorContextGenerator cg = new DefaultLanguageDetectorContextGenerator(1, 3);
+
+    List<String> features = new ArrayList<>();
+    cg.getContext(doc, FeatureSink.toList(features));
+
+    // the sink receives every occurrence of an ngram
+    Assert.assertEquals(3 * doc.length() - 3, features.size());
+    Assert.assertEquals(new HashSet<>(Arrays.asList(cg.getContext(doc))), new HashSet<>(features));
+  }
 }
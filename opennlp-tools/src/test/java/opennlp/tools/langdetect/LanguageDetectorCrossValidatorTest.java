@@ -22,6 +22,7 @@ import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.Assert;
 import org.junit.Test;
 
+import opennlp.tools.ml.AbstractEventTrainer;
 import opennlp.tools.util.TrainingParameters;
 
 public class LanguageDetectorCrossValidatorTest {
@@ -61,4 +62,34 @@ public class LanguageDetectorCrossValidatorTest {
     Assert.assertEquals(0.98989898989899, cv.getDocumentAccuracy(), 0.01);
   }
 
+  @Test
+  public void evaluateWithThreads() throws Exception {
+
+    // the concurrent run goes first and both runs get parameters of their own,
+    // the training would add the data indexer to parameters which are shared
+    TrainingParameters concurrentParams = createParameters();
+    LanguageDetectorCrossValidator concurrent = new LanguageDetectorCrossValidator(
+        concurrentParams, new LanguageDetectorFactory());
+    concurrent.evaluate(LanguageDetectorMETest.createSampleStream(), 3, 3);
+
+    // the folds must train with copies of the parameters
+    Assert.assertNull(concurrentParams.getStringParameter(
+        AbstractEventTrainer.DATA_INDEXER_PARAM, null));
+
+    LanguageDetectorCrossValidator sequential = new LanguageDetectorCrossValidator(
+        createParameters(), new LanguageDetectorFactory());
+    sequential.evaluate(LanguageDetectorMETest.createSampleStream(), 3);
+
+    Assert.assertEquals(sequential.getDocumentCount(), concurrent.getDocumentCount());
+    Assert.assertEquals(sequential.getDocumentAccuracy(), concurrent.getDocumentAccuracy(), 0d);
+  }
+
+  private static TrainingParameters createParameters() {
+    TrainingParameters params = new TrainingParameters();
+    params.put(TrainingParameters.ITERATIONS_PARAM, 100);
+    params.put(TrainingParameters.CUTOFF_PARAM, 5);
+    params.put("PrintMessages", false);
+    return params;
+  }
+
 }
@@ -19,6 +19,7 @@ package opennlp.tools.langdetect;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.StringReader;
 import java.nio.charset.StandardCharsets;
 
 import org.junit.Assert;
@@ -72,6 +73,44 @@ public class LanguageDetectorMETest {
     }
   }
 
+  @Test
+  public void testProbingPredictLanguagesReader() throws IOException {
+    LanguageDetectorME ld = new LanguageDetectorME(this.model);
+
+    LanguageDetectorConfig config = new LanguageDetectorConfig();
+    config.setChunkSize(50);
+    config.setMinDiff(0);
+    config.setMinConsecImprovements(100);
+
+    StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < 20; i++) {
+      sb.append("estava em uma marcenaria na Rua Bruno \uD801\uDC00 Dove è meglio che giochi ");
+    }
+
+    for (String content : new String[] {"", "Rua Bruno", sb.toString()}) {
+      ProbingLanguageDetectionResult expected = ld.probingPredictLanguages(content, config);
+      ProbingLanguageDetectionResult result =
+          ld.probingPredictLanguages(new StringReader(content), config);
+
+      Assert.assertEquals(expected.getLength(), result.getLength());
+      Language[] expectedLanguages = expected.getLanguages();
+      Language[] languages = result.getLanguages();
+      Assert.assertEquals(expectedLanguages.length, languages.length);
+      for (int i = 0; i < languages.length; i++) {
+        Assert.assertEquals(expectedLanguages[i].getLang(), languages[i].getLang());
+        Assert.assertEquals(expectedLanguages[i].getConfidence(), languages[i].getConfidence(), 1e-10);
+      }
+    }
+
+    sb.setLength(0);
+    for (int i = 0; i < 1000; i++) {
+      sb.append("estava em uma marcenaria na Rua Bruno ");
+    }
+    ProbingLanguageDetectionResult result = ld.probingPredictLanguages(new StringReader(sb.toString()));
+    Assert.assertTrue(result.getLength() <= 600);
+    Assert.assertEquals("pob", result.getLanguages()[0].getLang());
+  }
+
   @Test
   public void testPredictLanguage() {
     LanguageDetector ld = new LanguageDetectorME(this.model);
@@ -0,0 +1,204 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package opennlp.tools.languagemodel;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+import opennlp.tools.util.StringList;
+
+/**
+ * Tests for the {@link CompactNGramLanguageModel} class.
+ */
+public class CompactNGramLanguageModelTest {
+
+  private static List<String[]> readSentences() throws IOException {
+    List<String[]> sentences = new ArrayList<>();
+    try (InputStream in = CompactNGramLanguageModelTest.class.getResourceAsStream(
+        "/opennlp/tools/languagemodel/sentences.txt")) {
+      for (String line : IOUtils.readLines(in, StandardCharsets.UTF_8)) {
+        sentences.add(line.split(" "));
+      }
+    }
+    return sentences;
+  }
+
+  private static NGramLanguageModel createModel(int n, List<String[]> sentences) {
+    NGramLanguageModel model = new NGramLanguageModel(n);
+    for (String[] sentence : sentences) {
+      model.add(sentence);
+    }
+    return model;
+  }
+
+  private static void assertSameModel(NGramLanguageModel model, CompactNGramLanguageModel compactModel,
+      List<String[]> sentences) {
+    Assert.assertEquals(model.size(), compactModel.size());
+    Assert.assertEquals(model.getNGramSize(), compactModel.getNGramSize());
+
+    for (StringList ngram : model) {
+      String[] tokens = new String[ngram.size()];
+      for (int i = 0; i < tokens.length; i++) {
+        tokens[i] = ngram.getToken(i);
+      }
+      Assert.assertEquals(model.getCount(ngram), compactModel.getCount(tokens));
+      Assert.assertEquals(model.calculateProbability(tokens), compactModel.calculateProbability(tokens), 0d);
+    }
+
+    for (String[] sentence : sentences) {
+      Assert.assertEquals(model.calculateProbability(sentence),
+          compactModel.calculateProbability(sentence), 0d);
+
+      String[] shuffled = sentence.clone();
+      Arrays.sort(shuffled);
+      Assert.assertEquals(model.calculateProbability(shuffled),
+          compactModel.calculateProbability(shuffled), 0d);
+    }
+
+    String[] unknown = {"the", "unknown", "models", "of", "the", "software"};
+    Assert.assertEquals(model.calculateProbability(unknown), compactModel.calculateProbability(unknown), 0d);
+    Assert.assertEquals(0, compactModel.getCount("unknown"));
+  }
+
+  @Test
+  public void testSameProbabilities() throws IOException {
+    List<String[]> sentences = readSentences();
+    for (int n = 1; n <= 4; n++) {
+      NGramLanguageModel model = createModel(n, sentences);
+      assertSameModel(model, new CompactNGramLanguageModel(model), sentences);
+    }
+  }
+
+  @Test
+  public void testPredictNextTokens() throws IOException {
+    List<String[]> sentences = readSentences();
+    NGramLanguageModel model = createModel(3, sentences);
+    CompactNGramLanguageModel compactModel = new CompactNGramLanguageModel(model);
+
+    Set<String> vocabulary = new LinkedHashSet<>();
+    for (String[] sentence : sentences) {
+      vocabulary.addAll(Arrays.asList(sentence));
+    }
+    Assert.assertEquals(vocabulary.size(), compactModel.getVocabularySize());
+
+    List<String[]> histories = new ArrayList<>();
+    histories.add(new String[0]);
+    histories.add(new String[] {"unknown"});
+    histories.add(new String[] {"unknown", "the"});
+    for (String[] sentence : sentences.subList(0, 10)) {
+      for (int length = 1; length <= Math.min(4, sentence.length); length++) {
+        histories.add(Arrays.copyOf(sentence, length));
+      }
+    }
+
+    for (String[] history : histories) {
+      double maxProbability = Double.NEGATIVE_INFINITY;
+      String[] sequence = Arrays.copyOf(history, history.length + 1);
+      for (String token : vocabulary) {
+        sequence[history.length] = token;
+        maxProbability = Math.max(maxProbability, model.calculateProbability(sequence));
+      }
+
+      String[] next = compactModel.predictNextTokens(history);
+      Assert.assertEquals(1, next.length);
+      sequence[history.length] = next[0];
+      Assert.assertEquals(Arrays.toString(history), maxProbability,
+          model.calculateProbability(sequence), 0d);
+    }
+  }
+
+  @Test
+  public void testPredictNextTokensOfSmallModel() {
+    NGramLanguageModel model = new NGramLanguageModel(4);
+    model.add("I", "saw", "the", "fox");
+    model.add("the", "red", "house");
+    model.add("I", "saw", "something", "nice");
+    CompactNGramLanguageModel compactModel = new CompactNGramLanguageModel(model);
+
+    // "the" and "something" have the same probability, "the" was seen first
+    Assert.assertArrayEquals(new String[] {"the"}, compactModel.predictNextTokens("I", "saw"));
+    Assert.assertArrayEquals(new String[] {"house"}, compactModel.predictNextTokens("the", "red"));
+  }
+
+  @Test
+  @SuppressWarnings("deprecation")
+  public void testPredictNextTokensOfStringList() {
+    NGramLanguageModel model = new NGramLanguageModel(4);
+    model.add("I", "saw", "the", "fox");
+    CompactNGramLanguageModel compactModel = new CompactNGramLanguageModel(model);
+
+    // the deprecated method delegates to the array based one
+    Assert.assertEquals(new StringList("fox"),
+        compactModel.predictNextTokens(new StringList("I", "saw", "the")));
+  }
+
+  @Test
+  public void testEmptyModel() {
+    CompactNGramLanguageModel model = new CompactNGramLanguageModel(new NGramLanguageModel());
+    Assert.assertEquals(0d, model.calculateProbability("1", "2", "3"), 0d);
+    Assert.assertNull(model.predictNextTokens("1"));
+  }
+
+  @Test
+  public void testReadAndMap() throws IOException {
+    List<String[]> sentences = readSentences();
+    NGramLanguageModel model = createModel(3, sentences);
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    new CompactNGramLanguageModel(model).write(out);
+    byte[] bytes = out.toByteArray();
+
+    CompactNGramLanguageModel readModel =
+        CompactNGramLanguageModel.read(new ByteArrayInputStream(bytes));
+    assertSameModel(model, readModel, sentences);
+
+    File file = File.createTempFile("compact", ".lm");
+    file.deleteOnExit();
+    try (OutputStream fileOut = new FileOutputStream(file)) {
+      readModel.write(fileOut);
+    }
+    CompactNGramLanguageModel mappedModel = CompactNGramLanguageModel.map(file);
+    assertSameModel(model, mappedModel, sentences);
+    Assert.assertArrayEquals(readModel.predictNextTokens("the", "learning"),
+        mappedModel.predictNextTokens("the", "learning"));
+  }
+
+  @Test(expected = IOException.class)
+  public void testTruncatedModel() throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    new CompactNGramLanguageModel(createModel(3, readSentences())).write(out);
+    byte[] bytes = out.toByteArray();
+
+    CompactNGramLanguageModel.read(new ByteArrayInputStream(Arrays.copyOf(bytes, bytes.length / 2)));
+  }
+}
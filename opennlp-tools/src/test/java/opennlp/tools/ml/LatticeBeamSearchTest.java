@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package opennlp.tools.ml;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import opennlp.tools.ml.model.MaxentModel;
+import opennlp.tools.util.BeamSearchContextGenerator;
+import opennlp.tools.util.Sequence;
+import opennlp.tools.util.SequenceValidator;
+
+public class LatticeBeamSearchTest {
+
+  @Test
+  public void testSelect() {
+    double[] values = {0.3, 0.1, 0.5, 0.1, 0.9, 0.7};
+    Assert.assertEquals(0.1, LatticeBeamSearch.select(values.clone(), values.length, 0), 0d);
+    Assert.assertEquals(0.1, LatticeBeamSearch.select(values.clone(), values.length, 1), 0d);
+    Assert.assertEquals(0.3, LatticeBeamSearch.select(values.clone(), values.length, 2), 0d);
+    Assert.assertEquals(0.7, LatticeBeamSearch.select(values.clone(), values.length, 4), 0d);
+    Assert.assertEquals(0.9, LatticeBeamSearch.select(values.clone(), values.length, 5), 0d);
+  }
+
+  @Test
+  public void testBestSequenceZeroLengthInput() {
+
+    String[] sequence = new String[0];
+    BeamSearchContextGenerator<String> cg = new BeamSearchTest.IdentityFeatureGenerator(sequence);
+
+    MaxentModel model = new BeamSearchTest.IdentityModel(new String[] {"1", "2", "3"});
+
+    LatticeBeamSearch<String> bs = new LatticeBeamSearch<>(3, model);
+
+    Sequence seq = bs.bestSequence(sequence, null, cg,
+        (int i, String[] inputSequence, String[] outcomesSequence, String outcome) -> true);
+
+    Assert.assertNotNull(seq);
+    Assert.assertEquals(0, seq.getOutcomes().size());
+  }
+
+  @Test
+  public void testBestSequenceWithValidator() {
+    String[] sequence = {"1", "2", "3", "2", "1"};
+    BeamSearchContextGenerator<String> cg = new BeamSearchTest.IdentityFeatureGenerator(sequence);
+
+    MaxentModel model = new BeamSearchTest.IdentityModel(new String[] {"1", "2", "3"});
+
+    LatticeBeamSearch<String> bs = new LatticeBeamSearch<>(2, model);
+
+    Sequence seq = bs.bestSequence(sequence, null, cg,
+        (int i, String[] inputSequence, String[] outcomesSequence,
+         String outcome) -> !"2".equals(outcome));
+    Assert.assertNotNull(seq);
+    Assert.assertEquals(sequence.length, seq.getOutcomes().size());
+    Assert.assertEquals("1", seq.getOutcomes().get(0));
+    Assert.assertNotEquals("2", seq.getOutcomes().get(1));
+    Assert.assertEquals("3", seq.getOutcomes().get(2));
+    Assert.assertNotEquals("2", seq.getOutcomes().get(3));
+    Assert.assertEquals("1", seq.getOutcomes().get(4));
+  }
+
+  /**
+   * Tests that the k-best results are the same as the ones of {@link BeamSearch},
+   * with a validator which depends on the previous outcome.
+   */
+  @Test
+  public void testSameResultsAsBeamSearch() {
+    String[] sequence = {"1", "2", "4", "3", "2", "1", "4"};
+    BeamSearchContextGenerator<String> cg = new BeamSearchTest.IdentityFeatureGenerator(sequence);
+
+    MaxentModel model = new BeamSearchTest.IdentityModel(new String[] {"1", "2", "3", "4"});
+
+    SequenceValidator<String> validator = (i, inputSequence, outcomesSequence, outcome) ->
+        outcomesSequence.length == 0
+        || !outcome.equals(outcomesSequence[outcomesSequence.length - 1]);
+
+    Sequence[] expected = new BeamSearch<String>(3, model).bestSequences(5, sequence, null, cg, validator);
+    Sequence[] actual = new LatticeBeamSearch<String>(3, model).bestSequences(5, sequence, null, cg,
+        validator);
+
+    Assert.assertEquals(expected.length, actual.length);
+    for (int i = 0; i < expected.length; i++) {
+      Assert.assertEquals(expected[i].getScore(), actual[i].getScore(), 0d);
+      Assert.assertArrayEquals(expected[i].getProbs(), actual[i].getProbs(), 0d);
+    }
+    Assert.assertEquals(expected[0].getOutcomes(), actual[0].getOutcomes());
+  }
+}
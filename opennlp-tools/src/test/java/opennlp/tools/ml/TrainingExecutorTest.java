@@ -0,0 +1,75 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package opennlp.tools.ml;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TrainingExecutorTest {
+
+  @Test
+  public void testPartitionBalancesContextLength() {
+    int[][] contexts = {
+        new int[9], new int[1], new int[1], new int[1], new int[1], new int[1], new int[1], new int[1]
+    };
+
+    // costs are 10, 2, 2, 2, 2, 2, 2, 2
+    Assert.assertArrayEquals(new int[] {0, 2, 8}, TrainingExecutor.partition(contexts, 2));
+    Assert.assertArrayEquals(new int[] {0, 8}, TrainingExecutor.partition(contexts, 1));
+  }
+
+  @Test
+  public void testPartitionWithMorePartsThanEvents() {
+    int[][] contexts = {new int[2], new int[2]};
+
+    int[] bounds = TrainingExecutor.partition(contexts, 4);
+    Assert.assertEquals(5, bounds.length);
+    Assert.assertEquals(0, bounds[0]);
+    Assert.assertEquals(2, bounds[4]);
+    for (int i = 1; i < bounds.length; i++) {
+      Assert.assertTrue(bounds[i - 1] <= bounds[i]);
+    }
+  }
+
+  @Test
+  public void testExecuteAndSum() {
+    try (TrainingExecutor executor = new TrainingExecutor(3, "test")) {
+      AtomicIntegerArray calls = new AtomicIntegerArray(5);
+      executor.execute(5, calls::incrementAndGet);
+      for (int i = 0; i < calls.length(); i++) {
+        Assert.assertEquals(1, calls.get(i));
+      }
+
+      double[][] buffers = {{1, 2, 3, 4, 5}, {10, 20, 30, 40, 50}, {100, 200, 300, 400, 500}};
+      double[] target = new double[5];
+      executor.sum(buffers, target);
+      Assert.assertArrayEquals(new double[] {111, 222, 333, 444, 555}, target, 0d);
+    }
+  }
+
+  @Test(expected = RuntimeException.class)
+  public void testExceptionIsRethrown() {
+    try (TrainingExecutor executor = new TrainingExecutor(2, "test")) {
+      executor.execute(2, i -> {
+        throw new IllegalStateException();
+      });
+    }
+  }
+}
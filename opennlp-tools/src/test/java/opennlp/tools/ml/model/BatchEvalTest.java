@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package opennlp.tools.ml.model;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import opennlp.tools.ml.AbstractTrainer;
+import opennlp.tools.ml.EventTrainer;
+import opennlp.tools.ml.PrepAttachDataUtil;
+import opennlp.tools.ml.TrainerFactory;
+import opennlp.tools.ml.maxent.GISTrainer;
+import opennlp.tools.ml.maxent.quasinewton.QNTrainer;
+import opennlp.tools.ml.naivebayes.NaiveBayesTrainer;
+import opennlp.tools.ml.perceptron.PerceptronTrainer;
+import opennlp.tools.util.ObjectStream;
+import opennlp.tools.util.TrainingParameters;
+
+/**
+ * Tests that the batch evaluation of {@link MaxentModel#eval(String[][], double[][])}
+ * produces the same probabilities as the evaluation of single contexts.
+ */
+public class BatchEvalTest {
+
+  private static MaxentModel train(String algorithm) throws IOException {
+    TrainingParameters trainParams = new TrainingParameters();
+    trainParams.put(AbstractTrainer.ALGORITHM_PARAM, algorithm);
+    trainParams.put(AbstractTrainer.CUTOFF_PARAM, 1);
+    trainParams.put(AbstractTrainer.ITERATIONS_PARAM, 50);
+
+    EventTrainer trainer = TrainerFactory.getEventTrainer(trainParams, null);
+    return trainer.train(PrepAttachDataUtil.createTrainingStream());
+  }
+
+  private static void assertSameProbabilities(MaxentModel model) throws IOException {
+    List<String[]> contexts = new ArrayList<>();
+
+    try (ObjectStream<Event> events = PrepAttachDataUtil.createTrainingStream()) {
+      Event event;
+      while ((event = events.read()) != null) {
+        contexts.add(event.getContext());
+      }
+    }
+    contexts.add(new String[] {"unknown=1", "verb=is"});
+    contexts.add(new String[0]);
+
+    // the matrix is filled with garbage to check that the rows are reset
+    double[][] probs = new double[contexts.size()][model.getNumOutcomes()];
+    for (double[] row : probs) {
+      Arrays.fill(row, 7d);
+    }
+
+    Assert.assertSame(probs, model.eval(contexts.toArray(new String[contexts.size()][]), probs));
+
+    for (int i = 0; i < contexts.size(); i++) {
+      Assert.assertArrayEquals(model.eval(contexts.get(i)), probs[i], 0d);
+    }
+  }
+
+  @Test
+  public void testGISModel() throws IOException {
+    assertSameProbabilities(train(GISTrainer.MAXENT_VALUE));
+  }
+
+  @Test
+  public void testQNModel() throws IOException {
+    assertSameProbabilities(train(QNTrainer.MAXENT_QN_VALUE));
+  }
+
+  @Test
+  public void testPerceptronModel() throws IOException {
+    assertSameProbabilities(train(PerceptronTrainer.PERCEPTRON_VALUE));
+  }
+
+  @Test
+  public void testNaiveBayesModel() throws IOException {
+    assertSameProbabilities(train(NaiveBayesTrainer.NAIVE_BAYES_VALUE));
+  }
+
+  @Test
+  public void testCompactModel() throws IOException {
+    assertSameProbabilities(CompactModel.create(train(GISTrainer.MAXENT_VALUE)));
+  }
+}
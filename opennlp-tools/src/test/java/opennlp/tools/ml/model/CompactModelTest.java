@@ -0,0 +1,168 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package opennlp.tools.ml.model;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import opennlp.tools.ml.AbstractTrainer;
+import opennlp.tools.ml.EventTrainer;
+import opennlp.tools.ml.PrepAttachDataUtil;
+import opennlp.tools.ml.TrainerFactory;
+import opennlp.tools.ml.maxent.GISTrainer;
+import opennlp.tools.ml.maxent.quasinewton.QNTrainer;
+import opennlp.tools.ml.naivebayes.NaiveBayesTrainer;
+import opennlp.tools.ml.perceptron.PerceptronTrainer;
+import opennlp.tools.util.ObjectStream;
+import opennlp.tools.util.TrainingParameters;
+
+public class CompactModelTest {
+
+  private static MaxentModel train(String algorithm) throws IOException {
+    TrainingParameters trainParams = new TrainingParameters();
+    trainParams.put(AbstractTrainer.ALGORITHM_PARAM, algorithm);
+    trainParams.put(AbstractTrainer.CUTOFF_PARAM, 1);
+    trainParams.put(AbstractTrainer.ITERATIONS_PARAM, 50);
+
+    EventTrainer trainer = TrainerFactory.getEventTrainer(trainParams, null);
+    return trainer.train(PrepAttachDataUtil.createTrainingStream());
+  }
+
+  private static void assertSameProbabilities(MaxentModel model) throws IOException {
+    CompactModel compactModel = CompactModel.create(model);
+
+    Assert.assertEquals(model.getNumOutcomes(), compactModel.getNumOutcomes());
+
+    double[] outsums = new double[compactModel.getNumOutcomes()];
+
+    try (ObjectStream<Event> events = PrepAttachDataUtil.createTrainingStream()) {
+      Event event;
+      while ((event = events.read()) != null) {
+        String[] context = event.getContext();
+        double[] expected = model.eval(context);
+
+        Assert.assertArrayEquals(expected, compactModel.eval(context), 0d);
+        Assert.assertArrayEquals(expected, compactModel.eval(context, outsums), 0d);
+
+        int[] pids = new int[context.length];
+        for (int i = 0; i < context.length; i++) {
+          pids[i] = compactModel.getPredicateIndex(context[i]);
+        }
+        Assert.assertArrayEquals(expected,
+            compactModel.eval(pids, pids.length, null, outsums), 0d);
+      }
+    }
+  }
+
+  @Test
+  public void testGISModel() throws IOException {
+    assertSameProbabilities(train(GISTrainer.MAXENT_VALUE));
+  }
+
+  @Test
+  public void testQNModel() throws IOException {
+    assertSameProbabilities(train(QNTrainer.MAXENT_QN_VALUE));
+  }
+
+  @Test
+  public void testPerceptronModel() throws IOException {
+    assertSameProbabilities(train(PerceptronTrainer.PERCEPTRON_VALUE));
+  }
+
+  @Test
+  public void testUnknownPredicates() throws IOException {
+    MaxentModel model = train(GISTrainer.MAXENT_VALUE);
+    CompactModel compactModel = CompactModel.create(model);
+
+    String[] context = {"unknown=1", "verb=is", "unknown=2"};
+
+    Assert.assertEquals(-1, compactModel.getPredicateIndex("unknown=1"));
+    Assert.assertArrayEquals(model.eval(context), compactModel.eval(context), 0d);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNaiveBayesModelIsRejected() throws IOException {
+    CompactModel.create(train(NaiveBayesTrainer.NAIVE_BAYES_VALUE));
+  }
+
+  @Test
+  public void testPriorGetsKnownPredicateIds() {
+    List<int[]> priorContexts = new ArrayList<>();
+
+    Prior prior = new Prior() {
+      @Override
+      public void logPrior(double[] dist, int[] context) {
+        logPrior(dist, context, null);
+      }
+
+      @Override
+      public void logPrior(double[] dist, int[] context, float[] values) {
+        priorContexts.add(context);
+        Arrays.fill(dist, Math.log(0.5));
+      }
+
+      @Override
+      public void logPrior(double[] dist, Context[] context, float[] values) {
+        throw new UnsupportedOperationException();
+      }
+
+      @Override
+      public void setLabels(String[] outcomeLabels, String[] contextLabels) {
+      }
+    };
+
+    CompactModel model = new CompactModel(AbstractModel.ModelType.Maxent, new String[] {"A", "B"},
+        new PredicateIndex(new String[] {"a", "b"}), new int[] {0, 1, 2}, new int[] {0, 1},
+        new double[] {1, 2}, prior);
+
+    // the last id is beyond the length and the unknown id is not passed to the prior
+    double[] probs = model.eval(new int[] {0, -1, 1, 7}, 3, null, new double[2]);
+    Assert.assertArrayEquals(new int[] {0, 1}, priorContexts.get(0));
+
+    Assert.assertArrayEquals(probs, model.eval(new String[] {"a", "unknown", "b"}), 0d);
+    Assert.assertArrayEquals(new int[] {0, 1}, priorContexts.get(1));
+
+    Assert.assertEquals(1 / (1 + Math.exp(1)), probs[0], 1e-10);
+  }
+
+  @Test
+  public void testPredicateIndex() {
+    List<String> labels = new ArrayList<>();
+    for (int i = 0; i < 1000; i++) {
+      labels.add("pred=" + i);
+    }
+
+    PredicateIndex index = new PredicateIndex(labels.toArray(new String[0]));
+
+    Assert.assertEquals(1000, index.size());
+    for (int i = 0; i < 1000; i++) {
+      Assert.assertEquals(i, index.get("pred=" + i));
+      Assert.assertEquals("pred=" + i, index.getLabel(i));
+    }
+    Assert.assertEquals(-1, index.get("pred=1000"));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testPredicateIndexWithDuplicates() {
+    new PredicateIndex(new String[] {"a", "b", "a"});
+  }
+}
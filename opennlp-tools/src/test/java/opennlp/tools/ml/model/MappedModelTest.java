@@ -0,0 +1,197 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package opennlp.tools.ml.model;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import opennlp.tools.ml.AbstractTrainer;
+import opennlp.tools.ml.EventTrainer;
+import opennlp.tools.ml.PrepAttachDataUtil;
+import opennlp.tools.ml.TrainerFactory;
+import opennlp.tools.ml.maxent.GISModel;
+import opennlp.tools.ml.maxent.GISTrainer;
+import opennlp.tools.ml.maxent.quasinewton.QNTrainer;
+import opennlp.tools.ml.perceptron.PerceptronTrainer;
+import opennlp.tools.util.ObjectStream;
+import opennlp.tools.util.TrainingParameters;
+import opennlp.tools.util.model.GenericModelSerializer;
+
+public class MappedModelTest {
+
+  private static MaxentModel train(String algorithm) throws IOException {
+    TrainingParameters trainParams = new TrainingParameters();
+    trainParams.put(AbstractTrainer.ALGORITHM_PARAM, algorithm);
+    trainParams.put(AbstractTrainer.CUTOFF_PARAM, 1);
+    trainParams.put(AbstractTrainer.ITERATIONS_PARAM, 50);
+
+    EventTrainer trainer = TrainerFactory.getEventTrainer(trainParams, null);
+    return trainer.train(PrepAttachDataUtil.createTrainingStream());
+  }
+
+  private static File writeToFile(MaxentModel model) throws IOException {
+    File file = File.createTempFile("mapped", ".model");
+    file.deleteOnExit();
+
+    try (OutputStream out = new FileOutputStream(file)) {
+      MappedModel.write(model, out);
+    }
+    return file;
+  }
+
+  private static void assertSameProbabilities(MaxentModel model, MaxentModel mappedModel)
+      throws IOException {
+
+    Assert.assertEquals(model.getNumOutcomes(), mappedModel.getNumOutcomes());
+    for (int i = 0; i < model.getNumOutcomes(); i++) {
+      Assert.assertEquals(model.getOutcome(i), mappedModel.getOutcome(i));
+    }
+
+    double[] outsums = new double[mappedModel.getNumOutcomes()];
+
+    try (ObjectStream<Event> events = PrepAttachDataUtil.createTrainingStream()) {
+      Event event;
+      while ((event = events.read()) != null) {
+        String[] context = event.getContext();
+        double[] expected = model.eval(context);
+
+        Assert.assertArrayEquals(expected, mappedModel.eval(context), 0d);
+        Assert.assertArrayEquals(expected, mappedModel.eval(context, outsums), 0d);
+      }
+    }
+  }
+
+  @Test
+  public void testGISModel() throws IOException {
+    MaxentModel model = train(GISTrainer.MAXENT_VALUE);
+    assertSameProbabilities(model, MappedModel.map(writeToFile(model)));
+  }
+
+  @Test
+  public void testQNModel() throws IOException {
+    MaxentModel model = train(QNTrainer.MAXENT_QN_VALUE);
+    assertSameProbabilities(model, MappedModel.map(writeToFile(model)));
+  }
+
+  @Test
+  public void testPerceptronModel() throws IOException {
+    MaxentModel model = train(PerceptronTrainer.PERCEPTRON_VALUE);
+    assertSameProbabilities(model, MappedModel.map(writeToFile(model)));
+  }
+
+  @Test
+  public void testReadAndWrite() throws IOException {
+    MaxentModel model = train(GISTrainer.MAXENT_VALUE);
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    MappedModel.write(model, out);
+    byte[] bytes = out.toByteArray();
+
+    MappedModel mappedModel = MappedModel.read(new ByteArrayInputStream(bytes));
+    assertSameProbabilities(model, mappedModel);
+
+    // writing a mapped model must reproduce the same bytes
+    ByteArrayOutputStream mappedOut = new ByteArrayOutputStream();
+    MappedModel.write(mappedModel, mappedOut);
+    Assert.assertArrayEquals(bytes, mappedOut.toByteArray());
+  }
+
+  @Test
+  public void testGenericModelReader() throws IOException {
+    MaxentModel model = train(GISTrainer.MAXENT_VALUE);
+
+    MaxentModel mappedModel = GenericModelReader.readModel(writeToFile(model));
+    Assert.assertTrue(mappedModel instanceof MappedModel);
+    assertSameProbabilities(model, mappedModel);
+  }
+
+  @Test
+  public void testSerializeCompactModel() throws IOException {
+    MaxentModel model = train(GISTrainer.MAXENT_VALUE);
+
+    GenericModelSerializer serializer = new GenericModelSerializer();
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    serializer.serialize(CompactModel.create(model), out);
+
+    MaxentModel mappedModel = serializer.create(new ByteArrayInputStream(out.toByteArray()));
+    Assert.assertTrue(mappedModel instanceof MappedModel);
+    assertSameProbabilities(model, mappedModel);
+  }
+
+  @Test
+  public void testUnknownPredicates() throws IOException {
+    MaxentModel model = train(GISTrainer.MAXENT_VALUE);
+    MappedModel mappedModel = MappedModel.map(writeToFile(model));
+
+    String[] context = {"unknown=1", "verb=is", "unknown=2"};
+
+    Assert.assertEquals(-1, mappedModel.getPredicateIndex("unknown=1"));
+    Assert.assertArrayEquals(model.eval(context), mappedModel.eval(context), 0d);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  @SuppressWarnings("unchecked")
+  public void testNonUniformPriorIsRejected() throws IOException {
+    Object[] data = ((AbstractModel) train(GISTrainer.MAXENT_VALUE)).getDataStructures();
+    Map<String, Context> pmap = (Map<String, Context>) data[1];
+
+    Prior prior = new Prior() {
+      @Override
+      public void logPrior(double[] dist, int[] context) {
+        Arrays.fill(dist, 0);
+      }
+
+      @Override
+      public void logPrior(double[] dist, int[] context, float[] values) {
+        Arrays.fill(dist, 0);
+      }
+
+      @Override
+      public void logPrior(double[] dist, Context[] context, float[] values) {
+        Arrays.fill(dist, 0);
+      }
+
+      @Override
+      public void setLabels(String[] outcomeLabels, String[] contextLabels) {
+      }
+    };
+
+    GISModel model = new GISModel(pmap.values().toArray(new Context[pmap.size()]),
+        pmap.keySet().toArray(new String[pmap.size()]), (String[]) data[2], prior);
+
+    MappedModel.write(model, new ByteArrayOutputStream());
+  }
+
+  @Test
+  public void testIsMappedModel() throws IOException {
+    Assert.assertFalse(MappedModel.isMappedModel(new ByteArrayInputStream(new byte[] {1, 2})));
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    MappedModel.write(train(GISTrainer.MAXENT_VALUE), out);
+    Assert.assertTrue(MappedModel.isMappedModel(new ByteArrayInputStream(out.toByteArray())));
+  }
+}
@@ -0,0 +1,143 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package opennlp.tools.ml.model;
+
+import java.io.IOException;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import opennlp.tools.ml.AbstractTrainer;
+import opennlp.tools.ml.EventTrainer;
+import opennlp.tools.ml.PrepAttachDataUtil;
+import opennlp.tools.ml.TrainerFactory;
+import opennlp.tools.ml.maxent.GISTrainer;
+import opennlp.tools.ml.maxent.quasinewton.QNTrainer;
+import opennlp.tools.ml.naivebayes.NaiveBayesTrainer;
+import opennlp.tools.ml.perceptron.PerceptronTrainer;
+import opennlp.tools.util.ObjectStream;
+import opennlp.tools.util.TrainingParameters;
+
+/**
+ * Tests that the evaluation of the parameters collected by the {@link ParameterSink}
+ * produces the same probabilities as the evaluation of the predicate strings.
+ */
+public class ParameterSinkTest {
+
+  private static AbstractModel train(String algorithm) throws IOException {
+    TrainingParameters trainParams = new TrainingParameters();
+    trainParams.put(AbstractTrainer.ALGORITHM_PARAM, algorithm);
+    trainParams.put(AbstractTrainer.CUTOFF_PARAM, 1);
+    trainParams.put(AbstractTrainer.ITERATIONS_PARAM, 50);
+
+    EventTrainer trainer = TrainerFactory.getEventTrainer(trainParams, null);
+    return (AbstractModel) trainer.train(PrepAttachDataUtil.createTrainingStream());
+  }
+
+  private static void assertSameProbabilities(AbstractModel model) throws IOException {
+    ParameterSink sink = new ParameterSink(model);
+
+    // the value is passed as a part of a reused builder
+    StringBuilder value = new StringBuilder();
+
+    // the output array is reused, the evaluation must not depend on its previous content
+    double[] outsums = new double[model.getNumOutcomes()];
+
+    try (ObjectStream<Event> events = PrepAttachDataUtil.createTrainingStream()) {
+      Event event;
+      while ((event = events.read()) != null) {
+        String[] context = event.getContext();
+
+        sink.clear();
+        for (String predicate : context) {
+          int split = predicate.indexOf('=') + 1;
+          value.setLength(0);
+          value.append("#").append(predicate, split, predicate.length()).append("#");
+          sink.add(predicate.substring(0, split), value, 1, value.length() - 1);
+        }
+        sink.add("unknown=", "1");
+
+        Assert.assertEquals(context.length + 1, sink.size());
+        double[] expected = model.eval(context);
+        Assert.assertArrayEquals(expected, sink.eval(outsums), 0d);
+
+        sink.clear();
+        for (String predicate : context) {
+          sink.add(predicate);
+        }
+        Assert.assertArrayEquals(expected, sink.eval(outsums), 0d);
+      }
+    }
+  }
+
+  @Test
+  public void testGISModel() throws IOException {
+    assertSameProbabilities(train(GISTrainer.MAXENT_VALUE));
+  }
+
+  @Test
+  public void testQNModel() throws IOException {
+    assertSameProbabilities(train(QNTrainer.MAXENT_QN_VALUE));
+  }
+
+  @Test
+  public void testPerceptronModel() throws IOException {
+    assertSameProbabilities(train(PerceptronTrainer.PERCEPTRON_VALUE));
+  }
+
+  @Test
+  public void testNaiveBayesModel() throws IOException {
+    assertSameProbabilities(train(NaiveBayesTrainer.NAIVE_BAYES_VALUE));
+  }
+
+  @Test
+  public void testModelWithStringEvalOnly() throws IOException {
+    assertSameProbabilities(new StringEvalModel(train(GISTrainer.MAXENT_VALUE)));
+  }
+
+  /**
+   * A model which only implements the evaluation of predicate strings.
+   */
+  private static class StringEvalModel extends AbstractModel {
+
+    private final AbstractModel model;
+
+    @SuppressWarnings("unchecked")
+    StringEvalModel(AbstractModel model) {
+      super(null, null, (Map<String, Context>) model.getDataStructures()[1],
+          (String[]) model.getDataStructures()[2]);
+      this.model = model;
+    }
+
+    @Override
+    public double[] eval(String[] context) {
+      return model.eval(context);
+    }
+
+    @Override
+    public double[] eval(String[] context, double[] probs) {
+      return model.eval(context, probs);
+    }
+
+    @Override
+    public double[] eval(String[] context, float[] values) {
+      return model.eval(context, values);
+    }
+  }
+}
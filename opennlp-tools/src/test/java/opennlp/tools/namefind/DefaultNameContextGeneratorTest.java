@@ -0,0 +1,123 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package opennlp.tools.namefind;
+
+import java.util.Arrays;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import opennlp.tools.ml.maxent.GISModel;
+import opennlp.tools.ml.model.Context;
+import opennlp.tools.ml.model.ParameterSink;
+import opennlp.tools.util.featuregen.AdaptiveFeatureGenerator;
+import opennlp.tools.util.featuregen.TokenClassFeatureGenerator;
+import opennlp.tools.util.featuregen.TokenFeatureGenerator;
+import opennlp.tools.util.featuregen.WindowFeatureGenerator;
+
+/**
+ * Tests for the {@link DefaultNameContextGenerator} class.
+ */
+public class DefaultNameContextGeneratorTest {
+
+  private static final String[] TOKENS = {"Pierre", "Vinken", "joined", "the", "board", "."};
+
+  private static DefaultNameContextGenerator createContextGenerator() {
+    return new DefaultNameContextGenerator(new WindowFeatureGenerator(
+        new TokenFeatureGenerator(), new TokenClassFeatureGenerator(true)));
+  }
+
+  private static String[] outcomes(String outcome) {
+    String[] outcomes = new String[TOKENS.length];
+    Arrays.fill(outcomes, outcome);
+    return outcomes;
+  }
+
+  @Test
+  public void testSentenceCache() {
+    DefaultNameContextGenerator uncached = createContextGenerator();
+    DefaultNameContextGenerator cached = createContextGenerator();
+
+    cached.beginSentence(TOKENS);
+    for (int i = 0; i < TOKENS.length; i++) {
+      for (String outcome : new String[] {NameFinderME.OTHER, "person-start", "person-cont"}) {
+        Assert.assertArrayEquals(uncached.getContext(i, TOKENS, outcomes(outcome), null),
+            cached.getContext(i, TOKENS, outcomes(outcome), null));
+      }
+    }
+    cached.endSentence();
+
+    Assert.assertEquals(TOKENS.length, cached.getNumberOfCacheMisses());
+    Assert.assertEquals(2 * TOKENS.length, cached.getNumberOfCacheHits());
+
+    // a different sentence is not cached
+    cached.getContext(0, TOKENS.clone(), outcomes(NameFinderME.OTHER), null);
+    Assert.assertEquals(TOKENS.length, cached.getNumberOfCacheMisses());
+  }
+
+  @Test
+  public void testSentenceCacheDisabled() {
+    // the generator depends on the previous outcome
+    AdaptiveFeatureGenerator previousOutcome = (features, tokens, index, previousOutcomes) ->
+        features.add("pd=" + (index > 0 ? previousOutcomes[index - 1] : "none"));
+
+    DefaultNameContextGenerator generator = new DefaultNameContextGenerator(previousOutcome);
+    Assert.assertTrue(generator.isSentenceCacheEnabled());
+    generator.setSentenceCacheEnabled(false);
+
+    generator.beginSentence(TOKENS);
+    Assert.assertTrue(Arrays.asList(generator.getContext(1, TOKENS, outcomes(NameFinderME.OTHER), null))
+        .contains("pd=other"));
+    Assert.assertTrue(Arrays.asList(generator.getContext(1, TOKENS, outcomes("person-start"), null))
+        .contains("pd=person-start"));
+    generator.endSentence();
+
+    Assert.assertEquals(0, generator.getNumberOfCacheHits());
+    Assert.assertEquals(0, generator.getNumberOfCacheMisses());
+  }
+
+  @Test
+  public void testSentenceCacheWithParameterSink() {
+    DefaultNameContextGenerator uncached = createContextGenerator();
+    DefaultNameContextGenerator cached = createContextGenerator();
+
+    String[] predicates = {"w=vinken", "p1w=pierre", "wc=ic", "n1wc=lc", "pow=other,Vinken", "po=other"};
+    Context[] params = new Context[predicates.length];
+    for (int i = 0; i < params.length; i++) {
+      params[i] = new Context(new int[] {i % 2}, new double[] {0.1 * (i + 1)});
+    }
+    GISModel model = new GISModel(params, predicates, new String[] {"other", "person-start"});
+
+    ParameterSink sink = new ParameterSink(model);
+
+    cached.beginSentence(TOKENS);
+    for (int i = 0; i < TOKENS.length; i++) {
+      for (String outcome : new String[] {NameFinderME.OTHER, "person-start"}) {
+        double[] expected = model.eval(uncached.getContext(i, TOKENS, outcomes(outcome), null));
+
+        sink.clear();
+        cached.getContext(i, TOKENS, outcomes(outcome), null, sink);
+        Assert.assertArrayEquals(expected, sink.eval(new double[model.getNumOutcomes()]), 0d);
+      }
+    }
+    cached.endSentence();
+
+    Assert.assertEquals(TOKENS.length, cached.getNumberOfCacheMisses());
+    Assert.assertEquals(TOKENS.length, cached.getNumberOfCacheHits());
+  }
+}
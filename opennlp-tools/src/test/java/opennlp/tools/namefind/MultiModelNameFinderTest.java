@@ -0,0 +1,123 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package opennlp.tools.namefind;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import opennlp.tools.util.MockInputStreamFactory;
+import opennlp.tools.util.ObjectStream;
+import opennlp.tools.util.PlainTextByLineStream;
+import opennlp.tools.util.Span;
+import opennlp.tools.util.TrainingParameters;
+
+public class MultiModelNameFinderTest {
+
+  private static TokenNameFinderModel personModel;
+  private static TokenNameFinderModel locationModel;
+
+  private static ObjectStream<NameSample> createSampleStream() throws IOException {
+    return new NameSampleDataStream(new PlainTextByLineStream(new MockInputStreamFactory(
+        new File("opennlp/tools/namefind/voa1.train")), StandardCharsets.UTF_8));
+  }
+
+  private static TokenNameFinderModel train(String type) throws IOException {
+    TrainingParameters params = new TrainingParameters();
+    params.put(TrainingParameters.ALGORITHM_PARAM, "MAXENT");
+    params.put(TrainingParameters.ITERATIONS_PARAM, 70);
+    params.put(TrainingParameters.CUTOFF_PARAM, 1);
+
+    return NameFinderME.train("eng", null,
+        new NameSampleTypeFilter(new String[] {type}, createSampleStream()), params,
+        TokenNameFinderFactory.create(null, null, Collections.emptyMap(), new BioCodec()));
+  }
+
+  @BeforeClass
+  public static void trainModels() throws IOException {
+    personModel = train("person");
+    locationModel = train("location");
+  }
+
+  private static List<String[]> readSentences() throws IOException {
+    List<String[]> sentences = new ArrayList<>();
+    try (ObjectStream<NameSample> samples = createSampleStream()) {
+      NameSample sample;
+      while ((sample = samples.read()) != null) {
+        sentences.add(sample.getSentence());
+      }
+    }
+    return sentences;
+  }
+
+  @Test
+  public void testSameNamesAsNameFinderME() throws IOException {
+    NameFinderME personFinder = new NameFinderME(personModel);
+    NameFinderME locationFinder = new NameFinderME(locationModel);
+    MultiModelNameFinder multiFinder = new MultiModelNameFinder(personModel, locationModel);
+
+    int numNames = 0;
+    for (String[] sentence : readSentences()) {
+      List<Span> expected = new ArrayList<>();
+      Collections.addAll(expected, personFinder.find(sentence));
+      Collections.addAll(expected, locationFinder.find(sentence));
+      Collections.sort(expected);
+
+      Span[] names = multiFinder.find(sentence);
+      Assert.assertEquals(expected, Arrays.asList(names));
+      for (int i = 0; i < names.length; i++) {
+        Assert.assertEquals(expected.get(i).getProb(), names[i].getProb(), 0d);
+      }
+      numNames += names.length;
+    }
+    Assert.assertTrue(numNames > 0);
+
+    // the adaptive data of every model is cleared
+    personFinder.clearAdaptiveData();
+    multiFinder.clearAdaptiveData();
+    String[] sentence = readSentences().get(0);
+    Span[] names = multiFinder.find(sentence);
+    Assert.assertArrayEquals(personFinder.find(sentence),
+        Arrays.stream(names).filter(name -> "person".equals(name.getType())).toArray());
+  }
+
+  @Test
+  public void testDropOverlappingSpans() throws IOException {
+    MultiModelNameFinder keepFinder = new MultiModelNameFinder(personModel, personModel);
+    MultiModelNameFinder dropFinder = new MultiModelNameFinder(true, personModel, personModel);
+
+    for (String[] sentence : readSentences()) {
+      Span[] names = keepFinder.find(sentence);
+      Assert.assertArrayEquals(NameFinderME.dropOverlappingSpans(names), dropFinder.find(sentence));
+      Assert.assertEquals(0, names.length % 2);
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNoModels() {
+    new MultiModelNameFinder();
+  }
+}
@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package opennlp.tools.parser;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import opennlp.tools.cmdline.parser.ParserTool;
+import opennlp.tools.util.ObjectStream;
+import opennlp.tools.util.ObjectStreamUtils;
+import opennlp.tools.util.TrainingParameters;
+
+/**
+ * Tests for the {@link BatchParser} class.
+ */
+public class BatchParserTest {
+
+  private static ParserModel model;
+  private static List<String[]> sentences;
+
+  @BeforeClass
+  public static void trainModel() throws IOException {
+    model = opennlp.tools.parser.chunking.Parser.train("eng", ParserTestUtil.openTestTrainingData(),
+        ParserTestUtil.createTestHeadRules(), TrainingParameters.defaultParams());
+
+    sentences = new ArrayList<>();
+    try (ObjectStream<Parse> parses = ParserTestUtil.openTestTrainingData()) {
+      Parse parse;
+      while ((parse = parses.read()) != null && sentences.size() < 10) {
+        Parse[] tagNodes = parse.getTagNodes();
+        String[] tokens = new String[tagNodes.length];
+        for (int i = 0; i < tokens.length; i++) {
+          tokens[i] = tagNodes[i].getCoveredText();
+        }
+        sentences.add(tokens);
+      }
+    }
+    sentences.add(new String[0]);
+  }
+
+  private static String show(Parse parse) {
+    StringBuffer sb = new StringBuffer();
+    parse.show(sb);
+    return sb.toString();
+  }
+
+  private static void assertSameParses(Parse[][] parses, int numParses) {
+    Parser parser = ParserFactory.create(model);
+
+    Assert.assertEquals(sentences.size(), parses.length);
+    for (int i = 0; i < sentences.size() - 1; i++) {
+      Parse[] expected = ParserTool.parseLine(String.join(" ", sentences.get(i)), parser, numParses);
+      Assert.assertEquals(expected.length, parses[i].length);
+      for (int pi = 0; pi < expected.length; pi++) {
+        Assert.assertEquals(show(expected[pi]), show(parses[i][pi]));
+        Assert.assertEquals(expected[pi].getProb(), parses[i][pi].getProb(), 0d);
+      }
+    }
+
+    // the empty sentence
+    Assert.assertEquals(0, parses[sentences.size() - 1][0].getChildCount());
+  }
+
+  @Test
+  public void testParseList() {
+    try (BatchParser parser = new BatchParser(model, 3)) {
+      assertSameParses(parser.parse(sentences, 1), 1);
+
+      Assert.assertEquals(sentences.size(), parser.getSentenceCount());
+      Assert.assertEquals(sentences.stream().mapToInt(s -> s.length).sum(), parser.getTokenCount());
+      Assert.assertTrue(parser.getSentencesPerSecond() > 0);
+    }
+  }
+
+  @Test
+  public void testParseStream() throws IOException {
+    try (BatchParser parser = new BatchParser(model, AbstractBottomUpParser.defaultBeamSize,
+        AbstractBottomUpParser.defaultAdvancePercentage, 2, 4);
+         ObjectStream<Parse[]> parseStream = parser.parse(
+             ObjectStreamUtils.createObjectStream(sentences), 2)) {
+
+      List<Parse[]> parses = new ArrayList<>();
+      Parse[] sentenceParses;
+      while ((sentenceParses = parseStream.read()) != null) {
+        parses.add(sentenceParses);
+      }
+
+      assertSameParses(parses.toArray(new Parse[parses.size()][]), 2);
+    }
+  }
+}
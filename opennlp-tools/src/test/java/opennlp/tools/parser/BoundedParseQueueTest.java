@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package opennlp.tools.parser;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import opennlp.tools.util.Span;
+
+/**
+ * Tests for the {@link BoundedParseQueue} class.
+ */
+public class BoundedParseQueueTest {
+
+  private static Parse createParse(double logProb) {
+    Parse parse = new Parse("a", new Span(0, 1), AbstractBottomUpParser.TOP_NODE, 0, 0);
+    parse.addProb(logProb);
+    return parse;
+  }
+
+  @Test
+  public void testOrderAndCapacity() {
+    BoundedParseQueue queue = new BoundedParseQueue(3);
+
+    Assert.assertTrue(queue.add(createParse(-5)));
+    Assert.assertTrue(queue.add(createParse(-1)));
+    Assert.assertTrue(queue.add(createParse(-3)));
+    Assert.assertTrue(queue.add(createParse(-2)));
+
+    // less probable than all parses of the full queue
+    Assert.assertFalse(queue.add(createParse(-4)));
+
+    Assert.assertEquals(3, queue.size());
+    Assert.assertEquals(-1, queue.get(0).getProb(), 0d);
+    Assert.assertEquals(-2, queue.get(1).getProb(), 0d);
+    Assert.assertEquals(-3, queue.get(2).getProb(), 0d);
+    Assert.assertSame(queue.get(0), queue.first());
+  }
+
+  @Test
+  public void testEqualParsesAreNotAdded() {
+    BoundedParseQueue queue = new BoundedParseQueue(3);
+
+    Assert.assertTrue(queue.add(createParse(-1)));
+    Assert.assertFalse(queue.add(createParse(-1)));
+    Assert.assertEquals(1, queue.size());
+
+    queue.clear();
+    Assert.assertTrue(queue.isEmpty());
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void testGetOutOfBounds() {
+    new BoundedParseQueue(3).first();
+  }
+
+  @Test
+  public void testEnsureCapacity() {
+    BoundedParseQueue queue = new BoundedParseQueue(1);
+    queue.ensureCapacity(2);
+
+    Assert.assertTrue(queue.add(createParse(-1)));
+    Assert.assertTrue(queue.add(createParse(-2)));
+    Assert.assertEquals(2, queue.size());
+
+    try {
+      queue.ensureCapacity(3);
+      Assert.fail();
+    }
+    catch (IllegalStateException e) {
+      // the queue is not empty
+    }
+  }
+}
@@ -20,8 +20,11 @@ package opennlp.tools.parser.chunking;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 
+import org.junit.Assert;
 import org.junit.Test;
 
+import opennlp.tools.cmdline.parser.ParserTool;
+import opennlp.tools.parser.AbstractBottomUpParser;
 import opennlp.tools.parser.HeadRules;
 import opennlp.tools.parser.Parse;
 import opennlp.tools.parser.ParserFactory;
@@ -65,4 +68,38 @@ public class ParserTest {
 
     // TODO: compare both models
   }
+
+  /**
+   * Verify that pruning the incomplete parses finds the same best parses and that
+   * multiple parses are returned in order.
+   */
+  @Test
+  public void testChunkingParserPruning() throws Exception {
+
+    ParserModel model = Parser.train("eng", ParserTestUtil.openTestTrainingData(),
+        ParserTestUtil.createTestHeadRules(), TrainingParameters.defaultParams());
+
+    AbstractBottomUpParser parser = (AbstractBottomUpParser) ParserFactory.create(model);
+    AbstractBottomUpParser pruningParser = (AbstractBottomUpParser) ParserFactory.create(model);
+    pruningParser.setPruneToBestComplete(true);
+
+    String sentence = "No , it was n't Black Monday .";
+
+    Parse[] parses = ParserTool.parseLine(sentence, parser, 3);
+    Parse[] prunedParses = ParserTool.parseLine(sentence, pruningParser, 1);
+
+    Assert.assertEquals(3, parses.length);
+    Assert.assertTrue(parses[0].getProb() > parses[1].getProb());
+    Assert.assertTrue(parses[1].getProb() > parses[2].getProb());
+
+    StringBuffer expected = new StringBuffer();
+    parses[0].show(expected);
+    StringBuffer pruned = new StringBuffer();
+    prunedParses[0].show(pruned);
+    Assert.assertEquals(expected.toString(), pruned.toString());
+
+    // no complete parse is requested, nothing can be pruned
+    Assert.assertEquals(ParserTool.parseLine(sentence, parser, 0).length,
+        ParserTool.parseLine(sentence, pruningParser, 0).length);
+  }
 }
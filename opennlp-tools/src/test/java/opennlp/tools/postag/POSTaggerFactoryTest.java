@@ -25,6 +25,7 @@ import java.nio.charset.StandardCharsets;
 import org.junit.Assert;
 import org.junit.Test;
 
+import opennlp.tools.dictionary.Dictionary;
 import opennlp.tools.formats.ResourceAsStreamFactory;
 import opennlp.tools.postag.DummyPOSTaggerFactory.DummyPOSContextGenerator;
 import opennlp.tools.postag.DummyPOSTaggerFactory.DummyPOSDictionary;
@@ -104,6 +105,21 @@ public class POSTaggerFactoryTest {
     Assert.assertTrue(factory.getSequenceValidator() instanceof DefaultPOSSequenceValidator);
   }
 
+  @Test
+  public void testCopy() throws IOException {
+    POSTaggerFactory factory = new DummyPOSTaggerFactory();
+    factory.ngramDictionary = new Dictionary();
+    factory.setTagDictionary(new POSDictionary());
+
+    POSTaggerFactory copy = factory.copy();
+    Assert.assertNotSame(factory, copy);
+    Assert.assertTrue(copy instanceof DummyPOSTaggerFactory);
+    Assert.assertSame(factory.ngramDictionary, copy.ngramDictionary);
+    Assert.assertNull(copy.posDictionary);
+
+    Assert.assertEquals(POSTaggerFactory.class, new POSTaggerFactory().copy().getClass());
+  }
+
   @Test(expected = InvalidFormatException.class)
   public void testCreateWithInvalidName() throws InvalidFormatException {
     BaseToolFactory.create("X", null);
@@ -24,6 +24,9 @@ import org.junit.Assert;
 import org.junit.Test;
 
 import opennlp.tools.formats.ResourceAsStreamFactory;
+import opennlp.tools.ml.BeamSearch;
+import opennlp.tools.ml.LatticeBeamSearch;
+import opennlp.tools.ml.perceptron.SimplePerceptronSequenceTrainer;
 import opennlp.tools.util.InputStreamFactory;
 import opennlp.tools.util.InsufficientTrainingDataException;
 import opennlp.tools.util.ObjectStream;
@@ -81,6 +84,53 @@ public class POSTaggerMETest {
     Assert.assertEquals(".", tags[5]);
   }
 
+  @Test
+  public void testPOSTaggerWithLatticeDecoder() throws IOException {
+    TrainingParameters params = new TrainingParameters();
+    params.put(TrainingParameters.ALGORITHM_PARAM, ModelType.MAXENT.toString());
+    params.put(TrainingParameters.ITERATIONS_PARAM, 100);
+    params.put(TrainingParameters.CUTOFF_PARAM, 5);
+    params.put(BeamSearch.DECODER_PARAMETER, LatticeBeamSearch.DECODER_NAME);
+
+    POSModel posModel = POSTaggerME.train("eng", createSampleStream(), params,
+        new POSTaggerFactory());
+
+    Assert.assertTrue(posModel.getPosSequenceModel() instanceof LatticeBeamSearch);
+
+    String[] sentence = {"The", "driver", "got", "badly", "injured", "."};
+
+    POSTaggerME tagger = new POSTaggerME(posModel);
+    POSTaggerME defaultTagger = new POSTaggerME(trainPOSModel(ModelType.MAXENT));
+
+    Assert.assertArrayEquals(defaultTagger.tag(sentence), tagger.tag(sentence));
+    Assert.assertArrayEquals(defaultTagger.probs(), tagger.probs(), 0d);
+  }
+
+  @Test
+  public void testPOSTaggerWithParallelPerceptronSequenceTraining() throws IOException {
+    TrainingParameters params = new TrainingParameters();
+    params.put(TrainingParameters.ALGORITHM_PARAM, SimplePerceptronSequenceTrainer.PERCEPTRON_SEQUENCE_VALUE);
+    params.put(TrainingParameters.ITERATIONS_PARAM, 50);
+    params.put(TrainingParameters.CUTOFF_PARAM, 5);
+    params.put(TrainingParameters.THREADS_PARAM, 2);
+
+    POSTaggerME taggerA = new POSTaggerME(POSTaggerME.train("eng", createSampleStream(), params,
+        new POSTaggerFactory()));
+    POSTaggerME taggerB = new POSTaggerME(POSTaggerME.train("eng", createSampleStream(), params,
+        new POSTaggerFactory()));
+
+    String[] sentence = {"The", "driver", "got", "badly", "injured", "."};
+
+    String[] tags = taggerA.tag(sentence);
+    Assert.assertEquals("DT", tags[0]);
+    Assert.assertEquals("NN", tags[1]);
+    Assert.assertEquals(".", tags[5]);
+
+    // parameter mixing is deterministic for a fixed number of threads
+    Assert.assertArrayEquals(tags, taggerB.tag(sentence));
+    Assert.assertArrayEquals(taggerA.probs(), taggerB.probs(), 0d);
+  }
+
   @Test
   public void testBuildNGramDictionary() throws IOException {
     ObjectStream<POSSample> samples = createSampleStream();
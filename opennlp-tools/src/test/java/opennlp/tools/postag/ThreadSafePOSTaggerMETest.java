@@ -0,0 +1,77 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package opennlp.tools.postag;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import opennlp.tools.util.Sequence;
+import opennlp.tools.util.model.ModelType;
+
+/**
+ * Tests for the {@link ThreadSafePOSTaggerME} class.
+ */
+public class ThreadSafePOSTaggerMETest {
+
+  private static final String[] SENTENCE = {"The", "driver", "got", "badly", "injured", "."};
+
+  @Test
+  public void testBestSequence() throws Exception {
+    POSModel posModel = POSTaggerMETest.trainPOSModel(ModelType.MAXENT);
+
+    POSTaggerME tagger = new POSTaggerME(posModel);
+    String[] tags = tagger.tag(SENTENCE);
+
+    try (ThreadSafePOSTaggerME threadSafeTagger = new ThreadSafePOSTaggerME(posModel)) {
+      Sequence sequence = threadSafeTagger.bestSequence(SENTENCE, null);
+
+      Assert.assertArrayEquals(tags, sequence.getOutcomes().toArray(new String[0]));
+      Assert.assertArrayEquals(tagger.probs(), sequence.getProbs(), 0d);
+    }
+  }
+
+  @Test
+  public void testConcurrentTagging() throws Exception {
+    POSModel posModel = POSTaggerMETest.trainPOSModel(ModelType.MAXENT);
+
+    String[] expected = new POSTaggerME(posModel).tag(SENTENCE);
+
+    ThreadSafePOSTaggerME tagger = new ThreadSafePOSTaggerME(posModel);
+
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      List<Callable<String[]>> tasks = new ArrayList<>();
+      for (int i = 0; i < 100; i++) {
+        tasks.add(() -> tagger.tag(SENTENCE));
+      }
+
+      for (Future<String[]> result : executor.invokeAll(tasks)) {
+        Assert.assertArrayEquals(expected, result.get());
+      }
+    }
+    finally {
+      executor.shutdown();
+    }
+  }
+}
@@ -19,7 +19,11 @@
 package opennlp.tools.sentdetect;
 
 import java.io.IOException;
+import java.io.StringReader;
+import java.nio.CharBuffer;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.junit.Assert;
 import org.junit.Test;
@@ -27,6 +31,7 @@ import org.junit.Test;
 import opennlp.tools.formats.ResourceAsStreamFactory;
 import opennlp.tools.util.InputStreamFactory;
 import opennlp.tools.util.InsufficientTrainingDataException;
+import opennlp.tools.util.ObjectStream;
 import opennlp.tools.util.PlainTextByLineStream;
 import opennlp.tools.util.Span;
 import opennlp.tools.util.TrainingParameters;
@@ -136,6 +141,93 @@ public class SentenceDetectorMETest {
 
   }
   
+  private static SentenceModel trainModel(boolean useTokenEnd) throws IOException {
+    InputStreamFactory in = new ResourceAsStreamFactory(SentenceDetectorMETest.class,
+        "/opennlp/tools/sentdetect/Sentences.txt");
+
+    TrainingParameters mlParams = new TrainingParameters();
+    mlParams.put(TrainingParameters.ITERATIONS_PARAM, 100);
+    mlParams.put(TrainingParameters.CUTOFF_PARAM, 0);
+
+    SentenceDetectorFactory factory = new SentenceDetectorFactory("eng", useTokenEnd, null, null);
+
+    return SentenceDetectorME.train("eng", new SentenceSampleStream(new PlainTextByLineStream(in,
+        StandardCharsets.UTF_8)), factory, mlParams);
+  }
+
+  @Test
+  public void testStreamingSentenceDetector() throws IOException {
+    StringBuilder text = new StringBuilder("   ");
+    try (ObjectStream<String> lines = new PlainTextByLineStream(new ResourceAsStreamFactory(
+        getClass(), "/opennlp/tools/sentdetect/Sentences.txt"), StandardCharsets.UTF_8)) {
+      String line;
+      int i = 0;
+      while ((line = lines.read()) != null) {
+        text.append(line).append(i++ % 3 == 0 ? "\n  \t" : " ");
+      }
+    }
+    text.append("This is a \"test\". I said \"This is a test.\"  Any questions?  The end");
+
+    String[] texts = {"", "     ", "This is a test", "This is a test.  ", text.toString()};
+
+    for (boolean useTokenEnd : new boolean[] {true, false}) {
+      SentenceDetectorME sentDetect = new SentenceDetectorME(trainModel(useTokenEnd));
+
+      for (String document : texts) {
+        Span[] expected = sentDetect.sentPosDetect(document);
+
+        for (int windowSize : new int[] {1, 7, 64, SentenceDetectorME.DEFAULT_WINDOW_SIZE}) {
+          List<Span> spans = new ArrayList<>();
+          try (ObjectStream<Span> stream = sentDetect.sentPosDetect(
+              new StringReader(document), windowSize)) {
+            Span span;
+            while ((span = stream.read()) != null) {
+              spans.add(span);
+            }
+          }
+
+          Assert.assertArrayEquals(expected, spans.toArray(new Span[spans.size()]));
+          // the last sentence is not decided by the model
+          for (int i = 0; i < expected.length - 1; i++) {
+            Assert.assertEquals(expected[i].getProb(), spans.get(i).getProb(), 0d);
+          }
+        }
+      }
+
+      Assert.assertTrue(sentDetect.sentPosDetect(text.toString()).length > 50);
+
+      ObjectStream<Span> stream = sentDetect.sentPosDetect(CharBuffer.wrap(text));
+      Assert.assertEquals(sentDetect.sentPosDetect(text.toString())[0], stream.read());
+    }
+  }
+
+  @Test
+  public void testDocumentWithManyCandidates() throws IOException {
+    SentenceDetectorME sentDetect = new SentenceDetectorME(trainModel(true));
+
+    // the candidates are scored in several batches
+    String sentences = "This is a test. There are many tests, this is the second. ";
+    int copies = 300;
+    StringBuilder document = new StringBuilder();
+    for (int i = 0; i < copies; i++) {
+      document.append(sentences);
+    }
+
+    Span[] spans = sentDetect.sentPosDetect(document.toString());
+    Assert.assertEquals(2 * copies, spans.length);
+
+    // all copies except the first and the last one have the same context
+    for (int i = 2; i < copies - 1; i++) {
+      for (int j = 0; j < 2; j++) {
+        Span expected = spans[2 + j];
+        Span span = spans[2 * i + j];
+        Assert.assertEquals(expected.getStart() + (i - 1) * sentences.length(), span.getStart());
+        Assert.assertEquals(expected.getEnd() + (i - 1) * sentences.length(), span.getEnd());
+        Assert.assertEquals(expected.getProb(), span.getProb(), 0d);
+      }
+    }
+  }
+
   @Test(expected = InsufficientTrainingDataException.class)
   public void testInsufficientData() throws IOException {
 
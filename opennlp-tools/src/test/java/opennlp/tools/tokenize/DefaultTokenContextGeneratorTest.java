@@ -0,0 +1,66 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package opennlp.tools.tokenize;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import opennlp.tools.util.featuregen.FeatureSink;
+
+/**
+ * Tests for the {@link DefaultTokenContextGenerator} class.
+ */
+public class DefaultTokenContextGeneratorTest {
+
+  private static void assertSameContexts(TokenContextGenerator cg, String token) {
+    String text = "<" + token + ">";
+    for (int index = 0; index < token.length(); index++) {
+      List<String> features = new ArrayList<>();
+      cg.getContext(text, 1, token.length() + 1, index, FeatureSink.toList(features));
+      Assert.assertEquals(Arrays.asList(cg.getContext(token, index)), features);
+    }
+  }
+
+  @Test
+  public void testCharSequenceContext() {
+    TokenContextGenerator cg = new DefaultTokenContextGenerator(Collections.singleton("Mr."));
+
+    for (String token : new String[] {"a", "Mr.", "(it's)", "&amp;", "\"12[3]\"", "x?!`{}"}) {
+      assertSameContexts(cg, token);
+    }
+  }
+
+  @Test
+  public void testSubclassContext() {
+    TokenContextGenerator cg = new DefaultTokenContextGenerator() {
+      @Override
+      protected List<String> createContext(String sentence, int index) {
+        List<String> preds = super.createContext(sentence, index);
+        preds.add("len=" + sentence.length());
+        return preds;
+      }
+    };
+
+    assertSameContexts(cg, "(it's)");
+  }
+}
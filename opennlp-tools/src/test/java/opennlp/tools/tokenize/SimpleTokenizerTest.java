@@ -20,6 +20,8 @@ package opennlp.tools.tokenize;
 import org.junit.Assert;
 import org.junit.Test;
 
+import opennlp.tools.util.Span;
+
 /**
  * Tests for the {@link SimpleTokenizer} class.
  */
@@ -89,4 +91,22 @@ public class SimpleTokenizerTest {
     Assert.assertTrue(")".equals(tokenizedText[4]));
     Assert.assertTrue(tokenizedText.length == 5);
   }
+
+  @Test
+  public void testTokenizePosRange() {
+    String text = "rebecca.sleep() and 305KW";
+    TokenBuffer tokens = new TokenBuffer();
+    tokens.add(0, 1, 1d);
+
+    mTokenizer.tokenizePos(new StringBuilder(text), 8, text.length(), tokens);
+
+    // the buffer is not cleared and the offsets are relative to the beginning of the text
+    Span[] expected = mTokenizer.tokenizePos(text.substring(8));
+    Assert.assertEquals(expected.length + 1, tokens.size());
+    for (int i = 0; i < expected.length; i++) {
+      Assert.assertEquals(expected[i].getStart() + 8, tokens.getStart(i + 1));
+      Assert.assertEquals(expected[i].getEnd() + 8, tokens.getEnd(i + 1));
+    }
+    Assert.assertEquals("305", text.substring(tokens.getStart(5), tokens.getEnd(5)));
+  }
 }
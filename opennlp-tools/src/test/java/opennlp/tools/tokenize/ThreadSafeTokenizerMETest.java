@@ -0,0 +1,79 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package opennlp.tools.tokenize;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import opennlp.tools.util.Span;
+
+/**
+ * Tests for the {@link ThreadSafeTokenizerME} class.
+ */
+public class ThreadSafeTokenizerMETest {
+
+  private static final String TEXT = "Sounds like it's not properly thought through!";
+
+  @Test
+  public void testTokenizePosProbabilities() throws Exception {
+    TokenizerModel model = TokenizerTestUtil.createMaxentTokenModel();
+
+    TokenizerME tokenizer = new TokenizerME(model);
+
+    try (ThreadSafeTokenizerME threadSafeTokenizer = new ThreadSafeTokenizerME(model)) {
+      Span[] spans = threadSafeTokenizer.tokenizePos(TEXT);
+
+      Assert.assertArrayEquals(tokenizer.tokenizePos(TEXT), spans);
+
+      double[] probs = tokenizer.getTokenProbabilities();
+      for (int i = 0; i < spans.length; i++) {
+        Assert.assertEquals(probs[i], spans[i].getProb(), 0d);
+      }
+    }
+  }
+
+  @Test
+  public void testConcurrentTokenization() throws Exception {
+    TokenizerModel model = TokenizerTestUtil.createMaxentTokenModel();
+
+    String[] expected = new TokenizerME(model).tokenize(TEXT);
+
+    ThreadSafeTokenizerME tokenizer = new ThreadSafeTokenizerME(model);
+
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      List<Callable<String[]>> tasks = new ArrayList<>();
+      for (int i = 0; i < 100; i++) {
+        tasks.add(() -> tokenizer.tokenize(TEXT));
+      }
+
+      for (Future<String[]> result : executor.invokeAll(tasks)) {
+        Assert.assertArrayEquals(expected, result.get());
+      }
+    }
+    finally {
+      executor.shutdown();
+    }
+  }
+}
@@ -18,16 +18,22 @@
 package opennlp.tools.tokenize;
 
 import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.nio.CharBuffer;
 import java.nio.charset.StandardCharsets;
+import java.util.Collections;
 
 import org.junit.Assert;
 import org.junit.Test;
 
 import opennlp.tools.formats.ResourceAsStreamFactory;
+import opennlp.tools.ml.maxent.quasinewton.QNTrainer;
+import opennlp.tools.ml.model.MaxentModel;
 import opennlp.tools.util.InputStreamFactory;
 import opennlp.tools.util.InsufficientTrainingDataException;
 import opennlp.tools.util.ObjectStream;
 import opennlp.tools.util.PlainTextByLineStream;
+import opennlp.tools.util.Span;
 import opennlp.tools.util.TrainingParameters;
 
 /**
@@ -74,6 +80,61 @@ public class TokenizerMETest {
     Assert.assertEquals("!", tokens[8]);
   }
   
+  @Test
+  public void testTokenizePosCharSequence() throws IOException {
+    TokenizerModel model = TokenizerTestUtil.createMaxentTokenModel();
+    TokenizerME tokenizer = new TokenizerME(model);
+
+    String sentence = "Sounds like it's not (properly) thought through, Mr. Smith!";
+    String text = "\"" + sentence + "\" is not tokenized.";
+
+    Span[] expected = tokenizer.tokenizePos(sentence);
+    double[] expectedProbs = tokenizer.getTokenProbabilities();
+
+    TokenBuffer tokens = new TokenBuffer(1);
+    tokenizer.tokenizePos(CharBuffer.wrap(text), 1, sentence.length() + 1, tokens);
+
+    Assert.assertEquals(expected.length, tokens.size());
+    for (int i = 0; i < expected.length; i++) {
+      Assert.assertEquals(expected[i].getStart() + 1, tokens.getStart(i));
+      Assert.assertEquals(expected[i].getEnd() + 1, tokens.getEnd(i));
+      Assert.assertEquals(expectedProbs[i], tokens.getProb(i), 0d);
+      Assert.assertEquals(expected[i].getProb(), tokens.getProb(i), 0d);
+    }
+
+    // the probabilities of the string based call are not changed
+    Assert.assertArrayEquals(expectedProbs, tokenizer.getTokenProbabilities(), 0d);
+  }
+
+  @Test
+  public void testTokenizerQNModel() throws IOException {
+    TrainingParameters mlParams = new TrainingParameters();
+    mlParams.put(TrainingParameters.ALGORITHM_PARAM, QNTrainer.MAXENT_QN_VALUE);
+    TokenizerModel model = TokenizerTestUtil.createMaxentTokenModel(mlParams);
+
+    // a model which is not an AbstractModel is evaluated with the predicate strings
+    MaxentModel maxentModel = model.getMaxentModel();
+    MaxentModel stringEvalModel = (MaxentModel) Proxy.newProxyInstance(
+        MaxentModel.class.getClassLoader(), new Class<?>[] {MaxentModel.class},
+        (proxy, method, args) -> method.invoke(maxentModel, args));
+    TokenizerModel stringEvalTokenizerModel = new TokenizerModel(stringEvalModel,
+        Collections.emptyMap(), model.getFactory());
+
+    TokenizerME tokenizer = new TokenizerME(model);
+    TokenizerME stringEvalTokenizer = new TokenizerME(stringEvalTokenizerModel);
+
+    for (String sentence : new String[] {"Sounds like it's not properly thought through!",
+        "Mr. Smith's (re-)election wasn't expected, was it?"}) {
+      Assert.assertArrayEquals(stringEvalTokenizer.tokenizePos(sentence),
+          tokenizer.tokenizePos(sentence));
+      Assert.assertArrayEquals(stringEvalTokenizer.getTokenProbabilities(),
+          tokenizer.getTokenProbabilities(), 0d);
+    }
+
+    Assert.assertArrayEquals(new String[] {"Sounds", "like", "it", "'s", "not", "properly",
+        "thought", "through", "!"}, tokenizer.tokenize("Sounds like it's not properly thought through!"));
+  }
+
   @Test(expected = InsufficientTrainingDataException.class)
   public void testInsufficientData() throws IOException {
 
@@ -19,10 +19,20 @@ package opennlp.tools.tokenize;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 
+import org.junit.Assert;
 import org.junit.Test;
 
+import opennlp.tools.ml.model.MappedModel;
+import opennlp.tools.util.Span;
+import opennlp.tools.util.model.ModelUtil;
+
 /**
  * Tests for the {@link TokenizerModel} class.
  */
@@ -49,4 +59,45 @@ public class TokenizerModelTest {
 
     // TODO: check that both maxent models are equal
   }
+
+  @Test
+  public void testMappedModel() throws IOException {
+
+    TokenizerModel model = TokenizerTestUtil.createMaxentTokenModel();
+
+    ByteArrayOutputStream arrayOut = new ByteArrayOutputStream();
+    model.serialize(arrayOut);
+
+    File mappedFile = File.createTempFile("tokenizer", ".bin");
+    mappedFile.deleteOnExit();
+
+    try (OutputStream out = new FileOutputStream(mappedFile)) {
+      Assert.assertEquals(1, ModelUtil.convertToMappedModels(
+          new ByteArrayInputStream(arrayOut.toByteArray()), out));
+    }
+
+    TokenizerModel fileModel = new TokenizerModel(mappedFile);
+    Assert.assertTrue(fileModel.getMaxentModel() instanceof MappedModel);
+
+    // the stream path reads the mapped model into memory
+    TokenizerModel streamModel;
+    try (InputStream in = new FileInputStream(mappedFile)) {
+      streamModel = new TokenizerModel(in);
+    }
+    Assert.assertTrue(streamModel.getMaxentModel() instanceof MappedModel);
+
+    // a mapped model is written unchanged
+    ByteArrayOutputStream mappedOut = new ByteArrayOutputStream();
+    fileModel.serialize(mappedOut);
+    TokenizerModel reloadedModel =
+        new TokenizerModel(new ByteArrayInputStream(mappedOut.toByteArray()));
+
+    String sentence = "Sounds like it's not properly thought through!";
+    Span[] expected = new TokenizerME(model).tokenizePos(sentence);
+
+    for (TokenizerModel mappedModel : new TokenizerModel[] {fileModel, streamModel, reloadedModel}) {
+      TokenizerME tokenizer = new TokenizerME(mappedModel);
+      Assert.assertArrayEquals(expected, tokenizer.tokenizePos(sentence));
+    }
+  }
 }
@@ -62,6 +62,10 @@ public class TokenizerTestUtil {
   }
 
   static TokenizerModel createMaxentTokenModel() throws IOException {
+    return createMaxentTokenModel(new TrainingParameters());
+  }
+
+  static TokenizerModel createMaxentTokenModel(TrainingParameters mlParams) throws IOException {
 
     InputStreamFactory trainDataIn = new ResourceAsStreamFactory(
         TokenizerModel.class, "/opennlp/tools/tokenize/token.train");
@@ -69,7 +73,6 @@ public class TokenizerTestUtil {
     ObjectStream<TokenSample> samples = new TokenSampleStream(
         new PlainTextByLineStream(trainDataIn, StandardCharsets.UTF_8));
 
-    TrainingParameters mlParams = new TrainingParameters();
     mlParams.put(TrainingParameters.ITERATIONS_PARAM, 100);
     mlParams.put(TrainingParameters.CUTOFF_PARAM, 0);
 
@@ -20,6 +20,8 @@ package opennlp.tools.tokenize;
 import org.junit.Assert;
 import org.junit.Test;
 
+import opennlp.tools.util.Span;
+
 /**
  * Tests for the {@link WhitespaceTokenizer} class.
  */
@@ -59,4 +61,32 @@ public class WhitespaceTokenizerTest {
     Assert.assertEquals(0, WhitespaceTokenizer.INSTANCE.tokenize(" ").length); // tab
     Assert.assertEquals(0, WhitespaceTokenizer.INSTANCE.tokenize("     ").length);
   }
+
+  @Test
+  public void testTokenizePosRange() {
+    StringBuilder text = new StringBuilder("skip  a b\tcd  skip");
+    TokenBuffer tokens = new TokenBuffer(1);
+
+    WhitespaceTokenizer.INSTANCE.tokenizePos(text, 4, 14, tokens);
+
+    Assert.assertEquals(3, tokens.size());
+    Assert.assertEquals(6, tokens.getStart(0));
+    Assert.assertEquals(7, tokens.getEnd(0));
+    Assert.assertEquals(8, tokens.getStart(1));
+    Assert.assertEquals(9, tokens.getEnd(1));
+    Assert.assertEquals(10, tokens.getStart(2));
+    Assert.assertEquals(12, tokens.getEnd(2));
+
+    String sentence = " a b\tcd ";
+    Assert.assertArrayEquals(WhitespaceTokenizer.INSTANCE.tokenizePos(sentence),
+        shift(tokens.toSpans(), -5));
+  }
+
+  private static Span[] shift(Span[] spans, int offset) {
+    Span[] shifted = new Span[spans.length];
+    for (int i = 0; i < spans.length; i++) {
+      shifted[i] = new Span(spans[i], offset);
+    }
+    return shifted;
+  }
 }
@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package opennlp.tools.util;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests for the {@link ShuffleObjectStream} class.
+ */
+public class ShuffleObjectStreamTest {
+
+  private static List<Integer> createSamples(int count) {
+    List<Integer> samples = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      samples.add(i);
+    }
+    return samples;
+  }
+
+  private static List<Integer> readAll(ObjectStream<Integer> stream) throws IOException {
+    List<Integer> samples = new ArrayList<>();
+    Integer sample;
+    while ((sample = stream.read()) != null) {
+      samples.add(sample);
+    }
+    return samples;
+  }
+
+  @Test
+  public void testShuffleInMemory() throws IOException {
+    List<Integer> expected = createSamples(50);
+    Collections.shuffle(expected, new Random(23));
+
+    try (ObjectStream<Integer> stream = new ShuffleObjectStream<>(
+        ObjectStreamUtils.createObjectStream(createSamples(50)), 50, 23)) {
+      Assert.assertEquals(expected, readAll(stream));
+    }
+  }
+
+  @Test
+  public void testShuffleWithSpilledBlocks() throws IOException {
+    List<Integer> samples = createSamples(100);
+
+    List<Integer> shuffled;
+    try (ObjectStream<Integer> stream = new ShuffleObjectStream<>(
+        ObjectStreamUtils.createObjectStream(samples), 7, 42)) {
+      shuffled = readAll(stream);
+
+      Assert.assertNotEquals(samples, shuffled);
+      List<Integer> sorted = new ArrayList<>(shuffled);
+      Collections.sort(sorted);
+      Assert.assertEquals(samples, sorted);
+
+      // the order does not change on reset
+      stream.reset();
+      Assert.assertEquals(shuffled, readAll(stream));
+      Assert.assertNull(stream.read());
+    }
+
+    // the order only depends on the seed
+    try (ObjectStream<Integer> stream = new ShuffleObjectStream<>(
+        ObjectStreamUtils.createObjectStream(samples), 7, 42)) {
+      Assert.assertEquals(shuffled, readAll(stream));
+    }
+  }
+
+  @Test
+  public void testBlocksAreMixed() throws IOException {
+    // the first block must not be returned first
+    try (ObjectStream<Integer> stream = new ShuffleObjectStream<>(
+        ObjectStreamUtils.createObjectStream(createSamples(100)), 10, 7)) {
+      List<Integer> head = readAll(stream).subList(0, 10);
+      int fromFirstBlock = 0;
+      for (int sample : head) {
+        if (sample < 10) {
+          fromFirstBlock++;
+        }
+      }
+      Assert.assertTrue(fromFirstBlock < 10);
+    }
+  }
+
+  @Test
+  public void testEmptyStream() throws IOException {
+    try (ObjectStream<Integer> stream = new ShuffleObjectStream<>(
+        ObjectStreamUtils.createObjectStream(new ArrayList<Integer>()), 10, 7)) {
+      Assert.assertNull(stream.read());
+      stream.reset();
+      Assert.assertNull(stream.read());
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidBlockSize() {
+    new ShuffleObjectStream<>(ObjectStreamUtils.createObjectStream(1, 2), 0, 7);
+  }
+}
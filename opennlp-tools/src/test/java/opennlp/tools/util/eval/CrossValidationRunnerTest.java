@@ -0,0 +1,103 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package opennlp.tools.util.eval;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import opennlp.tools.util.ObjectStream;
+import opennlp.tools.util.ObjectStreamUtils;
+
+/**
+ * Tests for the {@link CrossValidationRunner} class.
+ */
+public class CrossValidationRunnerTest {
+
+  private static List<String> readAll(ObjectStream<String> samples) throws IOException {
+    List<String> elements = new ArrayList<>();
+    String sample;
+    while ((sample = samples.read()) != null) {
+      elements.add(sample);
+    }
+    return elements;
+  }
+
+  private static List<List<String>> run(int threads, String... samples) throws IOException {
+    List<List<String>> folds = new ArrayList<>();
+    new CrossValidationRunner<String, List<String>>(threads).run(
+        ObjectStreamUtils.createObjectStream(samples), 3,
+        trainingSamples -> {
+          List<String> first = readAll(trainingSamples);
+          trainingSamples.reset();
+          Assert.assertEquals(first, readAll(trainingSamples));
+          return first;
+        },
+        (model, testSamples) -> {
+          folds.add(model);
+          folds.add(readAll(testSamples));
+        });
+    return folds;
+  }
+
+  @Test
+  public void testFoldsMatchPartitioner() throws IOException {
+    String[] samples = {"01", "02", "03", "04", "05", "06", "07", "08"};
+
+    CrossValidationPartitioner<String> partitioner =
+        new CrossValidationPartitioner<>(ObjectStreamUtils.createObjectStream(samples), 3);
+    List<List<String>> expected = new ArrayList<>();
+    while (partitioner.hasNext()) {
+      CrossValidationPartitioner.TrainingSampleStream<String> trainingSamples = partitioner.next();
+      expected.add(readAll(trainingSamples));
+      expected.add(readAll(trainingSamples.getTestSampleStream()));
+    }
+
+    Assert.assertEquals(expected, run(1, samples));
+    Assert.assertEquals(expected, run(2, samples));
+    Assert.assertEquals(expected, run(8, samples));
+  }
+
+  @Test
+  public void testEmptyDataSet() throws IOException {
+    List<List<String>> folds = run(2);
+    Assert.assertEquals(6, folds.size());
+    for (List<String> fold : folds) {
+      Assert.assertEquals(Collections.emptyList(), fold);
+    }
+  }
+
+  @Test(expected = IOException.class)
+  public void testTrainerExceptionIsRethrown() throws IOException {
+    new CrossValidationRunner<String, String>(2).run(
+        ObjectStreamUtils.createObjectStream("a", "b", "c"), 3,
+        trainingSamples -> {
+          throw new IOException("training failed");
+        },
+        (model, testSamples) -> Assert.fail());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidThreads() {
+    new CrossValidationRunner<String, String>(0);
+  }
+}
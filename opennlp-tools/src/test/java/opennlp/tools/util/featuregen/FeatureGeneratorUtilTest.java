@@ -64,4 +64,16 @@ public class FeatureGeneratorUtilTest {
     Assert.assertEquals("jak", FeatureGeneratorUtil.tokenFeature("オープン・ソ〜ス・ソフトウェア"));
     Assert.assertEquals("other", FeatureGeneratorUtil.tokenFeature("アパッチ・ソフトウェア財団"));
   }
+
+  @Test
+  public void testIsAdaptive() {
+    Assert.assertFalse(FeatureGeneratorUtil.isAdaptive(new TokenFeatureGenerator()));
+    Assert.assertFalse(FeatureGeneratorUtil.isAdaptive(new CachedFeatureGenerator(
+        new AggregatedFeatureGenerator(new WindowFeatureGenerator(new TokenClassFeatureGenerator(), 2, 2),
+        new BigramNameFeatureGenerator()))));
+
+    Assert.assertTrue(FeatureGeneratorUtil.isAdaptive(new PreviousMapFeatureGenerator()));
+    Assert.assertTrue(FeatureGeneratorUtil.isAdaptive(new AggregatedFeatureGenerator(
+        new TokenFeatureGenerator(), new WindowFeatureGenerator(new PreviousMapFeatureGenerator(), 1, 1))));
+  }
 }
@@ -114,4 +114,73 @@ public class WindowFeatureGeneratorTest {
     Assert.assertEquals("n1e", features.get(3));
     Assert.assertEquals("n2f", features.get(4));
   }
+
+  /**
+   * Tests that the features passed to a {@link FeatureSink} are identical to the
+   * features created by prefixing the features of every window position.
+   */
+  @Test
+  public void testFeatureSink() {
+    String[] sentence = new String[] {"The", "Quick", "fox", "JUMPS", "over", "IBM's", "dog"};
+
+    AdaptiveFeatureGenerator generator = new AggregatedFeatureGenerator(
+        new TokenFeatureGenerator(), new TokenFeatureGenerator(false),
+        new TokenClassFeatureGenerator(true), new PrefixFeatureGenerator(),
+        new SuffixFeatureGenerator(), new IdentityFeatureGenerator());
+
+    AdaptiveFeatureGenerator windowFeatureGenerator = new WindowFeatureGenerator(
+        new WindowFeatureGenerator(generator, 1, 1), 2, 2);
+
+    for (int index = 0; index < sentence.length; index++) {
+      List<String> expected = new ArrayList<>();
+      createWindowFeatures(expected, generator, sentence, index, 2, 2);
+
+      List<String> sinkFeatures = new ArrayList<>();
+      windowFeatureGenerator.createFeatures(
+          (prefix, value, start, end) -> sinkFeatures.add(prefix + value.subSequence(start, end).toString()),
+          sentence, index, null);
+
+      features.clear();
+      windowFeatureGenerator.createFeatures(features, sentence, index, null);
+
+      Assert.assertEquals(expected, sinkFeatures);
+      Assert.assertEquals(expected, features);
+    }
+  }
+
+  private static void createWindowFeatures(List<String> features, AdaptiveFeatureGenerator generator,
+      String[] tokens, int index, int outerPrevWindowSize, int outerNextWindowSize) {
+
+    createPositionFeatures(features, "", generator, tokens, index);
+    for (int i = 1; i <= outerPrevWindowSize; i++) {
+      if (index - i >= 0) {
+        createPositionFeatures(features, "p" + i, generator, tokens, index - i);
+      }
+    }
+    for (int i = 1; i <= outerNextWindowSize; i++) {
+      if (index + i < tokens.length) {
+        createPositionFeatures(features, "n" + i, generator, tokens, index + i);
+      }
+    }
+  }
+
+  private static void createPositionFeatures(List<String> features, String windowPrefix,
+      AdaptiveFeatureGenerator generator, String[] tokens, int index) {
+
+    // the features of the inner window of size one
+    List<String> innerFeatures = new ArrayList<>();
+    generator.createFeatures(innerFeatures, tokens, index, null);
+    if (index - 1 >= 0) {
+      List<String> prevFeatures = new ArrayList<>();
+      generator.createFeatures(prevFeatures, tokens, index - 1, null);
+      prevFeatures.forEach(feature -> innerFeatures.add("p1" + feature));
+    }
+    if (index + 1 < tokens.length) {
+      List<String> nextFeatures = new ArrayList<>();
+      generator.createFeatures(nextFeatures, tokens, index + 1, null);
+      nextFeatures.forEach(feature -> innerFeatures.add("n1" + feature));
+    }
+
+    innerFeatures.forEach(feature -> features.add(windowPrefix + feature));
+  }
 }
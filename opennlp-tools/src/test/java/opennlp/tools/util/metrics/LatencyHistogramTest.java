@@ -0,0 +1,57 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package opennlp.tools.util.metrics;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class LatencyHistogramTest {
+
+  @Test
+  public void testEmpty() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    Assert.assertEquals(0, histogram.getCount());
+    Assert.assertEquals(0, histogram.getMeanNanos(), 0d);
+    Assert.assertEquals(0, histogram.getPercentileNanos(99));
+  }
+
+  @Test
+  public void testRecord() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    for (int i = 1; i <= 100; i++) {
+      histogram.record(i * 1000);
+    }
+    histogram.record(-5);
+
+    Assert.assertEquals(101, histogram.getCount());
+    Assert.assertEquals(5050000, histogram.getTotalNanos());
+    Assert.assertEquals(100000, histogram.getMaxNanos());
+    Assert.assertEquals(5050000 / 101d, histogram.getMeanNanos(), 1e-9);
+
+    // the percentiles are upper bounds which are at most twice the exact value
+    long p50 = histogram.getPercentileNanos(50);
+    Assert.assertTrue(p50 >= 50000 && p50 < 100000);
+    Assert.assertEquals(100000, histogram.getPercentileNanos(100));
+    Assert.assertEquals(0, histogram.getPercentileNanos(0));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidPercentile() {
+    new LatencyHistogram().getPercentileNanos(101);
+  }
+}
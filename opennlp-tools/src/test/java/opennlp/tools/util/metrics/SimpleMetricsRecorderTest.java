@@ -0,0 +1,113 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package opennlp.tools.util.metrics;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import opennlp.tools.postag.POSModel;
+import opennlp.tools.postag.POSTaggerME;
+import opennlp.tools.postag.POSTaggerMETest;
+import opennlp.tools.util.model.ModelType;
+
+public class SimpleMetricsRecorderTest {
+
+  @Test
+  public void testAggregation() {
+    SimpleMetricsRecorder recorder = new SimpleMetricsRecorder();
+
+    recorder.recordInference(Metrics.TOKENIZER, 1000000, 10);
+    recorder.recordInference(Metrics.TOKENIZER, 3000000, 30);
+    recorder.recordBeamSearch(5, 100, 200);
+    recorder.recordBeamSearch(7, 300, 400);
+    recorder.recordCacheAccess("test", true);
+    recorder.recordCacheAccess("test", true);
+    recorder.recordCacheAccess("test", true);
+    recorder.recordCacheAccess("test", false);
+    recorder.recordModelLoad("TokenizerME", 42);
+
+    Assert.assertEquals(2, recorder.getLatency(Metrics.TOKENIZER).getCount());
+    Assert.assertEquals(10000, recorder.getTokensPerSecond(Metrics.TOKENIZER), 1e-6);
+    Assert.assertNull(recorder.getLatency(Metrics.PARSER));
+    Assert.assertEquals(0, recorder.getTokensPerSecond(Metrics.PARSER), 0d);
+
+    Assert.assertEquals(2, recorder.getBeamSearches());
+    Assert.assertEquals(12, recorder.getBeamExpansions());
+    Assert.assertEquals(400, recorder.getFeatureGenerationNanos());
+    Assert.assertEquals(600, recorder.getModelEvalNanos());
+
+    Assert.assertEquals(0.75, recorder.getCacheHitRate("test"), 1e-9);
+    Assert.assertEquals(0, recorder.getCacheHitRate("unknown"), 0d);
+
+    Assert.assertEquals(42, recorder.getModelLoadTime("TokenizerME").getMaxNanos());
+
+    String report = recorder.toString();
+    Assert.assertTrue(report.contains("tokenizer: calls=2"));
+    Assert.assertTrue(report.contains("cache test: hit rate=0.750"));
+  }
+
+  @Test
+  public void testConcurrentReadOfNewComponents() throws Exception {
+    SimpleMetricsRecorder recorder = new SimpleMetricsRecorder();
+
+    Thread writer = new Thread(() -> {
+      for (int i = 0; i < 10000; i++) {
+        recorder.recordInference("component" + i, 1000, 1);
+      }
+    });
+    writer.start();
+
+    // a reader may see a component while its first inference is recorded
+    while (writer.isAlive()) {
+      for (int i = 0; i < 10000; i++) {
+        double tokensPerSecond = recorder.getTokensPerSecond("component" + i);
+        Assert.assertTrue(tokensPerSecond >= 0);
+      }
+    }
+    writer.join();
+
+    Assert.assertEquals(1e6, recorder.getTokensPerSecond("component9999"), 1e-6);
+  }
+
+  @Test
+  public void testInstrumentation() throws Exception {
+    POSModel model = POSTaggerMETest.trainPOSModel(ModelType.MAXENT);
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    model.serialize(out);
+
+    SimpleMetricsRecorder recorder = new SimpleMetricsRecorder();
+    Metrics.setRecorder(recorder);
+    try {
+      POSTaggerME tagger = new POSTaggerME(new POSModel(new ByteArrayInputStream(out.toByteArray())));
+      tagger.tag(new String[] {"The", "driver", "got", "badly", "injured", "."});
+    }
+    finally {
+      Metrics.setRecorder(null);
+    }
+
+    Assert.assertFalse(Metrics.isEnabled());
+    Assert.assertEquals(1, recorder.getLatency(Metrics.POS_TAGGER).getCount());
+    Assert.assertTrue(recorder.getTokensPerSecond(Metrics.POS_TAGGER) > 0);
+    Assert.assertEquals(1, recorder.getBeamSearches());
+    Assert.assertTrue(recorder.getBeamExpansions() >= 6);
+    Assert.assertEquals(1, recorder.getModelLoadTime("POSTaggerME").getCount());
+  }
+}